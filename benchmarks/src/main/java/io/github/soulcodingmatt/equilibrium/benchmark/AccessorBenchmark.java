@@ -0,0 +1,88 @@
+package io.github.soulcodingmatt.equilibrium.benchmark;
+
+import io.github.soulcodingmatt.equilibrium.benchmark.dto.OrderDto;
+import io.github.soulcodingmatt.equilibrium.benchmark.model.HandWrittenOrder;
+import io.github.soulcodingmatt.equilibrium.benchmark.model.LombokOrder;
+import io.github.soulcodingmatt.equilibrium.benchmark.record.OrderRecord;
+import io.github.soulcodingmatt.equilibrium.benchmark.vo.OrderVo;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reads every field through its accessor. Each value goes to the {@link Blackhole}, so no read is eliminated.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class AccessorBenchmark {
+
+    @Benchmark
+    public void readDto(OrderData data, Blackhole blackhole) {
+        OrderDto order = data.dto;
+        blackhole.consume(order.getId());
+        blackhole.consume(order.getCustomer());
+        blackhole.consume(order.getEmail());
+        blackhole.consume(order.getAmount());
+        blackhole.consume(order.getQuantity());
+        blackhole.consume(order.getOrderDate());
+        blackhole.consume(order.getExpress());
+    }
+
+    @Benchmark
+    public void readVo(OrderData data, Blackhole blackhole) {
+        OrderVo order = data.vo;
+        blackhole.consume(order.getId());
+        blackhole.consume(order.getCustomer());
+        blackhole.consume(order.getEmail());
+        blackhole.consume(order.getAmount());
+        blackhole.consume(order.getQuantity());
+        blackhole.consume(order.getOrderDate());
+        blackhole.consume(order.getExpress());
+    }
+
+    @Benchmark
+    public void readRecord(OrderData data, Blackhole blackhole) {
+        OrderRecord order = data.record;
+        blackhole.consume(order.id());
+        blackhole.consume(order.customer());
+        blackhole.consume(order.email());
+        blackhole.consume(order.amount());
+        blackhole.consume(order.quantity());
+        blackhole.consume(order.orderDate());
+        blackhole.consume(order.express());
+    }
+
+    @Benchmark
+    public void readLombok(OrderData data, Blackhole blackhole) {
+        LombokOrder order = data.lombok;
+        blackhole.consume(order.getId());
+        blackhole.consume(order.getCustomer());
+        blackhole.consume(order.getEmail());
+        blackhole.consume(order.getAmount());
+        blackhole.consume(order.getQuantity());
+        blackhole.consume(order.getOrderDate());
+        blackhole.consume(order.isExpress());
+    }
+
+    @Benchmark
+    public void readHandWritten(OrderData data, Blackhole blackhole) {
+        HandWrittenOrder order = data.handWritten;
+        blackhole.consume(order.id());
+        blackhole.consume(order.customer());
+        blackhole.consume(order.email());
+        blackhole.consume(order.amount());
+        blackhole.consume(order.quantity());
+        blackhole.consume(order.orderDate());
+        blackhole.consume(order.express());
+    }
+}
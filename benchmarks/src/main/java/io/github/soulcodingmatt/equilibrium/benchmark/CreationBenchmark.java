@@ -0,0 +1,105 @@
+package io.github.soulcodingmatt.equilibrium.benchmark;
+
+import io.github.soulcodingmatt.equilibrium.benchmark.dto.OrderDto;
+import io.github.soulcodingmatt.equilibrium.benchmark.model.HandWrittenOrder;
+import io.github.soulcodingmatt.equilibrium.benchmark.model.LombokOrder;
+import io.github.soulcodingmatt.equilibrium.benchmark.record.OrderRecord;
+import io.github.soulcodingmatt.equilibrium.benchmark.vo.OrderVo;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Construction through the all-args constructor and through builders. The generated builders can be reused after
+ * {@code reset()}, which the {@code reusedBuilder} benchmarks measure.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class CreationBenchmark {
+
+    @State(Scope.Thread)
+    public static class Builders {
+        public final OrderDto.Builder dto = OrderDto.builder();
+        public final OrderVo.Builder vo = OrderVo.builder();
+        public final OrderRecord.Builder record = OrderRecord.builder();
+    }
+
+    @Benchmark
+    public OrderDto constructorDto(OrderData data) {
+        return new OrderDto(data.id, data.customer, data.email, data.amount, data.quantity, data.orderDate, data.express);
+    }
+
+    @Benchmark
+    public OrderVo constructorVo(OrderData data) {
+        return new OrderVo(data.id, data.customer, data.email, data.amount, data.quantity, data.orderDate, data.express);
+    }
+
+    @Benchmark
+    public OrderRecord constructorRecord(OrderData data) {
+        return new OrderRecord(data.id, data.customer, data.email, data.amount, data.quantity, data.orderDate, data.express);
+    }
+
+    @Benchmark
+    public LombokOrder constructorLombok(OrderData data) {
+        return new LombokOrder(data.id, data.customer, data.email, data.amount, data.quantity, data.orderDate, data.express);
+    }
+
+    @Benchmark
+    public HandWrittenOrder constructorHandWritten(OrderData data) {
+        return new HandWrittenOrder(data.id, data.customer, data.email, data.amount, data.quantity, data.orderDate,
+            data.express);
+    }
+
+    @Benchmark
+    public OrderDto builderDto(OrderData data) {
+        return OrderDto.builder().id(data.id).customer(data.customer).email(data.email).amount(data.amount)
+            .quantity(data.quantity).orderDate(data.orderDate).express(data.express).build();
+    }
+
+    @Benchmark
+    public OrderVo builderVo(OrderData data) {
+        return OrderVo.builder().id(data.id).customer(data.customer).email(data.email).amount(data.amount)
+            .quantity(data.quantity).orderDate(data.orderDate).express(data.express).build();
+    }
+
+    @Benchmark
+    public OrderRecord builderRecord(OrderData data) {
+        return OrderRecord.builder().id(data.id).customer(data.customer).email(data.email).amount(data.amount)
+            .quantity(data.quantity).orderDate(data.orderDate).express(data.express).build();
+    }
+
+    @Benchmark
+    public LombokOrder builderLombok(OrderData data) {
+        return LombokOrder.builder().id(data.id).customer(data.customer).email(data.email).amount(data.amount)
+            .quantity(data.quantity).orderDate(data.orderDate).express(data.express).build();
+    }
+
+    @Benchmark
+    public OrderDto reusedBuilderDto(OrderData data, Builders builders) {
+        return builders.dto.reset().id(data.id).customer(data.customer).email(data.email).amount(data.amount)
+            .quantity(data.quantity).orderDate(data.orderDate).express(data.express).build();
+    }
+
+    @Benchmark
+    public OrderVo reusedBuilderVo(OrderData data, Builders builders) {
+        return builders.vo.reset().id(data.id).customer(data.customer).email(data.email).amount(data.amount)
+            .quantity(data.quantity).orderDate(data.orderDate).express(data.express).build();
+    }
+
+    @Benchmark
+    public OrderRecord reusedBuilderRecord(OrderData data, Builders builders) {
+        return builders.record.reset().id(data.id).customer(data.customer).email(data.email).amount(data.amount)
+            .quantity(data.quantity).orderDate(data.orderDate).express(data.express).build();
+    }
+}
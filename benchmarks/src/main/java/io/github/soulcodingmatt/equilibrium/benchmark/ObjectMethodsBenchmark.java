@@ -0,0 +1,98 @@
+package io.github.soulcodingmatt.equilibrium.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * equals, hashCode and toString of the generated DTO, VO and Record against Lombok's {@code @Data} and a hand-written
+ * record. equals compares two equal but distinct instances, the most expensive case.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class ObjectMethodsBenchmark {
+
+    @Benchmark
+    public boolean equalsDto(OrderData data) {
+        return data.dto.equals(data.otherDto);
+    }
+
+    @Benchmark
+    public boolean equalsVo(OrderData data) {
+        return data.vo.equals(data.otherVo);
+    }
+
+    @Benchmark
+    public boolean equalsRecord(OrderData data) {
+        return data.record.equals(data.otherRecord);
+    }
+
+    @Benchmark
+    public boolean equalsLombok(OrderData data) {
+        return data.lombok.equals(data.otherLombok);
+    }
+
+    @Benchmark
+    public boolean equalsHandWritten(OrderData data) {
+        return data.handWritten.equals(data.otherHandWritten);
+    }
+
+    @Benchmark
+    public int hashCodeDto(OrderData data) {
+        return data.dto.hashCode();
+    }
+
+    @Benchmark
+    public int hashCodeVo(OrderData data) {
+        return data.vo.hashCode();
+    }
+
+    @Benchmark
+    public int hashCodeRecord(OrderData data) {
+        return data.record.hashCode();
+    }
+
+    @Benchmark
+    public int hashCodeLombok(OrderData data) {
+        return data.lombok.hashCode();
+    }
+
+    @Benchmark
+    public int hashCodeHandWritten(OrderData data) {
+        return data.handWritten.hashCode();
+    }
+
+    @Benchmark
+    public String toStringDto(OrderData data) {
+        return data.dto.toString();
+    }
+
+    @Benchmark
+    public String toStringVo(OrderData data) {
+        return data.vo.toString();
+    }
+
+    @Benchmark
+    public String toStringRecord(OrderData data) {
+        return data.record.toString();
+    }
+
+    @Benchmark
+    public String toStringLombok(OrderData data) {
+        return data.lombok.toString();
+    }
+
+    @Benchmark
+    public String toStringHandWritten(OrderData data) {
+        return data.handWritten.toString();
+    }
+}
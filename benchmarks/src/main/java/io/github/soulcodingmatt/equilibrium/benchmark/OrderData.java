@@ -0,0 +1,66 @@
+package io.github.soulcodingmatt.equilibrium.benchmark;
+
+import io.github.soulcodingmatt.equilibrium.benchmark.dto.OrderDto;
+import io.github.soulcodingmatt.equilibrium.benchmark.model.HandWrittenOrder;
+import io.github.soulcodingmatt.equilibrium.benchmark.model.LombokOrder;
+import io.github.soulcodingmatt.equilibrium.benchmark.record.OrderRecord;
+import io.github.soulcodingmatt.equilibrium.benchmark.vo.OrderVo;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Field values and instances shared by the benchmarks. Values are read from non-final fields, so the JIT can't fold
+ * them into constants. Every implementation gets two equal but distinct instances, so equals compares all fields.
+ */
+@State(Scope.Thread)
+public class OrderData {
+    public Long id;
+    public String customer;
+    public String email;
+    public BigDecimal amount;
+    public int quantity;
+    public LocalDate orderDate;
+    public boolean express;
+
+    public OrderDto dto;
+    public OrderDto otherDto;
+    public OrderVo vo;
+    public OrderVo otherVo;
+    public OrderRecord record;
+    public OrderRecord otherRecord;
+    public LombokOrder lombok;
+    public LombokOrder otherLombok;
+    public HandWrittenOrder handWritten;
+    public HandWrittenOrder otherHandWritten;
+
+    @Setup
+    public void setUp() {
+        id = 4711L;
+        customer = "Ada Lovelace";
+        email = "ada@example.com";
+        amount = new BigDecimal("1234.56");
+        quantity = 3;
+        orderDate = LocalDate.of(2025, 7, 20);
+        express = true;
+
+        dto = new OrderDto(id, customer, email, amount, quantity, orderDate, express);
+        otherDto = new OrderDto(id, new String(customer), new String(email), new BigDecimal("1234.56"), quantity,
+            LocalDate.of(2025, 7, 20), express);
+        vo = new OrderVo(id, customer, email, amount, quantity, orderDate, express);
+        otherVo = new OrderVo(id, new String(customer), new String(email), new BigDecimal("1234.56"), quantity,
+            LocalDate.of(2025, 7, 20), express);
+        record = new OrderRecord(id, customer, email, amount, quantity, orderDate, express);
+        otherRecord = new OrderRecord(id, new String(customer), new String(email), new BigDecimal("1234.56"), quantity,
+            LocalDate.of(2025, 7, 20), express);
+        lombok = new LombokOrder(id, customer, email, amount, quantity, orderDate, express);
+        otherLombok = new LombokOrder(id, new String(customer), new String(email), new BigDecimal("1234.56"), quantity,
+            LocalDate.of(2025, 7, 20), express);
+        handWritten = new HandWrittenOrder(id, customer, email, amount, quantity, orderDate, express);
+        otherHandWritten = new HandWrittenOrder(id, new String(customer), new String(email), new BigDecimal("1234.56"),
+            quantity, LocalDate.of(2025, 7, 20), express);
+    }
+}
@@ -0,0 +1,49 @@
+package io.github.soulcodingmatt.equilibrium.benchmark.model;
+
+import io.github.soulcodingmatt.equilibrium.annotations.dto.GenerateDto;
+import io.github.soulcodingmatt.equilibrium.annotations.dto.ValidateDto;
+import io.github.soulcodingmatt.equilibrium.annotations.dto.validation.NotBlank;
+import io.github.soulcodingmatt.equilibrium.annotations.dto.validation.Pattern;
+import io.github.soulcodingmatt.equilibrium.annotations.dto.validation.Size;
+
+/**
+ * Address of a {@link Customer}, mapped to the nested AddressDto of the request pipeline.
+ */
+@GenerateDto
+public class Address {
+    @ValidateDto(notBlank = @NotBlank(message = "Street is required"))
+    private String street;
+
+    @ValidateDto(notBlank = @NotBlank(message = "City is required"),
+        size = @Size(max = 60, message = "City must be at most 60 characters"))
+    private String city;
+
+    @ValidateDto(pattern = @Pattern(regexp = "\\d{5}", message = "Zip code must have 5 digits"))
+    private String zipCode;
+
+    @ValidateDto(size = @Size(min = 2, max = 2, message = "Country must be an ISO 3166 alpha-2 code"))
+    private String country;
+
+    public Address(String street, String city, String zipCode, String country) {
+        this.street = street;
+        this.city = city;
+        this.zipCode = zipCode;
+        this.country = country;
+    }
+
+    public String getStreet() {
+        return street;
+    }
+
+    public String getCity() {
+        return city;
+    }
+
+    public String getZipCode() {
+        return zipCode;
+    }
+
+    public String getCountry() {
+        return country;
+    }
+}
@@ -0,0 +1,86 @@
+package io.github.soulcodingmatt.equilibrium.benchmark.model;
+
+import io.github.soulcodingmatt.equilibrium.annotations.dto.GenerateDto;
+import io.github.soulcodingmatt.equilibrium.annotations.dto.NestedMapping;
+import io.github.soulcodingmatt.equilibrium.annotations.dto.ValidateDto;
+import io.github.soulcodingmatt.equilibrium.annotations.dto.validation.Email;
+import io.github.soulcodingmatt.equilibrium.annotations.dto.validation.Max;
+import io.github.soulcodingmatt.equilibrium.annotations.dto.validation.Min;
+import io.github.soulcodingmatt.equilibrium.annotations.dto.validation.NotBlank;
+import io.github.soulcodingmatt.equilibrium.annotations.dto.validation.NotEmpty;
+import io.github.soulcodingmatt.equilibrium.annotations.dto.validation.NotNull;
+import io.github.soulcodingmatt.equilibrium.annotations.dto.validation.Positive;
+import io.github.soulcodingmatt.equilibrium.annotations.dto.validation.Size;
+import io.github.soulcodingmatt.equilibrium.benchmark.dto.AddressDto;
+import io.github.soulcodingmatt.equilibrium.benchmark.dto.OrderLineDto;
+
+import java.util.List;
+
+/**
+ * Entity of the request pipeline. The generated CustomerDto carries the validations of VALIDATION_EXAMPLE.md and
+ * nests AddressDto and a list of OrderLineDto; {@code @Valid} cascades validation into them.
+ */
+@GenerateDto
+public class Customer {
+    @ValidateDto(positive = @Positive(message = "Id must be positive"))
+    private Long id;
+
+    @ValidateDto(
+        notBlank = @NotBlank(message = "Name cannot be blank"),
+        size = @Size(min = 2, max = 50, message = "Name must be between 2 and 50 characters")
+    )
+    private String name;
+
+    @ValidateDto(
+        notBlank = @NotBlank(message = "Email is required"),
+        email = @Email(message = "Email must be valid")
+    )
+    private String email;
+
+    @ValidateDto(
+        min = @Min(value = 18, message = "Age must be at least 18"),
+        max = @Max(value = 120, message = "Age must be at most 120")
+    )
+    private Integer age;
+
+    @NestedMapping(dtoClass = AddressDto.class)
+    @ValidateDto(notNull = @NotNull(message = "Address is required"), value = "@jakarta.validation.Valid")
+    private Address address;
+
+    @NestedMapping(dtoClass = OrderLineDto.class)
+    @ValidateDto(notEmpty = @NotEmpty(message = "An order needs at least one line"), value = "@jakarta.validation.Valid")
+    private List<OrderLine> lines;
+
+    public Customer(Long id, String name, String email, Integer age, Address address, List<OrderLine> lines) {
+        this.id = id;
+        this.name = name;
+        this.email = email;
+        this.age = age;
+        this.address = address;
+        this.lines = lines;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public Integer getAge() {
+        return age;
+    }
+
+    public Address getAddress() {
+        return address;
+    }
+
+    public List<OrderLine> getLines() {
+        return lines;
+    }
+}
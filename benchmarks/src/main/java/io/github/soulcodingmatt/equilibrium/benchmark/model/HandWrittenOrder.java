@@ -0,0 +1,11 @@
+package io.github.soulcodingmatt.equilibrium.benchmark.model;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Hand-written record counterpart of the generated OrderRecord, with the compiler's equals, hashCode and toString.
+ */
+public record HandWrittenOrder(Long id, String customer, String email, BigDecimal amount, int quantity,
+                               LocalDate orderDate, boolean express) {
+}
@@ -0,0 +1,26 @@
+package io.github.soulcodingmatt.equilibrium.benchmark.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Lombok counterpart of the generated OrderDto.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class LombokOrder {
+    private Long id;
+    private String customer;
+    private String email;
+    private BigDecimal amount;
+    private int quantity;
+    private LocalDate orderDate;
+    private boolean express;
+}
@@ -0,0 +1,24 @@
+package io.github.soulcodingmatt.equilibrium.benchmark.model;
+
+import io.github.soulcodingmatt.equilibrium.annotations.dto.GenerateDto;
+import io.github.soulcodingmatt.equilibrium.annotations.record.GenerateRecord;
+import io.github.soulcodingmatt.equilibrium.annotations.vo.GenerateVo;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Entity of the benchmarks; generates OrderDto, OrderVo and OrderRecord with builders.
+ */
+@GenerateDto(nativeBuilder = true)
+@GenerateVo(nativeBuilder = true)
+@GenerateRecord(nativeBuilder = true)
+public class Order {
+    private Long id;
+    private String customer;
+    private String email;
+    private BigDecimal amount;
+    private int quantity;
+    private LocalDate orderDate;
+    private boolean express;
+}
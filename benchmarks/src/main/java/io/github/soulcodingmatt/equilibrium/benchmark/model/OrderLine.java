@@ -0,0 +1,45 @@
+package io.github.soulcodingmatt.equilibrium.benchmark.model;
+
+import io.github.soulcodingmatt.equilibrium.annotations.dto.GenerateDto;
+import io.github.soulcodingmatt.equilibrium.annotations.dto.ValidateDto;
+import io.github.soulcodingmatt.equilibrium.annotations.dto.validation.Digits;
+import io.github.soulcodingmatt.equilibrium.annotations.dto.validation.Max;
+import io.github.soulcodingmatt.equilibrium.annotations.dto.validation.Pattern;
+import io.github.soulcodingmatt.equilibrium.annotations.dto.validation.Positive;
+
+import java.math.BigDecimal;
+
+/**
+ * Line of a {@link Customer}'s order, mapped to the OrderLineDto elements of the request pipeline.
+ */
+@GenerateDto
+public class OrderLine {
+    @ValidateDto(pattern = @Pattern(regexp = "[A-Z]{3}-\\d{4}", message = "SKU must look like ABC-1234"))
+    private String sku;
+
+    @ValidateDto(positive = @Positive(message = "Quantity must be positive"),
+        max = @Max(value = 999, message = "Quantity must be at most 999"))
+    private int quantity;
+
+    @ValidateDto(positive = @Positive(message = "Unit price must be positive"),
+        digits = @Digits(integer = 8, fraction = 2, message = "Unit price must have at most 2 decimal places"))
+    private BigDecimal unitPrice;
+
+    public OrderLine(String sku, int quantity, BigDecimal unitPrice) {
+        this.sku = sku;
+        this.quantity = quantity;
+        this.unitPrice = unitPrice;
+    }
+
+    public String getSku() {
+        return sku;
+    }
+
+    public int getQuantity() {
+        return quantity;
+    }
+
+    public BigDecimal getUnitPrice() {
+        return unitPrice;
+    }
+}
@@ -0,0 +1,50 @@
+package io.github.soulcodingmatt.equilibrium.benchmark.pipeline;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.soulcodingmatt.equilibrium.benchmark.dto.AddressDto;
+import io.github.soulcodingmatt.equilibrium.benchmark.dto.CustomerDto;
+import io.github.soulcodingmatt.equilibrium.benchmark.dto.OrderLineDto;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Jackson mix-ins that mark the all-args constructors of the generated DTOs as creators, so the DTOs are decoded
+ * through their constructor without compiling with {@code -parameters}.
+ */
+final class DtoMixIns {
+
+    private DtoMixIns() {
+    }
+
+    static ObjectMapper register(ObjectMapper objectMapper) {
+        return objectMapper
+            .addMixIn(CustomerDto.class, CustomerDtoMixIn.class)
+            .addMixIn(AddressDto.class, AddressDtoMixIn.class)
+            .addMixIn(OrderLineDto.class, OrderLineDtoMixIn.class);
+    }
+
+    abstract static class CustomerDtoMixIn {
+        @JsonCreator
+        CustomerDtoMixIn(@JsonProperty("id") Long id, @JsonProperty("name") String name,
+                         @JsonProperty("email") String email, @JsonProperty("age") Integer age,
+                         @JsonProperty("address") AddressDto address, @JsonProperty("lines") List<OrderLineDto> lines) {
+        }
+    }
+
+    abstract static class AddressDtoMixIn {
+        @JsonCreator
+        AddressDtoMixIn(@JsonProperty("street") String street, @JsonProperty("city") String city,
+                        @JsonProperty("zipCode") String zipCode, @JsonProperty("country") String country) {
+        }
+    }
+
+    abstract static class OrderLineDtoMixIn {
+        @JsonCreator
+        OrderLineDtoMixIn(@JsonProperty("sku") String sku, @JsonProperty("quantity") int quantity,
+                          @JsonProperty("unitPrice") BigDecimal unitPrice) {
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package io.github.soulcodingmatt.equilibrium.benchmark.pipeline;
+
+/**
+ * Log-linear histogram of latencies in nanoseconds: every power of two is split into {@value #SUB_BUCKETS} buckets,
+ * so a percentile is accurate to about 3%. Recording doesn't allocate, so it doesn't distort the allocation rate of
+ * the measured pipeline. Not thread-safe; every worker has its own histogram and they are merged at the end.
+ */
+final class LatencyHistogram {
+    private static final int SUB_BUCKET_BITS = 5;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+
+    private final long[] counts = new long[64 * SUB_BUCKETS];
+    private long totalCount;
+
+    void record(long nanos) {
+        counts[index(Math.max(nanos, 0))]++;
+        totalCount++;
+    }
+
+    void add(LatencyHistogram other) {
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] += other.counts[i];
+        }
+        totalCount += other.totalCount;
+    }
+
+    long getTotalCount() {
+        return totalCount;
+    }
+
+    /**
+     * Returns the upper bound of the bucket holding the given percentile, in nanoseconds.
+     */
+    long getPercentile(double percentile) {
+        long rank = (long) Math.ceil(totalCount * percentile / 100.0);
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= rank && seen > 0) {
+                return upperBound(i);
+            }
+        }
+        return 0;
+    }
+
+    private static int index(long nanos) {
+        if (nanos < SUB_BUCKETS) {
+            return (int) nanos;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(nanos);
+        int subBucket = (int) (nanos >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+        return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + subBucket;
+    }
+
+    private static long upperBound(int index) {
+        if (index < SUB_BUCKETS) {
+            return index;
+        }
+        int exponent = index / SUB_BUCKETS + SUB_BUCKET_BITS - 1;
+        long subBucket = index % SUB_BUCKETS;
+        return ((SUB_BUCKETS + subBucket + 1) << (exponent - SUB_BUCKET_BITS)) - 1;
+    }
+}
@@ -0,0 +1,51 @@
+package io.github.soulcodingmatt.equilibrium.benchmark.pipeline;
+
+import io.github.soulcodingmatt.equilibrium.benchmark.dto.AddressDto;
+import io.github.soulcodingmatt.equilibrium.benchmark.dto.CustomerDto;
+import io.github.soulcodingmatt.equilibrium.benchmark.dto.OrderLineDto;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Request payloads of the harness: customers with one to six order lines, and every sixteenth request invalid in its
+ * own fields, its address and one of its lines, so that the violation path and the cascaded validation are measured
+ * as well.
+ */
+final class Payloads {
+    static final int COUNT = 64;
+    static final int INVALID_EVERY = 16;
+
+    private Payloads() {
+    }
+
+    static byte[][] create(RequestPipeline pipeline) throws IOException {
+        byte[][] payloads = new byte[COUNT][];
+        for (int i = 0; i < COUNT; i++) {
+            payloads[i] = pipeline.encode(i % INVALID_EVERY == INVALID_EVERY - 1 ? invalidCustomer(i) : customer(i));
+        }
+        return payloads;
+    }
+
+    private static CustomerDto customer(int i) {
+        List<OrderLineDto> lines = new ArrayList<>();
+        for (int line = 0; line <= i % 6; line++) {
+            lines.add(new OrderLineDto(String.format("SKU-%04d", 1000 + i * 7 + line), 1 + line,
+                new BigDecimal(19 + i % 80 + "." + (10 + line * 13) % 100)));
+        }
+        AddressDto address = new AddressDto(i + " Analytical Engine Street", "London", String.format("%05d", 10000 + i),
+            "GB");
+        return new CustomerDto(1000L + i, "Customer " + i, "customer" + i + "@example.com", 18 + i % 80, address,
+            lines);
+    }
+
+    private static CustomerDto invalidCustomer(int i) {
+        List<OrderLineDto> lines = List.of(
+            new OrderLineDto("SKU-0001", 2, new BigDecimal("9.99")),
+            new OrderLineDto("sku-1", 0, new BigDecimal("-1.005")));
+        AddressDto address = new AddressDto(" ", "London", "ABC", "GBR");
+        return new CustomerDto(-1L, "", "not an email", 12, address, lines);
+    }
+}
@@ -0,0 +1,152 @@
+package io.github.soulcodingmatt.equilibrium.benchmark.pipeline;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CountDownLatch;
+
+/**
+ * Macrobenchmark of the {@link RequestPipeline}: every thread count runs a warmup and a measurement phase in which
+ * all threads handle the payloads of {@link Payloads} in a closed loop. Reported per thread count are the throughput,
+ * the p50, p99 and p99.9 latency of a request, and the allocation rate and bytes allocated per request, taken from
+ * {@code com.sun.management.ThreadMXBean#getCurrentThreadAllocatedBytes()} of the worker threads.
+ * <p>
+ * Usage: {@code java -cp target/benchmarks.jar io.github.soulcodingmatt.equilibrium.benchmark.pipeline.PipelineHarness
+ * [--threads 1,2,4,8] [--warmup 10] [--measure 20]}, with the phases in seconds.
+ * </p>
+ */
+public class PipelineHarness {
+    private enum Phase { WARMUP, MEASURE, STOP }
+
+    private static volatile Phase phase;
+
+    public static void main(String[] args) throws Exception {
+        int[] threadCounts = {1, 2, 4, 8};
+        int warmupSeconds = 10;
+        int measureSeconds = 20;
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            switch (args[i]) {
+                case "--threads" -> threadCounts = parseThreadCounts(args[i + 1]);
+                case "--warmup" -> warmupSeconds = Integer.parseInt(args[i + 1]);
+                case "--measure" -> measureSeconds = Integer.parseInt(args[i + 1]);
+                default -> throw new IllegalArgumentException("Unknown option: " + args[i]);
+            }
+        }
+
+        com.sun.management.ThreadMXBean threadBean =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        threadBean.setThreadAllocatedMemoryEnabled(true);
+
+        try (RequestPipeline pipeline = new RequestPipeline()) {
+            byte[][] payloads = Payloads.create(pipeline);
+            System.out.printf("%7s %14s %10s %10s %10s %12s %12s%n",
+                "threads", "requests/s", "p50 us", "p99 us", "p99.9 us", "alloc MB/s", "alloc B/req");
+            for (int threadCount : threadCounts) {
+                Result result = run(pipeline, payloads, threadCount, warmupSeconds, measureSeconds, threadBean);
+                LatencyHistogram latencies = result.latencies();
+                double seconds = result.nanos() / 1e9;
+                long requests = latencies.getTotalCount();
+                System.out.printf(Locale.ROOT, "%7d %14.0f %10.1f %10.1f %10.1f %12.1f %12.0f%n",
+                    threadCount,
+                    requests / seconds,
+                    latencies.getPercentile(50) / 1e3,
+                    latencies.getPercentile(99) / 1e3,
+                    latencies.getPercentile(99.9) / 1e3,
+                    result.allocatedBytes() / seconds / (1024 * 1024),
+                    (double) result.allocatedBytes() / requests);
+            }
+        }
+    }
+
+    private static Result run(RequestPipeline pipeline, byte[][] payloads, int threadCount, int warmupSeconds,
+                              int measureSeconds, com.sun.management.ThreadMXBean threadBean) throws Exception {
+        phase = Phase.WARMUP;
+        CountDownLatch done = new CountDownLatch(threadCount);
+        List<Worker> workers = new ArrayList<>();
+        for (int i = 0; i < threadCount; i++) {
+            Worker worker = new Worker(pipeline, payloads, i, threadBean, done);
+            workers.add(worker);
+            Thread thread = new Thread(worker, "pipeline-" + threadCount + "-" + i);
+            thread.setDaemon(true);
+            thread.start();
+        }
+
+        Thread.sleep(warmupSeconds * 1000L);
+        long start = System.nanoTime();
+        phase = Phase.MEASURE;
+        Thread.sleep(measureSeconds * 1000L);
+        phase = Phase.STOP;
+        long nanos = System.nanoTime() - start;
+        done.await();
+
+        LatencyHistogram latencies = new LatencyHistogram();
+        long allocatedBytes = 0;
+        for (Worker worker : workers) {
+            if (worker.failure != null) {
+                throw new IllegalStateException("Request failed", worker.failure);
+            }
+            latencies.add(worker.latencies);
+            allocatedBytes += worker.allocatedBytes;
+        }
+        return new Result(latencies, allocatedBytes, nanos);
+    }
+
+    private static int[] parseThreadCounts(String value) {
+        String[] parts = value.split(",");
+        int[] threadCounts = new int[parts.length];
+        for (int i = 0; i < parts.length; i++) {
+            threadCounts[i] = Integer.parseInt(parts[i].trim());
+        }
+        return threadCounts;
+    }
+
+    private record Result(LatencyHistogram latencies, long allocatedBytes, long nanos) {
+    }
+
+    private static final class Worker implements Runnable {
+        private final RequestPipeline pipeline;
+        private final byte[][] payloads;
+        private final com.sun.management.ThreadMXBean threadBean;
+        private final CountDownLatch done;
+        private final LatencyHistogram latencies = new LatencyHistogram();
+        private int next;
+        private long allocatedBytes;
+        private Throwable failure;
+
+        Worker(RequestPipeline pipeline, byte[][] payloads, int offset, com.sun.management.ThreadMXBean threadBean,
+               CountDownLatch done) {
+            this.pipeline = pipeline;
+            this.payloads = payloads;
+            this.next = offset * 7;
+            this.threadBean = threadBean;
+            this.done = done;
+        }
+
+        @Override
+        public void run() {
+            try {
+                while (phase == Phase.WARMUP) {
+                    handleNext();
+                }
+                long allocatedAtStart = threadBean.getCurrentThreadAllocatedBytes();
+                while (phase == Phase.MEASURE) {
+                    long start = System.nanoTime();
+                    handleNext();
+                    latencies.record(System.nanoTime() - start);
+                }
+                allocatedBytes = threadBean.getCurrentThreadAllocatedBytes() - allocatedAtStart;
+            } catch (Throwable e) {
+                failure = e;
+            } finally {
+                done.countDown();
+            }
+        }
+
+        private void handleNext() throws Exception {
+            byte[] payload = payloads[next];
+            next = (next + 1) % payloads.length;
+            pipeline.handle(payload);
+        }
+    }
+}
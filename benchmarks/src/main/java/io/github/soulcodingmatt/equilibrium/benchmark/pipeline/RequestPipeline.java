@@ -0,0 +1,101 @@
+package io.github.soulcodingmatt.equilibrium.benchmark.pipeline;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import io.github.soulcodingmatt.equilibrium.benchmark.dto.AddressDto;
+import io.github.soulcodingmatt.equilibrium.benchmark.dto.CustomerDto;
+import io.github.soulcodingmatt.equilibrium.benchmark.dto.OrderLineDto;
+import io.github.soulcodingmatt.equilibrium.benchmark.model.Address;
+import io.github.soulcodingmatt.equilibrium.benchmark.model.Customer;
+import io.github.soulcodingmatt.equilibrium.benchmark.model.OrderLine;
+import io.github.soulcodingmatt.equilibrium.runtime.Equilibrium;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import jakarta.validation.ValidatorFactory;
+import org.hibernate.validator.messageinterpolation.ParameterMessageInterpolator;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * The work of a request handler, in process and without a web framework: decode the JSON request into the generated
+ * CustomerDto, validate it with the constraints from {@code @ValidateDto} (cascading into the nested AddressDto and
+ * OrderLineDto), map it to the entity, map the entity back through the generated mapper registry and encode the
+ * response. An invalid request is answered with its constraint violations instead.
+ * <p>
+ * Equilibrium generates the entity-to-DTO direction only, so the DTO-to-entity step is written by hand, as it would
+ * be in an application. The instances are thread-safe and shared by all threads of the harness.
+ * </p>
+ */
+public class RequestPipeline implements AutoCloseable {
+    private final ObjectMapper objectMapper;
+    private final ObjectReader requestReader;
+    private final ObjectWriter responseWriter;
+    private final ObjectWriter errorWriter;
+    private final ValidatorFactory validatorFactory;
+    private final Validator validator;
+
+    public RequestPipeline() {
+        objectMapper = DtoMixIns.register(new ObjectMapper());
+        requestReader = objectMapper.readerFor(CustomerDto.class);
+        responseWriter = objectMapper.writerFor(CustomerDto.class);
+        errorWriter = objectMapper.writerFor(Map.class);
+        // The messages contain no EL expressions, so no Jakarta EL implementation is needed
+        validatorFactory = Validation.byDefaultProvider()
+            .configure()
+            .messageInterpolator(new ParameterMessageInterpolator())
+            .buildValidatorFactory();
+        validator = validatorFactory.getValidator();
+    }
+
+    /**
+     * Handles one request.
+     *
+     * @param request the JSON encoded CustomerDto
+     * @return the JSON encoded response: the mapped CustomerDto, or the violations by property path
+     */
+    public byte[] handle(byte[] request) throws IOException {
+        CustomerDto dto = requestReader.readValue(request);
+
+        Set<ConstraintViolation<CustomerDto>> violations = validator.validate(dto);
+        if (!violations.isEmpty()) {
+            Map<String, String> errors = new TreeMap<>();
+            for (ConstraintViolation<CustomerDto> violation : violations) {
+                errors.merge(violation.getPropertyPath().toString(), violation.getMessage(), (a, b) -> a + "; " + b);
+            }
+            return errorWriter.writeValueAsBytes(Map.of("errors", errors));
+        }
+
+        Customer customer = toEntity(dto);
+        CustomerDto response = Equilibrium.map(customer, CustomerDto.class);
+        return responseWriter.writeValueAsBytes(response);
+    }
+
+    /**
+     * Encodes a DTO, e.g. to build request payloads.
+     */
+    public byte[] encode(CustomerDto dto) throws IOException {
+        return responseWriter.writeValueAsBytes(dto);
+    }
+
+    private static Customer toEntity(CustomerDto dto) {
+        AddressDto address = dto.getAddress();
+        List<OrderLine> lines = new ArrayList<>(dto.getLines().size());
+        for (OrderLineDto line : dto.getLines()) {
+            lines.add(new OrderLine(line.getSku(), line.getQuantity(), line.getUnitPrice()));
+        }
+        return new Customer(dto.getId(), dto.getName(), dto.getEmail(), dto.getAge(),
+            new Address(address.getStreet(), address.getCity(), address.getZipCode(), address.getCountry()), lines);
+    }
+
+    @Override
+    public void close() {
+        validatorFactory.close();
+    }
+}
@@ -48,8 +48,80 @@ public @interface GenerateDto {
     /**
      * Flag whether the generated DTO should have Lombok's @SuperBuilder annotation.
      * Use builder = true, if you want to use the Builder Pattern with the generated DTOs.
+     * This requires Lombok on the annotation processor path and cannot be combined with nativeBuilder = true.
      * Default is false.
      * @return true if the generated DTO should include @SuperBuilder annotation
      */
     boolean builder() default false;
-} 
\ No newline at end of file
+
+    /**
+     * Flag whether the generated DTO should have a generated builder that does not require Lombok.
+     * The builder can be reused: {@code build()} keeps the builder's state and {@code reset()} restores the
+     * default values. Cannot be combined with builder = true.
+     * Default is false.
+     * @return true if the generated DTO should include a native builder
+     */
+    boolean nativeBuilder() default false;
+
+    /**
+     * Flag whether the generated DTO should track which fields have been set.
+     * If set to true, every setter sets a bit in a mask, and the DTO provides {@code isSet(String)},
+     * {@code isDirty()}, {@code changedFields()} and {@code clearDirty()}. This is useful for partial
+     * (PATCH-style) updates that should only write the fields the client actually sent.
+     * The all-args constructor and the builder do not mark fields as set.
+     * Default is false.
+     * @return true if the generated DTO should track set fields
+     */
+    boolean dirtyTracking() default false;
+
+    /**
+     * Flags whether the generated DTO should have field-level diff and patch methods.
+     * {@code diff(other)} returns a bit mask of the fields that differ, in declaration order
+     * ({@code long}, or {@code long[]} for more than 64 fields). {@code applyPatch(source, mask)}
+     * copies the marked fields of {@code source} into this DTO through its setters and returns it.
+     * Defaults to {@code false}.
+     * @return {@code true} if diff and patch methods should be generated; {@code false} otherwise
+     */
+    boolean diff() default false;
+
+    /**
+     * Flags whether the generated DTO should have a nested {@code FieldTable} class for index-based field access.
+     * It provides {@code fieldCount()}, {@code fieldName(index)}, {@code fieldType(index)}, {@code indexOf(name)},
+     * {@code get(instance, index)} and {@code set(instance, index, value)}, so generic code can iterate the fields without reflection.
+     * Defaults to {@code false}.
+     * @return {@code true} if a field table should be generated; {@code false} otherwise
+     */
+    boolean fieldTable() default false;
+
+    /**
+     * Flags whether the generated DTO should be readable from a JDBC {@code ResultSet}. Generates a static
+     * {@code fromResultSet(resultSet)} method that maps all remaining rows into a list and a reusable {@code RowMapper}
+     * (via {@code rowMapper()}) that resolves the column indices at the first row ({@code rowNum} 0) of every
+     * {@code ResultSet} and reads every row with typed getters.
+     * Defaults to {@code false}.
+     * @return {@code true} if a row mapper should be generated; {@code false} otherwise
+     */
+    boolean rowMapper() default false;
+
+    /**
+     * Flags whether the generated DTO should have {@code copy()} and {@code deepCopy()} methods.
+     * {@code copy()} shares the field values with the original. {@code deepCopy()} copies arrays with
+     * {@code System.arraycopy} and collections and maps into presized instances. Nested DTOs ({@code @NestedMapping})
+     * are copied with their own {@code deepCopy()}, so they have to be generated with {@code copy = true} as well;
+     * otherwise the processor reports an error on the field.
+     * Defaults to {@code false}.
+     * @return {@code true} if copy methods should be generated; {@code false} otherwise
+     */
+    boolean copy() default false;
+
+    /**
+     * Flags whether the generated DTO should have an {@code estimatedSizeInBytes()} method that estimates the
+     * retained heap size of an instance without an instrumentation agent, e.g. for cache weighers.
+     * The shallow size is computed at compile time; Strings, arrays, collections and nested DTOs are added at runtime.
+     * Nested DTOs ({@code @NestedMapping}) generated without {@code sizeEstimate = true} count as objects of unknown
+     * layout.
+     * Defaults to {@code false}.
+     * @return {@code true} if a size estimate should be generated; {@code false} otherwise
+     */
+    boolean sizeEstimate() default false;
+}
@@ -0,0 +1,28 @@
+package io.github.soulcodingmatt.equilibrium.annotations.record;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Overrides the CSV column name of a field in the CSV codec generated by @GenerateRecord(csv = true).
+ * Without this annotation, the column name is the field name.
+ * 
+ * Example:
+ * <pre>
+ * &#64;CsvColumn("customer_name")
+ * private String customerName;
+ * </pre>
+ */
+@Target(ElementType.FIELD)
+@Retention(RetentionPolicy.SOURCE)
+public @interface CsvColumn {
+
+    /**
+     * The name of the column in the CSV header.
+     *
+     * @return the column name
+     */
+    String value();
+}
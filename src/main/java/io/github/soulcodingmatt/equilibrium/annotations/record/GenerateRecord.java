@@ -44,4 +44,61 @@ public @interface GenerateRecord {
      * @return the names of the fields to ignore
      */
     String[] ignore() default {};
+
+    /**
+     * Flags whether the generated Record should have a generated builder that does not require Lombok.
+     * The builder can be reused: {@code build()} keeps the builder's state and {@code reset()} restores the
+     * default values.
+     * Defaults to {@code false}.
+     * @return {@code true} if a builder should be generated; {@code false} otherwise
+     */
+    boolean nativeBuilder() default false;
+
+    /**
+     * Flags whether the generated Record should have field-level diff and patch methods.
+     * {@code diff(other)} returns a bit mask of the fields that differ, in declaration order
+     * ({@code long}, or {@code long[]} for more than 64 fields). {@code applyPatch(source, mask)}
+     * returns a new instance with the marked fields taken from {@code source}.
+     * Defaults to {@code false}.
+     * @return {@code true} if diff and patch methods should be generated; {@code false} otherwise
+     */
+    boolean diff() default false;
+
+    /**
+     * Flags whether the generated Record should have a nested {@code FieldTable} class for index-based field access.
+     * It provides {@code fieldCount()}, {@code fieldName(index)}, {@code fieldType(index)}, {@code indexOf(name)},
+     * {@code get(instance, index)}, so generic code can iterate the fields without reflection.
+     * Defaults to {@code false}.
+     * @return {@code true} if a field table should be generated; {@code false} otherwise
+     */
+    boolean fieldTable() default false;
+
+    /**
+     * Flags whether the generated Record should be readable from a JDBC {@code ResultSet}. Generates a static
+     * {@code fromResultSet(resultSet)} method that maps all remaining rows into a list and a reusable {@code RowMapper}
+     * (via {@code rowMapper()}) that resolves the column indices at the first row ({@code rowNum} 0) of every
+     * {@code ResultSet} and reads every row with typed getters.
+     * Defaults to {@code false}.
+     * @return {@code true} if a row mapper should be generated; {@code false} otherwise
+     */
+    boolean rowMapper() default false;
+
+    /**
+     * Flags whether a streaming CSV codec should be generated for the Record, in a separate class named after the
+     * Record with the postfix {@code Csv}. Its {@code RowReader} maps the header columns to record components once and
+     * parses the rows through a reusable buffer; its {@code RowWriter} writes rows through a reusable
+     * {@code StringBuilder}. Column names default to the field names and can be overridden with @CsvColumn.
+     * Defaults to {@code false}.
+     * @return {@code true} if a CSV codec should be generated; {@code false} otherwise
+     */
+    boolean csv() default false;
+
+    /**
+     * Flags whether the generated Record should have an {@code estimatedSizeInBytes()} method that estimates the
+     * retained heap size of an instance without an instrumentation agent, e.g. for cache weighers.
+     * The shallow size is computed at compile time; Strings, arrays, collections and nested DTOs are added at runtime.
+     * Defaults to {@code false}.
+     * @return {@code true} if a size estimate should be generated; {@code false} otherwise
+     */
+    boolean sizeEstimate() default false;
 }
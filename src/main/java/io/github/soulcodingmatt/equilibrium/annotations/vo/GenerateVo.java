@@ -54,4 +54,63 @@ public @interface GenerateVo {
      * @return {@code true} if setters should be generated; {@code false} otherwise
      */
     boolean setters() default false;
+
+    /**
+     * Flags whether the generated Value Object should be canonicalized.
+     * If set to {@code true}, a static {@code of(...)} factory and an {@code intern(...)} method are generated.
+     * Both return a shared instance for equal values, backed by a concurrent cache that only holds
+     * its instances weakly. Equal VOs obtained this way are the same instance, so {@code equals}
+     * short-circuits on identity.
+     * Interning requires an immutable Value Object and cannot be combined with {@code setters = true}.
+     * Components of array, collection or map type are rejected as well, since they can change after interning.
+     * Defaults to {@code false}.
+     * @return {@code true} if an interning factory should be generated; {@code false} otherwise
+     */
+    boolean intern() default false;
+
+    /**
+     * Flags whether the generated Value Object should have a generated builder that does not require Lombok.
+     * The builder can be reused: {@code build()} keeps the builder's state and {@code reset()} restores the
+     * default values.
+     * Defaults to {@code false}.
+     * @return {@code true} if a builder should be generated; {@code false} otherwise
+     */
+    boolean nativeBuilder() default false;
+
+    /**
+     * Flags whether the generated Value Object should have field-level diff and patch methods.
+     * {@code diff(other)} returns a bit mask of the fields that differ, in declaration order
+     * ({@code long}, or {@code long[]} for more than 64 fields). {@code applyPatch(source, mask)}
+     * returns a new instance with the marked fields taken from {@code source}.
+     * Defaults to {@code false}.
+     * @return {@code true} if diff and patch methods should be generated; {@code false} otherwise
+     */
+    boolean diff() default false;
+
+    /**
+     * Flags whether the generated Value Object should have a nested {@code FieldTable} class for index-based field access.
+     * It provides {@code fieldCount()}, {@code fieldName(index)}, {@code fieldType(index)}, {@code indexOf(name)},
+     * {@code get(instance, index)} and, if setters are generated, {@code set(instance, index, value)}, so generic code can iterate the fields without reflection.
+     * Defaults to {@code false}.
+     * @return {@code true} if a field table should be generated; {@code false} otherwise
+     */
+    boolean fieldTable() default false;
+
+    /**
+     * Flags whether the generated Value Object should have {@code copy()} and {@code deepCopy()} methods.
+     * {@code copy()} shares the field values with the original. {@code deepCopy()} copies arrays with
+     * {@code System.arraycopy} and collections and maps into presized instances.
+     * Defaults to {@code false}.
+     * @return {@code true} if copy methods should be generated; {@code false} otherwise
+     */
+    boolean copy() default false;
+
+    /**
+     * Flags whether the generated Value Object should have an {@code estimatedSizeInBytes()} method that estimates the
+     * retained heap size of an instance without an instrumentation agent, e.g. for cache weighers.
+     * The shallow size is computed at compile time; Strings, arrays, collections and nested DTOs are added at runtime.
+     * Defaults to {@code false}.
+     * @return {@code true} if a size estimate should be generated; {@code false} otherwise
+     */
+    boolean sizeEstimate() default false;
 }
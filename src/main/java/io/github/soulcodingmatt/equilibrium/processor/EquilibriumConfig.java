@@ -1,20 +1,22 @@
 package io.github.soulcodingmatt.equilibrium.processor;
 
+import io.github.soulcodingmatt.equilibrium.processor.util.ProjectCoordinateReader;
 import io.github.soulcodingmatt.equilibrium.processor.util.ValidationUtil;
 
+import javax.annotation.processing.Messager;
 import javax.annotation.processing.ProcessingEnvironment;
-import java.io.IOException;
-import java.nio.file.Files;
-import java.nio.file.Path;
+import javax.lang.model.SourceVersion;
+import javax.tools.Diagnostic;
 import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 /**
  * Configuration class for the Equilibrium annotation processor.
  * Handles global settings from pom.xml and provides default values.
+ * The project coordinates for default packages are only read from the build file when they are needed.
  */
 public class EquilibriumConfig {
     private static final String PREFIX = "equilibrium.";
@@ -25,6 +27,17 @@ public class EquilibriumConfig {
     private static final String RECORD_POSTFIX = PREFIX + "record.postfix";
     private static final String VALUE_OBJECT_PACKAGE = PREFIX + "vo.package";
     private static final String VALUE_OBJECT_POSTFIX = PREFIX + "vo.postfix";
+    private static final String CONVERTERS = PREFIX + "converters";
+    private static final String INDEX = PREFIX + "index";
+    private static final String INDEX_CLASS = PREFIX + "index.class";
+    private static final String MAPPERS = PREFIX + "mappers";
+    private static final String MAPPERS_CLASS = PREFIX + "mappers.class";
+    private static final String CDS = PREFIX + "cds";
+    private static final String NATIVE_IMAGE = PREFIX + "nativeImage";
+    private static final String JFR = PREFIX + "jfr";
+    private static final String METRICS = PREFIX + "metrics";
+    private static final String NESTED_EXCLUDED_PACKAGES = PREFIX + "nested.excludedPackages";
+    private static final String NESTED_COLLECTION_TYPES = PREFIX + "nested.collectionTypes";
 
     private static final String GROUP_ID = PREFIX + "groupId";
     private static final String ARTIFACT_ID = PREFIX + "artifactId";
@@ -34,11 +47,23 @@ public class EquilibriumConfig {
     public static final String VO = "VO";
 
     private final Map<String, String> options;
-    private final String groupId;
-    private final String artifactId;
+    private final Messager messager;
+    private String groupId;
+    private String artifactId;
 
     public EquilibriumConfig(ProcessingEnvironment processingEnv) {
         this.options = processingEnv.getOptions();
+        this.messager = processingEnv.getMessager();
+    }
+
+    /**
+     * Resolves the project coordinates on first use. They are only needed for the default package, so builds that
+     * configure packages don't read any build file.
+     */
+    private void resolveCoordinates() {
+        if (groupId != null) {
+            return;
+        }
 
         // First try to get from equilibrium options
         String configuredGroupId = options.get(GROUP_ID);
@@ -50,8 +75,9 @@ public class EquilibriumConfig {
             return;
         }
 
-        // Try to infer from source files
-        Optional<Map.Entry<String, String>> coordinates = inferProjectCoordinates();
+        // Try to infer from the build file (pom.xml or Gradle build)
+        Optional<Map.Entry<String, String>> coordinates =
+                ProjectCoordinateReader.read(Paths.get(System.getProperty("user.dir")));
         if (coordinates.isPresent()) {
             this.groupId = sanitizePackageName(coordinates.get().getKey());
             this.artifactId = sanitizePackageName(coordinates.get().getValue());
@@ -109,66 +135,6 @@ public class EquilibriumConfig {
         return result.toString();
     }
 
-    /**
-     * Attempts to infer the current project's groupId and artifactId from the pom.xml file.
-     * This method specifically looks for the project's own coordinates, NOT the parent's coordinates.
-     * It uses multiple parsing strategies to handle various pom.xml structures:
-     * 1. First tries to find coordinates outside of any &lt;parent&gt; tags
-     * 2. Then tries removing the parent section entirely and searching again
-     * 3. Finally falls back to the original simple pattern as a last resort
-     *
-     * @return Optional containing the project's groupId and artifactId, or empty if not found
-     */
-    private Optional<Map.Entry<String, String>> inferProjectCoordinates() {
-        try {
-            // Try to find pom.xml in the project root
-            Path projectRoot = Paths.get(System.getProperty("user.dir"));
-            Path pomFile = projectRoot.resolve("pom.xml");
-
-            if (Files.exists(pomFile)) {
-                String content = Files.readString(pomFile);
-
-                // First try to find project coordinates that are NOT inside a <parent> tag
-                // This pattern looks for groupId and artifactId that are direct children of the project element
-                Pattern projectPattern = Pattern.compile(
-                        "(?:(?!</parent>)(?!<parent>).)++<groupId>\\s*(.*?)\\s*</groupId>(?:(?!</parent>)(?!<parent>).)*+<artifactId>\\s*(.*?)\\s*</artifactId>",
-                        Pattern.DOTALL);
-                Matcher projectMatcher = projectPattern.matcher(content);
-
-                if (projectMatcher.find()) {
-                    String foundGroupId = projectMatcher.group(1).trim();
-                    String foundArtifactId = projectMatcher.group(2).trim();
-                    return Optional.of(Map.entry(foundGroupId, foundArtifactId));
-                }
-
-                // If the above pattern doesn't work, try a simpler approach:
-                // Remove the parent section entirely and then search for groupId/artifactId
-                String contentWithoutParent = content.replaceAll("(?s)<parent>.*?</parent>", "");
-                Pattern simplePattern = Pattern.compile("<groupId>\\s*(.*?)\\s*</groupId>.*?<artifactId>\\s*(.*?)\\s*</artifactId>", Pattern.DOTALL);
-                Matcher simpleMatcher = simplePattern.matcher(contentWithoutParent);
-
-                if (simpleMatcher.find()) {
-                    String foundGroupId = simpleMatcher.group(1).trim();
-                    String foundArtifactId = simpleMatcher.group(2).trim();
-                    return Optional.of(Map.entry(foundGroupId, foundArtifactId));
-                }
-
-                // Fallback: use the original pattern if nothing else works
-                Pattern fallbackPattern = Pattern.compile("<groupId>\\s*(.*?)\\s*</groupId>\\s*<artifactId>\\s*(.*?)\\s*</artifactId>", Pattern.DOTALL);
-                Matcher fallbackMatcher = fallbackPattern.matcher(content);
-                if (fallbackMatcher.find()) {
-                    String foundGroupId = fallbackMatcher.group(1).trim();
-                    String foundArtifactId = fallbackMatcher.group(2).trim();
-                    return Optional.of(Map.entry(foundGroupId, foundArtifactId));
-                }
-            }
-        } catch (IOException e) {
-            // If we can't read the file, return empty
-        }
-
-        return Optional.empty();
-    }
-
     /**
      * Gets the global package for DTOs from the configuration.
      *
@@ -229,6 +195,132 @@ public class EquilibriumConfig {
         return ValidationUtil.isValidPostfix(postfix) ? postfix : ValidationUtil.getDefaultPostfix("VO");
     }
 
+    /**
+     * Checks whether converters between the generated variants of an entity should be generated.
+     *
+     * @return true if the option is set to "true", false otherwise
+     */
+    public boolean isConvertersEnabled() {
+        return Boolean.parseBoolean(options.get(CONVERTERS));
+    }
+
+    /**
+     * Checks whether the type index of generated classes should be written.
+     *
+     * @return true if the option is set to "true", false otherwise
+     */
+    public boolean isIndexEnabled() {
+        return Boolean.parseBoolean(options.get(INDEX));
+    }
+
+    /**
+     * Gets the fully qualified name of the generated index lookup class.
+     *
+     * @return Optional containing the class name, or empty if not configured or invalid
+     */
+    public Optional<String> getIndexClassName() {
+        return getClassName(INDEX_CLASS);
+    }
+
+    /**
+     * Checks whether the mapper registry used by {@code Equilibrium.map(...)} should be generated.
+     *
+     * @return true if the option is set to "true", false otherwise
+     */
+    public boolean isMappersEnabled() {
+        return Boolean.parseBoolean(options.get(MAPPERS));
+    }
+
+    /**
+     * Gets the fully qualified name of the generated mapper registry class.
+     *
+     * @return Optional containing the class name, or empty if not configured or invalid
+     */
+    public Optional<String> getMappersClassName() {
+        return getClassName(MAPPERS_CLASS);
+    }
+
+    /**
+     * Gets a fully qualified class name option. An invalid class name is reported as a warning and ignored.
+     */
+    private Optional<String> getClassName(String option) {
+        String className = options.get(option);
+        if (className == null) {
+            return Optional.empty();
+        }
+        if (!SourceVersion.isName(className)) {
+            messager.printMessage(Diagnostic.Kind.WARNING,
+                    "Invalid class name for " + option + ": '" + className + "' - the default class name is used");
+            return Optional.empty();
+        }
+        return Optional.of(className);
+    }
+
+    /**
+     * Checks whether the AppCDS class list of all generated classes should be written.
+     *
+     * @return true if the option is set to "true", false otherwise
+     */
+    public boolean isClassListEnabled() {
+        return Boolean.parseBoolean(options.get(CDS));
+    }
+
+    /**
+     * Checks whether GraalVM native-image reachability metadata for the generated classes should be written.
+     *
+     * @return true if the option is set to "true", false otherwise
+     */
+    public boolean isNativeImageEnabled() {
+        return Boolean.parseBoolean(options.get(NATIVE_IMAGE));
+    }
+
+    /**
+     * Checks whether generated mappers and converters should emit JFR events.
+     *
+     * @return true if the option is set to "true", false otherwise
+     */
+    public boolean isJfrEnabled() {
+        return Boolean.parseBoolean(options.get(JFR));
+    }
+
+    /**
+     * Checks whether generated mappers, converters and CSV writers should update the runtime metrics counters.
+     *
+     * @return true if the option is set to "true", false otherwise
+     */
+    public boolean isMetricsEnabled() {
+        return Boolean.parseBoolean(options.get(METRICS));
+    }
+
+    /**
+     * Gets the additional packages and types that are never treated as custom objects needing a nested DTO.
+     *
+     * @return the comma-separated entries of the option, or an empty list if not configured
+     */
+    public List<String> getNestedExcludedPackages() {
+        return getListOption(NESTED_EXCLUDED_PACKAGES);
+    }
+
+    /**
+     * Gets the additional collection types whose element type is checked for nested DTO conversion.
+     *
+     * @return the comma-separated entries of the option, or an empty list if not configured
+     */
+    public List<String> getNestedCollectionTypes() {
+        return getListOption(NESTED_COLLECTION_TYPES);
+    }
+
+    private List<String> getListOption(String option) {
+        String value = options.get(option);
+        if (value == null || value.isBlank()) {
+            return List.of();
+        }
+        return Arrays.stream(value.split(","))
+                .map(String::trim)
+                .filter(entry -> !entry.isEmpty())
+                .toList();
+    }
+
     /**
      * Validates that either a global package is configured or a specific package
      * is provided in the annotation.
@@ -256,6 +348,7 @@ public class EquilibriumConfig {
                 resolvedPackage = packageOpt.get();
             } else {
                 // Finally, fall back to the default package based on project coordinates
+                resolveCoordinates();
                 resolvedPackage = ValidationUtil.getDefaultPackageName(groupId, artifactId, classType);
             }
         }
@@ -4,13 +4,27 @@ import com.google.auto.service.AutoService;
 import io.github.soulcodingmatt.equilibrium.annotations.dto.*;
 import io.github.soulcodingmatt.equilibrium.annotations.record.GenerateRecord;
 import io.github.soulcodingmatt.equilibrium.annotations.record.GenerateRecords;
-import io.github.soulcodingmatt.equilibrium.annotations.record.IgnoreRecord;
 import io.github.soulcodingmatt.equilibrium.annotations.vo.GenerateVo;
 import io.github.soulcodingmatt.equilibrium.annotations.vo.GenerateVos;
-import io.github.soulcodingmatt.equilibrium.annotations.vo.IgnoreVo;
+import io.github.soulcodingmatt.equilibrium.processor.generator.ClassListGenerator;
+import io.github.soulcodingmatt.equilibrium.processor.generator.ConverterGenerator;
 import io.github.soulcodingmatt.equilibrium.processor.generator.DtoGenerator;
+import io.github.soulcodingmatt.equilibrium.processor.generator.DtoRegistry;
+import io.github.soulcodingmatt.equilibrium.processor.generator.GeneratedVariant;
+import io.github.soulcodingmatt.equilibrium.processor.generator.GeneratorUtility;
+import io.github.soulcodingmatt.equilibrium.processor.generator.GeneratorUtility.Feature;
+import io.github.soulcodingmatt.equilibrium.processor.generator.GeneratorUtility.FieldInclusionConfig;
+import io.github.soulcodingmatt.equilibrium.processor.generator.GeneratorUtility.GeneratorType;
+import io.github.soulcodingmatt.equilibrium.processor.generator.MapperRegistryGenerator;
+import io.github.soulcodingmatt.equilibrium.processor.generator.NativeImageConfigGenerator;
 import io.github.soulcodingmatt.equilibrium.processor.generator.RecordGenerator;
+import io.github.soulcodingmatt.equilibrium.processor.generator.TypeIndexGenerator;
 import io.github.soulcodingmatt.equilibrium.processor.generator.VoGenerator;
+import io.github.soulcodingmatt.equilibrium.processor.spi.ClassModel;
+import io.github.soulcodingmatt.equilibrium.processor.spi.FieldModel;
+import io.github.soulcodingmatt.equilibrium.processor.spi.GeneratorPlugin;
+import io.github.soulcodingmatt.equilibrium.processor.spi.VariantModel;
+import io.github.soulcodingmatt.equilibrium.processor.util.CustomObjectDetector;
 import io.github.soulcodingmatt.equilibrium.processor.util.ValidationConflictUtil;
 
 import javax.annotation.processing.*;
@@ -19,9 +33,18 @@ import javax.lang.model.element.Element;
 import javax.lang.model.element.ElementKind;
 import javax.lang.model.element.TypeElement;
 import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.Elements;
+import javax.lang.model.util.Types;
 import javax.tools.Diagnostic;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.ServiceLoader;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -36,6 +59,7 @@ import java.util.stream.Collectors;
         "io.github.soulcodingmatt.equilibrium.annotations.record.GenerateRecord",
         "io.github.soulcodingmatt.equilibrium.annotations.record.GenerateRecords",
         "io.github.soulcodingmatt.equilibrium.annotations.record.IgnoreRecord",
+        "io.github.soulcodingmatt.equilibrium.annotations.record.CsvColumn",
         "io.github.soulcodingmatt.equilibrium.annotations.vo.GenerateVo",
         "io.github.soulcodingmatt.equilibrium.annotations.vo.GenerateVos",
         "io.github.soulcodingmatt.equilibrium.annotations.vo.IgnoreVo",
@@ -66,7 +90,20 @@ import java.util.stream.Collectors;
         "equilibrium.record.package",
         "equilibrium.record.postfix",
         "equilibrium.vo.package",
-        "equilibrium.vo.postfix"
+        "equilibrium.vo.postfix",
+        "equilibrium.groupId",
+        "equilibrium.artifactId",
+        "equilibrium.converters",
+        "equilibrium.index",
+        "equilibrium.index.class",
+        "equilibrium.mappers",
+        "equilibrium.mappers.class",
+        "equilibrium.cds",
+        "equilibrium.nativeImage",
+        "equilibrium.jfr",
+        "equilibrium.metrics",
+        "equilibrium.nested.excludedPackages",
+        "equilibrium.nested.collectionTypes"
 })
 public class EquilibriumProcessor extends AbstractProcessor {
     public static final String DUPLICATE_ID = "Duplicate ID ";
@@ -84,6 +121,19 @@ public class EquilibriumProcessor extends AbstractProcessor {
     private Filer filer;
     private Messager messager;
     private EquilibriumConfig config;
+    private FieldAnnotationScanner fieldAnnotationScanner;
+    private CustomObjectDetector customObjectDetector;
+    private DtoRegistry dtoRegistry;
+    private final List<GeneratorPlugin> plugins = new ArrayList<>();
+    private TypeIndexGenerator typeIndex;
+    private MapperRegistryGenerator mapperRegistry;
+    // Class names of the type index and the mapper registry once they are written, null before
+    private String writtenTypeIndex;
+    private String writtenMapperRegistry;
+    private ClassListGenerator classList;
+    private NativeImageConfigGenerator nativeImageConfig;
+    // Package of the classes written once per compilation: the alphabetically first package of all entities
+    private String aggregatePackage;
 
     @Override
     public synchronized void init(ProcessingEnvironment processingEnv) {
@@ -91,12 +141,46 @@ public class EquilibriumProcessor extends AbstractProcessor {
         filer = processingEnv.getFiler();
         messager = processingEnv.getMessager();
         config = new EquilibriumConfig(processingEnv);
+        if (config.isClassListEnabled()) {
+            // Everything generated through the filer, including plugin output, goes into the class list
+            classList = new ClassListGenerator();
+            filer = classList.record(filer);
+        }
+        fieldAnnotationScanner = new FieldAnnotationScanner(messager, new ValidationConflictUtil());
+        typeIndex = config.isIndexEnabled() ? new TypeIndexGenerator() : null;
+        dtoRegistry = new DtoRegistry(filer);
+        mapperRegistry = config.isMappersEnabled() ? new MapperRegistryGenerator(messager, config.isJfrEnabled(),
+                config.isMetricsEnabled()) : null;
+        nativeImageConfig = config.isNativeImageEnabled() ? new NativeImageConfigGenerator() : null;
+        customObjectDetector = new CustomObjectDetector(config.getNestedExcludedPackages(), config.getNestedCollectionTypes());
+
+        // Generator plugins are loaded from the annotation processor path
+        for (GeneratorPlugin plugin : ServiceLoader.load(GeneratorPlugin.class, EquilibriumProcessor.class.getClassLoader())) {
+            plugin.init(processingEnv);
+            plugins.add(plugin);
+        }
+    }
+
+    @Override
+    public Set<String> getSupportedOptions() {
+        Set<String> options = new HashSet<>(super.getSupportedOptions());
+        for (GeneratorPlugin plugin : plugins) {
+            options.addAll(plugin.getSupportedOptions());
+        }
+        return options;
     }
 
     @Override
     public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
         // If processing is over, we haven't claimed any new annotations
         if (roundEnv.processingOver()) {
+            // Only reached with pending aggregates if no round followed the generation
+            processAggregates();
+            // Resources can't be recreated, so the DTO metadata is written once, with the DTOs of all rounds
+            processDtoMetadata();
+            // Written last, when all generated sources have been parsed and their members are known
+            processClassList();
+            processNativeImageConfig();
             return false;
         }
 
@@ -106,6 +190,12 @@ public class EquilibriumProcessor extends AbstractProcessor {
                 .map(Object::toString)
                 .anyMatch(name -> name.startsWith("io.github.soulcodingmatt.equilibrium.annotations"));
 
+        // Write the type index and the mapper registry in the first round without new annotated classes, i.e. the
+        // round that compiles the generated classes. In the last round, their sources would trigger a compiler warning.
+        if (!hasEquilibriumAnnotations) {
+            processAggregates();
+        }
+
         // Check if any Jakarta validation annotations are present
         boolean hasJakartaValidationAnnotations = annotations.stream()
                 .map(TypeElement::getQualifiedName)
@@ -128,18 +218,16 @@ public class EquilibriumProcessor extends AbstractProcessor {
                 return false;
             }
 
-            // Validate ValidateDto annotations before processing
+            // Validate the field annotations of every class in a single pass before processing
+            boolean valid = true;
+            Map<TypeElement, List<FieldModel>> fieldModels = new HashMap<>();
             for (TypeElement typeElement : validElements) {
-                if (!validateValidateDtoAnnotations(typeElement)) {
-                    // Validation failed, compilation errors already generated
-                    return false;
-                }
-                
-                // Validate NestedMapping annotations
-                if (!validateNestedMappingAnnotations(typeElement)) {
-                    // Validation failed, compilation errors already generated
-                    return false;
-                }
+                valid &= fieldAnnotationScanner.validate(typeElement);
+                fieldModels.put(typeElement, fieldAnnotationScanner.getFields());
+            }
+            if (!valid) {
+                // Validation failed, compilation errors already generated
+                return false;
             }
             
             // FIRST PASS: Pre-register all DTOs that will be generated
@@ -147,7 +235,7 @@ public class EquilibriumProcessor extends AbstractProcessor {
             
             // SECOND PASS: Process each valid element normally
             for (TypeElement typeElement : validElements) {
-                processElement(typeElement);
+                processElement(typeElement, fieldModels.get(typeElement));
             }
 
             // We've processed our annotations, so claim them
@@ -191,7 +279,7 @@ public class EquilibriumProcessor extends AbstractProcessor {
         return true;
     }
 
-    private void processElement(TypeElement typeElement) {
+    private void processElement(TypeElement typeElement, List<FieldModel> fields) {
         String qualifiedName = typeElement.getQualifiedName().toString();
 
         // Skip if already processed
@@ -200,17 +288,151 @@ public class EquilibriumProcessor extends AbstractProcessor {
         }
         processedElements.add(qualifiedName);
 
+        // Collect the generated variants for follow-up generation steps
+        List<GeneratedVariant> variants = new ArrayList<>();
+
         // Process multiple DTO annotations
-        processGenerateDtos(typeElement);
+        processGenerateDtos(typeElement, variants);
 
         // Process multiple Record annotations
-        processGenerateRecords(typeElement);
+        processGenerateRecords(typeElement, variants);
 
         // Process multiple VO annotations
-        processGenerateVos(typeElement);
+        processGenerateVos(typeElement, variants);
+
+        // Process conversions between the generated variants
+        if (config.isConvertersEnabled() && variants.size() > 1) {
+            processConverters(typeElement, variants);
+        }
+
+        if (typeIndex != null) {
+            typeIndex.add(typeElement, processingEnv.getElementUtils().getBinaryName(typeElement).toString(), variants);
+        } else if (writtenTypeIndex != null) {
+            warning(typeElement, "Generated classes of " + qualifiedName + " are missing from the type index "
+                    + writtenTypeIndex + ", which was written in an earlier round");
+        }
+        if (mapperRegistry != null) {
+            mapperRegistry.add(typeElement, variants);
+        } else if (writtenMapperRegistry != null) {
+            warning(typeElement, "Mappers of " + qualifiedName + " are missing from the mapper registry "
+                    + writtenMapperRegistry + ", which was written in an earlier round");
+        }
+        if (nativeImageConfig != null) {
+            nativeImageConfig.add(variants);
+        }
+        String entityPackage = processingEnv.getElementUtils().getPackageOf(typeElement).getQualifiedName().toString();
+        if (aggregatePackage == null || entityPackage.compareTo(aggregatePackage) < 0) {
+            aggregatePackage = entityPackage;
+        }
+
+        // Let generator plugins work on the same field model
+        if (!plugins.isEmpty()) {
+            List<VariantModel> variantModels = variants.stream().map(GeneratedVariant::toModel).toList();
+            processPlugins(new ClassModel(typeElement, fields, variantModels));
+        }
+    }
+
+    private void processAggregates() {
+        processTypeIndex();
+        processMapperRegistry();
+    }
+
+    private void processDtoMetadata() {
+        try {
+            dtoRegistry.writeMetadata();
+        } catch (Exception e) {
+            error("Failed to write DTO metadata: " + e.getMessage() + " (" + e.getClass().getSimpleName() + ")");
+        }
+    }
+
+    private String getAggregateClassName(String simpleName) {
+        return aggregatePackage == null || aggregatePackage.isEmpty() ? simpleName : aggregatePackage + "." + simpleName;
+    }
+
+    private void processTypeIndex() {
+        if (typeIndex == null || typeIndex.isEmpty()) {
+            return;
+        }
+        String className = config.getIndexClassName().orElse(getAggregateClassName(TypeIndexGenerator.DEFAULT_CLASS_NAME));
+        try {
+            typeIndex.generate(filer, className);
+            writtenTypeIndex = className;
+            messager.printMessage(Diagnostic.Kind.NOTE, "Generated type index: " + className);
+        } catch (Exception e) {
+            error("Failed to generate type index: " + e.getMessage() + " (" + e.getClass().getSimpleName() + ")");
+        }
+        typeIndex = null;
+    }
+
+    private void processMapperRegistry() {
+        if (mapperRegistry == null || mapperRegistry.isEmpty()) {
+            return;
+        }
+        String className = config.getMappersClassName().orElse(getAggregateClassName(MapperRegistryGenerator.DEFAULT_CLASS_NAME));
+        try {
+            mapperRegistry.generate(filer, className);
+            writtenMapperRegistry = className;
+            messager.printMessage(Diagnostic.Kind.NOTE, "Generated mapper registry: " + className);
+        } catch (Exception e) {
+            error("Failed to generate mapper registry: " + e.getMessage() + " (" + e.getClass().getSimpleName() + ")");
+        }
+        mapperRegistry = null;
+    }
+
+    private void processClassList() {
+        if (classList == null) {
+            return;
+        }
+        try {
+            classList.generate(filer, processingEnv.getElementUtils());
+            messager.printMessage(Diagnostic.Kind.NOTE, "Generated class list: " + ClassListGenerator.CLASS_LIST_RESOURCE);
+        } catch (Exception e) {
+            error("Failed to generate class list: " + e.getMessage() + " (" + e.getClass().getSimpleName() + ")");
+        }
+        classList = null;
+    }
+
+    private void processNativeImageConfig() {
+        if (nativeImageConfig == null || nativeImageConfig.isEmpty()) {
+            return;
+        }
+        // The aggregate package keeps the metadata directories of several modules apart
+        String module = aggregatePackage == null || aggregatePackage.isEmpty() ? "default" : aggregatePackage;
+        try {
+            nativeImageConfig.generate(filer, processingEnv.getElementUtils(), processingEnv.getTypeUtils(), module);
+            messager.printMessage(Diagnostic.Kind.NOTE, "Generated native-image metadata: "
+                    + NativeImageConfigGenerator.CONFIG_DIRECTORY + module + "/" + NativeImageConfigGenerator.CONFIG_FILE);
+        } catch (Exception e) {
+            error("Failed to generate native-image metadata: " + e.getMessage() + " (" + e.getClass().getSimpleName() + ")");
+        }
+        nativeImageConfig = null;
+    }
+
+    private void processPlugins(ClassModel model) {
+        for (GeneratorPlugin plugin : plugins) {
+            try {
+                plugin.generate(model, filer);
+            } catch (Exception e) {
+                error(model.getClassElement(), "Generator plugin " + plugin.getClass().getName() + " failed: "
+                        + e.getMessage() + " (" + e.getClass().getSimpleName() + ")");
+            }
+        }
+    }
+
+    private void processConverters(TypeElement classElement, List<GeneratedVariant> variants) {
+        try {
+            ConverterGenerator generator = new ConverterGenerator(classElement, variants, filer, config.isJfrEnabled(),
+                    config.isMetricsEnabled());
+            String converterName = generator.generate();
+            if (converterName != null) {
+                note(classElement, "Generated converter class: " + converterName);
+            }
+        } catch (Exception e) {
+            error(classElement, "Failed to generate converter: " + e.getMessage() + " (" + e.getClass().getSimpleName() + ")");
+        }
     }
 
-    private void processGenerateDtos(TypeElement classElement) {
+    private void processGenerateDtos(TypeElement classElement, List<GeneratedVariant> variants) {
         // Get all @GenerateDto annotations (handles both single and multiple annotations)
         GenerateDto[] dtoAnnotations = classElement.getAnnotationsByType(GenerateDto.class);
         
@@ -223,21 +445,9 @@ public class EquilibriumProcessor extends AbstractProcessor {
             return; // Validation failed, error already logged
         }
         
-        // Collect all valid IDs from DTO annotations for orphaned ID validation
-        Set<Integer> validDtoIds = new HashSet<>();
-        for (GenerateDto annotation : dtoAnnotations) {
-            int id = annotation.id();
-            if (id != -1) {
-                validDtoIds.add(id);
-            }
-        }
-        
-        // Validate @IgnoreDto annotations for duplicate IDs and orphaned ID references
-        validateIgnoreDtoAnnotations(classElement, validDtoIds);
-        
         // Process each DTO annotation
         for (GenerateDto annotation : dtoAnnotations) {
-            processGenerateDto(classElement, annotation);
+            processGenerateDto(classElement, annotation, variants);
         }
     }
 
@@ -277,7 +487,7 @@ public class EquilibriumProcessor extends AbstractProcessor {
         return true;
     }
 
-    private void processGenerateDto(TypeElement classElement, GenerateDto annotation) {
+    private void processGenerateDto(TypeElement classElement, GenerateDto annotation, List<GeneratedVariant> variants) {
         try {
             String packageName = config.validateAndGetPackage(annotation.pkg(), "DTO");
             String className;
@@ -304,48 +514,41 @@ public class EquilibriumProcessor extends AbstractProcessor {
             }
             
             boolean builder = annotation.builder();
+            boolean nativeBuilder = annotation.nativeBuilder();
+
+            // Both variants would declare a static builder() method
+            if (builder && nativeBuilder) {
+                error(classElement, "Cannot generate DTO " + className + ": builder = true and nativeBuilder = true cannot be combined");
+                return;
+            }
+
+            Set<Feature> features = EnumSet.noneOf(Feature.class);
+            addFeature(features, Feature.BUILDER, nativeBuilder);
+            addFeature(features, Feature.SUPER_BUILDER, builder);
+            addFeature(features, Feature.DIRTY_TRACKING, annotation.dirtyTracking());
+            addFeature(features, Feature.DIFF, annotation.diff());
+            addFeature(features, Feature.FIELD_TABLE, annotation.fieldTable());
+            addFeature(features, Feature.SIZE_ESTIMATE, annotation.sizeEstimate());
+            addFeature(features, Feature.COPY, annotation.copy());
+            addFeature(features, Feature.ROW_MAPPER, annotation.rowMapper());
 
             // Create and run the DTO generator
             int dtoId = annotation.id();
-            DtoGenerator generator = new DtoGenerator(classElement, packageName, className, ignoredFields, builder, dtoId, filer, messager);
-            generator.generate();
+            DtoGenerator generator = new DtoGenerator(classElement, packageName, className, ignoredFields, features, dtoId,
+                    filer, messager, customObjectDetector, dtoRegistry);
+            variants.add(generator.generate());
 
             note(classElement, "Generated DTO class: " + packageName + "." + className);
             
-            // Register the generated DTO for import resolution
-            DtoGenerator.registerGeneratedDto(className, packageName + "." + className);
+            // Register the generated DTO for import resolution and the metadata of this module
+            dtoRegistry.registerGenerated(className, packageName + "." + className, classElement,
+                    classElement.getQualifiedName().toString());
         } catch (Exception e) {
             error(classElement, "Failed to generate DTO: " + e.getMessage() + " (" + e.getClass().getSimpleName() + ")");
         }
     }
 
-    private void validateIgnoreDtoAnnotations(TypeElement classElement, Set<Integer> validDtoIds) {
-        // Check all fields for @IgnoreDto annotations and validate their ids arrays
-        classElement.getEnclosedElements().stream()
-            .filter(e -> e.getKind() == ElementKind.FIELD)
-            .map(VariableElement.class::cast)
-            .forEach(field -> {
-                IgnoreDto ignoreDtoAnnotation = field.getAnnotation(IgnoreDto.class);
-                if (ignoreDtoAnnotation != null) {
-                    int[] ids = ignoreDtoAnnotation.ids();
-                    Set<Integer> uniqueIds = new HashSet<>();
-                    for (int id : ids) {
-                        if (!uniqueIds.add(id)) {
-                            messager.printMessage(Diagnostic.Kind.WARNING,
-                                DUPLICATE_ID + id + " in @IgnoreDto annotation for field '" +
-                                field.getSimpleName() + DUPLICATES_WILL_BE_IGNORED, field);
-                        } else if (!validDtoIds.isEmpty() && !validDtoIds.contains(id)) {
-                            // Only check for orphaned IDs if there are actually IDs defined in @GenerateDto annotations
-                            messager.printMessage(Diagnostic.Kind.WARNING,
-                                "ID " + id + " in @IgnoreDto annotation for field '" + 
-                                field.getSimpleName() + "' does not correspond to any @GenerateDto annotation ID", field);
-                        }
-                    }
-                }
-            });
-    }
-
-    private void processGenerateRecords(TypeElement classElement) {
+    private void processGenerateRecords(TypeElement classElement, List<GeneratedVariant> variants) {
         // Get all @GenerateRecord annotations (handles both single and multiple annotations)
         GenerateRecord[] recordAnnotations = classElement.getAnnotationsByType(GenerateRecord.class);
         
@@ -358,21 +561,9 @@ public class EquilibriumProcessor extends AbstractProcessor {
             return; // Validation failed, error already logged
         }
         
-        // Collect all valid IDs from Record annotations for orphaned ID validation
-        Set<Integer> validRecordIds = new HashSet<>();
-        for (GenerateRecord annotation : recordAnnotations) {
-            int id = annotation.id();
-            if (id != -1) {
-                validRecordIds.add(id);
-            }
-        }
-        
-        // Validate @IgnoreRecord annotations for duplicate IDs and orphaned ID references
-        validateIgnoreRecordAnnotations(classElement, validRecordIds);
-        
         // Process each Record annotation
         for (GenerateRecord annotation : recordAnnotations) {
-            processGenerateRecord(classElement, annotation);
+            processGenerateRecord(classElement, annotation, variants);
         }
     }
 
@@ -412,7 +603,7 @@ public class EquilibriumProcessor extends AbstractProcessor {
         return true;
     }
 
-    private void processGenerateRecord(TypeElement classElement, GenerateRecord annotation) {
+    private void processGenerateRecord(TypeElement classElement, GenerateRecord annotation, List<GeneratedVariant> variants) {
         try {
             String packageName = config.validateAndGetPackage(annotation.pkg(), RECORD);
             String className;
@@ -438,10 +629,20 @@ public class EquilibriumProcessor extends AbstractProcessor {
                 }
             }
             
+            Set<Feature> features = EnumSet.noneOf(Feature.class);
+            addFeature(features, Feature.BUILDER, annotation.nativeBuilder());
+            addFeature(features, Feature.DIFF, annotation.diff());
+            addFeature(features, Feature.FIELD_TABLE, annotation.fieldTable());
+            addFeature(features, Feature.SIZE_ESTIMATE, annotation.sizeEstimate());
+            addFeature(features, Feature.ROW_MAPPER, annotation.rowMapper());
+            addFeature(features, Feature.CSV, annotation.csv());
+            addFeature(features, Feature.METRICS, annotation.csv() && config.isMetricsEnabled());
+
             // Create and run the Record generator
             int recordId = annotation.id();
-            RecordGenerator generator = new RecordGenerator(classElement, packageName, className, ignoredFields, recordId, filer);
-            generator.generate();
+            RecordGenerator generator = new RecordGenerator(classElement, packageName, className, ignoredFields, features, recordId,
+                filer, messager);
+            variants.add(generator.generate());
 
             note(classElement, "Generated Record class: " + packageName + "." + className);
         } catch (Exception e) {
@@ -449,33 +650,7 @@ public class EquilibriumProcessor extends AbstractProcessor {
         }
     }
 
-    private void validateIgnoreRecordAnnotations(TypeElement classElement, Set<Integer> validRecordIds) {
-        // Check all fields for @IgnoreRecord annotations and validate their ids arrays
-        classElement.getEnclosedElements().stream()
-            .filter(e -> e.getKind() == ElementKind.FIELD)
-            .map(VariableElement.class::cast)
-            .forEach(field -> {
-                IgnoreRecord ignoreRecordAnnotation = field.getAnnotation(IgnoreRecord.class);
-                if (ignoreRecordAnnotation != null) {
-                    int[] ids = ignoreRecordAnnotation.ids();
-                    Set<Integer> uniqueIds = new HashSet<>();
-                    for (int id : ids) {
-                        if (!uniqueIds.add(id)) {
-                            messager.printMessage(Diagnostic.Kind.WARNING,
-                                DUPLICATE_ID + id + " in @IgnoreRecord annotation for field '" +
-                                field.getSimpleName() + DUPLICATES_WILL_BE_IGNORED, field);
-                        } else if (!validRecordIds.isEmpty() && !validRecordIds.contains(id)) {
-                            // Only check for orphaned IDs if there are actually IDs defined in @GenerateRecord annotations
-                            messager.printMessage(Diagnostic.Kind.WARNING,
-                                "ID " + id + " in @IgnoreRecord annotation for field '" + 
-                                field.getSimpleName() + "' does not correspond to any @GenerateRecord annotation ID", field);
-                        }
-                    }
-                }
-            });
-    }
-
-    private void processGenerateVos(TypeElement classElement) {
+    private void processGenerateVos(TypeElement classElement, List<GeneratedVariant> variants) {
         // Get all @GenerateVo annotations (handles both single and multiple annotations)
         GenerateVo[] voAnnotations = classElement.getAnnotationsByType(GenerateVo.class);
         
@@ -488,21 +663,9 @@ public class EquilibriumProcessor extends AbstractProcessor {
             return; // Validation failed, error already logged
         }
         
-        // Collect all valid IDs from VO annotations for orphaned ID validation
-        Set<Integer> validVoIds = new HashSet<>();
-        for (GenerateVo annotation : voAnnotations) {
-            int id = annotation.id();
-            if (id != -1) {
-                validVoIds.add(id);
-            }
-        }
-        
-        // Validate @IgnoreVo annotations for duplicate IDs and orphaned ID references
-        validateIgnoreVoAnnotations(classElement, validVoIds);
-        
         // Process each VO annotation
         for (GenerateVo annotation : voAnnotations) {
-            processGenerateVo(classElement, annotation);
+            processGenerateVo(classElement, annotation, variants);
         }
     }
 
@@ -542,7 +705,7 @@ public class EquilibriumProcessor extends AbstractProcessor {
         return true;
     }
 
-    private void processGenerateVo(TypeElement classElement, GenerateVo annotation) {
+    private void processGenerateVo(TypeElement classElement, GenerateVo annotation, List<GeneratedVariant> variants) {
         try {
             String packageName = config.validateAndGetPackage(annotation.pkg(), "VO");
             String className;
@@ -569,12 +732,37 @@ public class EquilibriumProcessor extends AbstractProcessor {
             }
             
             boolean generateSetter = annotation.setters();
+            boolean intern = annotation.intern();
+
+            // Interned instances are shared, so they must not be mutable
+            if (intern && generateSetter) {
+                error(classElement, "Cannot generate Value Object " + className + ": intern = true requires an immutable VO and cannot be combined with setters = true");
+                return;
+            }
+
+            // The interning cache keeps the hash of a canonical instance, so its components must not change either
+            if (intern) {
+                VariableElement mutableField = findMutableComponent(classElement, ignoredFields, annotation.id());
+                if (mutableField != null) {
+                    error(mutableField, "Cannot generate Value Object " + className + ": intern = true requires immutable components, but field '"
+                        + mutableField.getSimpleName() + "' is an array, collection or map. Exclude it with @IgnoreVo or don't intern the VO");
+                    return;
+                }
+            }
+
+            Set<Feature> features = EnumSet.noneOf(Feature.class);
+            addFeature(features, Feature.INTERN, intern);
+            addFeature(features, Feature.BUILDER, annotation.nativeBuilder());
+            addFeature(features, Feature.DIFF, annotation.diff());
+            addFeature(features, Feature.FIELD_TABLE, annotation.fieldTable());
+            addFeature(features, Feature.SIZE_ESTIMATE, annotation.sizeEstimate());
+            addFeature(features, Feature.COPY, annotation.copy());
 
             // Create and run the Value Object generator
             int voId = annotation.id();
             VoGenerator generator = new VoGenerator(classElement, packageName, className, 
-                                                  ignoredFields, generateSetter, voId, filer);
-            generator.generate();
+                                                  ignoredFields, generateSetter, features, voId, filer);
+            variants.add(generator.generate());
 
             note(classElement, "Generated Value Object class: " + packageName + "." + className);
         } catch (Exception e) {
@@ -582,6 +770,39 @@ public class EquilibriumProcessor extends AbstractProcessor {
         }
     }
 
+    /**
+     * Finds the first field of a VO whose value can be mutated after construction: an array, a
+     * {@link java.util.Collection} or a {@link java.util.Map}.
+     */
+    private VariableElement findMutableComponent(TypeElement classElement, Set<String> ignoredFields, int voId) {
+        Types types = processingEnv.getTypeUtils();
+        Elements elements = processingEnv.getElementUtils();
+        List<TypeMirror> mutableTypes = new ArrayList<>();
+        for (String typeName : List.of("java.util.Collection", "java.util.Map")) {
+            TypeElement typeElement = elements.getTypeElement(typeName);
+            if (typeElement != null) {
+                mutableTypes.add(types.erasure(typeElement.asType()));
+            }
+        }
+
+        FieldInclusionConfig fieldConfig = new FieldInclusionConfig(GeneratorType.VO, ignoredFields, voId);
+        for (VariableElement field : GeneratorUtility.getIncludedFields(classElement, fieldConfig)) {
+            TypeMirror fieldType = field.asType();
+            if (fieldType.getKind() == TypeKind.ARRAY) {
+                return field;
+            }
+            if (fieldType.getKind() == TypeKind.DECLARED) {
+                TypeMirror erasure = types.erasure(fieldType);
+                for (TypeMirror mutableType : mutableTypes) {
+                    if (types.isAssignable(erasure, mutableType)) {
+                        return field;
+                    }
+                }
+            }
+        }
+        return null;
+    }
+
     /**
      * Pre-registers all DTOs that will be generated to enable cross-references during generation.
      */
@@ -605,7 +826,7 @@ public class EquilibriumProcessor extends AbstractProcessor {
                     String fullQualifiedName = packageName + "." + className;
                     
                     // Pre-register this DTO
-                    DtoGenerator.registerGeneratedDto(className, fullQualifiedName);
+                    dtoRegistry.register(className, fullQualifiedName);
                         
                 } catch (Exception e) {
                     // Continue with other DTOs if one fails
@@ -616,91 +837,10 @@ public class EquilibriumProcessor extends AbstractProcessor {
         }
     }
 
-    private void validateIgnoreVoAnnotations(TypeElement classElement, Set<Integer> validVoIds) {
-        // Check all fields for @IgnoreVo annotations and validate their ids arrays
-        classElement.getEnclosedElements().stream()
-            .filter(e -> e.getKind() == ElementKind.FIELD)
-            .map(VariableElement.class::cast)
-            .forEach(field -> {
-                IgnoreVo ignoreVoAnnotation = field.getAnnotation(IgnoreVo.class);
-                if (ignoreVoAnnotation != null) {
-                    int[] ids = ignoreVoAnnotation.ids();
-                    Set<Integer> uniqueIds = new HashSet<>();
-                    for (int id : ids) {
-                        if (!uniqueIds.add(id)) {
-                            messager.printMessage(Diagnostic.Kind.WARNING,
-                                DUPLICATE_ID + id + " in @IgnoreVo annotation for field '" +
-                                field.getSimpleName() + DUPLICATES_WILL_BE_IGNORED, field);
-                        } else if (!validVoIds.isEmpty() && !validVoIds.contains(id)) {
-                            // Only check for orphaned IDs if there are actually IDs defined in @GenerateVo annotations
-                            messager.printMessage(Diagnostic.Kind.WARNING,
-                                "ID " + id + " in @IgnoreVo annotation for field '" + 
-                                field.getSimpleName() + "' does not correspond to any @GenerateVo annotation ID", field);
-                        }
-                    }
-                }
-            });
-    }
-    
-    /**
-     * Validates all ValidateDto annotations in a class for type compatibility and logical conflicts.
-     * 
-     * @param classElement the class to validate
-     * @return true if validation passes, false if there are errors
-     */
-    private boolean validateValidateDtoAnnotations(TypeElement classElement) {
-        boolean hasErrors = false;
-        
-        // Check all fields for ValidateDto annotations
-        for (Element element : classElement.getEnclosedElements()) {
-            if (element.getKind() == ElementKind.FIELD) {
-                VariableElement field = (VariableElement) element;
-                
-                // Get all ValidateDto annotations on this field (handles both single and repeatable)
-                ValidateDto[] validateDtoAnnotations = field.getAnnotationsByType(ValidateDto.class);
-                
-                if (validateDtoAnnotations.length > 0) {
-                    // Validate the field
-                    List<String> errors = ValidationConflictUtil.validateField(field, validateDtoAnnotations);
-                    
-                    // Report any errors
-                    for (String errorMessage : errors) {
-                        error(field, errorMessage);
-                        hasErrors = true;
-                    }
-                }
-            }
+    private static void addFeature(Set<Feature> features, Feature feature, boolean enabled) {
+        if (enabled) {
+            features.add(feature);
         }
-        
-        return !hasErrors;
-    }
-    
-    /**
-     * Validates all NestedMapping annotations in a class for proper usage and conflicts.
-     * 
-     * @param classElement the class to validate
-     * @return true if validation passes, false if there are errors
-     */
-    private boolean validateNestedMappingAnnotations(TypeElement classElement) {
-        boolean hasErrors = false;
-        
-        // Check all fields for NestedMapping annotations
-        for (Element element : classElement.getEnclosedElements()) {
-            if (element.getKind() == ElementKind.FIELD) {
-                VariableElement field = (VariableElement) element;
-                
-                // Get NestedMapping annotation on this field
-                NestedMapping nestedMapping = field.getAnnotation(NestedMapping.class);
-                
-                if (nestedMapping != null) {
-                    // Basic validation - the DTO class reference validation
-                    // will happen naturally during code generation if the class doesn't exist
-                    // No complex validation needed with simplified single-annotation approach
-                }
-            }
-        }
-        
-        return !hasErrors;
     }
 
     private void error(Element element, String message) {
@@ -711,6 +851,10 @@ public class EquilibriumProcessor extends AbstractProcessor {
         messager.printMessage(Diagnostic.Kind.ERROR, message);
     }
 
+    private void warning(Element element, String message) {
+        messager.printMessage(Diagnostic.Kind.WARNING, message, element);
+    }
+
     private void note(Element element, String message) {
         messager.printMessage(Diagnostic.Kind.NOTE, message, element);
     }
@@ -0,0 +1,185 @@
+package io.github.soulcodingmatt.equilibrium.processor;
+
+import io.github.soulcodingmatt.equilibrium.annotations.common.IgnoreAll;
+import io.github.soulcodingmatt.equilibrium.annotations.dto.GenerateDto;
+import io.github.soulcodingmatt.equilibrium.annotations.dto.IgnoreDto;
+import io.github.soulcodingmatt.equilibrium.annotations.dto.NestedMapping;
+import io.github.soulcodingmatt.equilibrium.annotations.dto.ValidateDto;
+import io.github.soulcodingmatt.equilibrium.annotations.record.GenerateRecord;
+import io.github.soulcodingmatt.equilibrium.annotations.record.IgnoreRecord;
+import io.github.soulcodingmatt.equilibrium.annotations.vo.GenerateVo;
+import io.github.soulcodingmatt.equilibrium.annotations.vo.IgnoreVo;
+import io.github.soulcodingmatt.equilibrium.processor.spi.FieldModel;
+import io.github.soulcodingmatt.equilibrium.processor.util.ValidationConflictUtil;
+
+import javax.annotation.processing.Messager;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.util.ElementScanner14;
+import javax.tools.Diagnostic;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Validates the field-level annotations of an annotated class in a single pass before any code is generated.
+ * <p>
+ * Each field's annotations are read once and checked for:
+ * <ul>
+ *   <li>duplicate and orphaned IDs in @IgnoreDto, @IgnoreRecord and @IgnoreVo (warnings)</li>
+ *   <li>type compatibility and logical conflicts of @ValidateDto (errors)</li>
+ * </ul>
+ * Only the fields declared directly in the class are scanned, not those of nested classes.
+ * The annotations read are kept as {@link FieldModel}s for generator plugins.
+ * </p>
+ */
+class FieldAnnotationScanner extends ElementScanner14<Void, Void> {
+    private final Messager messager;
+    private final ValidationConflictUtil validationConflicts;
+    private TypeElement classElement;
+    private IdScope dtoIds;
+    private IdScope recordIds;
+    private IdScope voIds;
+    private boolean hasErrors;
+    private List<FieldModel> fields;
+
+    FieldAnnotationScanner(Messager messager, ValidationConflictUtil validationConflicts) {
+        this.messager = messager;
+        this.validationConflicts = validationConflicts;
+    }
+
+    /**
+     * Scans the fields of a class and reports all diagnostics.
+     *
+     * @param classElement the annotated class
+     * @return true if validation passes, false if errors were reported
+     */
+    boolean validate(TypeElement classElement) {
+        this.classElement = classElement;
+        GenerateDto[] dtoAnnotations = classElement.getAnnotationsByType(GenerateDto.class);
+        GenerateRecord[] recordAnnotations = classElement.getAnnotationsByType(GenerateRecord.class);
+        GenerateVo[] voAnnotations = classElement.getAnnotationsByType(GenerateVo.class);
+        this.dtoIds = new IdScope(dtoAnnotations.length > 0, ids(dtoAnnotations));
+        this.recordIds = new IdScope(recordAnnotations.length > 0, ids(recordAnnotations));
+        this.voIds = new IdScope(voAnnotations.length > 0, ids(voAnnotations));
+        this.hasErrors = false;
+        this.fields = new ArrayList<>();
+
+        scan(classElement);
+        return !hasErrors;
+    }
+
+    /**
+     * Gets the fields of the class last passed to {@link #validate(TypeElement)}.
+     *
+     * @return the fields in declaration order
+     */
+    List<FieldModel> getFields() {
+        return fields;
+    }
+
+    @Override
+    public Void visitType(TypeElement element, Void unused) {
+        // Nested classes are validated when they are processed themselves
+        return element == classElement ? super.visitType(element, unused) : null;
+    }
+
+    @Override
+    public Void visitExecutable(ExecutableElement element, Void unused) {
+        return null;
+    }
+
+    @Override
+    public Void visitVariable(VariableElement field, Void unused) {
+        if (field.getKind() != ElementKind.FIELD) {
+            return null;
+        }
+
+        IgnoreDto ignoreDto = field.getAnnotation(IgnoreDto.class);
+        if (ignoreDto != null && dtoIds.active()) {
+            checkIgnoreIds(field, ignoreDto.ids(), dtoIds.ids(), "Dto");
+        }
+
+        IgnoreRecord ignoreRecord = field.getAnnotation(IgnoreRecord.class);
+        if (ignoreRecord != null && recordIds.active()) {
+            checkIgnoreIds(field, ignoreRecord.ids(), recordIds.ids(), "Record");
+        }
+
+        IgnoreVo ignoreVo = field.getAnnotation(IgnoreVo.class);
+        if (ignoreVo != null && voIds.active()) {
+            checkIgnoreIds(field, ignoreVo.ids(), voIds.ids(), "Vo");
+        }
+
+        ValidateDto[] validateDtoAnnotations = field.getAnnotationsByType(ValidateDto.class);
+        if (validateDtoAnnotations.length > 0) {
+            List<String> errors = validationConflicts.validateField(field, validateDtoAnnotations);
+            for (String errorMessage : errors) {
+                messager.printMessage(Diagnostic.Kind.ERROR, errorMessage, field);
+                hasErrors = true;
+            }
+        }
+
+        // @NestedMapping needs no further checks: a missing DTO class surfaces during code generation
+        fields.add(new FieldModel(field, field.getAnnotation(IgnoreAll.class) != null,
+            ignoreDto != null ? ignoreDto.ids() : null,
+            ignoreRecord != null ? ignoreRecord.ids() : null,
+            ignoreVo != null ? ignoreVo.ids() : null,
+            validateDtoAnnotations, field.getAnnotation(NestedMapping.class)));
+        return null;
+    }
+
+    private void checkIgnoreIds(VariableElement field, int[] ids, Set<Integer> validIds, String kind) {
+        Set<Integer> uniqueIds = new HashSet<>();
+        for (int id : ids) {
+            if (!uniqueIds.add(id)) {
+                messager.printMessage(Diagnostic.Kind.WARNING,
+                    EquilibriumProcessor.DUPLICATE_ID + id + " in @Ignore" + kind + " annotation for field '" +
+                    field.getSimpleName() + EquilibriumProcessor.DUPLICATES_WILL_BE_IGNORED, field);
+            } else if (!validIds.isEmpty() && !validIds.contains(id)) {
+                // Only check for orphaned IDs if there are actually IDs defined in @Generate annotations
+                messager.printMessage(Diagnostic.Kind.WARNING,
+                    "ID " + id + " in @Ignore" + kind + " annotation for field '" +
+                    field.getSimpleName() + "' does not correspond to any @Generate" + kind + " annotation ID", field);
+            }
+        }
+    }
+
+    private static Set<Integer> ids(GenerateDto[] annotations) {
+        Set<Integer> ids = new HashSet<>();
+        for (GenerateDto annotation : annotations) {
+            addId(ids, annotation.id());
+        }
+        return ids;
+    }
+
+    private static Set<Integer> ids(GenerateRecord[] annotations) {
+        Set<Integer> ids = new HashSet<>();
+        for (GenerateRecord annotation : annotations) {
+            addId(ids, annotation.id());
+        }
+        return ids;
+    }
+
+    private static Set<Integer> ids(GenerateVo[] annotations) {
+        Set<Integer> ids = new HashSet<>();
+        for (GenerateVo annotation : annotations) {
+            addId(ids, annotation.id());
+        }
+        return ids;
+    }
+
+    private static void addId(Set<Integer> ids, int id) {
+        if (id != -1) {
+            ids.add(id);
+        }
+    }
+
+    /**
+     * The IDs of the @Generate annotations of one kind; ignore annotations are only checked if the kind is generated
+     */
+    private record IdScope(boolean active, Set<Integer> ids) {
+    }
+}
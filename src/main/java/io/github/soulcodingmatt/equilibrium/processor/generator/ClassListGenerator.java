@@ -0,0 +1,100 @@
+package io.github.soulcodingmatt.equilibrium.processor.generator;
+
+import javax.annotation.processing.Filer;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.util.ElementFilter;
+import javax.lang.model.util.Elements;
+import javax.tools.FileObject;
+import javax.tools.JavaFileManager;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardLocation;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Writes a class list in the format of {@code -XX:SharedClassListFile} with every class generated in a compilation,
+ * so a build can dump an AppCDS archive for the generated types without a training run.
+ * <p>
+ * The generated top-level classes are recorded where they are created, by a {@link Filer} that wraps the one of
+ * the processor. The list is written in the last round, when all generated sources have been parsed, so nested
+ * classes such as builders, field tables and row mappers are listed as well.
+ * </p>
+ */
+public class ClassListGenerator {
+    public static final String CLASS_LIST_RESOURCE = "META-INF/equilibrium/classlist";
+
+    private final Set<String> generatedTypes = new LinkedHashSet<>();
+
+    /**
+     * Wraps a filer so that every source file created through it is added to the class list.
+     */
+    public Filer record(Filer filer) {
+        return new Filer() {
+            @Override
+            public JavaFileObject createSourceFile(CharSequence name, Element... originatingElements) throws IOException {
+                JavaFileObject file = filer.createSourceFile(name, originatingElements);
+                generatedTypes.add(stripModule(name));
+                return file;
+            }
+
+            @Override
+            public JavaFileObject createClassFile(CharSequence name, Element... originatingElements) throws IOException {
+                JavaFileObject file = filer.createClassFile(name, originatingElements);
+                generatedTypes.add(stripModule(name));
+                return file;
+            }
+
+            @Override
+            public FileObject createResource(JavaFileManager.Location location, CharSequence moduleAndPkg,
+                                             CharSequence relativeName, Element... originatingElements) throws IOException {
+                return filer.createResource(location, moduleAndPkg, relativeName, originatingElements);
+            }
+
+            @Override
+            public FileObject getResource(JavaFileManager.Location location, CharSequence moduleAndPkg,
+                                          CharSequence relativeName) throws IOException {
+                return filer.getResource(location, moduleAndPkg, relativeName);
+            }
+        };
+    }
+
+    /**
+     * Writes the class list resource.
+     */
+    public void generate(Filer filer, Elements elements) throws IOException {
+        Set<String> classNames = new TreeSet<>();
+        for (String generatedType : generatedTypes) {
+            TypeElement typeElement = elements.getTypeElement(generatedType);
+            if (typeElement != null) {
+                addWithNestedTypes(classNames, typeElement, elements);
+            } else {
+                classNames.add(generatedType.replace('.', '/'));
+            }
+        }
+
+        FileObject resource = filer.createResource(StandardLocation.CLASS_OUTPUT, "", CLASS_LIST_RESOURCE);
+        try (Writer writer = resource.openWriter()) {
+            writer.write("# Classes generated by Project Equilibrium, for -XX:SharedClassListFile\n");
+            for (String className : classNames) {
+                writer.write(className + "\n");
+            }
+        }
+        generatedTypes.clear();
+    }
+
+    private static void addWithNestedTypes(Set<String> classNames, TypeElement typeElement, Elements elements) {
+        classNames.add(elements.getBinaryName(typeElement).toString().replace('.', '/'));
+        for (TypeElement nestedType : ElementFilter.typesIn(typeElement.getEnclosedElements())) {
+            addWithNestedTypes(classNames, nestedType, elements);
+        }
+    }
+
+    private static String stripModule(CharSequence name) {
+        String typeName = name.toString();
+        return typeName.substring(typeName.indexOf('/') + 1);
+    }
+}
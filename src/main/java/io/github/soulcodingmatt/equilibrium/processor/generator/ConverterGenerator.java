@@ -0,0 +1,176 @@
+package io.github.soulcodingmatt.equilibrium.processor.generator;
+
+import javax.annotation.processing.Filer;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.tools.JavaFileObject;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Generates a converter class with direct conversions between the DTO, VO and Record variants
+ * generated from the same entity.
+ * <p>
+ * A conversion is generated for every ordered pair of variants that share at least one field
+ * (same name and same declared type). Fields of the target that the source does not provide become
+ * additional parameters of the conversion method, so a missing value is a compile error at the call
+ * site instead of a silent {@code null}.
+ * </p>
+ */
+public class ConverterGenerator {
+    public static final String CONVERTER_POSTFIX = "VariantConverter";
+
+    private final TypeElement classElement;
+    private final List<GeneratedVariant> variants;
+    private final Filer filer;
+    private final boolean jfrEvents;
+    private final boolean metrics;
+
+    public ConverterGenerator(TypeElement classElement, List<GeneratedVariant> variants, Filer filer,
+                              boolean jfrEvents, boolean metrics) {
+        this.classElement = classElement;
+        this.variants = variants;
+        this.filer = filer;
+        this.jfrEvents = jfrEvents;
+        this.metrics = metrics;
+    }
+
+    /**
+     * Get the name of the converter class generated for an entity
+     */
+    public static String getConverterClassName(TypeElement classElement) {
+        return classElement.getSimpleName() + CONVERTER_POSTFIX;
+    }
+
+    /**
+     * Generates the converter class.
+     *
+     * @return the fully qualified name of the generated class, or null if no pair of variants overlaps
+     */
+    public String generate() throws IOException {
+        List<String> methods = new ArrayList<>();
+        Set<String> signatures = new HashSet<>();
+
+        for (GeneratedVariant source : variants) {
+            for (GeneratedVariant target : variants) {
+                if (source != target && signatures.add("to" + target.getClassName() + "(" + source.getQualifiedName() + ")")) {
+                    String method = buildConversion(source, target);
+                    if (method != null) {
+                        methods.add(method);
+                    }
+                }
+            }
+        }
+
+        if (methods.isEmpty()) {
+            return null;
+        }
+
+        String packageName = getPackageName();
+        String className = getConverterClassName(classElement);
+        String qualifiedName = packageName.isEmpty() ? className : packageName + "." + className;
+        JavaFileObject sourceFile = filer.createSourceFile(qualifiedName, classElement);
+
+        try (Writer writer = sourceFile.openWriter()) {
+            if (!packageName.isEmpty()) {
+                writer.write("package " + packageName + ";\n\n");
+            }
+
+            writer.write("/**\n");
+            writer.write(" * Conversions between the generated variants of {@link " + classElement.getQualifiedName() + "}\n");
+            writer.write(" * Generated by Project Equilibrium\n");
+            writer.write(" */\n");
+            writer.write("public final class " + className + " {\n\n");
+
+            writer.write("    private " + className + "() {\n");
+            writer.write(GeneratorUtility.STRING_END);
+
+            for (String method : methods) {
+                writer.write(method);
+            }
+
+            writer.write("}\n");
+        }
+
+        return qualifiedName;
+    }
+
+    /**
+     * Builds the conversion method from source to target, or returns null if the variants share no field.
+     */
+    private String buildConversion(GeneratedVariant source, GeneratedVariant target) {
+        List<VariableElement> missing = new ArrayList<>();
+        List<String> arguments = new ArrayList<>();
+        String sourceParameter = decapitalize(source.getClassName());
+        boolean overlaps = false;
+
+        // Avoid a clash between the source parameter and a parameter for a missing field
+        for (VariableElement field : target.getFields()) {
+            if (field.getSimpleName().contentEquals(sourceParameter)) {
+                sourceParameter = sourceParameter + "Source";
+                break;
+            }
+        }
+
+        for (VariableElement targetField : target.getFields()) {
+            VariableElement sourceField = findMatchingField(source, target, targetField);
+            if (sourceField != null) {
+                arguments.add(source.getReadExpression(sourceParameter, sourceField));
+                overlaps = true;
+            } else {
+                missing.add(targetField);
+                arguments.add(targetField.getSimpleName().toString());
+            }
+        }
+
+        if (!overlaps) {
+            return null;
+        }
+
+        StringBuilder method = new StringBuilder();
+        method.append("    public static ").append(target.getQualifiedName())
+              .append(" to").append(target.getClassName()).append("(")
+              .append(source.getQualifiedName()).append(" ").append(sourceParameter);
+        for (VariableElement field : missing) {
+            method.append(", ").append(target.getFieldType(field)).append(" ").append(field.getSimpleName());
+        }
+        method.append(") {\n");
+        method.append("        if (").append(sourceParameter).append(" == null) {\n");
+        method.append("            return null;\n");
+        method.append("        }\n");
+        String construction = target.getFactory() + "(" + String.join(", ", arguments) + ")";
+        method.append("        return ")
+              .append(GeneratorUtility.getMappingExpression(construction, source.getQualifiedName(), target, jfrEvents, metrics))
+              .append(";\n");
+        method.append(GeneratorUtility.STRING_END);
+        return method.toString();
+    }
+
+    /**
+     * Finds the source field with the same name and declared type as the target field.
+     */
+    private VariableElement findMatchingField(GeneratedVariant source, GeneratedVariant target, VariableElement targetField) {
+        String targetType = target.getFieldType(targetField);
+        for (VariableElement sourceField : source.getFields()) {
+            if (sourceField.getSimpleName().contentEquals(targetField.getSimpleName())
+                    && source.getFieldType(sourceField).equals(targetType)) {
+                return sourceField;
+            }
+        }
+        return null;
+    }
+
+    private String getPackageName() {
+        String qualifiedName = classElement.getQualifiedName().toString();
+        int lastDot = qualifiedName.lastIndexOf('.');
+        return lastDot > 0 ? qualifiedName.substring(0, lastDot) : "";
+    }
+
+    private static String decapitalize(String name) {
+        return name.substring(0, 1).toLowerCase() + name.substring(1);
+    }
+}
@@ -0,0 +1,527 @@
+package io.github.soulcodingmatt.equilibrium.processor.generator;
+
+import io.github.soulcodingmatt.equilibrium.annotations.record.CsvColumn;
+
+import javax.annotation.processing.Filer;
+import javax.annotation.processing.Messager;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.tools.Diagnostic;
+import javax.tools.JavaFileObject;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Generates a streaming CSV codec for a generated Record.
+ * <p>
+ * The codec class contains a {@code RowReader} and a {@code RowWriter}. The reader maps the header columns to record
+ * components once and then parses every row from a reusable char buffer; integers, booleans and BigDecimals are parsed
+ * directly from the buffer without intermediate Strings. The writer formats every row into a reusable
+ * {@code StringBuilder} and hands it to the {@code java.io.Writer} as a char array.
+ * </p>
+ * <p>
+ * Columns follow the Record's field order. Fields of types without a text representation (arrays, collections, custom
+ * objects) are not part of the CSV and are created with their default value; each of them gets a warning, or an error
+ * if it has an explicit {@code @CsvColumn}.
+ * </p>
+ */
+public class CsvCodecGenerator {
+    public static final String CSV_POSTFIX = "Csv";
+
+    private static final Set<String> TEMPORAL_TYPES = Set.of(
+        "java.time.Instant", "java.time.LocalDate", "java.time.LocalDateTime", "java.time.LocalTime",
+        "java.time.OffsetDateTime", "java.time.OffsetTime", "java.time.ZonedDateTime", "java.time.Year",
+        "java.time.YearMonth", "java.time.Duration", "java.time.Period");
+    private static final Set<String> RESERVED_NAMES = Set.of(
+        "status", "column", "field", "fieldLength", "fieldQuoted", "columnFields");
+
+    private final TypeElement classElement;
+    private final String packageName;
+    private final String recordClassName;
+    private final List<VariableElement> fields;
+    private final Filer filer;
+    private final Messager messager;
+    private final boolean metrics;
+    private final Map<VariableElement, String> localNames;
+
+    public CsvCodecGenerator(TypeElement classElement, String packageName, String recordClassName,
+                             List<VariableElement> fields, Filer filer, Messager messager, boolean metrics) {
+        this.classElement = classElement;
+        this.packageName = packageName;
+        this.recordClassName = recordClassName;
+        this.fields = fields;
+        this.filer = filer;
+        this.messager = messager;
+        this.metrics = metrics;
+        this.localNames = getLocalNames(fields);
+    }
+
+    public void generate() throws IOException {
+        String className = recordClassName + CSV_POSTFIX;
+        JavaFileObject sourceFile = filer.createSourceFile(packageName + "." + className, classElement);
+
+        List<VariableElement> columns = new ArrayList<>();
+        for (VariableElement field : fields) {
+            if (getParseExpression(field.asType()) != null) {
+                columns.add(field);
+            } else {
+                reportSkippedField(field, className);
+            }
+        }
+
+        try (Writer writer = sourceFile.openWriter()) {
+            writer.write("package " + packageName + ";\n\n");
+
+            writer.write("/**\n");
+            writer.write(" * Streaming CSV reader and writer for {@link " + recordClassName + "}\n");
+            writer.write(" * Generated by Project Equilibrium\n");
+            writer.write(" */\n");
+            writer.write("public final class " + className + " {\n");
+            writer.write("    private static final String[] COLUMNS = {");
+            for (int i = 0; i < columns.size(); i++) {
+                writer.write((i > 0 ? ", " : "") + "\"" + getColumnName(columns.get(i)) + "\"");
+            }
+            writer.write("};\n\n");
+
+            writer.write("    private " + className + "() {\n");
+            writer.write(GeneratorUtility.STRING_END);
+
+            writer.write("    public static RowReader reader(java.io.Reader in) throws java.io.IOException {\n");
+            writer.write("        return new RowReader(in);\n");
+            writer.write(GeneratorUtility.STRING_END);
+
+            writer.write("    public static RowWriter writer(java.io.Writer out) throws java.io.IOException {\n");
+            writer.write("        return new RowWriter(out);\n");
+            writer.write(GeneratorUtility.STRING_END);
+
+            writeReader(writer, columns);
+            writer.write("\n");
+            writeWriter(writer, columns);
+
+            writer.write("}\n");
+        }
+    }
+
+    private void writeReader(Writer writer, List<VariableElement> columns) throws IOException {
+        writer.write("    public static final class RowReader implements java.io.Closeable {\n");
+        writer.write("        private static final int MORE_FIELDS = 0;\n");
+        writer.write("        private static final int END_OF_ROW = 1;\n");
+        writer.write("        private static final int END_OF_INPUT = 2;\n\n");
+        writer.write("        private final java.io.Reader in;\n");
+        writer.write("        private final char[] buffer = new char[8192];\n");
+        writer.write("        private int position;\n");
+        writer.write("        private int limit;\n");
+        writer.write("        private char[] field = new char[64];\n");
+        writer.write("        private int fieldLength;\n");
+        writer.write("        private boolean fieldQuoted;\n");
+        writer.write("        private final int[] columnFields;\n\n");
+
+        // Header columns are mapped to field indexes once; unknown columns are skipped while reading rows
+        writer.write("        private RowReader(java.io.Reader in) throws java.io.IOException {\n");
+        writer.write("            this.in = in;\n");
+        writer.write("            int[] mapping = new int[16];\n");
+        writer.write("            int count = 0;\n");
+        writer.write("            int status = nextField();\n");
+        writer.write("            while (status != END_OF_INPUT) {\n");
+        writer.write("                if (count == mapping.length) {\n");
+        writer.write("                    mapping = java.util.Arrays.copyOf(mapping, count * 2);\n");
+        writer.write("                }\n");
+        writer.write("                String name = new String(field, 0, fieldLength).trim();\n");
+        writer.write("                if (count == 0 && name.startsWith(\"\\uFEFF\")) {\n");
+        writer.write("                    name = name.substring(1);\n");
+        writer.write("                }\n");
+        writer.write("                mapping[count++] = indexOfColumn(name);\n");
+        writer.write("                if (status == END_OF_ROW) {\n");
+        writer.write("                    break;\n");
+        writer.write("                }\n");
+        writer.write("                status = nextField();\n");
+        writer.write("            }\n");
+        writer.write("            this.columnFields = java.util.Arrays.copyOf(mapping, count);\n");
+        writer.write("        }\n\n");
+
+        writer.write("        private static int indexOfColumn(String name) {\n");
+        writer.write("            for (int i = 0; i < COLUMNS.length; i++) {\n");
+        writer.write("                if (COLUMNS[i].equals(name)) {\n");
+        writer.write("                    return i;\n");
+        writer.write("                }\n");
+        writer.write("            }\n");
+        writer.write("            return -1;\n");
+        writer.write("        }\n\n");
+
+        writer.write("        /**\n");
+        writer.write("         * Reads the next row, or returns null at the end of the input. Blank lines are skipped.\n");
+        writer.write("         */\n");
+        writer.write("        public " + recordClassName + " read() throws java.io.IOException {\n");
+        writer.write("            int status;\n");
+        writer.write("            do {\n");
+        writer.write("                status = nextField();\n");
+        writer.write("                if (status == END_OF_INPUT) {\n");
+        writer.write("                    return null;\n");
+        writer.write("                }\n");
+        writer.write("            } while (status == END_OF_ROW && fieldLength == 0 && !fieldQuoted);\n\n");
+        for (VariableElement field : fields) {
+            writer.write("            " + field.asType() + " " + getLocalName(field) + " = "
+                + GeneratorUtility.getDefaultValue(field.asType()) + ";\n");
+        }
+        writer.write("            int column = 0;\n");
+        writer.write("            while (true) {\n");
+        writer.write("                if (column < columnFields.length && (fieldLength > 0 || fieldQuoted)) {\n");
+        writer.write("                    switch (columnFields[column]) {\n");
+        for (int i = 0; i < columns.size(); i++) {
+            VariableElement field = columns.get(i);
+            writer.write("                        case " + i + " -> " + getLocalName(field) + " = "
+                + getParseExpression(field.asType()) + ";\n");
+        }
+        writer.write("                        default -> {\n");
+        writer.write("                            // Column without a matching field\n");
+        writer.write("                        }\n");
+        writer.write("                    }\n");
+        writer.write("                }\n");
+        writer.write("                if (status != MORE_FIELDS) {\n");
+        writer.write("                    break;\n");
+        writer.write("                }\n");
+        writer.write("                column++;\n");
+        writer.write("                status = nextField();\n");
+        writer.write("            }\n");
+        writer.write("            return new " + recordClassName + "(");
+        for (int i = 0; i < fields.size(); i++) {
+            writer.write((i > 0 ? ", " : "") + getLocalName(fields.get(i)));
+        }
+        writer.write(");\n");
+        writer.write("        }\n\n");
+
+        writer.write("        @Override\n");
+        writer.write("        public void close() throws java.io.IOException {\n");
+        writer.write("            in.close();\n");
+        writer.write("        }\n\n");
+
+        // RFC 4180 field splitting: quoted fields may contain separators, line breaks and doubled quotes
+        writer.write("        private int nextField() throws java.io.IOException {\n");
+        writer.write("            fieldLength = 0;\n");
+        writer.write("            fieldQuoted = false;\n");
+        writer.write("            int c = readChar();\n");
+        writer.write("            if (c == -1) {\n");
+        writer.write("                return END_OF_INPUT;\n");
+        writer.write("            }\n");
+        writer.write("            if (c == '\"') {\n");
+        writer.write("                fieldQuoted = true;\n");
+        writer.write("                while ((c = readChar()) != -1) {\n");
+        writer.write("                    if (c == '\"' && (c = readChar()) != '\"') {\n");
+        writer.write("                        break;\n");
+        writer.write("                    }\n");
+        writer.write("                    append((char) c);\n");
+        writer.write("                }\n");
+        writer.write("            }\n");
+        writer.write("            while (c != ',' && c != '\\n' && c != '\\r' && c != -1) {\n");
+        writer.write("                append((char) c);\n");
+        writer.write("                c = readChar();\n");
+        writer.write("            }\n");
+        writer.write("            if (c == ',') {\n");
+        writer.write("                return MORE_FIELDS;\n");
+        writer.write("            }\n");
+        writer.write("            if (c == '\\r' && peekChar() == '\\n') {\n");
+        writer.write("                position++;\n");
+        writer.write("            }\n");
+        writer.write("            return END_OF_ROW;\n");
+        writer.write("        }\n\n");
+
+        writer.write("        private int readChar() throws java.io.IOException {\n");
+        writer.write("            return position < limit || fill() ? buffer[position++] : -1;\n");
+        writer.write("        }\n\n");
+
+        writer.write("        private int peekChar() throws java.io.IOException {\n");
+        writer.write("            return position < limit || fill() ? buffer[position] : -1;\n");
+        writer.write("        }\n\n");
+
+        writer.write("        private boolean fill() throws java.io.IOException {\n");
+        writer.write("            int read = in.read(buffer, 0, buffer.length);\n");
+        writer.write("            position = 0;\n");
+        writer.write("            limit = Math.max(read, 0);\n");
+        writer.write("            return limit > 0;\n");
+        writer.write("        }\n\n");
+
+        writer.write("        private void append(char c) {\n");
+        writer.write("            if (fieldLength == field.length) {\n");
+        writer.write("                field = java.util.Arrays.copyOf(field, fieldLength * 2);\n");
+        writer.write("            }\n");
+        writer.write("            field[fieldLength++] = c;\n");
+        writer.write("        }\n\n");
+
+        writer.write("        private String text() {\n");
+        writer.write("            return new String(field, 0, fieldLength);\n");
+        writer.write("        }\n\n");
+
+        writer.write("        private char parseChar() {\n");
+        writer.write("            if (fieldLength == 0) {\n");
+        writer.write("                throw new IllegalArgumentException(\"Empty field for a char column\");\n");
+        writer.write("            }\n");
+        writer.write("            return field[0];\n");
+        writer.write("        }\n\n");
+
+        writer.write("        private boolean parseBoolean() {\n");
+        writer.write("            if (fieldLength != 4) {\n");
+        writer.write("                return false;\n");
+        writer.write("            }\n");
+        writer.write("            return Character.toLowerCase(field[0]) == 't' && Character.toLowerCase(field[1]) == 'r'\n");
+        writer.write("                && Character.toLowerCase(field[2]) == 'u' && Character.toLowerCase(field[3]) == 'e';\n");
+        writer.write("        }\n\n");
+
+        // Accumulates negatively like Long.parseLong, so Long.MIN_VALUE can be parsed
+        writer.write("        private long parseInteger(long min, long max) {\n");
+        writer.write("            boolean negative = fieldLength > 0 && field[0] == '-';\n");
+        writer.write("            int i = negative || (fieldLength > 0 && field[0] == '+') ? 1 : 0;\n");
+        writer.write("            if (i == fieldLength) {\n");
+        writer.write("                throw invalidNumber();\n");
+        writer.write("            }\n");
+        writer.write("            long value = 0;\n");
+        writer.write("            try {\n");
+        writer.write("                for (; i < fieldLength; i++) {\n");
+        writer.write("                    int digit = field[i] - '0';\n");
+        writer.write("                    if (digit < 0 || digit > 9) {\n");
+        writer.write("                        throw invalidNumber();\n");
+        writer.write("                    }\n");
+        writer.write("                    value = Math.subtractExact(Math.multiplyExact(value, 10), digit);\n");
+        writer.write("                }\n");
+        writer.write("                value = negative ? value : Math.negateExact(value);\n");
+        writer.write("            } catch (ArithmeticException e) {\n");
+        writer.write("                throw invalidNumber();\n");
+        writer.write("            }\n");
+        writer.write("            if (value < min || value > max) {\n");
+        writer.write("                throw invalidNumber();\n");
+        writer.write("            }\n");
+        writer.write("            return value;\n");
+        writer.write("        }\n\n");
+
+        writer.write("        private NumberFormatException invalidNumber() {\n");
+        writer.write("            return new NumberFormatException(\"For input string: \\\"\" + text() + \"\\\"\");\n");
+        writer.write("        }\n");
+        writer.write(GeneratorUtility.STRING_END);
+    }
+
+    private void writeWriter(Writer writer, List<VariableElement> columns) throws IOException {
+        writer.write("    public static final class RowWriter implements java.io.Closeable, java.io.Flushable {\n");
+        writer.write("        private final java.io.Writer out;\n");
+        writer.write("        private final StringBuilder line = new StringBuilder(256);\n");
+        writer.write("        private char[] chars = new char[256];\n");
+        if (metrics) {
+            writer.write("        private static final io.github.soulcodingmatt.equilibrium.runtime.metrics.TypeMetrics METRICS =\n");
+            writer.write("            " + GeneratorUtility.METRICS + ".forType(" + recordClassName + ".class);\n");
+        }
+        writer.write("\n");
+
+        writer.write("        private RowWriter(java.io.Writer out) throws java.io.IOException {\n");
+        writer.write("            this.out = out;\n");
+        writer.write("            for (int i = 0; i < COLUMNS.length; i++) {\n");
+        writer.write("                if (i > 0) {\n");
+        writer.write("                    line.append(',');\n");
+        writer.write("                }\n");
+        writer.write("                appendText(COLUMNS[i]);\n");
+        writer.write("            }\n");
+        writer.write("            writeLine();\n");
+        writer.write("        }\n\n");
+
+        writer.write("        public void write(" + recordClassName + " value) throws java.io.IOException {\n");
+        for (int i = 0; i < columns.size(); i++) {
+            if (i > 0) {
+                writer.write("            line.append(',');\n");
+            }
+            writeFormat(writer, columns.get(i));
+        }
+        writer.write("            writeLine();\n");
+        writer.write("        }\n\n");
+
+        writer.write("        @Override\n");
+        writer.write("        public void flush() throws java.io.IOException {\n");
+        writer.write("            out.flush();\n");
+        writer.write("        }\n\n");
+
+        writer.write("        @Override\n");
+        writer.write("        public void close() throws java.io.IOException {\n");
+        writer.write("            out.close();\n");
+        writer.write("        }\n\n");
+
+        // Copy into a reusable char array, since Writer.append(CharSequence) would create a String per line
+        writer.write("        private void writeLine() throws java.io.IOException {\n");
+        writer.write("            line.append('\\n');\n");
+        writer.write("            int length = line.length();\n");
+        writer.write("            if (chars.length < length) {\n");
+        writer.write("                chars = new char[Math.max(length, chars.length * 2)];\n");
+        writer.write("            }\n");
+        writer.write("            line.getChars(0, length, chars, 0);\n");
+        writer.write("            out.write(chars, 0, length);\n");
+        if (metrics) {
+            writer.write("            METRICS.serialized(length);\n");
+        }
+        writer.write("            line.setLength(0);\n");
+        writer.write("        }\n\n");
+
+        // Empty Strings are quoted to tell them apart from null, which is written as an empty field
+        writer.write("        private void appendText(String text) {\n");
+        writer.write("            boolean quote = text.isEmpty();\n");
+        writer.write("            for (int i = 0; i < text.length() && !quote; i++) {\n");
+        writer.write("                char c = text.charAt(i);\n");
+        writer.write("                quote = c == ',' || c == '\"' || c == '\\n' || c == '\\r';\n");
+        writer.write("            }\n");
+        writer.write("            if (!quote) {\n");
+        writer.write("                line.append(text);\n");
+        writer.write("                return;\n");
+        writer.write("            }\n");
+        writer.write("            line.append('\"');\n");
+        writer.write("            for (int i = 0; i < text.length(); i++) {\n");
+        writer.write("                char c = text.charAt(i);\n");
+        writer.write("                if (c == '\"') {\n");
+        writer.write("                    line.append('\"');\n");
+        writer.write("                }\n");
+        writer.write("                line.append(c);\n");
+        writer.write("            }\n");
+        writer.write("            line.append('\"');\n");
+        writer.write("        }\n");
+        writer.write(GeneratorUtility.STRING_END);
+    }
+
+    private void writeFormat(Writer writer, VariableElement field) throws IOException {
+        TypeMirror type = field.asType();
+        String accessor = "value." + field.getSimpleName() + "()";
+        String append;
+        if (type.getKind() == TypeKind.CHAR || type.toString().equals("java.lang.Character")) {
+            append = "appendText(String.valueOf(" + accessor + "))";
+        } else if (type.toString().equals("java.lang.String")) {
+            append = "appendText(" + accessor + ")";
+        } else if (isEnum(type)) {
+            append = "line.append(" + accessor + ".name())";
+        } else {
+            append = "line.append(" + accessor + ")";
+        }
+
+        if (type.getKind().isPrimitive()) {
+            writer.write("            " + append + ";\n");
+        } else {
+            writer.write("            if (" + accessor + " != null) {\n");
+            writer.write("                " + append + ";\n");
+            writer.write("            }\n");
+        }
+    }
+
+    /**
+     * Get the expression that converts the current field of the RowReader into the given type,
+     * or null if the type has no CSV representation.
+     */
+    private static String getParseExpression(TypeMirror type) {
+        String typeName = type.toString();
+        String primitive = switch (type.getKind()) {
+            case BOOLEAN -> "boolean";
+            case BYTE -> "byte";
+            case SHORT -> "short";
+            case INT -> "int";
+            case LONG -> "long";
+            case FLOAT -> "float";
+            case DOUBLE -> "double";
+            case CHAR -> "char";
+            case DECLARED -> switch (typeName) {
+                case "java.lang.Boolean" -> "boolean";
+                case "java.lang.Byte" -> "byte";
+                case "java.lang.Short" -> "short";
+                case "java.lang.Integer" -> "int";
+                case "java.lang.Long" -> "long";
+                case "java.lang.Float" -> "float";
+                case "java.lang.Double" -> "double";
+                case "java.lang.Character" -> "char";
+                default -> null;
+            };
+            default -> null;
+        };
+
+        if (primitive != null) {
+            return switch (primitive) {
+                case "boolean" -> "parseBoolean()";
+                case "byte" -> "(byte) parseInteger(Byte.MIN_VALUE, Byte.MAX_VALUE)";
+                case "short" -> "(short) parseInteger(Short.MIN_VALUE, Short.MAX_VALUE)";
+                case "int" -> "(int) parseInteger(Integer.MIN_VALUE, Integer.MAX_VALUE)";
+                case "long" -> "parseInteger(Long.MIN_VALUE, Long.MAX_VALUE)";
+                // The JDK has no floating point parser for char sequences
+                case "float" -> "Float.parseFloat(text())";
+                case "double" -> "Double.parseDouble(text())";
+                // A quoted empty field has no character; the buffer would still hold the previous field
+                default -> "parseChar()";
+            };
+        }
+        if (type.getKind() != TypeKind.DECLARED) {
+            return null;
+        }
+        if (isEnum(type)) {
+            return typeName + ".valueOf(text())";
+        }
+        if (TEMPORAL_TYPES.contains(typeName)) {
+            return typeName + ".parse(java.nio.CharBuffer.wrap(field, 0, fieldLength))";
+        }
+        return switch (typeName) {
+            case "java.lang.String" -> "text()";
+            case "java.math.BigDecimal" -> "new java.math.BigDecimal(field, 0, fieldLength)";
+            case "java.math.BigInteger" -> "new java.math.BigInteger(text())";
+            case "java.util.UUID" -> "java.util.UUID.fromString(text())";
+            default -> null;
+        };
+    }
+
+    /**
+     * Report a field that has no CSV representation. An explicit @CsvColumn on such a field is an error,
+     * otherwise the field silently keeping its default value would be easy to miss.
+     */
+    private void reportSkippedField(VariableElement field, String className) {
+        if (field.getAnnotation(CsvColumn.class) != null) {
+            messager.printMessage(Diagnostic.Kind.ERROR, "@CsvColumn field '" + field.getSimpleName() + "' of type "
+                + field.asType() + " has no CSV representation", field);
+            return;
+        }
+        messager.printMessage(Diagnostic.Kind.WARNING, "Field '" + field.getSimpleName() + "' of type " + field.asType()
+            + " has no CSV representation and is not a column of " + className
+            + "; it keeps its default value when reading. Exclude it with @IgnoreRecord to remove this warning", field);
+    }
+
+    private static boolean isEnum(TypeMirror type) {
+        return type.getKind() == TypeKind.DECLARED
+            && ((TypeElement) ((DeclaredType) type).asElement()).getKind() == ElementKind.ENUM;
+    }
+
+    private static String getColumnName(VariableElement field) {
+        CsvColumn column = field.getAnnotation(CsvColumn.class);
+        String name = column != null && !column.value().isBlank() ? column.value() : field.getSimpleName().toString();
+        return name.replace("\\", "\\\\").replace("\"", "\\\"");
+    }
+
+    private String getLocalName(VariableElement field) {
+        return localNames.get(field);
+    }
+
+    /**
+     * Local variable names for the fields in read(). Fields named like a local or a RowReader field are suffixed with
+     * "Value" until the name is neither reserved nor the name of another field.
+     */
+    private static Map<VariableElement, String> getLocalNames(List<VariableElement> fields) {
+        Set<String> taken = new HashSet<>(RESERVED_NAMES);
+        for (VariableElement field : fields) {
+            taken.add(field.getSimpleName().toString());
+        }
+        Map<VariableElement, String> names = new HashMap<>();
+        for (VariableElement field : fields) {
+            String name = field.getSimpleName().toString();
+            if (RESERVED_NAMES.contains(name)) {
+                do {
+                    name += "Value";
+                } while (!taken.add(name));
+            }
+            names.put(field, name);
+        }
+        return names;
+    }
+}
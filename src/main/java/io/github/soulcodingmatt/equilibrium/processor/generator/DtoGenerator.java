@@ -1,9 +1,12 @@
 package io.github.soulcodingmatt.equilibrium.processor.generator;
 
+import io.github.soulcodingmatt.equilibrium.annotations.dto.GenerateDto;
 import io.github.soulcodingmatt.equilibrium.annotations.dto.NestedMapping;
 import io.github.soulcodingmatt.equilibrium.annotations.dto.ValidateDto;
 import io.github.soulcodingmatt.equilibrium.annotations.dto.validation.*;
 import io.github.soulcodingmatt.equilibrium.annotations.dto.validation.Digits;
+import io.github.soulcodingmatt.equilibrium.processor.generator.GeneratorUtility.BuilderConfig;
+import io.github.soulcodingmatt.equilibrium.processor.generator.GeneratorUtility.Feature;
 import io.github.soulcodingmatt.equilibrium.processor.generator.GeneratorUtility.FieldInclusionConfig;
 import io.github.soulcodingmatt.equilibrium.processor.generator.GeneratorUtility.GeneratorType;
 import io.github.soulcodingmatt.equilibrium.processor.util.CustomObjectDetector;
@@ -16,62 +19,51 @@ import javax.lang.model.type.DeclaredType;
 import javax.lang.model.type.MirroredTypeException;
 import javax.lang.model.type.TypeKind;
 import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
 import javax.tools.Diagnostic;
 import javax.tools.JavaFileObject;
 import java.io.IOException;
 import java.io.Writer;
 import java.util.*;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
 public class DtoGenerator {
 
-    // Registry to track generated DTOs: simpleName -> fullQualifiedName
-    private static final Map<String, String> generatedDtoRegistry = new HashMap<>();
     public static final String DTO_CLASS = "dtoClass=";
     public static final String MESSAGE = "(message = \"";
     public static final String MESSAGE1 = "message = \"";
+    public static final String DIRTY_MASK = "dirtyMask";
 
-    /**
-     * Register a generated DTO for import resolution
-     * @param simpleName Simple class name (e.g., "BodyDto")
-     * @param fullQualifiedName Full qualified name (e.g., "com.soulcodingmatt.dto.BodyDto")
-     */
-    public static void registerGeneratedDto(String simpleName, String fullQualifiedName) {
-        generatedDtoRegistry.put(simpleName, fullQualifiedName);
-    }
-    
-    /**
-     * Look up the full qualified name of a generated DTO
-     * @param simpleName Simple class name (e.g., "BodyDto")
-     * @return Full qualified name if found, null otherwise
-     */
-    public static String lookupGeneratedDto(String simpleName) {
-        return generatedDtoRegistry.get(simpleName);
-    }
-    
     private final TypeElement classElement;
     private final String packageName;
     private final String dtoClassName;
     private final Set<String> ignoredFields;
-    private final boolean builder;
+    private final Set<Feature> features;
     private final Filer filer;
     private final int dtoId;
     private final Messager messager;
+    private final CustomObjectDetector customObjectDetector;
+    private final DtoRegistry dtoRegistry;
+    // Nested DTO imports resolved while writing the imports: simpleName -> fullQualifiedName
+    private final Map<String, String> resolvedDtoImports = new HashMap<>();
 
     public DtoGenerator(TypeElement classElement, String packageName, String dtoClassName,
-                        Set<String> ignoredFields, boolean builder, int dtoId, Filer filer,
-                        Messager messager) {
+                        Set<String> ignoredFields, Set<Feature> features, int dtoId, Filer filer,
+                        Messager messager, CustomObjectDetector customObjectDetector, DtoRegistry dtoRegistry) {
         this.classElement = classElement;
         this.packageName = packageName;
         this.dtoClassName = dtoClassName;
         this.ignoredFields = ignoredFields != null ? ignoredFields : new HashSet<>();
         this.filer = filer;
-        this.builder = builder;
+        this.features = features != null ? features : EnumSet.noneOf(Feature.class);
         this.dtoId = dtoId;
         this.messager = messager;
+        this.customObjectDetector = customObjectDetector;
+        this.dtoRegistry = dtoRegistry;
     }
 
-    public void generate() throws IOException {
+    public GeneratedVariant generate() throws IOException {
 
         // Get all fields that should be included in the DTO
         List<VariableElement> fields = getIncludedFields();
@@ -84,7 +76,7 @@ public class DtoGenerator {
             writer.write("package " + packageName + ";\n\n");
             
             // Write imports
-            if (builder) {
+            if (features.contains(Feature.SUPER_BUILDER)) {
                 writer.write("import lombok.experimental.SuperBuilder;\n");
             }
             writer.write("import java.util.Objects;\n");
@@ -95,7 +87,7 @@ public class DtoGenerator {
             writer.write(" * DTO for {@link " + classElement.getQualifiedName() + "}\n");
             writer.write(" * Generated by Project Equilibrium\n");
             writer.write(" */\n");
-            if (builder) {
+            if (features.contains(Feature.SUPER_BUILDER)) {
                 writer.write("@SuperBuilder\n");
             }
             writer.write("public class " + dtoClassName + " {\n\n");
@@ -104,13 +96,59 @@ public class DtoGenerator {
             for (VariableElement field : fields) {
                 writeField(writer, field);
             }
+
+            // Write dirty mask (one bit per field, in field order)
+            if (features.contains(Feature.DIRTY_TRACKING)) {
+                writeDirtyMaskField(writer, fields);
+            }
             
             // Write constructor
             writeConstructor(writer, fields, dtoClassName);
+
+            // Write native builder
+            if (features.contains(Feature.BUILDER)) {
+                BuilderConfig builderConfig = new BuilderConfig(this::getTransformedFieldType, "new " + dtoClassName);
+                GeneratorUtility.writeBuilder(writer, fields, dtoClassName, builderConfig);
+            }
             
             // Write getters and setters
-            for (VariableElement field : fields) {
-                writeAccessors(writer, field);
+            for (int i = 0; i < fields.size(); i++) {
+                writeAccessors(writer, fields.get(i), i, fields.size());
+            }
+
+            // Write dirty tracking accessors
+            if (features.contains(Feature.DIRTY_TRACKING)) {
+                writeDirtyTrackingMethods(writer, fields);
+            }
+            
+            // Write shallow and deep copies
+            if (features.contains(Feature.COPY)) {
+                checkNestedDeepCopy(fields);
+                GeneratorUtility.writeCopyMethods(writer, fields, dtoClassName, this::getTransformedFieldType,
+                        "new " + dtoClassName, getDirtyMaskCopy(fields), this::hasNestedDeepCopy);
+            }
+            
+            // Write size estimate
+            if (features.contains(Feature.SIZE_ESTIMATE)) {
+                long dirtyMaskBytes = features.contains(Feature.DIRTY_TRACKING) ? GeneratorUtility.getMaskBytes(fields.size()) : 0L;
+                GeneratorUtility.writeSizeEstimate(writer, fields, this::getTransformedFieldType, dirtyMaskBytes,
+                        field -> nestedDtoHasMethod(field, "estimatedSizeInBytes", GenerateDto::sizeEstimate));
+            }
+            
+            // Write field-level diff and patch
+            if (features.contains(Feature.DIFF)) {
+                GeneratorUtility.writeDiff(writer, fields, dtoClassName);
+                GeneratorUtility.writeMutablePatch(writer, fields, dtoClassName);
+            }
+            
+            // Write index-based field access
+            if (features.contains(Feature.FIELD_TABLE)) {
+                GeneratorUtility.writeFieldTable(writer, fields, dtoClassName, this::getTransformedFieldType, true);
+            }
+            
+            // Write JDBC row mapper
+            if (features.contains(Feature.ROW_MAPPER)) {
+                RowMapperWriter.write(writer, fields, dtoClassName, this::getTransformedFieldType, "new " + dtoClassName);
             }
             
             // Write standard method overrides (always generated)
@@ -121,6 +159,9 @@ public class DtoGenerator {
             // Close class
             writer.write("}\n");
         }
+
+        return new GeneratedVariant(GeneratorType.DTO, dtoId, packageName, dtoClassName, fields,
+                this::getQualifiedFieldType, "new " + packageName + "." + dtoClassName);
     }
 
     private List<VariableElement> getIncludedFields() {
@@ -139,9 +180,10 @@ public class DtoGenerator {
             if (nestedMapping != null) {
                 fieldsWithNestedMapping.add(field);
                 
-                String dtoImport = findDtoImportFromSourceClass(nestedMapping);
+                String dtoImport = findDtoImportFromSourceClass(field, nestedMapping);
                 if (dtoImport != null) {
                     imports.add(dtoImport);
+                    resolvedDtoImports.put(getDtoClassSimpleName(nestedMapping), dtoImport);
                 }
             }
         }
@@ -174,12 +216,23 @@ public class DtoGenerator {
      * Finds the import statement for a DTO class by examining the source class imports.
      * This avoids TypeMirror resolution issues when the DTO class doesn't exist yet.
      */
-    private String findDtoImportFromSourceClass(NestedMapping mapping) {
+    private String findDtoImportFromSourceClass(VariableElement field, NestedMapping mapping) {
+        // FIRST: A DTO class that already exists, e.g. compiled in another module, resolves to its qualified name
+        try {
+            return mapping.dtoClass().getName();
+        } catch (MirroredTypeException mte) {
+            if (mte.getTypeMirror().getKind() == TypeKind.DECLARED) {
+                return ((TypeElement) ((DeclaredType) mte.getTypeMirror()).asElement()).getQualifiedName().toString();
+            }
+        }
+
         // Get the simple DTO class name from the annotation
         String dtoSimpleName = getDtoClassSimpleName(mapping);
-        
-        // FIRST: Check our generated DTO registry (most reliable!)
-        String registeredDto = lookupGeneratedDto(dtoSimpleName);
+
+        // SECOND: Check the DTOs of this compilation and the DTO metadata of the modules on the classpath
+        TypeMirror elementType = customObjectDetector.getCollectionElementType(field.asType());
+        String entityName = GeneratorUtility.getErasedType((elementType != null ? elementType : field.asType()).toString());
+        String registeredDto = dtoRegistry.lookup(dtoSimpleName, entityName);
         if (registeredDto != null) {
             return registeredDto;
         }
@@ -612,6 +665,69 @@ public class DtoGenerator {
         return text.replace("\\", "\\\\").replace("\"", "\\\"");
     }
     
+    /**
+     * Reports an error on every @NestedMapping field whose nested DTO (or collection element DTO) has no deepCopy(),
+     * since deepCopy() of this DTO would otherwise share it.
+     */
+    private void checkNestedDeepCopy(List<VariableElement> fields) {
+        for (VariableElement field : fields) {
+            NestedMapping nestedMapping = field.getAnnotation(NestedMapping.class);
+            if (nestedMapping == null || field.asType().getKind() != TypeKind.DECLARED
+                    || ((DeclaredType) field.asType()).getTypeArguments().size() > 1) {
+                // Arrays and maps of nested DTOs are copied shallowly
+                continue;
+            }
+            if (!hasNestedDeepCopy(field)) {
+                messager.printMessage(Diagnostic.Kind.ERROR, "Cannot generate deepCopy() for DTO " + dtoClassName
+                    + ": nested DTO " + getDtoClassSimpleName(nestedMapping) + " of field '" + field.getSimpleName()
+                    + "' has no deepCopy(). Set copy = true on its @GenerateDto", field);
+            }
+        }
+    }
+
+    private boolean hasNestedDeepCopy(VariableElement field) {
+        return nestedDtoHasMethod(field, "deepCopy", GenerateDto::copy);
+    }
+
+    /**
+     * Checks whether the nested DTO of a @NestedMapping field has a generated method without parameters.
+     * A DTO class that already exists is checked for the method itself. A DTO generated in this compilation is checked
+     * through the flag of the @GenerateDto annotations of the nested entity that can generate a DTO of that name.
+     */
+    private boolean nestedDtoHasMethod(VariableElement field, String methodName, Predicate<GenerateDto> flag) {
+        NestedMapping nestedMapping = field.getAnnotation(NestedMapping.class);
+        if (nestedMapping == null) {
+            return false;
+        }
+        try {
+            nestedMapping.dtoClass();
+        } catch (MirroredTypeException mte) {
+            if (mte.getTypeMirror().getKind() == TypeKind.DECLARED) {
+                TypeElement dtoElement = (TypeElement) ((DeclaredType) mte.getTypeMirror()).asElement();
+                return ElementFilter.methodsIn(dtoElement.getEnclosedElements()).stream()
+                    .anyMatch(method -> method.getSimpleName().contentEquals(methodName) && method.getParameters().isEmpty());
+            }
+        }
+
+        TypeMirror elementType = customObjectDetector.getCollectionElementType(field.asType());
+        TypeMirror entityType = elementType != null ? elementType : field.asType();
+        if (entityType.getKind() != TypeKind.DECLARED) {
+            return false;
+        }
+        TypeElement entity = (TypeElement) ((DeclaredType) entityType).asElement();
+        String dtoSimpleName = getDtoClassSimpleName(nestedMapping);
+        String entitySimpleName = entity.getSimpleName().toString();
+        String dtoName = resolvedDtoImports.get(dtoSimpleName);
+        List<GenerateDto> candidates = Arrays.stream(entity.getAnnotationsByType(GenerateDto.class))
+            .filter(annotation -> annotation.name().isEmpty()
+                ? dtoSimpleName.startsWith(entitySimpleName)
+                : annotation.name().equals(dtoSimpleName))
+            .filter(annotation -> annotation.pkg().isEmpty() || dtoName == null
+                || dtoName.equals(annotation.pkg() + "." + dtoSimpleName))
+            .toList();
+        return !candidates.isEmpty() && candidates.stream().allMatch(flag);
+    }
+
     /**
      * Transforms the field type based on @NestedMapping annotations.
      * Returns simple names for use in field declarations, getters, setters, constructor.
@@ -633,25 +749,45 @@ public class DtoGenerator {
     }
 
 
+    /**
+     * Transforms the field type based on @NestedMapping annotations.
+     * Returns fully qualified names where the nested DTO import could be resolved, for use outside the DTO.
+     */
+    private String getQualifiedFieldType(VariableElement field) {
+        NestedMapping nestedMapping = field.getAnnotation(NestedMapping.class);
+        if (nestedMapping == null) {
+            return field.asType().toString();
+        }
+        
+        String dtoClassSimpleName = getDtoClassSimpleName(nestedMapping);
+        String dtoClassName = resolvedDtoImports.getOrDefault(dtoClassSimpleName, dtoClassSimpleName);
+        return transformTypeWithMapping(field.asType(), dtoClassName);
+    }
+
     /**
      * Transforms a field type using the specified DTO mapping.
      * Returns simple names for field declarations.
      */
     private String transformTypeWithMappingSimpleName(TypeMirror fieldType, NestedMapping mapping) {
-        String dtoClassSimpleName = getDtoClassSimpleName(mapping);
-        
+        return transformTypeWithMapping(fieldType, getDtoClassSimpleName(mapping));
+    }
+
+    /**
+     * Replaces the (element) type of a field type with the given DTO class name.
+     */
+    private String transformTypeWithMapping(TypeMirror fieldType, String dtoClassName) {
         // Check if this is a collection type
-        TypeMirror elementType = CustomObjectDetector.getCollectionElementType(fieldType);
+        TypeMirror elementType = customObjectDetector.getCollectionElementType(fieldType);
         if (elementType != null) {
             // Transform collection element type: List<CustomObject> -> List<CustomObjectDto>
             String originalType = fieldType.toString();
             String originalElementType = elementType.toString();
             
-            // Replace the element simple name with the DTO simple name
-            return originalType.replace(originalElementType, dtoClassSimpleName);
+            // Replace the element simple name with the DTO name
+            return originalType.replace(originalElementType, dtoClassName);
         } else {
-            // Direct type transformation: CustomObject -> CustomObjectDto (using simple name)
-            return dtoClassSimpleName;
+            // Direct type transformation: CustomObject -> CustomObjectDto
+            return dtoClassName;
         }
     }
     
@@ -733,7 +869,7 @@ public class DtoGenerator {
         String fieldName = field.getSimpleName().toString();
         
         // Check direct custom object
-        if (CustomObjectDetector.isCustomObject(fieldType)) {
+        if (customObjectDetector.isCustomObject(fieldType)) {
             String customTypeName = fieldType.toString();
             String suggestedDtoName = getSuggestedDtoName(customTypeName);
             
@@ -749,8 +885,8 @@ public class DtoGenerator {
         }
         
         // Check collection of custom objects
-        if (CustomObjectDetector.isCustomObjectCollection(fieldType)) {
-            TypeMirror elementType = CustomObjectDetector.getCollectionElementType(fieldType);
+        if (customObjectDetector.isCustomObjectCollection(fieldType)) {
+            TypeMirror elementType = customObjectDetector.getCollectionElementType(fieldType);
             if (elementType != null) {
                 String customTypeName = elementType.toString();
                 String suggestedDtoName = getSuggestedDtoName(customTypeName);
@@ -815,7 +951,7 @@ public class DtoGenerator {
         writer.write("    private " + transformedType + " " + name + ";\n\n");
     }
 
-    private void writeAccessors(Writer writer, VariableElement field) throws IOException {
+    private void writeAccessors(Writer writer, VariableElement field, int index, int fieldCount) throws IOException {
         // Transform field type based on @NestedMapping annotations
         String type = getTransformedFieldType(field);
         String name = field.getSimpleName().toString();
@@ -829,7 +965,81 @@ public class DtoGenerator {
         // Setter
         writer.write("    public void set" + capitalizedName + "(" + type + " " + name + ") {\n");
         writer.write("        this." + name + " = " + name + ";\n");
+        if (features.contains(Feature.DIRTY_TRACKING)) {
+            writer.write("        " + GeneratorUtility.getMaskWord(DIRTY_MASK, index, fieldCount) + " |= " + GeneratorUtility.getMaskBit(index) + ";\n");
+        }
+        writer.write(GeneratorUtility.STRING_END);
+    }
+
+    private void writeDirtyMaskField(Writer writer, List<VariableElement> fields) throws IOException {
+        if (fields.size() <= Long.SIZE) {
+            writer.write("    private long " + DIRTY_MASK + ";\n\n");
+        } else {
+            int words = GeneratorUtility.getMaskWords(fields.size());
+            writer.write("    private final long[] " + DIRTY_MASK + " = new long[" + words + "];\n\n");
+        }
+    }
+
+    /**
+     * Writes isSet(String), isDirty(), changedFields() and clearDirty(). Fields are reported as changed
+     * once their setter has been called, independent of the value that was set.
+     */
+    private void writeDirtyTrackingMethods(Writer writer, List<VariableElement> fields) throws IOException {
+        int fieldCount = fields.size();
+
+        writer.write("    public boolean isSet(String fieldName) {\n");
+        writer.write("        return switch (fieldName) {\n");
+        for (int i = 0; i < fieldCount; i++) {
+            writer.write("            case \"" + fields.get(i).getSimpleName() + "\" -> " + getDirtyTest(i, fieldCount) + ";\n");
+        }
+        writer.write("            default -> throw new IllegalArgumentException(\"Unknown field: \" + fieldName);\n");
+        writer.write("        };\n");
+        writer.write(GeneratorUtility.STRING_END);
+
+        writer.write("    public boolean isDirty() {\n");
+        if (fieldCount <= Long.SIZE) {
+            writer.write("        return " + DIRTY_MASK + " != 0L;\n");
+        } else {
+            writer.write("        for (long word : " + DIRTY_MASK + ") {\n");
+            writer.write("            if (word != 0L) return true;\n");
+            writer.write("        }\n");
+            writer.write("        return false;\n");
+        }
+        writer.write(GeneratorUtility.STRING_END);
+
+        writer.write("    public java.util.List<String> changedFields() {\n");
+        writer.write("        java.util.List<String> changed = new java.util.ArrayList<>();\n");
+        for (int i = 0; i < fieldCount; i++) {
+            writer.write("        if (" + getDirtyTest(i, fieldCount) + ") changed.add(\"" + fields.get(i).getSimpleName() + "\");\n");
+        }
+        writer.write("        return changed;\n");
         writer.write(GeneratorUtility.STRING_END);
+
+        writer.write("    public void clearDirty() {\n");
+        if (fieldCount <= Long.SIZE) {
+            writer.write("        " + DIRTY_MASK + " = 0L;\n");
+        } else {
+            writer.write("        java.util.Arrays.fill(" + DIRTY_MASK + ", 0L);\n");
+        }
+        writer.write(GeneratorUtility.STRING_END);
+    }
+
+    /**
+     * Get the statement that copies the dirty mask into a copy, or null without dirty tracking
+     */
+    private String getDirtyMaskCopy(List<VariableElement> fields) {
+        if (!features.contains(Feature.DIRTY_TRACKING)) {
+            return null;
+        }
+        if (fields.size() <= 64) {
+            return "$copy." + DIRTY_MASK + " = this." + DIRTY_MASK + ";";
+        }
+        return "System.arraycopy(this." + DIRTY_MASK + ", 0, $copy." + DIRTY_MASK + ", 0, this." + DIRTY_MASK
+                + ".length);";
+    }
+
+    private String getDirtyTest(int index, int fieldCount) {
+        return GeneratorUtility.getMaskTest(DIRTY_MASK, index, fieldCount);
     }
 
     private void writeConstructor(Writer writer, List<VariableElement> fields, String className) throws IOException {
@@ -0,0 +1,116 @@
+package io.github.soulcodingmatt.equilibrium.processor.generator;
+
+import javax.annotation.processing.Filer;
+import javax.lang.model.element.Element;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Resolves the simple names of generated DTOs used in {@code @NestedMapping} to fully qualified names.
+ * <p>
+ * DTOs of the current compilation are registered by the processor. DTOs generated in other modules are found
+ * through the metadata every module publishes: one small resource per entity under {@value #RESOURCE_PREFIX}, named
+ * by the qualified name of the entity and listing the qualified names of its DTOs, one per line. An entity exists only
+ * once on the classpath, so same-named DTOs of different modules don't shadow each other. The resource path is the
+ * hash key, so a lookup reads at most one resource from the classpath and is cached afterwards.
+ * </p>
+ */
+public class DtoRegistry {
+    public static final String RESOURCE_PREFIX = "META-INF/equilibrium/dto/";
+
+    // DTOs of this compilation: simpleName -> fullQualifiedName
+    private final Map<String, String> compilationDtos = new HashMap<>();
+    // DTOs of the classpath: entityName -> DTO names, empty if the classpath has no metadata for the entity
+    private final Map<String, List<String>> classpathDtos = new HashMap<>();
+    // DTOs generated in this compilation, published as metadata: entityName -> DTO names
+    private final Map<String, List<String>> generatedDtos = new LinkedHashMap<>();
+    private final Map<String, Element> entityElements = new HashMap<>();
+    private final Filer filer;
+
+    public DtoRegistry(Filer filer) {
+        this.filer = filer;
+    }
+
+    /**
+     * Register a DTO of this compilation for import resolution
+     * @param simpleName Simple class name (e.g., "BodyDto")
+     * @param fullQualifiedName Full qualified name (e.g., "com.soulcodingmatt.dto.BodyDto")
+     */
+    public void register(String simpleName, String fullQualifiedName) {
+        compilationDtos.put(simpleName, fullQualifiedName);
+    }
+
+    /**
+     * Register a generated DTO and publish it in the metadata of this module
+     * @param entity the entity the DTO was generated from
+     */
+    public void registerGenerated(String simpleName, String fullQualifiedName, Element entity, String entityName) {
+        register(simpleName, fullQualifiedName);
+        generatedDtos.computeIfAbsent(entityName, key -> new ArrayList<>()).add(fullQualifiedName);
+        entityElements.put(entityName, entity);
+    }
+
+    /**
+     * Look up the full qualified name of a generated DTO, first in this compilation and then on the classpath
+     * @param simpleName Simple class name (e.g., "BodyDto")
+     * @param entityName Full qualified name of the nested entity the DTO was generated from
+     * @return Full qualified name if found, null otherwise
+     */
+    public String lookup(String simpleName, String entityName) {
+        String compilationDto = compilationDtos.get(simpleName);
+        if (compilationDto != null) {
+            return compilationDto;
+        }
+
+        for (String dtoName : classpathDtos.computeIfAbsent(entityName, this::readClasspathMetadata)) {
+            if (dtoName.substring(dtoName.lastIndexOf('.') + 1).equals(simpleName)) {
+                return dtoName;
+            }
+        }
+        return null;
+    }
+
+    private List<String> readClasspathMetadata(String entityName) {
+        List<String> dtoNames = new ArrayList<>();
+        try {
+            FileObject resource = filer.getResource(StandardLocation.CLASS_PATH, "", RESOURCE_PREFIX + entityName);
+            try (Reader reader = resource.openReader(true); BufferedReader lines = new BufferedReader(reader)) {
+                for (String line = lines.readLine(); line != null; line = lines.readLine()) {
+                    if (!line.isBlank()) {
+                        dtoNames.add(line.trim());
+                    }
+                }
+            }
+        } catch (IOException | IllegalArgumentException e) {
+            // No module on the classpath generated a DTO of this entity
+        }
+        return dtoNames;
+    }
+
+    /**
+     * Writes the metadata of the DTOs generated in this compilation. A resource can only be created once per
+     * compilation, so the processor calls this when processing is over.
+     */
+    public void writeMetadata() throws IOException {
+        for (Map.Entry<String, List<String>> dtos : generatedDtos.entrySet()) {
+            FileObject resource = filer.createResource(StandardLocation.CLASS_OUTPUT, "",
+                    RESOURCE_PREFIX + dtos.getKey(), entityElements.get(dtos.getKey()));
+            try (Writer writer = resource.openWriter()) {
+                for (String dtoName : dtos.getValue()) {
+                    writer.write(dtoName + "\n");
+                }
+            }
+        }
+        generatedDtos.clear();
+        entityElements.clear();
+    }
+}
@@ -0,0 +1,84 @@
+package io.github.soulcodingmatt.equilibrium.processor.generator;
+
+import io.github.soulcodingmatt.equilibrium.processor.generator.GeneratorUtility.GeneratorType;
+import io.github.soulcodingmatt.equilibrium.processor.spi.VariantKind;
+import io.github.soulcodingmatt.equilibrium.processor.spi.VariantModel;
+
+import javax.lang.model.element.VariableElement;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Describes a class that has been generated from an annotated entity: its kind, name, the fields it declares
+ * and how instances are created and read. Generators return it so that follow-up generation steps can work on
+ * the resolved field model instead of re-reading the annotations.
+ */
+public class GeneratedVariant {
+    private final GeneratorType generatorType;
+    private final int id;
+    private final String packageName;
+    private final String className;
+    private final List<VariableElement> fields;
+    private final Function<VariableElement, String> typeTransformer;
+    private final String factory;
+
+    public GeneratedVariant(GeneratorType generatorType, int id, String packageName, String className,
+                            List<VariableElement> fields, Function<VariableElement, String> typeTransformer,
+                            String factory) {
+        this.generatorType = generatorType;
+        this.id = id;
+        this.packageName = packageName;
+        this.className = className;
+        this.fields = List.copyOf(fields);
+        this.typeTransformer = typeTransformer != null ? typeTransformer : (field -> field.asType().toString());
+        this.factory = factory;
+    }
+
+    public GeneratorType getGeneratorType() { return generatorType; }
+    public int getId() { return id; }
+    public String getPackageName() { return packageName; }
+    public String getClassName() { return className; }
+    public List<VariableElement> getFields() { return fields; }
+
+    public String getQualifiedName() {
+        return packageName + "." + className;
+    }
+
+    /**
+     * Get the declared type of a field in the generated class (after @NestedMapping transformation)
+     */
+    public String getFieldType(VariableElement field) {
+        return typeTransformer.apply(field);
+    }
+
+    /**
+     * Get the expression that creates an instance from all fields, e.g. {@code new com.example.UserDto}.
+     * The argument list in field order has to be appended.
+     */
+    public String getFactory() {
+        return factory;
+    }
+
+    /**
+     * Get the expression that reads a field from an instance named {@code target}
+     */
+    public String getReadExpression(String target, VariableElement field) {
+        String name = field.getSimpleName().toString();
+        if (generatorType == GeneratorType.RECORD) {
+            return target + "." + name + "()";
+        }
+        return target + ".get" + name.substring(0, 1).toUpperCase() + name.substring(1) + "()";
+    }
+
+    /**
+     * Get the view of this variant that is handed to generator plugins
+     */
+    public VariantModel toModel() {
+        VariantKind kind = switch (generatorType) {
+            case DTO -> VariantKind.DTO;
+            case VO -> VariantKind.VO;
+            case RECORD -> VariantKind.RECORD;
+        };
+        return new VariantModel(kind, id, packageName, className, fields, typeTransformer);
+    }
+}
@@ -18,6 +18,8 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -30,6 +32,13 @@ public class GeneratorUtility {
     // Common constants
     public static final String STRING_END = "    }\n\n";
     public static final String OVERRIDE = "    @Override\n";
+    public static final String MAPPING_EVENT = "io.github.soulcodingmatt.equilibrium.runtime.jfr.MappingEvent";
+    public static final String METRICS = "io.github.soulcodingmatt.equilibrium.runtime.metrics.EquilibriumMetrics";
+    
+    // Memory layout of a 64-bit JVM with compressed class pointers and compressed oops, used for size estimates
+    private static final long OBJECT_HEADER_BYTES = 12L;
+    private static final long ARRAY_HEADER_BYTES = 16L;
+    private static final long REFERENCE_BYTES = 4L;
     
     /**
      * Enum representing different generator types for conditional logic
@@ -38,6 +47,34 @@ public class GeneratorUtility {
         DTO, VO, RECORD
     }
     
+    /**
+     * Optional features of a generated class, enabled through the generation annotations
+     */
+    public enum Feature {
+        /** Native, reusable builder */
+        BUILDER,
+        /** Lombok's @SuperBuilder (DTOs only) */
+        SUPER_BUILDER,
+        /** Bit mask of fields set through setters (DTOs only) */
+        DIRTY_TRACKING,
+        /** Canonicalizing of(...) factory (immutable VOs only) */
+        INTERN,
+        /** Field-level diff(...) and applyPatch(...) */
+        DIFF,
+        /** Index-based field access through a nested FieldTable class */
+        FIELD_TABLE,
+        /** JDBC ResultSet mapping through rowMapper() and fromResultSet(...) */
+        ROW_MAPPER,
+        /** Streaming CSV codec in a separate class */
+        CSV,
+        /** copy() and deepCopy() */
+        COPY,
+        /** estimatedSizeInBytes() */
+        SIZE_ESTIMATE,
+        /** Counters in the runtime metrics registry (set by -Aequilibrium.metrics, CSV codec only) */
+        METRICS
+    }
+    
     /**
      * Configuration for field inclusion logic
      */
@@ -89,6 +126,22 @@ public class GeneratorUtility {
         public Function<VariableElement, String> getTypeTransformer() { return typeTransformer; }
     }
     
+    /**
+     * Configuration for builder generation
+     */
+    public static class BuilderConfig {
+        private final Function<VariableElement, String> typeTransformer;
+        private final String factory;
+        
+        public BuilderConfig(Function<VariableElement, String> typeTransformer, String factory) {
+            this.typeTransformer = typeTransformer != null ? typeTransformer : (field -> field.asType().toString());
+            this.factory = factory;
+        }
+        
+        public Function<VariableElement, String> getTypeTransformer() { return typeTransformer; }
+        public String getFactory() { return factory; }
+    }
+    
     /**
      * Get all fields that should be included in the generated class
      */
@@ -316,10 +369,10 @@ public class GeneratorUtility {
         writer.write("        if (o == null || getClass() != o.getClass()) return false;\n");
         writer.write("        " + className + " that = (" + className + ") o;\n");
         
-        // Compare each field
+        // Compare each field, primitives without boxing. Fields are read through this, as they may be named that or o
         for (VariableElement field : fields) {
             String name = field.getSimpleName().toString();
-            writer.write("        if (!Objects.equals(" + name + ", that." + name + ")) return false;\n");
+            writer.write("        if (" + getInequalityTest(field, "this." + name, "that." + name) + ") return false;\n");
         }
         
         writer.write("        return true;\n");
@@ -327,27 +380,40 @@ public class GeneratorUtility {
     }
     
     /**
-     * Write hashCode method
+     * Write hashCode method. The result equals Objects.hash(fields...), but without the varargs array and boxing.
+     * Fields are read through {@code this}, so a field named {@code result} isn't shadowed by the local.
      */
     public static void writeHashCode(Writer writer, List<VariableElement> fields) throws IOException {
         writer.write(OVERRIDE);
         writer.write("    public int hashCode() {\n");
-        writer.write("        return Objects.hash(");
+        writer.write("        int result = 1;\n");
         
         // Add all fields to hash
-        boolean first = true;
         for (VariableElement field : fields) {
-            if (!first) {
-                writer.write(", ");
-            }
-            writer.write(field.getSimpleName().toString());
-            first = false;
+            writer.write("        result = 31 * result + " + getHashCodeExpression(field, "this." + field.getSimpleName()) + ";\n");
         }
         
-        writer.write(");\n");
+        writer.write("        return result;\n");
         writer.write(STRING_END);
     }
     
+    /**
+     * Get the hash code of a field value as its wrapper would compute it, without boxing primitives.
+     */
+    public static String getHashCodeExpression(VariableElement field, String value) {
+        return switch (field.asType().getKind()) {
+            case BOOLEAN -> "Boolean.hashCode(" + value + ")";
+            case CHAR -> "Character.hashCode(" + value + ")";
+            case BYTE -> "Byte.hashCode(" + value + ")";
+            case SHORT -> "Short.hashCode(" + value + ")";
+            case INT -> "Integer.hashCode(" + value + ")";
+            case LONG -> "Long.hashCode(" + value + ")";
+            case FLOAT -> "Float.hashCode(" + value + ")";
+            case DOUBLE -> "Double.hashCode(" + value + ")";
+            default -> "Objects.hashCode(" + value + ")";
+        };
+    }
+    
     /**
      * Write toString method
      */
@@ -387,4 +453,602 @@ public class GeneratorUtility {
             first = false;
         }
     }
-} 
\ No newline at end of file
+    
+    /**
+     * Write a static builder() method and a reusable nested Builder class.
+     * The builder keeps its state after build(), so one instance can be reused; reset() restores the defaults.
+     */
+    public static void writeBuilder(Writer writer, List<VariableElement> fields, String className, BuilderConfig config) throws IOException {
+        writer.write("    public static Builder builder() {\n");
+        writer.write("        return new Builder();\n");
+        writer.write(STRING_END);
+        
+        writer.write("    public static final class Builder {\n");
+        
+        // Builder state mirrors the fields of the generated class
+        for (VariableElement field : fields) {
+            String type = config.getTypeTransformer().apply(field);
+            writer.write("        private " + type + " " + field.getSimpleName() + ";\n");
+        }
+        writer.write("\n");
+        writer.write("        private Builder() {\n");
+        writer.write("        }\n\n");
+        
+        // Fluent setters
+        for (VariableElement field : fields) {
+            String type = config.getTypeTransformer().apply(field);
+            String name = field.getSimpleName().toString();
+            writer.write("        public Builder " + name + "(" + type + " " + name + ") {\n");
+            writer.write("            this." + name + " = " + name + ";\n");
+            writer.write("            return this;\n");
+            writer.write("        }\n\n");
+        }
+        
+        // Restore defaults so the builder can be reused
+        writer.write("        public Builder reset() {\n");
+        for (VariableElement field : fields) {
+            writer.write("            " + field.getSimpleName() + " = " + getDefaultValue(field.asType()) + ";\n");
+        }
+        writer.write("            return this;\n");
+        writer.write("        }\n\n");
+        
+        writer.write("        public " + className + " build() {\n");
+        writer.write("            return " + config.getFactory() + "(");
+        boolean first = true;
+        for (VariableElement field : fields) {
+            if (!first) {
+                writer.write(", ");
+            }
+            writer.write(field.getSimpleName().toString());
+            first = false;
+        }
+        writer.write(");\n");
+        writer.write("        }\n");
+        writer.write(STRING_END);
+    }
+    
+    /**
+     * Get the Java default value literal for a type, as used for uninitialized fields
+     */
+    public static String getDefaultValue(TypeMirror type) {
+        return switch (type.getKind()) {
+            case BOOLEAN -> "false";
+            case CHAR -> "'\\0'";
+            case BYTE -> "(byte) 0";
+            case SHORT -> "(short) 0";
+            case INT -> "0";
+            case LONG -> "0L";
+            case FLOAT -> "0F";
+            case DOUBLE -> "0D";
+            default -> "null";
+        };
+    }
+    
+    /**
+     * Write diff method returning a bit mask of the fields that differ from another instance.
+     * Bits follow the field order of equals(); classes with more than 64 fields use a long[] mask.
+     * Fields are always read through {@code this.} or {@code other.}, so fields named like the parameter or the
+     * local mask aren't shadowed.
+     */
+    public static void writeDiff(Writer writer, List<VariableElement> fields, String className) throws IOException {
+        int fieldCount = fields.size();
+        writer.write("    public " + getMaskType(fieldCount) + " diff(" + className + " other) {\n");
+        writer.write("        java.util.Objects.requireNonNull(other, \"other\");\n");
+        if (fieldCount <= Long.SIZE) {
+            writer.write("        long mask = 0L;\n");
+        } else {
+            writer.write("        long[] mask = new long[" + getMaskWords(fieldCount) + "];\n");
+        }
+        
+        for (int i = 0; i < fieldCount; i++) {
+            VariableElement field = fields.get(i);
+            String name = field.getSimpleName().toString();
+            writer.write("        if (" + getInequalityTest(field, "this." + name, "other." + name) + ") "
+                    + getMaskWord("mask", i, fieldCount) + " |= " + getMaskBit(i) + ";\n");
+        }
+        
+        writer.write("        return mask;\n");
+        writer.write(STRING_END);
+    }
+    
+    /**
+     * Write applyPatch method for mutable classes: copies the marked fields of the source through the setters
+     * and returns this instance.
+     */
+    public static void writeMutablePatch(Writer writer, List<VariableElement> fields, String className) throws IOException {
+        int fieldCount = fields.size();
+        writer.write("    public " + className + " applyPatch(" + className + " source, " + getMaskType(fieldCount) + " mask) {\n");
+        writer.write("        java.util.Objects.requireNonNull(source, \"source\");\n");
+        for (int i = 0; i < fieldCount; i++) {
+            String name = fields.get(i).getSimpleName().toString();
+            String capitalizedName = name.substring(0, 1).toUpperCase() + name.substring(1);
+            writer.write("        if (" + getMaskTest("mask", i, fieldCount) + ") set" + capitalizedName + "(source." + name + ");\n");
+        }
+        writer.write("        return this;\n");
+        writer.write(STRING_END);
+    }
+    
+    /**
+     * Write applyPatch method for immutable classes: returns a new instance that takes the marked fields
+     * from the source and all other fields from this instance.
+     */
+    public static void writeImmutablePatch(Writer writer, List<VariableElement> fields, String className, String factory) throws IOException {
+        int fieldCount = fields.size();
+        writer.write("    public " + className + " applyPatch(" + className + " source, " + getMaskType(fieldCount) + " mask) {\n");
+        writer.write("        java.util.Objects.requireNonNull(source, \"source\");\n");
+        writer.write("        return " + factory + "(");
+        for (int i = 0; i < fieldCount; i++) {
+            String name = fields.get(i).getSimpleName().toString();
+            if (i > 0) {
+                writer.write(",");
+            }
+            writer.write("\n            " + getMaskTest("mask", i, fieldCount) + " ? source." + name + " : this." + name);
+        }
+        writer.write(");\n");
+        writer.write(STRING_END);
+    }
+    
+    /**
+     * Get the inequality test of a field between two expressions, without boxing primitives.
+     * Floating point values are compared like their wrappers do in equals().
+     */
+    public static String getInequalityTest(VariableElement field, String left, String right) {
+        return switch (field.asType().getKind()) {
+            case FLOAT -> "Float.compare(" + left + ", " + right + ") != 0";
+            case DOUBLE -> "Double.compare(" + left + ", " + right + ") != 0";
+            case BOOLEAN, CHAR, BYTE, SHORT, INT, LONG -> left + " != " + right;
+            default -> "!java.util.Objects.equals(" + left + ", " + right + ")";
+        };
+    }
+    
+    /**
+     * Get the type of a field bit mask: long for up to 64 fields, long[] otherwise
+     */
+    public static String getMaskType(int fieldCount) {
+        return fieldCount <= Long.SIZE ? "long" : "long[]";
+    }
+    
+    /**
+     * Get the number of long words of a long[] field bit mask
+     */
+    public static int getMaskWords(int fieldCount) {
+        return (fieldCount + Long.SIZE - 1) / Long.SIZE;
+    }
+    
+    /**
+     * Get the mask expression that holds the bit of a field
+     */
+    public static String getMaskWord(String mask, int index, int fieldCount) {
+        return fieldCount <= Long.SIZE ? mask : mask + "[" + (index / Long.SIZE) + "]";
+    }
+    
+    /**
+     * Get the bit of a field within its mask word
+     */
+    public static String getMaskBit(int index) {
+        return "(1L << " + (index % Long.SIZE) + ")";
+    }
+    
+    /**
+     * Get the test whether the bit of a field is set in a mask
+     */
+    public static String getMaskTest(String mask, int index, int fieldCount) {
+        return "(" + getMaskWord(mask, index, fieldCount) + " & " + getMaskBit(index) + ") != 0L";
+    }
+    
+    /**
+     * Write a nested FieldTable class that gives index-based access to the fields without reflection.
+     * Indexes follow the field order of equals(). The set method is only written for mutable classes.
+     */
+    public static void writeFieldTable(Writer writer, List<VariableElement> fields, String className,
+                                       Function<VariableElement, String> typeTransformer, boolean mutable) throws IOException {
+        Function<VariableElement, String> typeOf = typeTransformer != null ? typeTransformer : (field -> field.asType().toString());
+        int fieldCount = fields.size();
+        
+        writer.write("    public static final class FieldTable {\n");
+        
+        writer.write("        private static final String[] NAMES = {");
+        for (int i = 0; i < fieldCount; i++) {
+            writer.write((i > 0 ? ", " : "") + "\"" + fields.get(i).getSimpleName() + "\"");
+        }
+        writer.write("};\n");
+        
+        writer.write("        private static final Class<?>[] TYPES = {");
+        for (int i = 0; i < fieldCount; i++) {
+            writer.write((i > 0 ? ", " : "") + getErasedType(typeOf.apply(fields.get(i))) + ".class");
+        }
+        writer.write("};\n\n");
+        
+        writer.write("        private FieldTable() {\n");
+        writer.write("        }\n\n");
+        
+        writer.write("        public static int fieldCount() {\n");
+        writer.write("            return " + fieldCount + ";\n");
+        writer.write("        }\n\n");
+        
+        writer.write("        public static String fieldName(int index) {\n");
+        writer.write("            return NAMES[index];\n");
+        writer.write("        }\n\n");
+        
+        writer.write("        public static Class<?> fieldType(int index) {\n");
+        writer.write("            return TYPES[index];\n");
+        writer.write("        }\n\n");
+        
+        // Name lookup compiles to a hash switch, so no map has to be built at class initialization
+        writer.write("        public static int indexOf(String fieldName) {\n");
+        writer.write("            return switch (fieldName) {\n");
+        for (int i = 0; i < fieldCount; i++) {
+            writer.write("                case \"" + fields.get(i).getSimpleName() + "\" -> " + i + ";\n");
+        }
+        writer.write("                default -> -1;\n");
+        writer.write("            };\n");
+        writer.write("        }\n\n");
+        
+        writer.write("        public static Object get(" + className + " instance, int index) {\n");
+        writer.write("            return switch (index) {\n");
+        for (int i = 0; i < fieldCount; i++) {
+            writer.write("                case " + i + " -> instance." + fields.get(i).getSimpleName() + ";\n");
+        }
+        writer.write("                default -> throw new IndexOutOfBoundsException(index);\n");
+        writer.write("            };\n");
+        writer.write("        }\n");
+        
+        if (mutable) {
+            writer.write("\n");
+            writer.write("        @SuppressWarnings(\"unchecked\")\n");
+            writer.write("        public static void set(" + className + " instance, int index, Object value) {\n");
+            writer.write("            switch (index) {\n");
+            for (int i = 0; i < fieldCount; i++) {
+                VariableElement field = fields.get(i);
+                String name = field.getSimpleName().toString();
+                String capitalizedName = name.substring(0, 1).toUpperCase() + name.substring(1);
+                writer.write("                case " + i + " -> instance.set" + capitalizedName + "((" + typeOf.apply(field) + ") value);\n");
+            }
+            writer.write("                default -> throw new IndexOutOfBoundsException(index);\n");
+            writer.write("            }\n");
+            writer.write("        }\n");
+        }
+        
+        writer.write(STRING_END);
+    }
+    
+    /**
+     * Write copy() and deepCopy() methods.
+     * copy() shares all field values with the original. deepCopy() copies arrays with System.arraycopy, copies
+     * collections and maps into presized instances and calls deepCopy() on nested DTOs, i.e. fields whose declared
+     * type differs from the original type (@NestedMapping). Other values are shared.
+     * Fields are read through {@code this} and the generated locals contain a {@code $}, so fields named like a local
+     * (e.g. {@code copy} or {@code fooCopy}) are copied as well.
+     *
+     * @param stateCopy  statement that copies additional state into the local variable {@code $copy}, or null
+     * @param nestedCopy whether the nested DTO of a field has a deepCopy() method, or null if there are no nested DTOs.
+     *                   Nested DTOs without it are shared, and collections of them are copied shallowly.
+     */
+    public static void writeCopyMethods(Writer writer, List<VariableElement> fields, String className,
+                                        Function<VariableElement, String> typeTransformer, String factory,
+                                        String stateCopy, Predicate<VariableElement> nestedCopy) throws IOException {
+        Function<VariableElement, String> typeOf = typeTransformer != null ? typeTransformer : (field -> field.asType().toString());
+        Predicate<VariableElement> hasDeepCopy = nestedCopy != null ? nestedCopy : (field -> false);
+        
+        writer.write("    public " + className + " copy() {\n");
+        writeCopyReturn(writer, fields, className, factory, stateCopy, name -> "this." + name);
+        writer.write(STRING_END);
+        
+        writer.write("    public " + className + " deepCopy() {\n");
+        Set<String> copied = new HashSet<>();
+        for (VariableElement field : fields) {
+            if (writeDeepCopy(writer, field, typeOf.apply(field), hasDeepCopy.test(field))) {
+                copied.add(field.getSimpleName().toString());
+            }
+        }
+        writeCopyReturn(writer, fields, className, factory, stateCopy,
+            name -> copied.contains(name) ? getDeepCopyLocal(name) : "this." + name);
+        writer.write(STRING_END);
+    }
+    
+    private static void writeCopyReturn(Writer writer, List<VariableElement> fields, String className, String factory,
+                                        String stateCopy, UnaryOperator<String> argument) throws IOException {
+        String creation = factory + "(" + fields.stream()
+            .map(field -> argument.apply(field.getSimpleName().toString()))
+            .collect(Collectors.joining(", ")) + ")";
+        if (stateCopy == null) {
+            writer.write("        return " + creation + ";\n");
+            return;
+        }
+        writer.write("        " + className + " $copy = " + creation + ";\n");
+        writer.write("        " + stateCopy + "\n");
+        writer.write("        return $copy;\n");
+    }
+    
+    private static String getDeepCopyLocal(String name) {
+        return name + "$copy";
+    }
+    
+    /**
+     * Write the statements that deep copy a field into a local variable named {@code <field>$copy}.
+     *
+     * @param hasDeepCopy whether the nested DTO of the field has a deepCopy() method
+     * @return false if the field value can be shared and no local variable was written
+     */
+    private static boolean writeDeepCopy(Writer writer, VariableElement field, String declaredType,
+                                         boolean hasDeepCopy) throws IOException {
+        TypeMirror type = field.asType();
+        String name = "this." + field.getSimpleName();
+        String copy = getDeepCopyLocal(field.getSimpleName().toString());
+        boolean nested = !declaredType.equals(type.toString()) && hasDeepCopy;
+        
+        if (type.getKind() == TypeKind.ARRAY) {
+            String erasedType = getErasedType(declaredType);
+            writer.write("        " + declaredType + " " + copy + " = null;\n");
+            writer.write("        if (" + name + " != null) {\n");
+            if (erasedType.equals(declaredType)) {
+                int bracket = erasedType.indexOf('[');
+                writer.write("            " + copy + " = new " + erasedType.substring(0, bracket + 1) + name + ".length"
+                    + erasedType.substring(bracket + 1) + ";\n");
+                writer.write("            System.arraycopy(" + name + ", 0, " + copy + ", 0, " + name + ".length);\n");
+                if (erasedType.endsWith("[][]")) {
+                    // Rows of multi-dimensional arrays are copied as well
+                    writer.write("            for (int i = 0; i < " + copy + ".length; i++) {\n");
+                    writer.write("                if (" + copy + "[i] != null) {\n");
+                    writer.write("                    " + copy + "[i] = " + copy + "[i].clone();\n");
+                    writer.write("                }\n");
+                    writer.write("            }\n");
+                }
+            } else {
+                // Generic component types can't be instantiated, Arrays.copyOf keeps the runtime type
+                writer.write("            " + copy + " = java.util.Arrays.copyOf(" + name + ", " + name + ".length);\n");
+            }
+            writer.write("        }\n");
+            return true;
+        }
+        
+        if (type.getKind() != TypeKind.DECLARED) {
+            return false;
+        }
+        
+        String container = getCopyContainer(extractBaseType(type.toString()));
+        if (container == null) {
+            if (!nested) {
+                return false;
+            }
+            writer.write("        " + declaredType + " " + copy + " = " + name + " != null ? " + name + ".deepCopy() : null;\n");
+            return true;
+        }
+        
+        writer.write("        " + declaredType + " " + copy + " = null;\n");
+        writer.write("        if (" + name + " != null) {\n");
+        List<? extends TypeMirror> typeArguments = ((DeclaredType) type).getTypeArguments();
+        if (nested && typeArguments.size() == 1) {
+            // Collection of nested DTOs: presize the copy and deep copy each element
+            String elementType = declaredType.substring(declaredType.indexOf('<') + 1, declaredType.lastIndexOf('>'));
+            String capacity = container.endsWith("Set<>")
+                ? "Math.max((int) (" + name + ".size() / .75f) + 1, 16)"
+                : name + ".size()";
+            String presized = container.startsWith("java.util.Tree") ? "" : capacity;
+            writer.write("            " + copy + " = " + container + "(" + presized + ");\n");
+            writer.write("            for (" + elementType + " element : " + name + ") {\n");
+            writer.write("                " + copy + ".add(element != null ? element.deepCopy() : null);\n");
+            writer.write("            }\n");
+        } else {
+            // Copy constructors presize the copy from the source size
+            writer.write("            " + copy + " = " + container + "(" + name + ");\n");
+        }
+        writer.write("        }\n");
+        return true;
+    }
+    
+    /**
+     * Get the instantiation (without arguments) of the copy of a collection or map type, or null if the type
+     * is not a known collection or map
+     */
+    private static String getCopyContainer(String erasedType) {
+        return switch (erasedType) {
+            case "java.util.Collection", "java.util.List", "java.util.ArrayList" -> "new java.util.ArrayList<>";
+            case "java.util.Set", "java.util.LinkedHashSet" -> "new java.util.LinkedHashSet<>";
+            case "java.util.HashSet" -> "new java.util.HashSet<>";
+            case "java.util.SortedSet", "java.util.NavigableSet", "java.util.TreeSet" -> "new java.util.TreeSet<>";
+            case "java.util.Map", "java.util.LinkedHashMap" -> "new java.util.LinkedHashMap<>";
+            case "java.util.HashMap" -> "new java.util.HashMap<>";
+            case "java.util.SortedMap", "java.util.NavigableMap", "java.util.TreeMap" -> "new java.util.TreeMap<>";
+            default -> null;
+        };
+    }
+    
+    /**
+     * Write an estimatedSizeInBytes() method and its private helpers.
+     * The estimate assumes a 64-bit JVM with compressed class pointers and compressed oops (12 byte object header,
+     * 4 byte references, 16 byte array header, 8 byte alignment). The shallow size is computed at compile time;
+     * Strings, arrays, collections, boxed values and nested DTOs (fields whose declared type differs from the
+     * original type) are added at runtime. Enums and Booleans are shared and count as 0.
+     *
+     * @param extraBytes   bytes of additional instance fields that are not part of {@code fields}
+     * @param nestedSizing whether the nested DTO of a field has an estimatedSizeInBytes() method, or null if there are
+     *                     no nested DTOs. Nested DTOs without it count as objects of unknown layout.
+     */
+    public static void writeSizeEstimate(Writer writer, List<VariableElement> fields,
+                                         Function<VariableElement, String> typeTransformer, long extraBytes,
+                                         Predicate<VariableElement> nestedSizing) throws IOException {
+        Function<VariableElement, String> typeOf = typeTransformer != null ? typeTransformer : (field -> field.asType().toString());
+        Predicate<VariableElement> hasSizeEstimate = nestedSizing != null ? nestedSizing : (field -> false);
+        
+        long shallowSize = OBJECT_HEADER_BYTES + extraBytes;
+        for (VariableElement field : fields) {
+            shallowSize += getFieldBytes(field.asType());
+        }
+        
+        writer.write("    public long estimatedSizeInBytes() {\n");
+        writer.write("        long estimatedSize = " + align(shallowSize) + "L;\n");
+        for (VariableElement field : fields) {
+            writeFieldSizeEstimate(writer, field, typeOf.apply(field), hasSizeEstimate.test(field));
+        }
+        writer.write("        return estimatedSize;\n");
+        writer.write(STRING_END);
+        
+        writer.write("    private static long estimateString(String value) {\n");
+        writer.write("        // String instance plus its byte[] (one byte per char for Latin-1 content)\n");
+        writer.write("        return value == null ? 0L : 24L + alignSize(16L + value.length());\n");
+        writer.write(STRING_END);
+        
+        writer.write("    private static long estimateObject(Object value) {\n");
+        writer.write("        if (value == null || value instanceof Enum<?> || value instanceof Boolean) {\n");
+        writer.write("            return 0L;\n");
+        writer.write("        }\n");
+        writer.write("        if (value instanceof String) {\n");
+        writer.write("            return estimateString((String) value);\n");
+        writer.write("        }\n");
+        writer.write("        if (value instanceof java.math.BigInteger) {\n");
+        writer.write("            return 40L + alignSize(16L + 4L * (((java.math.BigInteger) value).bitLength() / 32 + 1));\n");
+        writer.write("        }\n");
+        writer.write("        if (value instanceof java.math.BigDecimal) {\n");
+        writer.write("            return 40L + (((java.math.BigDecimal) value).precision() > 18\n");
+        writer.write("                ? estimateObject(((java.math.BigDecimal) value).unscaledValue()) : 0L);\n");
+        writer.write("        }\n");
+        writer.write("        if (value instanceof Long || value instanceof Double) {\n");
+        writer.write("            return 24L;\n");
+        writer.write("        }\n");
+        writer.write("        // Other boxed values and objects of unknown layout count as a minimal object\n");
+        writer.write("        return 16L;\n");
+        writer.write(STRING_END);
+        
+        writer.write("    private static long alignSize(long size) {\n");
+        writer.write("        return (size + 7L) & ~7L;\n");
+        writer.write(STRING_END);
+    }
+    
+    private static long align(long size) {
+        return (size + 7L) & ~7L;
+    }
+    
+    /**
+     * Get the number of bytes a field of the given type occupies in its object
+     */
+    private static long getFieldBytes(TypeMirror type) {
+        return switch (type.getKind()) {
+            case BOOLEAN, BYTE -> 1L;
+            case CHAR, SHORT -> 2L;
+            case INT, FLOAT -> 4L;
+            case LONG, DOUBLE -> 8L;
+            default -> REFERENCE_BYTES;
+        };
+    }
+    
+    /**
+     * Get the number of bytes of the mask fields written by getMaskType, for use as extra bytes of a size estimate
+     */
+    public static long getMaskBytes(int fieldCount) {
+        if (fieldCount <= 64) {
+            return 8L;
+        }
+        return REFERENCE_BYTES + align(ARRAY_HEADER_BYTES + 8L * getMaskWords(fieldCount));
+    }
+    
+    private static void writeFieldSizeEstimate(Writer writer, VariableElement field, String declaredType,
+                                               boolean hasSizeEstimate) throws IOException {
+        TypeMirror type = field.asType();
+        String name = field.getSimpleName().toString();
+        boolean nested = !declaredType.equals(type.toString()) && hasSizeEstimate;
+        
+        if (type.getKind().isPrimitive()) {
+            return;
+        }
+        if (type.getKind() == TypeKind.ARRAY) {
+            TypeMirror componentType = ((javax.lang.model.type.ArrayType) type).getComponentType();
+            writer.write("        if (" + name + " != null) {\n");
+            writer.write("            estimatedSize += alignSize(" + ARRAY_HEADER_BYTES + "L + " + getFieldBytes(componentType) + "L * " + name + ".length);\n");
+            if (componentType.getKind() == TypeKind.DECLARED) {
+                writeElementsSizeEstimate(writer, name, "Object", false);
+            }
+            writer.write("        }\n");
+            return;
+        }
+        if (type.getKind() != TypeKind.DECLARED) {
+            return;
+        }
+        if (type.toString().equals("java.lang.String")) {
+            writer.write("        estimatedSize += estimateString(" + name + ");\n");
+            return;
+        }
+        
+        String container = getCopyContainer(extractBaseType(type.toString()));
+        if (container == null) {
+            if (nested) {
+                writer.write("        if (" + name + " != null) {\n");
+                writer.write("            estimatedSize += " + name + ".estimatedSizeInBytes();\n");
+                writer.write("        }\n");
+            } else {
+                writer.write("        estimatedSize += estimateObject(" + name + ");\n");
+            }
+            return;
+        }
+        
+        writer.write("        if (" + name + " != null) {\n");
+        if (container.endsWith("Map<>")) {
+            // Map instance, bucket table and one node per entry
+            writer.write("            estimatedSize += " + (container.contains("Tree") ? "48L" : "56L + alignSize(16L + 4L * (" + name + ".size() * 4L / 3 + 1))")
+                + " + 40L * " + name + ".size();\n");
+            writer.write("            for (Object key : " + name + ".keySet()) {\n");
+            writer.write("                estimatedSize += estimateObject(key);\n");
+            writer.write("            }\n");
+            writer.write("            for (Object value : " + name + ".values()) {\n");
+            writer.write("                estimatedSize += estimateObject(value);\n");
+            writer.write("            }\n");
+        } else {
+            if (container.endsWith("Set<>")) {
+                // Set instance, backing map, bucket table and one node per element
+                writer.write("            estimatedSize += " + (container.contains("Tree") ? "64L" : "72L + alignSize(16L + 4L * (" + name + ".size() * 4L / 3 + 1))")
+                    + " + 40L * " + name + ".size();\n");
+            } else {
+                writer.write("            estimatedSize += 24L + alignSize(16L + 4L * " + name + ".size());\n");
+            }
+            String elementType = nested ? declaredType.substring(declaredType.indexOf('<') + 1, declaredType.lastIndexOf('>')) : "Object";
+            writeElementsSizeEstimate(writer, name, elementType, nested);
+        }
+        writer.write("        }\n");
+    }
+    
+    private static void writeElementsSizeEstimate(Writer writer, String name, String elementType, boolean nested) throws IOException {
+        writer.write("            for (" + elementType + " element : " + name + ") {\n");
+        if (nested) {
+            writer.write("                estimatedSize += element != null ? element.estimatedSizeInBytes() : 0L;\n");
+        } else {
+            writer.write("                estimatedSize += estimateObject(element);\n");
+        }
+        writer.write("            }\n");
+    }
+    
+    /**
+     * Get the expression mapping to a variant, wrapped in a JFR {@code MappingEvent} and a metrics counter if enabled
+     */
+    public static String getMappingExpression(String construction, String sourceType, GeneratedVariant target,
+                                              boolean jfrEvents, boolean metrics) {
+        String expression = construction;
+        if (jfrEvents) {
+            expression = MAPPING_EVENT + ".end(" + MAPPING_EVENT + ".start(),\n                " + expression + ",\n                "
+                + sourceType + ".class, " + target.getQualifiedName() + ".class, \"" + target.getGeneratorType() + "\", "
+                + target.getId() + ", 1)";
+        }
+        if (metrics) {
+            expression = METRICS + ".mapped(" + target.getQualifiedName() + ".class,\n                " + expression + ")";
+        }
+        return expression;
+    }
+
+    /**
+     * Get the erasure of a type string by removing all generic type arguments, e.g. for class literals
+     */
+    public static String getErasedType(String type) {
+        StringBuilder erased = new StringBuilder(type.length());
+        int depth = 0;
+        for (int i = 0; i < type.length(); i++) {
+            char c = type.charAt(i);
+            if (c == '<') {
+                depth++;
+            } else if (c == '>') {
+                depth--;
+            } else if (depth == 0) {
+                erased.append(c);
+            }
+        }
+        return erased.toString();
+    }
+}
@@ -0,0 +1,281 @@
+package io.github.soulcodingmatt.equilibrium.processor.generator;
+
+import javax.annotation.processing.Filer;
+import javax.annotation.processing.Messager;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardLocation;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Collects the entities of a compilation with their generated variants and writes one registry class with a static
+ * mapper per entity and variant, plus the {@code META-INF/services} entry through which
+ * {@code io.github.soulcodingmatt.equilibrium.runtime.Equilibrium} finds the registry.
+ * <p>
+ * Entity fields are read through public getters ({@code getX()}, {@code isX()} for booleans or {@code x()}),
+ * through getters declared by Lombok's {@code @Getter}, {@code @Data} or {@code @Value}, or as public fields.
+ * An entity with an unreadable field gets no mapper for the affected variants. Nested DTOs from
+ * {@code @NestedMapping} are mapped with {@code Equilibrium.map(...)}, element by element for collections.
+ * </p>
+ */
+public class MapperRegistryGenerator {
+    public static final String DEFAULT_CLASS_NAME = "EquilibriumMappers";
+    public static final String REGISTRY_INTERFACE = "io.github.soulcodingmatt.equilibrium.runtime.MapperRegistry";
+    private static final String DISPATCHER = "io.github.soulcodingmatt.equilibrium.runtime.Equilibrium";
+    private static final Set<String> LOMBOK_GETTERS = Set.of("lombok.Getter", "lombok.Data", "lombok.Value");
+
+    private final Map<TypeElement, List<GeneratedVariant>> entities = new LinkedHashMap<>();
+    private final Messager messager;
+    private final boolean jfrEvents;
+    private final boolean metrics;
+
+    public MapperRegistryGenerator(Messager messager, boolean jfrEvents, boolean metrics) {
+        this.messager = messager;
+        this.jfrEvents = jfrEvents;
+        this.metrics = metrics;
+    }
+
+    /**
+     * Adds the variants generated from an entity to the registry.
+     */
+    public void add(TypeElement classElement, List<GeneratedVariant> variants) {
+        if (!variants.isEmpty()) {
+            entities.computeIfAbsent(classElement, key -> new ArrayList<>()).addAll(variants);
+        }
+    }
+
+    public boolean isEmpty() {
+        return entities.isEmpty();
+    }
+
+    /**
+     * Writes the registry class and its service entry.
+     *
+     * @param qualifiedClassName fully qualified name of the registry class
+     */
+    public void generate(Filer filer, String qualifiedClassName) throws IOException {
+        int lastDot = qualifiedClassName.lastIndexOf('.');
+        String packageName = lastDot > 0 ? qualifiedClassName.substring(0, lastDot) : "";
+        String className = qualifiedClassName.substring(lastDot + 1);
+
+        // entity -> (variant -> mapper method name), only for pairs whose fields can all be read
+        Map<TypeElement, Map<GeneratedVariant, String>> mappers = new LinkedHashMap<>();
+        Set<String> methodNames = new HashSet<>();
+        for (Map.Entry<TypeElement, List<GeneratedVariant>> entity : entities.entrySet()) {
+            if (!isAccessible(entity.getKey())) {
+                messager.printMessage(Diagnostic.Kind.WARNING, "No mappers generated for " + entity.getKey().getQualifiedName()
+                    + ": the class is not public", entity.getKey());
+                continue;
+            }
+            for (GeneratedVariant variant : entity.getValue()) {
+                String unreadable = getUnreadableField(entity.getKey(), variant);
+                if (unreadable != null) {
+                    messager.printMessage(Diagnostic.Kind.WARNING, "No mapper generated from " + entity.getKey().getQualifiedName()
+                        + " to " + variant.getQualifiedName() + ": field '" + unreadable + "' has no public getter", entity.getKey());
+                    continue;
+                }
+                String methodName = "to" + variant.getClassName();
+                for (int i = 2; !methodNames.add(methodName); i++) {
+                    methodName = "to" + variant.getClassName() + i;
+                }
+                mappers.computeIfAbsent(entity.getKey(), key -> new LinkedHashMap<>()).put(variant, methodName);
+            }
+        }
+
+        Element[] originatingElements = entities.keySet().toArray(Element[]::new);
+        JavaFileObject sourceFile = filer.createSourceFile(qualifiedClassName, originatingElements);
+        try (Writer writer = sourceFile.openWriter()) {
+            if (!packageName.isEmpty()) {
+                writer.write("package " + packageName + ";\n\n");
+            }
+
+            writer.write("/**\n");
+            writer.write(" * Mappers from the entities of this module to their DTOs, VOs and Records, used by {@link " + DISPATCHER + "}\n");
+            writer.write(" * Generated by Project Equilibrium\n");
+            writer.write(" */\n");
+            writer.write("public final class " + className + " implements " + REGISTRY_INTERFACE + " {\n\n");
+
+            writer.write(GeneratorUtility.OVERRIDE);
+            writer.write("    public java.util.function.Function<Object, Object> find(Class<?> sourceType, Class<?> targetType) {\n");
+            for (Map.Entry<TypeElement, Map<GeneratedVariant, String>> entity : mappers.entrySet()) {
+                String entityName = entity.getKey().getQualifiedName().toString();
+                writer.write("        if (sourceType == " + entityName + ".class) {\n");
+                for (Map.Entry<GeneratedVariant, String> mapper : entity.getValue().entrySet()) {
+                    writer.write("            if (targetType == " + mapper.getKey().getQualifiedName() + ".class) {\n");
+                    writer.write("                return source -> " + mapper.getValue() + "((" + entityName + ") source);\n");
+                    writer.write("            }\n");
+                }
+                writer.write("        }\n");
+            }
+            writer.write("        return null;\n");
+            writer.write(GeneratorUtility.STRING_END);
+
+            for (Map.Entry<TypeElement, Map<GeneratedVariant, String>> entity : mappers.entrySet()) {
+                for (Map.Entry<GeneratedVariant, String> mapper : entity.getValue().entrySet()) {
+                    writeMapper(writer, entity.getKey(), mapper.getKey(), mapper.getValue());
+                }
+            }
+
+            writer.write("    private static <T> T nested(Object value, Class<T> type) {\n");
+            writer.write("        return " + DISPATCHER + ".map(value, type);\n");
+            writer.write(GeneratorUtility.STRING_END);
+
+            writer.write("    private static <T, C extends java.util.Collection<T>> C nestedAll(java.util.Collection<?> values, Class<T> type,\n");
+            writer.write("                                                                     java.util.function.IntFunction<C> factory) {\n");
+            writer.write("        if (values == null) {\n");
+            writer.write("            return null;\n");
+            writer.write("        }\n");
+            if (jfrEvents) {
+                writer.write("        " + GeneratorUtility.MAPPING_EVENT + " event = " + GeneratorUtility.MAPPING_EVENT + ".start();\n");
+            }
+            writer.write("        C result = factory.apply(values.size());\n");
+            writer.write("        for (Object value : values) {\n");
+            writer.write("            result.add(" + DISPATCHER + ".map(value, type));\n");
+            writer.write("        }\n");
+            if (jfrEvents) {
+                // One event for the whole collection, in addition to the events of the element mappers
+                writer.write("        return " + GeneratorUtility.MAPPING_EVENT
+                    + ".end(event, result, values.getClass(), type, \"DTO\", -1, values.size());\n");
+            } else {
+                writer.write("        return result;\n");
+            }
+            writer.write("    }\n");
+            writer.write("}\n");
+        }
+
+        FileObject serviceFile = filer.createResource(StandardLocation.CLASS_OUTPUT, "",
+            "META-INF/services/" + REGISTRY_INTERFACE, originatingElements);
+        try (Writer writer = serviceFile.openWriter()) {
+            writer.write(qualifiedClassName + "\n");
+        }
+    }
+
+    private void writeMapper(Writer writer, TypeElement entity, GeneratedVariant variant, String methodName) throws IOException {
+        writer.write("    public static " + variant.getQualifiedName() + " " + methodName + "(" + entity.getQualifiedName() + " source) {\n");
+        writer.write("        if (source == null) {\n");
+        writer.write("            return null;\n");
+        writer.write("        }\n");
+        List<String> arguments = new ArrayList<>();
+        for (VariableElement field : variant.getFields()) {
+            arguments.add(getValueExpression(entity, variant, field));
+        }
+        String construction = variant.getFactory() + "(" + String.join(",\n                ", arguments) + ")";
+        writer.write("        return " + GeneratorUtility.getMappingExpression(construction, entity.getQualifiedName().toString(),
+            variant, jfrEvents, metrics) + ";\n");
+        writer.write(GeneratorUtility.STRING_END);
+    }
+
+    /**
+     * Get the expression for the constructor argument of a field, mapping nested DTOs
+     */
+    private static String getValueExpression(TypeElement entity, GeneratedVariant variant, VariableElement field) {
+        String value = getReadExpression(entity, field);
+        String declaredType = variant.getFieldType(field);
+        TypeMirror type = field.asType();
+        if (declaredType.equals(type.toString())) {
+            return value;
+        }
+
+        // @NestedMapping: map the value or each element of a collection to the nested DTO
+        int typeArgumentStart = declaredType.indexOf('<');
+        if (typeArgumentStart < 0 || type.getKind() != TypeKind.DECLARED) {
+            return "nested(" + value + ", " + declaredType + ".class)";
+        }
+        String elementType = declaredType.substring(typeArgumentStart + 1, declaredType.lastIndexOf('>'));
+        String erasedType = GeneratorUtility.getErasedType(type.toString());
+        String container = switch (erasedType) {
+            case "java.util.Set", "java.util.LinkedHashSet" -> "java.util.LinkedHashSet";
+            case "java.util.HashSet" -> "java.util.HashSet";
+            case "java.util.SortedSet", "java.util.NavigableSet", "java.util.TreeSet" -> "java.util.TreeSet";
+            default -> "java.util.ArrayList";
+        };
+        String factory = container.equals("java.util.TreeSet")
+            ? "size -> new java.util.TreeSet<" + elementType + ">()"
+            : "size -> new " + container + "<" + elementType + ">(size)";
+        return "nestedAll(" + value + ", " + elementType + ".class, " + factory + ")";
+    }
+
+    /**
+     * Get the name of the first field of a variant that can't be read from the entity, or null if all can be read
+     */
+    private static String getUnreadableField(TypeElement entity, GeneratedVariant variant) {
+        for (VariableElement field : variant.getFields()) {
+            if (getReadExpression(entity, field) == null) {
+                return field.getSimpleName().toString();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Get the expression reading a field from an entity named {@code source}, or null if there is no public access
+     */
+    private static String getReadExpression(TypeElement entity, VariableElement field) {
+        String name = field.getSimpleName().toString();
+        if (field.getModifiers().contains(Modifier.PUBLIC)) {
+            return "source." + name;
+        }
+
+        String capitalized = name.substring(0, 1).toUpperCase() + name.substring(1);
+        boolean primitiveBoolean = field.asType().getKind() == TypeKind.BOOLEAN;
+        Set<String> getterNames = primitiveBoolean ? Set.of("is" + capitalized, "get" + capitalized, name) : Set.of("get" + capitalized, name);
+        for (TypeElement type = entity; type != null; type = getSuperclass(type)) {
+            for (ExecutableElement method : ElementFilter.methodsIn(type.getEnclosedElements())) {
+                Set<Modifier> modifiers = method.getModifiers();
+                if (method.getParameters().isEmpty() && modifiers.contains(Modifier.PUBLIC) && !modifiers.contains(Modifier.STATIC)
+                    && getterNames.contains(method.getSimpleName().toString())) {
+                    return "source." + method.getSimpleName() + "()";
+                }
+            }
+        }
+
+        // Lombok adds its getters during annotation processing, possibly after this processor has run
+        Element declaringClass = field.getEnclosingElement();
+        if (hasLombokGetters(field) || hasLombokGetters(declaringClass)) {
+            return "source." + (primitiveBoolean ? "is" : "get") + capitalized + "()";
+        }
+        return null;
+    }
+
+    private static boolean hasLombokGetters(Element element) {
+        for (AnnotationMirror annotation : element.getAnnotationMirrors()) {
+            if (LOMBOK_GETTERS.contains(annotation.getAnnotationType().toString())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static TypeElement getSuperclass(TypeElement type) {
+        TypeMirror superclass = type.getSuperclass();
+        return superclass.getKind() == TypeKind.DECLARED ? (TypeElement) ((DeclaredType) superclass).asElement() : null;
+    }
+
+    private static boolean isAccessible(TypeElement entity) {
+        for (Element element = entity; element.getKind() != ElementKind.PACKAGE; element = element.getEnclosingElement()) {
+            if (!element.getModifiers().contains(Modifier.PUBLIC)) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
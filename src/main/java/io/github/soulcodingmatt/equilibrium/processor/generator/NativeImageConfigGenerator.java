@@ -0,0 +1,153 @@
+package io.github.soulcodingmatt.equilibrium.processor.generator;
+
+import javax.annotation.processing.Filer;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.lang.model.util.Elements;
+import javax.lang.model.util.Types;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Writes GraalVM native-image reachability metadata ({@code reflect-config.json}) for the generated DTOs, VOs and
+ * Records, as needed by Jackson and Hibernate Validator.
+ * <p>
+ * Instead of broad {@code allDeclaredMethods} entries, each type lists exactly the members the generators wrote: public
+ * constructors, getters ({@code getX()}, {@code isX()}, record accessors) and setters, plus the fields carrying
+ * annotations such as Bean Validation constraints. The members are read from the generated classes in the last
+ * round, when their sources have been parsed.
+ * </p>
+ */
+public class NativeImageConfigGenerator {
+    public static final String CONFIG_DIRECTORY = "META-INF/native-image/equilibrium/";
+    public static final String CONFIG_FILE = "reflect-config.json";
+
+    private final Set<String> generatedTypes = new TreeSet<>();
+
+    /**
+     * Adds the generated classes of an entity to the metadata.
+     */
+    public void add(List<GeneratedVariant> variants) {
+        for (GeneratedVariant variant : variants) {
+            generatedTypes.add(variant.getQualifiedName());
+        }
+    }
+
+    public boolean isEmpty() {
+        return generatedTypes.isEmpty();
+    }
+
+    /**
+     * Writes the metadata to {@value #CONFIG_DIRECTORY}{@code <module>/}{@value #CONFIG_FILE}.
+     *
+     * @param module directory of this module's metadata, unique on the classpath
+     */
+    public void generate(Filer filer, Elements elements, Types types, String module) throws IOException {
+        List<String> entries = new ArrayList<>();
+        for (String generatedType : generatedTypes) {
+            TypeElement typeElement = elements.getTypeElement(generatedType);
+            if (typeElement != null) {
+                entries.add(getEntry(typeElement, elements, types));
+            }
+        }
+
+        FileObject resource = filer.createResource(StandardLocation.CLASS_OUTPUT, "",
+            CONFIG_DIRECTORY + module + "/" + CONFIG_FILE);
+        try (Writer writer = resource.openWriter()) {
+            writer.write("[\n" + String.join(",\n", entries) + "\n]\n");
+        }
+        generatedTypes.clear();
+    }
+
+    private static String getEntry(TypeElement typeElement, Elements elements, Types types) {
+        List<String> methods = new ArrayList<>();
+        for (ExecutableElement constructor : ElementFilter.constructorsIn(typeElement.getEnclosedElements())) {
+            if (constructor.getModifiers().contains(Modifier.PUBLIC)) {
+                methods.add(getMethod("<init>", constructor, elements, types));
+            }
+        }
+
+        // Only accessors of the entity's fields count, not e.g. isDirty() of dirty tracking
+        Set<String> properties = new TreeSet<>();
+        List<String> fields = new ArrayList<>();
+        for (VariableElement field : ElementFilter.fieldsIn(typeElement.getEnclosedElements())) {
+            if (!field.getModifiers().contains(Modifier.STATIC) && !field.getSimpleName().contentEquals(DtoGenerator.DIRTY_MASK)) {
+                properties.add(field.getSimpleName().toString());
+                if (!field.getAnnotationMirrors().isEmpty()) {
+                    fields.add("      { \"name\": \"" + field.getSimpleName() + "\" }");
+                }
+            }
+        }
+        boolean isRecord = !ElementFilter.recordComponentsIn(typeElement.getEnclosedElements()).isEmpty();
+        for (ExecutableElement method : ElementFilter.methodsIn(typeElement.getEnclosedElements())) {
+            Set<Modifier> modifiers = method.getModifiers();
+            if (modifiers.contains(Modifier.PUBLIC) && !modifiers.contains(Modifier.STATIC) && isAccessor(method, properties, isRecord)) {
+                methods.add(getMethod(method.getSimpleName().toString(), method, elements, types));
+            }
+        }
+
+        StringBuilder entry = new StringBuilder();
+        entry.append("  {\n");
+        entry.append("    \"name\": \"").append(elements.getBinaryName(typeElement)).append("\"");
+        if (!methods.isEmpty()) {
+            entry.append(",\n    \"methods\": [\n").append(String.join(",\n", methods)).append("\n    ]");
+        }
+        if (!fields.isEmpty()) {
+            entry.append(",\n    \"fields\": [\n").append(String.join(",\n", fields)).append("\n    ]");
+        }
+        entry.append("\n  }");
+        return entry.toString();
+    }
+
+    private static boolean isAccessor(ExecutableElement method, Set<String> properties, boolean isRecord) {
+        String name = method.getSimpleName().toString();
+        int parameterCount = method.getParameters().size();
+        if (parameterCount == 0 && isRecord) {
+            return properties.contains(name);
+        }
+        if (parameterCount == 0 && method.getReturnType().getKind() != TypeKind.VOID) {
+            return isPropertyMethod(name, "get", properties)
+                || (method.getReturnType().getKind() == TypeKind.BOOLEAN && isPropertyMethod(name, "is", properties));
+        }
+        return parameterCount == 1 && isPropertyMethod(name, "set", properties);
+    }
+
+    private static boolean isPropertyMethod(String name, String prefix, Set<String> properties) {
+        return name.length() > prefix.length() && name.startsWith(prefix)
+            && properties.contains(Character.toLowerCase(name.charAt(prefix.length())) + name.substring(prefix.length() + 1));
+    }
+
+    private static String getMethod(String name, ExecutableElement method, Elements elements, Types types) {
+        List<String> parameterTypes = new ArrayList<>();
+        for (VariableElement parameter : method.getParameters()) {
+            parameterTypes.add("\"" + getTypeName(types.erasure(parameter.asType()), elements) + "\"");
+        }
+        return "      { \"name\": \"" + name + "\", \"parameterTypes\": [" + String.join(", ", parameterTypes) + "] }";
+    }
+
+    /**
+     * Get the name of an erased type as used in the metadata: binary names for classes, {@code []} for arrays
+     */
+    private static String getTypeName(TypeMirror type, Elements elements) {
+        if (type.getKind() == TypeKind.ARRAY) {
+            return getTypeName(((ArrayType) type).getComponentType(), elements) + "[]";
+        }
+        if (type.getKind() == TypeKind.DECLARED) {
+            return elements.getBinaryName((TypeElement) ((DeclaredType) type).asElement()).toString();
+        }
+        return type.toString();
+    }
+}
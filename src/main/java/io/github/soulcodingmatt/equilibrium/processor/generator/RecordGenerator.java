@@ -1,14 +1,18 @@
 package io.github.soulcodingmatt.equilibrium.processor.generator;
 
+import io.github.soulcodingmatt.equilibrium.processor.generator.GeneratorUtility.BuilderConfig;
+import io.github.soulcodingmatt.equilibrium.processor.generator.GeneratorUtility.Feature;
 import io.github.soulcodingmatt.equilibrium.processor.generator.GeneratorUtility.FieldInclusionConfig;
 import io.github.soulcodingmatt.equilibrium.processor.generator.GeneratorUtility.GeneratorType;
 
 import javax.annotation.processing.Filer;
+import javax.annotation.processing.Messager;
 import javax.lang.model.element.TypeElement;
 import javax.lang.model.element.VariableElement;
 import javax.tools.JavaFileObject;
 import java.io.IOException;
 import java.io.Writer;
+import java.util.EnumSet;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
@@ -18,20 +22,25 @@ public class RecordGenerator {
     private final String packageName;
     private final String recordClassName;
     private final Set<String> ignoredFields;
+    private final Set<Feature> features;
     private final Filer filer;
+    private final Messager messager;
     private final int recordId;
 
     public RecordGenerator(TypeElement classElement, String packageName, String recordClassName,
-                           Set<String> ignoredFields, int recordId, Filer filer) {
+                           Set<String> ignoredFields, Set<Feature> features, int recordId, Filer filer,
+                           Messager messager) {
         this.classElement = classElement;
         this.packageName = packageName;
         this.recordClassName = recordClassName;
         this.ignoredFields = ignoredFields != null ? ignoredFields : new HashSet<>();
+        this.features = features != null ? features : EnumSet.noneOf(Feature.class);
         this.filer = filer;
+        this.messager = messager;
         this.recordId = recordId;
     }
 
-    public void generate() throws IOException {
+    public GeneratedVariant generate() throws IOException {
         // Create field inclusion configuration
         FieldInclusionConfig fieldConfig = new FieldInclusionConfig(GeneratorType.RECORD, ignoredFields, recordId);
         
@@ -57,7 +66,45 @@ public class RecordGenerator {
             // Write record with its parameters
             writer.write("public record " + recordClassName + "(");
             GeneratorUtility.writeRecordParameters(writer, fields, null);
-            writer.write(") {}\n");
+            if (features.stream().anyMatch(feature -> feature != Feature.CSV && feature != Feature.METRICS)) {
+                writer.write(") {\n\n");
+                writeBody(writer, fields);
+                writer.write("}\n");
+            } else {
+                writer.write(") {}\n");
+            }
+        }
+
+        if (features.contains(Feature.CSV)) {
+            new CsvCodecGenerator(classElement, packageName, recordClassName, fields, filer, messager,
+                features.contains(Feature.METRICS)).generate();
+        }
+
+        return new GeneratedVariant(GeneratorType.RECORD, recordId, packageName, recordClassName, fields, null,
+                "new " + packageName + "." + recordClassName);
+    }
+
+    private void writeBody(Writer writer, List<VariableElement> fields) throws IOException {
+        if (features.contains(Feature.BUILDER)) {
+            BuilderConfig builderConfig = new BuilderConfig(null, "new " + recordClassName);
+            GeneratorUtility.writeBuilder(writer, fields, recordClassName, builderConfig);
+        }
+        
+        if (features.contains(Feature.DIFF)) {
+            GeneratorUtility.writeDiff(writer, fields, recordClassName);
+            GeneratorUtility.writeImmutablePatch(writer, fields, recordClassName, "new " + recordClassName);
+        }
+        
+        if (features.contains(Feature.FIELD_TABLE)) {
+            GeneratorUtility.writeFieldTable(writer, fields, recordClassName, null, false);
+        }
+        
+        if (features.contains(Feature.SIZE_ESTIMATE)) {
+            GeneratorUtility.writeSizeEstimate(writer, fields, null, 0L, null);
+        }
+        
+        if (features.contains(Feature.ROW_MAPPER)) {
+            RowMapperWriter.write(writer, fields, recordClassName, null, "new " + recordClassName);
         }
     }
 
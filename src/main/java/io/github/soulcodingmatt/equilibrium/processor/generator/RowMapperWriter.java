@@ -0,0 +1,215 @@
+package io.github.soulcodingmatt.equilibrium.processor.generator;
+
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Writes a nested {@code RowMapper} class that maps JDBC {@code ResultSet} rows into a generated class.
+ * <p>
+ * Column labels are matched against the field names at the first row of every {@code ResultSet}, i.e. when
+ * {@code rowNum} is 0 (case-insensitive, underscores ignored, so {@code first_name} matches {@code firstName}).
+ * Every row is then read by column index with the typed getter of the field type. Fields without a matching column
+ * keep their default value. The mapper keeps no reference to the {@code ResultSet}, so a mapper held in a field
+ * neither pins closed result sets nor reuses stale indices when a pooled driver reuses {@code ResultSet} instances.
+ * </p>
+ */
+public final class RowMapperWriter {
+    private static final Set<String> RESERVED_NAMES = Set.of("resultSet", "rowNum", "columns", "resolved");
+
+    private RowMapperWriter() {
+        // Utility class
+    }
+
+    /**
+     * Write the static {@code rowMapper()} and {@code fromResultSet(...)} methods and the nested RowMapper class.
+     * {@code fromResultSet(...)} maps all remaining rows with one RowMapper, so the columns are resolved only once.
+     *
+     * @param typeTransformer declared type of a field in the generated class, or null for the original type.
+     *                        Fields whose declared type differs from the original type (@NestedMapping) can't be
+     *                        read from a column and are always null.
+     * @param factory         expression that creates an instance from all fields in field order
+     */
+    public static void write(Writer writer, List<VariableElement> fields, String className,
+                             Function<VariableElement, String> typeTransformer, String factory) throws IOException {
+        Function<VariableElement, String> typeOf = typeTransformer != null ? typeTransformer : (field -> field.asType().toString());
+
+        writer.write("    public static RowMapper rowMapper() {\n");
+        writer.write("        return new RowMapper();\n");
+        writer.write(GeneratorUtility.STRING_END);
+
+        writer.write("    public static java.util.List<" + className + "> fromResultSet(java.sql.ResultSet resultSet) throws java.sql.SQLException {\n");
+        writer.write("        RowMapper mapper = new RowMapper();\n");
+        writer.write("        java.util.List<" + className + "> rows = new java.util.ArrayList<>();\n");
+        writer.write("        while (resultSet.next()) {\n");
+        writer.write("            rows.add(mapper.mapRow(resultSet, rows.size()));\n");
+        writer.write("        }\n");
+        writer.write("        return rows;\n");
+        writer.write(GeneratorUtility.STRING_END);
+
+        // The mapRow signature matches Spring's RowMapper, so rowMapper()::mapRow can be passed to JdbcTemplate.
+        // Spring starts rowNum at 0 for every ResultSet, which is when the columns are resolved again.
+        writer.write("    public static final class RowMapper {\n");
+        writer.write("        private final int[] columns = new int[" + fields.size() + "];\n");
+        writer.write("        private boolean resolved;\n\n");
+
+        writer.write("        @SuppressWarnings(\"unchecked\")\n");
+        writer.write("        public " + className + " mapRow(java.sql.ResultSet resultSet, int rowNum) throws java.sql.SQLException {\n");
+        writer.write("            if (rowNum == 0 || !resolved) {\n");
+        writer.write("                resolve(resultSet);\n");
+        writer.write("            }\n");
+        List<String> localNames = getLocalNames(fields);
+        for (int i = 0; i < fields.size(); i++) {
+            writeFieldRead(writer, fields.get(i), localNames.get(i), i, typeOf.apply(fields.get(i)));
+        }
+        writer.write("            return " + factory + "(");
+        for (int i = 0; i < fields.size(); i++) {
+            writer.write((i > 0 ? ", " : "") + localNames.get(i));
+        }
+        writer.write(");\n");
+        writer.write("        }\n\n");
+
+        // Iterate backwards so that the first column with a matching label wins
+        writer.write("        private void resolve(java.sql.ResultSet resultSet) throws java.sql.SQLException {\n");
+        writer.write("            java.util.Arrays.fill(columns, 0);\n");
+        writer.write("            java.sql.ResultSetMetaData metaData = resultSet.getMetaData();\n");
+        writer.write("            for (int column = metaData.getColumnCount(); column >= 1; column--) {\n");
+        writer.write("                int index = indexOfColumn(metaData.getColumnLabel(column));\n");
+        writer.write("                if (index >= 0) {\n");
+        writer.write("                    columns[index] = column;\n");
+        writer.write("                }\n");
+        writer.write("            }\n");
+        writer.write("            resolved = true;\n");
+        writer.write("        }\n\n");
+
+        writer.write("        private static int indexOfColumn(String columnLabel) {\n");
+        writer.write("            return switch (columnLabel.replace(\"_\", \"\").toLowerCase(java.util.Locale.ROOT)) {\n");
+        Set<String> labels = new HashSet<>();
+        for (int i = 0; i < fields.size(); i++) {
+            String label = normalize(fields.get(i).getSimpleName().toString());
+            if (labels.add(label)) {
+                writer.write("                case \"" + label + "\" -> " + i + ";\n");
+            }
+        }
+        writer.write("                default -> -1;\n");
+        writer.write("            };\n");
+        writer.write("        }\n");
+        writer.write(GeneratorUtility.STRING_END);
+    }
+
+    private static void writeFieldRead(Writer writer, VariableElement field, String name, int index,
+                                       String declaredType) throws IOException {
+        TypeMirror type = field.asType();
+        String column = "columns[" + index + "]";
+
+        writer.write("            " + declaredType + " " + name + " = " + GeneratorUtility.getDefaultValue(type) + ";\n");
+        if (!declaredType.equals(type.toString())) {
+            // @NestedMapping fields are DTOs and have no column representation
+            return;
+        }
+
+        writer.write("            if (" + column + " > 0) {\n");
+        String getter = getTypedGetter(type);
+        if (getter != null) {
+            writer.write("                " + name + " = resultSet." + getter + "(" + column + ");\n");
+            if (!type.getKind().isPrimitive() && isBoxedPrimitive(type)) {
+                writer.write("                if (resultSet.wasNull()) {\n");
+                writer.write("                    " + name + " = null;\n");
+                writer.write("                }\n");
+            }
+        } else if (isEnum(type) || type.getKind() == TypeKind.CHAR || type.toString().equals("java.lang.Character")) {
+            String conversion = isEnum(type)
+                ? type + ".valueOf(" + name + "Value)"
+                : name + "Value.charAt(0)";
+            writer.write("                String " + name + "Value = resultSet.getString(" + column + ");\n");
+            writer.write("                if (" + name + "Value != null && !" + name + "Value.isEmpty()) {\n");
+            writer.write("                    " + name + " = " + conversion + ";\n");
+            writer.write("                }\n");
+        } else {
+            String erasedType = GeneratorUtility.getErasedType(type.toString());
+            String cast = erasedType.equals(type.toString()) ? "" : "(" + type + ") ";
+            writer.write("                " + name + " = " + cast + "resultSet.getObject(" + column + ", " + erasedType + ".class);\n");
+        }
+        writer.write("            }\n");
+    }
+
+    /**
+     * Get the ResultSet getter that returns the field type directly, or null if there is none
+     */
+    private static String getTypedGetter(TypeMirror type) {
+        return switch (type.getKind()) {
+            case BOOLEAN -> "getBoolean";
+            case BYTE -> "getByte";
+            case SHORT -> "getShort";
+            case INT -> "getInt";
+            case LONG -> "getLong";
+            case FLOAT -> "getFloat";
+            case DOUBLE -> "getDouble";
+            case ARRAY -> ((ArrayType) type).getComponentType().getKind() == TypeKind.BYTE ? "getBytes" : null;
+            case DECLARED -> switch (type.toString()) {
+                case "java.lang.Boolean" -> "getBoolean";
+                case "java.lang.Byte" -> "getByte";
+                case "java.lang.Short" -> "getShort";
+                case "java.lang.Integer" -> "getInt";
+                case "java.lang.Long" -> "getLong";
+                case "java.lang.Float" -> "getFloat";
+                case "java.lang.Double" -> "getDouble";
+                case "java.lang.String" -> "getString";
+                case "java.math.BigDecimal" -> "getBigDecimal";
+                case "java.sql.Date" -> "getDate";
+                case "java.sql.Time" -> "getTime";
+                case "java.sql.Timestamp" -> "getTimestamp";
+                default -> null;
+            };
+            default -> null;
+        };
+    }
+
+    private static boolean isBoxedPrimitive(TypeMirror type) {
+        String name = type.toString();
+        return name.startsWith("java.lang.") && !name.equals("java.lang.String");
+    }
+
+    private static boolean isEnum(TypeMirror type) {
+        return type.getKind() == TypeKind.DECLARED
+            && ((TypeElement) ((DeclaredType) type).asElement()).getKind() == ElementKind.ENUM;
+    }
+
+    /**
+     * Local variable names for the fields in mapRow. Fields named like a parameter or a RowMapper field are suffixed
+     * with "Value" until the name is neither reserved nor the name of another field.
+     */
+    private static List<String> getLocalNames(List<VariableElement> fields) {
+        Set<String> taken = new HashSet<>(RESERVED_NAMES);
+        for (VariableElement field : fields) {
+            taken.add(field.getSimpleName().toString());
+        }
+        List<String> names = new ArrayList<>(fields.size());
+        for (VariableElement field : fields) {
+            String name = field.getSimpleName().toString();
+            if (RESERVED_NAMES.contains(name)) {
+                do {
+                    name += "Value";
+                } while (!taken.add(name));
+            }
+            names.add(name);
+        }
+        return names;
+    }
+
+    private static String normalize(String name) {
+        return name.replace("_", "").toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,154 @@
+package io.github.soulcodingmatt.equilibrium.processor.generator;
+
+import io.github.soulcodingmatt.equilibrium.processor.generator.GeneratorUtility.GeneratorType;
+
+import javax.annotation.processing.Filer;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.TypeElement;
+import javax.tools.FileObject;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardLocation;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Collects the DTOs, VOs and Records generated in a compilation and writes them into an index, so frameworks can
+ * find generated types and their entities without scanning the classpath.
+ * <p>
+ * Two files are written:
+ * <ul>
+ *   <li>{@value #INDEX_RESOURCE}: one tab-separated line per generated class with kind, variant id, binary name
+ *   of the generated class and binary name of the entity. Every jar has its own, so all indexes on a classpath
+ *   are found with {@code ClassLoader.getResources(...)}.</li>
+ *   <li>a lookup class with the same entries as class literals and hash lookups by generated type and by entity.</li>
+ * </ul>
+ * </p>
+ * <p>
+ * They are written in the first round without new annotated classes, i.e. the round that compiles the generated
+ * classes. Entities that another processor generates after that round are not indexed and get a warning.
+ * </p>
+ */
+public class TypeIndexGenerator {
+    public static final String INDEX_RESOURCE = "META-INF/equilibrium/index";
+    public static final String DEFAULT_CLASS_NAME = "EquilibriumIndex";
+
+    private final List<IndexEntry> entries = new ArrayList<>();
+
+    /**
+     * Adds the variants generated from an entity to the index.
+     *
+     * @param entityBinaryName binary name of the entity, as used by {@code Class.forName}
+     */
+    public void add(TypeElement classElement, String entityBinaryName, List<GeneratedVariant> variants) {
+        for (GeneratedVariant variant : variants) {
+            entries.add(new IndexEntry(variant.getGeneratorType(), variant.getId(), variant.getQualifiedName(),
+                classElement.getQualifiedName().toString(), entityBinaryName, classElement));
+        }
+    }
+
+    public boolean isEmpty() {
+        return entries.isEmpty();
+    }
+
+    /**
+     * Writes the index resource and the lookup class.
+     *
+     * @param qualifiedClassName fully qualified name of the lookup class
+     */
+    public void generate(Filer filer, String qualifiedClassName) throws IOException {
+        entries.sort(Comparator.comparing(IndexEntry::typeName));
+        Element[] originatingElements = entries.stream().map(IndexEntry::classElement).distinct().toArray(Element[]::new);
+
+        FileObject resource = filer.createResource(StandardLocation.CLASS_OUTPUT, "", INDEX_RESOURCE, originatingElements);
+        try (Writer writer = resource.openWriter()) {
+            writer.write("# kind\tid\ttype\tentity\n");
+            for (IndexEntry entry : entries) {
+                writer.write(entry.kind() + "\t" + entry.id() + "\t" + entry.typeName() + "\t" + entry.entityBinaryName() + "\n");
+            }
+        }
+
+        int lastDot = qualifiedClassName.lastIndexOf('.');
+        String packageName = lastDot > 0 ? qualifiedClassName.substring(0, lastDot) : "";
+        String className = qualifiedClassName.substring(lastDot + 1);
+
+        JavaFileObject sourceFile = filer.createSourceFile(qualifiedClassName, originatingElements);
+        try (Writer writer = sourceFile.openWriter()) {
+            if (!packageName.isEmpty()) {
+                writer.write("package " + packageName + ";\n\n");
+            }
+
+            writer.write("/**\n");
+            writer.write(" * Index of the DTOs, VOs and Records generated in this module, with their entities\n");
+            writer.write(" * Generated by Project Equilibrium\n");
+            writer.write(" */\n");
+            writer.write("public final class " + className + " {\n");
+            writer.write("    public static final String RESOURCE = \"" + INDEX_RESOURCE + "\";\n\n");
+
+            writer.write("    public enum Kind { DTO, VO, RECORD }\n\n");
+            writer.write("    public record Entry(Kind kind, int id, Class<?> type, Class<?> entity) {\n");
+            writer.write("    }\n\n");
+
+            writer.write("    private static final java.util.List<Entry> ENTRIES = java.util.List.of(\n");
+            for (int i = 0; i < entries.size(); i++) {
+                IndexEntry entry = entries.get(i);
+                writer.write("        new Entry(Kind." + entry.kind() + ", " + entry.id() + ", " + entry.typeName() + ".class, "
+                    + entry.entityName() + ".class)" + (i < entries.size() - 1 ? "," : "") + "\n");
+            }
+            writer.write("    );\n");
+            writer.write("    private static final java.util.Map<Class<?>, Entry> BY_TYPE = new java.util.HashMap<>();\n");
+            writer.write("    private static final java.util.Map<Class<?>, java.util.List<Entry>> BY_ENTITY = new java.util.HashMap<>();\n\n");
+
+            writer.write("    static {\n");
+            writer.write("        for (Entry entry : ENTRIES) {\n");
+            writer.write("            BY_TYPE.put(entry.type(), entry);\n");
+            writer.write("            BY_ENTITY.computeIfAbsent(entry.entity(), entity -> new java.util.ArrayList<>()).add(entry);\n");
+            writer.write("        }\n");
+            writer.write("        BY_ENTITY.replaceAll((entity, entries) -> java.util.List.copyOf(entries));\n");
+            writer.write("    }\n\n");
+
+            writer.write("    private " + className + "() {\n");
+            writer.write("    }\n\n");
+
+            writer.write("    /**\n");
+            writer.write("     * Get all generated classes of this module\n");
+            writer.write("     */\n");
+            writer.write("    public static java.util.List<Entry> entries() {\n");
+            writer.write("        return ENTRIES;\n");
+            writer.write(GeneratorUtility.STRING_END);
+
+            writer.write("    /**\n");
+            writer.write("     * Get the entry of a generated class, or null if it wasn't generated in this module\n");
+            writer.write("     */\n");
+            writer.write("    public static Entry forType(Class<?> type) {\n");
+            writer.write("        return BY_TYPE.get(type);\n");
+            writer.write(GeneratorUtility.STRING_END);
+
+            writer.write("    /**\n");
+            writer.write("     * Get the classes generated from an entity\n");
+            writer.write("     */\n");
+            writer.write("    public static java.util.List<Entry> forEntity(Class<?> entity) {\n");
+            writer.write("        return BY_ENTITY.getOrDefault(entity, java.util.List.of());\n");
+            writer.write(GeneratorUtility.STRING_END);
+
+            writer.write("    /**\n");
+            writer.write("     * Get the class of the given kind and id generated from an entity, or null if there is none\n");
+            writer.write("     */\n");
+            writer.write("    public static Class<?> find(Class<?> entity, Kind kind, int id) {\n");
+            writer.write("        for (Entry entry : forEntity(entity)) {\n");
+            writer.write("            if (entry.kind() == kind && entry.id() == id) {\n");
+            writer.write("                return entry.type();\n");
+            writer.write("            }\n");
+            writer.write("        }\n");
+            writer.write("        return null;\n");
+            writer.write("    }\n");
+            writer.write("}\n");
+        }
+    }
+
+    private record IndexEntry(GeneratorType kind, int id, String typeName, String entityName, String entityBinaryName,
+                              TypeElement classElement) {
+    }
+}
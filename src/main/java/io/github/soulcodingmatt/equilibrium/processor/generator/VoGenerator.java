@@ -1,7 +1,9 @@
 package io.github.soulcodingmatt.equilibrium.processor.generator;
 
 import io.github.soulcodingmatt.equilibrium.processor.generator.GeneratorUtility.AccessorConfig;
+import io.github.soulcodingmatt.equilibrium.processor.generator.GeneratorUtility.BuilderConfig;
 import io.github.soulcodingmatt.equilibrium.processor.generator.GeneratorUtility.ConstructorConfig;
+import io.github.soulcodingmatt.equilibrium.processor.generator.GeneratorUtility.Feature;
 import io.github.soulcodingmatt.equilibrium.processor.generator.GeneratorUtility.FieldInclusionConfig;
 import io.github.soulcodingmatt.equilibrium.processor.generator.GeneratorUtility.GeneratorType;
 
@@ -11,31 +13,38 @@ import javax.lang.model.element.VariableElement;
 import javax.tools.JavaFileObject;
 import java.io.IOException;
 import java.io.Writer;
+import java.util.EnumSet;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 
 public class VoGenerator {
+    private static final String INTERN_KEY = "Interned";
+
     private final TypeElement classElement;
     private final String packageName;
     private final String voClassName;
     private final Set<String> ignoredFields;
     private final boolean generateSetters;
+    private final boolean intern;
+    private final Set<Feature> features;
     private final Filer filer;
     private final int voId;
 
     public VoGenerator(TypeElement classElement, String packageName, String voClassName,
-                       Set<String> ignoredFields, boolean generateSetters, int voId, Filer filer) {
+                       Set<String> ignoredFields, boolean generateSetters, Set<Feature> features, int voId, Filer filer) {
         this.classElement = classElement;
         this.packageName = packageName;
         this.voClassName = voClassName;
         this.ignoredFields = ignoredFields != null ? ignoredFields : new HashSet<>();
         this.generateSetters = generateSetters;
+        this.features = features != null ? features : EnumSet.noneOf(Feature.class);
+        this.intern = this.features.contains(Feature.INTERN);
         this.filer = filer;
         this.voId = voId;
     }
 
-    public void generate() throws IOException {
+    public GeneratedVariant generate() throws IOException {
         // Create field inclusion configuration
         FieldInclusionConfig fieldConfig = new FieldInclusionConfig(GeneratorType.VO, ignoredFields, voId);
         
@@ -50,6 +59,11 @@ public class VoGenerator {
             writer.write("package " + packageName + ";\n\n");
             
             // Write imports
+            if (intern) {
+                writer.write("import java.lang.ref.ReferenceQueue;\n");
+                writer.write("import java.lang.ref.WeakReference;\n");
+                writer.write("import java.util.concurrent.ConcurrentHashMap;\n");
+            }
             GeneratorUtility.writeBasicImports(writer, fields);
             
             // Write class declaration
@@ -69,6 +83,17 @@ public class VoGenerator {
             
             // Write constructor
             GeneratorUtility.writeConstructor(writer, fields, voClassName, constructorConfig);
+
+            // Write canonicalizing factory (immutable VOs only)
+            if (intern) {
+                writeInternFactory(writer, fields);
+            }
+
+            // Write native builder (interned VOs are built through the canonicalizing factory)
+            if (features.contains(Feature.BUILDER)) {
+                BuilderConfig builderConfig = new BuilderConfig(null, intern ? "of" : "new " + voClassName);
+                GeneratorUtility.writeBuilder(writer, fields, voClassName, builderConfig);
+            }
             
             // Create accessor configuration
             AccessorConfig accessorConfig = new AccessorConfig(generateSetters, null);
@@ -78,6 +103,27 @@ public class VoGenerator {
                 GeneratorUtility.writeAccessors(writer, field, accessorConfig);
             }
             
+            // Write shallow and deep copies (interned VOs are copied through the canonicalizing factory)
+            if (features.contains(Feature.COPY)) {
+                GeneratorUtility.writeCopyMethods(writer, fields, voClassName, null, intern ? "of" : "new " + voClassName, null, null);
+            }
+            
+            // Write size estimate
+            if (features.contains(Feature.SIZE_ESTIMATE)) {
+                GeneratorUtility.writeSizeEstimate(writer, fields, null, 0L, null);
+            }
+            
+            // Write field-level diff and patch (VOs are patched into a new instance)
+            if (features.contains(Feature.DIFF)) {
+                GeneratorUtility.writeDiff(writer, fields, voClassName);
+                GeneratorUtility.writeImmutablePatch(writer, fields, voClassName, intern ? "of" : "new " + voClassName);
+            }
+            
+            // Write index-based field access
+            if (features.contains(Feature.FIELD_TABLE)) {
+                GeneratorUtility.writeFieldTable(writer, fields, voClassName, null, generateSetters);
+            }
+            
             // Write standard method overrides (always generated)
             GeneratorUtility.writeEquals(writer, fields, voClassName);
             GeneratorUtility.writeHashCode(writer, fields);
@@ -86,5 +132,83 @@ public class VoGenerator {
             // Close class
             writer.write("}\n");
         }
+
+        String qualifiedName = packageName + "." + voClassName;
+        return new GeneratedVariant(GeneratorType.VO, voId, packageName, voClassName, fields, null,
+                intern ? qualifiedName + ".of" : "new " + qualifiedName);
+    }
+
+    /**
+     * Writes a static {@code of(...)} factory and an {@code intern(...)} method that canonicalize
+     * equal instances through a concurrent map of weak references. Entries whose instance has been
+     * garbage collected are purged lazily on the next call.
+     */
+    private void writeInternFactory(Writer writer, List<VariableElement> fields) throws IOException {
+        writer.write("    private static final ConcurrentHashMap<" + INTERN_KEY + ", " + INTERN_KEY + "> INTERNED = new ConcurrentHashMap<>();\n");
+        writer.write("    private static final ReferenceQueue<" + voClassName + "> INTERN_QUEUE = new ReferenceQueue<>();\n\n");
+
+        // Factory with the same parameters as the all-args constructor
+        writer.write("    public static " + voClassName + " of(");
+        boolean first = true;
+        for (VariableElement field : fields) {
+            if (!first) {
+                writer.write(", ");
+            }
+            writer.write(field.asType().toString() + " " + field.getSimpleName());
+            first = false;
+        }
+        writer.write(") {\n");
+        writer.write("        return intern(new " + voClassName + "(");
+        first = true;
+        for (VariableElement field : fields) {
+            if (!first) {
+                writer.write(", ");
+            }
+            writer.write(field.getSimpleName().toString());
+            first = false;
+        }
+        writer.write("));\n");
+        writer.write(GeneratorUtility.STRING_END);
+
+        // Canonicalization of an existing instance
+        writer.write("    public static " + voClassName + " intern(" + voClassName + " candidate) {\n");
+        writer.write("        Objects.requireNonNull(candidate, \"candidate\");\n");
+        writer.write("        purgeInterned();\n");
+        writer.write("        " + INTERN_KEY + " key = new " + INTERN_KEY + "(candidate, INTERN_QUEUE);\n");
+        writer.write("        while (true) {\n");
+        writer.write("            " + INTERN_KEY + " existing = INTERNED.putIfAbsent(key, key);\n");
+        writer.write("            if (existing == null) return candidate;\n");
+        writer.write("            " + voClassName + " canonical = existing.get();\n");
+        writer.write("            if (canonical != null) return canonical;\n");
+        writer.write("            INTERNED.remove(existing, existing);\n");
+        writer.write("        }\n");
+        writer.write(GeneratorUtility.STRING_END);
+
+        writer.write("    private static void purgeInterned() {\n");
+        writer.write("        Object cleared;\n");
+        writer.write("        while ((cleared = INTERN_QUEUE.poll()) != null) {\n");
+        writer.write("            INTERNED.remove(cleared, cleared);\n");
+        writer.write("        }\n");
+        writer.write(GeneratorUtility.STRING_END);
+
+        // Weak key that compares by the value of its referent and keeps the referent's hash
+        writer.write("    private static final class " + INTERN_KEY + " extends WeakReference<" + voClassName + "> {\n");
+        writer.write("        private final int hash;\n\n");
+        writer.write("        " + INTERN_KEY + "(" + voClassName + " referent, ReferenceQueue<" + voClassName + "> queue) {\n");
+        writer.write("            super(referent, queue);\n");
+        writer.write("            this.hash = referent.hashCode();\n");
+        writer.write("        }\n\n");
+        writer.write("    " + GeneratorUtility.OVERRIDE);
+        writer.write("        public int hashCode() {\n");
+        writer.write("            return hash;\n");
+        writer.write("        }\n\n");
+        writer.write("    " + GeneratorUtility.OVERRIDE);
+        writer.write("        public boolean equals(Object o) {\n");
+        writer.write("            if (this == o) return true;\n");
+        writer.write("            if (!(o instanceof " + INTERN_KEY + " other)) return false;\n");
+        writer.write("            " + voClassName + " value = get();\n");
+        writer.write("            return value != null && value.equals(other.get());\n");
+        writer.write("        }\n");
+        writer.write(GeneratorUtility.STRING_END);
     }
 }
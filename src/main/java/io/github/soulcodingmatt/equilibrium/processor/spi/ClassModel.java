@@ -0,0 +1,24 @@
+package io.github.soulcodingmatt.equilibrium.processor.spi;
+
+import javax.lang.model.element.TypeElement;
+import java.util.List;
+
+/**
+ * An annotated class as seen by {@link GeneratorPlugin}s: its fields with their Equilibrium annotations and the
+ * DTOs, VOs and Records generated from it. Each variant lists the fields it actually declares.
+ */
+public class ClassModel {
+    private final TypeElement classElement;
+    private final List<FieldModel> fields;
+    private final List<VariantModel> variants;
+
+    public ClassModel(TypeElement classElement, List<FieldModel> fields, List<VariantModel> variants) {
+        this.classElement = classElement;
+        this.fields = List.copyOf(fields);
+        this.variants = List.copyOf(variants);
+    }
+
+    public TypeElement getClassElement() { return classElement; }
+    public List<FieldModel> getFields() { return fields; }
+    public List<VariantModel> getVariants() { return variants; }
+}
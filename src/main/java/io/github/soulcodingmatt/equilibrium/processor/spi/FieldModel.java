@@ -0,0 +1,90 @@
+package io.github.soulcodingmatt.equilibrium.processor.spi;
+
+import io.github.soulcodingmatt.equilibrium.annotations.dto.NestedMapping;
+import io.github.soulcodingmatt.equilibrium.annotations.dto.ValidateDto;
+
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.MirroredTypeException;
+import javax.lang.model.type.TypeMirror;
+import java.util.List;
+
+/**
+ * A field of an annotated class with the Equilibrium annotations read from it.
+ */
+public class FieldModel {
+    private final VariableElement element;
+    private final boolean ignoreAll;
+    private final int[] ignoredDtoIds;
+    private final int[] ignoredRecordIds;
+    private final int[] ignoredVoIds;
+    private final List<ValidateDto> validations;
+    private final NestedMapping nestedMapping;
+
+    /**
+     * @param ignoredDtoIds the ids of @IgnoreDto, or null if the field isn't annotated (the same for Records and VOs)
+     */
+    public FieldModel(VariableElement element, boolean ignoreAll, int[] ignoredDtoIds, int[] ignoredRecordIds,
+                      int[] ignoredVoIds, ValidateDto[] validations, NestedMapping nestedMapping) {
+        this.element = element;
+        this.ignoreAll = ignoreAll;
+        this.ignoredDtoIds = ignoredDtoIds;
+        this.ignoredRecordIds = ignoredRecordIds;
+        this.ignoredVoIds = ignoredVoIds;
+        this.validations = List.of(validations);
+        this.nestedMapping = nestedMapping;
+    }
+
+    public VariableElement getElement() { return element; }
+    public String getName() { return element.getSimpleName().toString(); }
+    public List<ValidateDto> getValidations() { return validations; }
+    public NestedMapping getNestedMapping() { return nestedMapping; }
+
+    /**
+     * Checks whether the field is excluded from a variant by @IgnoreAll or @IgnoreDto/@IgnoreRecord/@IgnoreVo.
+     * Fields excluded by the {@code ignore} argument of the generation annotation aren't covered; use the fields of
+     * the {@link VariantModel} for those.
+     *
+     * @param kind the kind of the variant
+     * @param id   the id of the generation annotation, -1 if none is set
+     * @return true if the field is ignored
+     */
+    public boolean isIgnored(VariantKind kind, int id) {
+        if (ignoreAll) {
+            return true;
+        }
+        int[] ignoredIds = switch (kind) {
+            case DTO -> ignoredDtoIds;
+            case RECORD -> ignoredRecordIds;
+            case VO -> ignoredVoIds;
+        };
+        if (ignoredIds == null) {
+            return false;
+        }
+        // Without IDs the field is ignored for all variants of this kind
+        if (ignoredIds.length == 0) {
+            return true;
+        }
+        for (int ignoredId : ignoredIds) {
+            if (ignoredId == id) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Get the DTO class from @NestedMapping, or null if the field has none.
+     * If the DTO is generated in the same compilation, this is an error type until a later round.
+     */
+    public TypeMirror getNestedDtoType() {
+        if (nestedMapping == null) {
+            return null;
+        }
+        try {
+            nestedMapping.dtoClass();
+            throw new IllegalStateException("Class values of annotations are only available as TypeMirror");
+        } catch (MirroredTypeException mte) {
+            return mte.getTypeMirror();
+        }
+    }
+}
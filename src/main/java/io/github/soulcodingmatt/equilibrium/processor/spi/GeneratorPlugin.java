@@ -0,0 +1,44 @@
+package io.github.soulcodingmatt.equilibrium.processor.spi;
+
+import javax.annotation.processing.Filer;
+import javax.annotation.processing.ProcessingEnvironment;
+import java.io.IOException;
+import java.util.Set;
+
+/**
+ * Extension point for generating additional files from the classes Equilibrium processes.
+ * <p>
+ * Implementations are discovered with {@link java.util.ServiceLoader} from the annotation processor path, so a
+ * plugin jar needs a {@code META-INF/services/io.github.soulcodingmatt.equilibrium.processor.spi.GeneratorPlugin}
+ * entry. Plugins run inside Equilibrium's annotation pass and receive the field model it has already resolved,
+ * instead of scanning the annotated classes again in a processor of their own.
+ * </p>
+ */
+public interface GeneratorPlugin {
+
+    /**
+     * Called once before the first class is processed.
+     *
+     * @param processingEnv the processing environment of the compilation
+     */
+    default void init(ProcessingEnvironment processingEnv) {
+    }
+
+    /**
+     * Gets the compiler options (-A...) this plugin reads, so that javac doesn't warn about them.
+     *
+     * @return the supported option names
+     */
+    default Set<String> getSupportedOptions() {
+        return Set.of();
+    }
+
+    /**
+     * Called for every annotated class after Equilibrium has generated its DTOs, VOs and Records.
+     *
+     * @param model the annotated class with its fields and generated variants
+     * @param filer the filer for creating source and resource files
+     * @throws IOException if a file can't be written
+     */
+    void generate(ClassModel model, Filer filer) throws IOException;
+}
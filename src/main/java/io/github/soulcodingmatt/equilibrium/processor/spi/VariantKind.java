@@ -0,0 +1,8 @@
+package io.github.soulcodingmatt.equilibrium.processor.spi;
+
+/**
+ * The kind of a class generated from an annotated class.
+ */
+public enum VariantKind {
+    DTO, VO, RECORD
+}
@@ -0,0 +1,69 @@
+package io.github.soulcodingmatt.equilibrium.processor.spi;
+
+import javax.lang.model.element.VariableElement;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * A DTO, VO or Record generated from an annotated class, as seen by {@link GeneratorPlugin}s: its kind, name and
+ * the fields it declares with their types in the generated class.
+ */
+public class VariantModel {
+    private final VariantKind kind;
+    private final int id;
+    private final String packageName;
+    private final String className;
+    private final List<VariableElement> fields;
+    private final Map<VariableElement, String> fieldTypes = new HashMap<>();
+
+    /**
+     * @param fieldType the declared type of a field in the generated class, e.g. the DTO type of a nested field
+     */
+    public VariantModel(VariantKind kind, int id, String packageName, String className, List<VariableElement> fields,
+                        Function<VariableElement, String> fieldType) {
+        this.kind = kind;
+        this.id = id;
+        this.packageName = packageName;
+        this.className = className;
+        this.fields = List.copyOf(fields);
+        for (VariableElement field : this.fields) {
+            fieldTypes.put(field, fieldType.apply(field));
+        }
+    }
+
+    public VariantKind getKind() { return kind; }
+    public int getId() { return id; }
+    public String getPackageName() { return packageName; }
+    public String getClassName() { return className; }
+    public List<VariableElement> getFields() { return fields; }
+
+    public String getQualifiedName() {
+        return packageName + "." + className;
+    }
+
+    /**
+     * Get the declared type of a field in the generated class (after @NestedMapping transformation)
+     *
+     * @throws IllegalArgumentException if the generated class doesn't declare the field
+     */
+    public String getFieldType(VariableElement field) {
+        String type = fieldTypes.get(field);
+        if (type == null) {
+            throw new IllegalArgumentException(className + " doesn't declare field " + field.getSimpleName());
+        }
+        return type;
+    }
+
+    /**
+     * Get the expression that reads a field from an instance named {@code target}
+     */
+    public String getReadExpression(String target, VariableElement field) {
+        String name = field.getSimpleName().toString();
+        if (kind == VariantKind.RECORD) {
+            return target + "." + name + "()";
+        }
+        return target + ".get" + name.substring(0, 1).toUpperCase() + name.substring(1) + "()";
+    }
+}
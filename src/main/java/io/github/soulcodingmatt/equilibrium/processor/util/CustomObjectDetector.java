@@ -5,16 +5,25 @@ import javax.lang.model.element.TypeElement;
 import javax.lang.model.type.DeclaredType;
 import javax.lang.model.type.TypeKind;
 import javax.lang.model.type.TypeMirror;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
 import java.util.Set;
 
 /**
- * Utility class for detecting custom objects that should be converted to DTOs
- * in nested object handling.
+ * Detects custom objects that should be converted to DTOs in nested object handling.
+ * <p>
+ * Excluded packages and types are stored in a trie of name segments, so a type is classified with a single walk
+ * over its qualified name. The result is memoized per type element. One instance is owned by the processor, so the
+ * cache lives exactly as long as the compilation.
+ * </p>
  */
 public class CustomObjectDetector {
-    
-    // JDK and common library packages that should NOT be converted to DTOs
-    private static final Set<String> EXCLUDED_PACKAGES = Set.of(
+
+    // JDK and common library packages that should NOT be converted to DTOs.
+    // An entry excludes the package itself, its subpackages and, for a type name, the type and its nested types.
+    public static final Set<String> DEFAULT_EXCLUDED_PACKAGES = Set.of(
         "java.lang",
         "java.util",
         "java.time",
@@ -22,130 +31,154 @@ public class CustomObjectDetector {
         "java.io",
         "java.net",
         "java.nio",
-        "javax.",
-        "jakarta."
+        "javax",
+        "jakarta"
     );
-    
-    // Common types that should NOT be converted to DTOs
-    private static final Set<String> EXCLUDED_TYPES = Set.of(
-        "java.lang.String",
-        "java.lang.Boolean",
-        "java.lang.Byte",
-        "java.lang.Short", 
-        "java.lang.Integer",
-        "java.lang.Long",
-        "java.lang.Float",
-        "java.lang.Double",
-        "java.lang.Character",
-        "java.math.BigDecimal",
-        "java.math.BigInteger",
-        "java.time.LocalDate",
-        "java.time.LocalTime",
-        "java.time.LocalDateTime",
-        "java.time.ZonedDateTime",
-        "java.time.OffsetDateTime",
-        "java.time.Instant",
-        "java.time.Duration",
-        "java.time.Period",
-        "java.util.UUID"
+
+    // Collection types whose element type is checked for DTO conversion
+    public static final Set<String> DEFAULT_COLLECTION_TYPES = Set.of(
+        "java.util.List",
+        "java.util.Set",
+        "java.util.Collection",
+        "java.util.ArrayList",
+        "java.util.LinkedList",
+        "java.util.HashSet",
+        "java.util.LinkedHashSet",
+        "java.util.TreeSet"
     );
 
-    private CustomObjectDetector(){
-        throw new AssertionError("Utility class should not be instantiated");
+    private final PackageTrie excludedPackages = new PackageTrie();
+    private final Set<String> collectionTypes = new HashSet<>(DEFAULT_COLLECTION_TYPES);
+    private final Map<TypeElement, Boolean> customObjectCache = new HashMap<>();
+    private final Map<TypeElement, Boolean> collectionTypeCache = new HashMap<>();
+
+    /**
+     * Creates a detector with the default exclusions and collection types.
+     */
+    public CustomObjectDetector() {
+        this(Set.of(), Set.of());
+    }
+
+    /**
+     * Creates a detector with additional exclusions and collection types.
+     *
+     * @param excludedPackages packages or fully qualified types that are never converted to DTOs,
+     *                         in addition to {@link #DEFAULT_EXCLUDED_PACKAGES}
+     * @param collectionTypes  fully qualified collection types whose first type argument is the element type,
+     *                         in addition to {@link #DEFAULT_COLLECTION_TYPES}
+     */
+    public CustomObjectDetector(Collection<String> excludedPackages, Collection<String> collectionTypes) {
+        DEFAULT_EXCLUDED_PACKAGES.forEach(this.excludedPackages::add);
+        excludedPackages.forEach(this.excludedPackages::add);
+        this.collectionTypes.addAll(collectionTypes);
     }
 
     /**
      * Determines if a type represents a custom object that should be converted to a DTO.
-     * 
+     *
      * @param type the type to check
      * @return true if this is a custom object that needs DTO conversion
      */
-    public static boolean isCustomObject(TypeMirror type) {
-        // Handle primitive types
-        if (type.getKind().isPrimitive()) {
+    public boolean isCustomObject(TypeMirror type) {
+        // Only declared types (classes, interfaces) can be custom objects; primitives, arrays, wildcards etc. are not
+        if (type.getKind() != TypeKind.DECLARED) {
             return false;
         }
-        
-        // Handle declared types (classes, interfaces)
-        if (type.getKind() == TypeKind.DECLARED) {
-            DeclaredType declaredType = (DeclaredType) type;
-            TypeElement typeElement = (TypeElement) declaredType.asElement();
-            String qualifiedName = typeElement.getQualifiedName().toString();
-            
-            // Check if it's an enum - enums should be used directly, not converted to DTOs
-            if (typeElement.getKind() == ElementKind.ENUM) {
-                return false;
-            }
-            
-            // Check if it's an excluded type
-            if (EXCLUDED_TYPES.contains(qualifiedName)) {
-                return false;
-            }
-            
-            // Check if it's in an excluded package
-            for (String excludedPackage : EXCLUDED_PACKAGES) {
-                if (qualifiedName.startsWith(excludedPackage)) {
-                    return false;
-                }
-            }
-            
-            // If we get here, it's likely a custom object
-            return true;
+
+        TypeElement typeElement = (TypeElement) ((DeclaredType) type).asElement();
+        return customObjectCache.computeIfAbsent(typeElement, this::classify);
+    }
+
+    private boolean classify(TypeElement typeElement) {
+        // Enums should be used directly, not converted to DTOs
+        if (typeElement.getKind() == ElementKind.ENUM) {
+            return false;
         }
-        
-        // Other types (arrays, wildcards, etc.) are not custom objects
-        return false;
+        return !excludedPackages.containsPrefixOf(typeElement.getQualifiedName());
     }
-    
+
     /**
      * Extracts the element type from collection types like {@code List<CustomObject>}.
      * Returns the element type that should be checked for DTO conversion.
-     * 
+     *
      * @param collectionType the collection type (List, Set, etc.)
      * @return the element type, or null if not a parameterized collection
      */
-    public static TypeMirror getCollectionElementType(TypeMirror collectionType) {
+    public TypeMirror getCollectionElementType(TypeMirror collectionType) {
         if (collectionType.getKind() == TypeKind.DECLARED) {
             DeclaredType declaredType = (DeclaredType) collectionType;
-            
-            // Check if it's a parameterized type with type arguments
-            if (!declaredType.getTypeArguments().isEmpty()) {
-                TypeElement typeElement = (TypeElement) declaredType.asElement();
-                String qualifiedName = typeElement.getQualifiedName().toString();
-                
-                // Check if it's a known collection type
-                if (isCollectionType(qualifiedName)) {
-                    // Return the first type argument (element type)
-                    return declaredType.getTypeArguments().get(0);
-                }
+
+            // Check if it's a parameterized known collection type
+            if (!declaredType.getTypeArguments().isEmpty() && isCollectionType((TypeElement) declaredType.asElement())) {
+                // Return the first type argument (element type)
+                return declaredType.getTypeArguments().get(0);
             }
         }
-        
+
         return null;
     }
-    
-    /**
-     * Checks if a qualified name represents a collection type.
-     */
-    private static boolean isCollectionType(String qualifiedName) {
-        return qualifiedName.equals("java.util.List") ||
-               qualifiedName.equals("java.util.Set") ||
-               qualifiedName.equals("java.util.Collection") ||
-               qualifiedName.equals("java.util.ArrayList") ||
-               qualifiedName.equals("java.util.LinkedList") ||
-               qualifiedName.equals("java.util.HashSet") ||
-               qualifiedName.equals("java.util.LinkedHashSet") ||
-               qualifiedName.equals("java.util.TreeSet");
+
+    private boolean isCollectionType(TypeElement typeElement) {
+        return collectionTypeCache.computeIfAbsent(typeElement,
+            element -> collectionTypes.contains(element.getQualifiedName().toString()));
     }
-    
+
     /**
      * Determines if a type is a collection that can contain custom objects.
-     * 
+     *
      * @param type the type to check
      * @return true if this is a collection of custom objects
      */
-    public static boolean isCustomObjectCollection(TypeMirror type) {
+    public boolean isCustomObjectCollection(TypeMirror type) {
         TypeMirror elementType = getCollectionElementType(type);
         return elementType != null && isCustomObject(elementType);
     }
-} 
+
+    /**
+     * Trie over the dot-separated segments of package and type names.
+     */
+    private static final class PackageTrie {
+        private final Node root = new Node();
+
+        void add(String name) {
+            Node node = root;
+            for (String segment : name.split("\\.")) {
+                if (!segment.isEmpty()) {
+                    node = node.children.computeIfAbsent(segment, key -> new Node());
+                }
+            }
+            if (node != root) {
+                node.terminal = true;
+            }
+        }
+
+        /**
+         * Checks whether an entry of the trie is the name itself or one of its enclosing packages or types.
+         */
+        boolean containsPrefixOf(CharSequence qualifiedName) {
+            String name = qualifiedName.toString();
+            Node node = root;
+            int start = 0;
+            while (start <= name.length()) {
+                int end = name.indexOf('.', start);
+                if (end < 0) {
+                    end = name.length();
+                }
+                node = node.children.get(name.substring(start, end));
+                if (node == null) {
+                    return false;
+                }
+                if (node.terminal) {
+                    return true;
+                }
+                start = end + 1;
+            }
+            return false;
+        }
+
+        private static final class Node {
+            private final Map<String, Node> children = new HashMap<>();
+            private boolean terminal;
+        }
+    }
+}
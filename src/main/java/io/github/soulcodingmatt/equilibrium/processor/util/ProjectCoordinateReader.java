@@ -0,0 +1,236 @@
+package io.github.soulcodingmatt.equilibrium.processor.util;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Reads the groupId and artifactId of the project being compiled from its build file.
+ * <p>
+ * Maven POMs are read with a streaming StAX reader that stops as soon as the project's own coordinates are known.
+ * A groupId inherited from the {@code <parent>} section is used if the project doesn't declare its own.
+ * For Gradle builds, the {@code group} from build.gradle(.kts) and the project name from settings.gradle(.kts)
+ * (or the project directory name) are used.
+ * </p>
+ * <p>
+ * Results are cached per build file for the lifetime of the class loader, together with the modification times of
+ * the build file and, for Gradle, the settings files. A long-running compiler daemon reads unchanged files only once,
+ * and a settings file that is created, changed or deleted is picked up by the next read.
+ * </p>
+ */
+public final class ProjectCoordinateReader {
+    private static final Map<Path, CachedCoordinates> CACHE = new ConcurrentHashMap<>();
+
+    private static final String POM = "pom.xml";
+    private static final String[] GRADLE_BUILD_FILES = {"build.gradle", "build.gradle.kts"};
+    private static final String[] GRADLE_SETTINGS_FILES = {"settings.gradle", "settings.gradle.kts"};
+
+    private ProjectCoordinateReader() {
+        // Utility class
+    }
+
+    /**
+     * Reads the coordinates of the project in the given directory.
+     *
+     * @param projectRoot the project directory
+     * @return Optional containing the project's groupId and artifactId, or empty if they can't be determined
+     */
+    public static Optional<Map.Entry<String, String>> read(Path projectRoot) {
+        Path pomFile = projectRoot.resolve(POM);
+        if (Files.isRegularFile(pomFile)) {
+            return cached(pomFile, List.of(), () -> readPom(pomFile));
+        }
+
+        for (String buildFileName : GRADLE_BUILD_FILES) {
+            Path buildFile = projectRoot.resolve(buildFileName);
+            if (Files.isRegularFile(buildFile)) {
+                List<Path> settingsFiles = new ArrayList<>();
+                for (String settingsFileName : GRADLE_SETTINGS_FILES) {
+                    settingsFiles.add(projectRoot.resolve(settingsFileName));
+                }
+                return cached(buildFile, settingsFiles, () -> readGradle(projectRoot, buildFile));
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * @param inputs other files the coordinates are read from; they are part of the cache entry whether they exist
+     *               or not
+     */
+    private static Optional<Map.Entry<String, String>> cached(Path buildFile, List<Path> inputs, CoordinateSource source) {
+        Path key = buildFile.toAbsolutePath().normalize();
+        List<FileTime> modified = new ArrayList<>();
+        try {
+            modified.add(Files.getLastModifiedTime(key));
+        } catch (IOException e) {
+            return Optional.empty();
+        }
+        for (Path input : inputs) {
+            modified.add(getLastModifiedTime(input));
+        }
+
+        CachedCoordinates cachedCoordinates = CACHE.get(key);
+        if (cachedCoordinates != null && cachedCoordinates.modified().equals(modified)) {
+            return cachedCoordinates.coordinates();
+        }
+
+        Optional<Map.Entry<String, String>> coordinates = source.read();
+        CACHE.put(key, new CachedCoordinates(modified, coordinates));
+        return coordinates;
+    }
+
+    /**
+     * Get the modification time of a file, or null if it doesn't exist
+     */
+    private static FileTime getLastModifiedTime(Path file) {
+        try {
+            return Files.getLastModifiedTime(file);
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Streams through the POM and picks the groupId and artifactId that are direct children of {@code <project>}.
+     */
+    private static Optional<Map.Entry<String, String>> readPom(Path pomFile) {
+        XMLInputFactory factory = XMLInputFactory.newFactory();
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+
+        String groupId = null;
+        String artifactId = null;
+        String parentGroupId = null;
+
+        try (InputStream in = Files.newInputStream(pomFile)) {
+            XMLStreamReader reader = factory.createXMLStreamReader(in);
+            try {
+                int depth = 0;
+                boolean inParent = false;
+                while (reader.hasNext() && (groupId == null || artifactId == null)) {
+                    int event = reader.next();
+                    if (event == XMLStreamReader.START_ELEMENT) {
+                        depth++;
+                        String name = reader.getLocalName();
+                        if (depth == 2 && name.equals("parent")) {
+                            inParent = true;
+                        } else if (depth == 2 && name.equals("groupId")) {
+                            groupId = reader.getElementText().trim();
+                            depth--;
+                        } else if (depth == 2 && name.equals("artifactId")) {
+                            artifactId = reader.getElementText().trim();
+                            depth--;
+                        } else if (depth == 3 && inParent && name.equals("groupId")) {
+                            parentGroupId = reader.getElementText().trim();
+                            depth--;
+                        }
+                    } else if (event == XMLStreamReader.END_ELEMENT) {
+                        if (depth == 2) {
+                            inParent = false;
+                        }
+                        depth--;
+                    }
+                }
+            } finally {
+                reader.close();
+            }
+        } catch (IOException | XMLStreamException e) {
+            // An unreadable POM is treated like a missing one
+            return Optional.empty();
+        }
+
+        if (groupId == null) {
+            groupId = parentGroupId;
+        }
+        return groupId != null && artifactId != null ? Optional.of(Map.entry(groupId, artifactId)) : Optional.empty();
+    }
+
+    /**
+     * Reads {@code group = "..."} from the build file and {@code rootProject.name = "..."} from the settings file,
+     * falling back to the directory name, which is Gradle's default project name.
+     */
+    private static Optional<Map.Entry<String, String>> readGradle(Path projectRoot, Path buildFile) {
+        String group = readAssignment(buildFile, "group");
+        if (group == null) {
+            return Optional.empty();
+        }
+
+        String name = null;
+        for (String settingsFileName : GRADLE_SETTINGS_FILES) {
+            Path settingsFile = projectRoot.resolve(settingsFileName);
+            if (Files.isRegularFile(settingsFile)) {
+                name = readAssignment(settingsFile, "rootProject.name");
+                break;
+            }
+        }
+        if (name == null) {
+            Path directoryName = projectRoot.toAbsolutePath().normalize().getFileName();
+            name = directoryName != null ? directoryName.toString() : null;
+        }
+        return name != null ? Optional.of(Map.entry(group, name)) : Optional.empty();
+    }
+
+    /**
+     * Finds the first line of the form {@code <property> = "value"} (or with single quotes) and returns the value.
+     * Lines inside block comments are skipped; line comments never start with the property.
+     */
+    private static String readAssignment(Path file, String property) {
+        try (BufferedReader reader = Files.newBufferedReader(file)) {
+            String line;
+            boolean inBlockComment = false;
+            while ((line = reader.readLine()) != null) {
+                String trimmed = line.trim();
+                if (inBlockComment) {
+                    int end = trimmed.indexOf("*/");
+                    if (end < 0) {
+                        continue;
+                    }
+                    inBlockComment = false;
+                    trimmed = trimmed.substring(end + 2).trim();
+                }
+                if (trimmed.startsWith("/*")) {
+                    int end = trimmed.indexOf("*/", 2);
+                    inBlockComment = end < 0;
+                    trimmed = inBlockComment ? "" : trimmed.substring(end + 2).trim();
+                }
+                if (!trimmed.startsWith(property)) {
+                    continue;
+                }
+                String rest = trimmed.substring(property.length()).trim();
+                if (!rest.startsWith("=")) {
+                    continue;
+                }
+                rest = rest.substring(1).trim();
+                if (rest.length() >= 2 && (rest.charAt(0) == '"' || rest.charAt(0) == '\'')) {
+                    int end = rest.indexOf(rest.charAt(0), 1);
+                    if (end > 1) {
+                        return rest.substring(1, end);
+                    }
+                }
+            }
+        } catch (IOException e) {
+            // An unreadable build file is treated like a missing one
+        }
+        return null;
+    }
+
+    @FunctionalInterface
+    private interface CoordinateSource {
+        Optional<Map.Entry<String, String>> read();
+    }
+
+    private record CachedCoordinates(List<FileTime> modified, Optional<Map.Entry<String, String>> coordinates) {
+    }
+}
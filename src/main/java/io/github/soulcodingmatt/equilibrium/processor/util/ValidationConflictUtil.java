@@ -3,473 +3,461 @@ package io.github.soulcodingmatt.equilibrium.processor.util;
 import io.github.soulcodingmatt.equilibrium.annotations.dto.ValidateDto;
 import io.github.soulcodingmatt.equilibrium.annotations.dto.validation.*;
 
+import javax.lang.model.element.TypeElement;
 import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
 import javax.lang.model.type.TypeMirror;
 import java.util.ArrayList;
-import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Utility class for validating @ValidateDto annotation combinations
  * to prevent invalid Jakarta Bean Validation configurations.
+ * <p>
+ * The active validations of an annotation are kept in a bit mask. Type compatibility is a mask test against the
+ * categories of the field type, and contradictory pairs are looked up in a precomputed conflict matrix.
+ * Min, Max, Positive(OrZero), Negative(OrZero) and Digits are combined into one numeric range, and NotEmpty,
+ * NotBlank and Size into one length range; a conflict is reported if a range has no valid value.
+ * The analysis of an annotation only depends on its values, so it is cached for identical configurations. One
+ * instance is owned by the processor, so the cache lives exactly as long as the compilation.
+ * </p>
  */
 public class ValidationConflictUtil {
 
-    public static final String NEGATIVE_OR_ZERO = "NegativeOrZero";
-    public static final String FUTURE = "Future";
-    public static final String PAST_OR_PRESENT = "PastOrPresent";
-    public static final String POSITIVE = "Positive";
-    public static final String POSITIVE_OR_ZERO = "PositiveOrZero";
-    public static final String NEGATIVE = "Negative";
-    public static final String DIGITS = "Digits";
-    public static final String PAST = "Past";
-    public static final String FUTURE_OR_PRESENT = "FutureOrPresent";
     public static final String IS_OF_TYPE = "' is of type ";
-    public static final String NOT_EMPTY = "NotEmpty";
     public static final String MIN = "': @Min(";
     public static final String MAX = "': @Max(";
     public static final String FIELD = "Field '";
 
-    private ValidationConflictUtil(){
-        throw new AssertionError("Utility class should not be instantiated");
+    // Largest Digits.integer() whose bound 10^integer still fits into a long
+    private static final int MAX_BOUNDED_DIGITS = 18;
+
+    // Pairs of validations that contradict each other regardless of their values
+    private static final long[] CONFLICTS = new long[Constraint.values().length];
+    private static final String[][] CONFLICT_MESSAGES = new String[Constraint.values().length][Constraint.values().length];
+
+    static {
+        conflict(Constraint.POSITIVE_OR_ZERO, Constraint.NEGATIVE_OR_ZERO,
+            "@PositiveOrZero and @NegativeOrZero are contradictory. ≥ 0 contradicts ≤ 0 (only 0 would be valid).");
+        conflict(Constraint.PAST, Constraint.FUTURE,
+            "@Past and @Future are contradictory. A date cannot be in the past and the future.");
+        conflict(Constraint.PAST, Constraint.FUTURE_OR_PRESENT,
+            "@Past and @FutureOrPresent are contradictory. Past contradicts future or present.");
+        conflict(Constraint.FUTURE, Constraint.PAST_OR_PRESENT,
+            "@Future and @PastOrPresent are contradictory. Future contradicts past or present.");
     }
 
+    private final Map<ValidateDto, ConstraintSet> cache = new HashMap<>();
+
     /**
      * Validates all ValidateDto annotations on a field for conflicts and type compatibility.
-     * 
+     *
      * @param field the field being validated
      * @param validateDtoAnnotations array of ValidateDto annotations on the field
      * @return list of validation error messages, empty if no conflicts found
      */
-    public static List<String> validateField(VariableElement field, ValidateDto[] validateDtoAnnotations) {
+    public List<String> validateField(VariableElement field, ValidateDto[] validateDtoAnnotations) {
         List<String> errors = new ArrayList<>();
-        
+        TypeMirror fieldType = field.asType();
+        int typeCategories = categorize(fieldType);
+
         for (ValidateDto validateDto : validateDtoAnnotations) {
-            errors.addAll(validateSingleAnnotation(field, validateDto));
+            ConstraintSet constraints = cache.computeIfAbsent(validateDto, ValidationConflictUtil::analyze);
+            validateSingleAnnotation(field.getSimpleName().toString(), fieldType.toString(), typeCategories, constraints, errors);
         }
-        
+
         return errors;
     }
-    
+
     /**
-     * Validates a single ValidateDto annotation for conflicts and type compatibility.
+     * Checks the analyzed validations of a single ValidateDto annotation against a field.
      */
-    private static List<String> validateSingleAnnotation(VariableElement field, ValidateDto validateDto) {
-        List<String> errors = new ArrayList<>();
-        TypeMirror fieldType = field.asType();
-        String fieldName = field.getSimpleName().toString();
-        
-        // Collect all active validations
-        List<ValidationInfo> activeValidations = collectActiveValidations(validateDto);
-        
+    private static void validateSingleAnnotation(String fieldName, String typeName, int typeCategories,
+                                                 ConstraintSet constraints, List<String> errors) {
         // Check type compatibility for each validation
-        for (ValidationInfo validation : activeValidations) {
-            List<String> typeErrors = checkTypeCompatibility(fieldName, fieldType, validation);
-            errors.addAll(typeErrors);
+        for (Constraint constraint : Constraint.values()) {
+            if (!constraints.contains(constraint)) {
+                continue;
+            }
+            if ((constraint.applicableTo & typeCategories) == 0) {
+                errors.add(constraint.typeError(fieldName, typeName));
+            }
+            if (constraint == Constraint.SIZE) {
+                if (constraints.sizeMin() < 0) {
+                    errors.add("@Size min value cannot be negative. Field '" + fieldName + "' has min=" + constraints.sizeMin() + ".");
+                }
+                if (constraints.sizeMax() < 0) {
+                    errors.add("@Size max value cannot be negative. Field '" + fieldName + "' has max=" + constraints.sizeMax() + ".");
+                }
+            }
         }
-        
+
         // Check logical conflicts between validations
-        List<String> conflictErrors = checkLogicalConflicts(fieldName, activeValidations);
-        errors.addAll(conflictErrors);
-        
-        return errors;
+        for (String conflict : constraints.conflicts()) {
+            errors.add(FIELD + fieldName + "': " + conflict);
+        }
+
+        // Whole numbers can't satisfy a range that only contains fractions, e.g. @Positive with @Digits(integer = 0)
+        Range values = constraints.values();
+        boolean integral = (typeCategories & TypeCategory.INTEGRAL.bit()) != 0;
+        if (values != null && (integral ? values.isEmptyForIntegers() : values.isEmpty())) {
+            errors.add(FIELD + fieldName + values.conflict(typeName));
+        }
+
+        Range lengths = constraints.lengths();
+        if (lengths != null && lengths.isEmptyForIntegers()) {
+            errors.add(FIELD + fieldName + lengths.conflict(typeName));
+        }
     }
-    
+
     /**
-     * Collects all active validations from a ValidateDto annotation.
+     * Collects the active validations of an annotation and solves its numeric and length ranges.
      */
-    private static List<ValidationInfo> collectActiveValidations(ValidateDto validateDto) {
-        List<ValidationInfo> validations = new ArrayList<>();
-        
-        // Check NotNull
-        NotNull notNull = validateDto.notNull();
-        if (!notNull.message().isEmpty()) {
-            validations.add(new ValidationInfo("NotNull", notNull));
-        }
-        
-        // Check NotBlank
-        NotBlank notBlank = validateDto.notBlank();
-        if (!notBlank.message().isEmpty()) {
-            validations.add(new ValidationInfo("NotBlank", notBlank));
+    private static ConstraintSet analyze(ValidateDto validateDto) {
+        long active = collectActiveValidations(validateDto);
+
+        List<String> conflicts = new ArrayList<>();
+        for (Constraint constraint : Constraint.values()) {
+            if ((active & constraint.bit()) == 0) {
+                continue;
+            }
+            // Only look at partners after this validation, so every pair is checked once
+            long partners = CONFLICTS[constraint.ordinal()] & active & -(constraint.bit() << 1);
+            while (partners != 0) {
+                int partner = Long.numberOfTrailingZeros(partners);
+                conflicts.add(CONFLICT_MESSAGES[constraint.ordinal()][partner]);
+                partners &= partners - 1;
+            }
         }
-        
-        // Check NotEmpty
-        NotEmpty notEmpty = validateDto.notEmpty();
-        if (!notEmpty.message().isEmpty()) {
-            validations.add(new ValidationInfo(NOT_EMPTY, notEmpty));
+
+        Range values = null;
+        if ((active & Constraint.NUMERIC_RANGE) != 0) {
+            values = new Range();
+            if ((active & Constraint.MIN.bit()) != 0) {
+                values.atLeast(validateDto.min().value(), false, Constraint.MIN);
+            }
+            if ((active & Constraint.MAX.bit()) != 0) {
+                values.atMost(validateDto.max().value(), false, Constraint.MAX);
+            }
+            if ((active & Constraint.POSITIVE.bit()) != 0) {
+                values.atLeast(0, true, Constraint.POSITIVE);
+            }
+            if ((active & Constraint.POSITIVE_OR_ZERO.bit()) != 0) {
+                values.atLeast(0, false, Constraint.POSITIVE_OR_ZERO);
+            }
+            if ((active & Constraint.NEGATIVE.bit()) != 0) {
+                values.atMost(0, true, Constraint.NEGATIVE);
+            }
+            if ((active & Constraint.NEGATIVE_OR_ZERO.bit()) != 0) {
+                values.atMost(0, false, Constraint.NEGATIVE_OR_ZERO);
+            }
+            int integerDigits = validateDto.digits().integer();
+            if ((active & Constraint.DIGITS.bit()) != 0 && integerDigits >= 0 && integerDigits <= MAX_BOUNDED_DIGITS) {
+                // At most n integer digits means |value| < 10^n
+                long bound = pow10(integerDigits);
+                values.atLeast(-bound, true, Constraint.DIGITS);
+                values.atMost(bound, true, Constraint.DIGITS);
+            }
         }
-        
-        // Check Size
+
         Size size = validateDto.size();
-        if (size.min() != -1 || size.max() != -1) {
-            // Validate Size parameters
-            if (size.min() < 0) {
-                // This will be caught in type compatibility check
+        Range lengths = null;
+        if ((active & Constraint.LENGTH_RANGE) != 0 && size.min() >= 0 && size.max() >= 0) {
+            lengths = new Range();
+            if ((active & Constraint.NOT_EMPTY.bit()) != 0) {
+                lengths.atLeast(1, false, Constraint.NOT_EMPTY);
             }
-            if (size.max() < 0) {
-                // This will be caught in type compatibility check  
+            if ((active & Constraint.NOT_BLANK.bit()) != 0) {
+                lengths.atLeast(1, false, Constraint.NOT_BLANK);
             }
-            if (size.min() > size.max()) {
-                // This will be caught in logical conflicts check
+            if ((active & Constraint.SIZE.bit()) != 0) {
+                lengths.atLeast(size.min(), false, Constraint.SIZE);
+                lengths.atMost(size.max(), false, Constraint.SIZE);
             }
-            validations.add(new ValidationInfo("Size", size));
-        }
-        
-        // Check Min
-        Min min = validateDto.min();
-        if (min.value() != Long.MIN_VALUE) {
-            validations.add(new ValidationInfo("Min", min));
-        }
-        
-        // Check Max
-        Max max = validateDto.max();
-        if (max.value() != Long.MAX_VALUE) {
-            validations.add(new ValidationInfo("Max", max));
-        }
-        
-        // Check Email
-        Email email = validateDto.email();
-        if (!email.message().isEmpty()) {
-            validations.add(new ValidationInfo("Email", email));
-        }
-        
-        // Check Pattern
-        Pattern pattern = validateDto.pattern();
-        if (!pattern.regexp().isEmpty()) {
-            validations.add(new ValidationInfo("Pattern", pattern));
-        }
-        
-        // Check Positive
-        Positive positive = validateDto.positive();
-        if (!positive.message().isEmpty()) {
-            validations.add(new ValidationInfo(POSITIVE, positive));
-        }
-        
-        // Check PositiveOrZero
-        PositiveOrZero positiveOrZero = validateDto.positiveOrZero();
-        if (!positiveOrZero.message().isEmpty()) {
-            validations.add(new ValidationInfo(POSITIVE_OR_ZERO, positiveOrZero));
-        }
-        
-        // Check Negative
-        Negative negative = validateDto.negative();
-        if (!negative.message().isEmpty()) {
-            validations.add(new ValidationInfo(NEGATIVE, negative));
-        }
-        
-        // Check NegativeOrZero
-        NegativeOrZero negativeOrZero = validateDto.negativeOrZero();
-        if (!negativeOrZero.message().isEmpty()) {
-            validations.add(new ValidationInfo(NEGATIVE_OR_ZERO, negativeOrZero));
-        }
-        
-        // Check Digits
-        Digits digits = validateDto.digits();
-        if (digits.integer() != -1 || digits.fraction() != -1) {
-            validations.add(new ValidationInfo(DIGITS, digits));
-        }
-        
-        // Check Past
-        Past past = validateDto.past();
-        if (!past.message().isEmpty()) {
-            validations.add(new ValidationInfo(PAST, past));
-        }
-        
-        // Check Future
-        Future future = validateDto.future();
-        if (!future.message().isEmpty()) {
-            validations.add(new ValidationInfo(FUTURE, future));
-        }
-        
-        // Check PastOrPresent
-        PastOrPresent pastOrPresent = validateDto.pastOrPresent();
-        if (!pastOrPresent.message().isEmpty()) {
-            validations.add(new ValidationInfo(PAST_OR_PRESENT, pastOrPresent));
         }
-        
-        // Check FutureOrPresent
-        FutureOrPresent futureOrPresent = validateDto.futureOrPresent();
-        if (!futureOrPresent.message().isEmpty()) {
-            validations.add(new ValidationInfo(FUTURE_OR_PRESENT, futureOrPresent));
+
+        return new ConstraintSet(active, List.copyOf(conflicts), values, lengths, size.min(), size.max());
+    }
+
+    /**
+     * Collects all active validations from a ValidateDto annotation.
+     */
+    private static long collectActiveValidations(ValidateDto validateDto) {
+        long active = 0;
+        active |= bitIf(Constraint.NOT_NULL, !validateDto.notNull().message().isEmpty());
+        active |= bitIf(Constraint.NOT_BLANK, !validateDto.notBlank().message().isEmpty());
+        active |= bitIf(Constraint.NOT_EMPTY, !validateDto.notEmpty().message().isEmpty());
+        active |= bitIf(Constraint.SIZE, validateDto.size().min() != -1 || validateDto.size().max() != -1);
+        active |= bitIf(Constraint.MIN, validateDto.min().value() != Long.MIN_VALUE);
+        active |= bitIf(Constraint.MAX, validateDto.max().value() != Long.MAX_VALUE);
+        active |= bitIf(Constraint.EMAIL, !validateDto.email().message().isEmpty());
+        active |= bitIf(Constraint.PATTERN, !validateDto.pattern().regexp().isEmpty());
+        active |= bitIf(Constraint.POSITIVE, !validateDto.positive().message().isEmpty());
+        active |= bitIf(Constraint.POSITIVE_OR_ZERO, !validateDto.positiveOrZero().message().isEmpty());
+        active |= bitIf(Constraint.NEGATIVE, !validateDto.negative().message().isEmpty());
+        active |= bitIf(Constraint.NEGATIVE_OR_ZERO, !validateDto.negativeOrZero().message().isEmpty());
+        active |= bitIf(Constraint.DIGITS, validateDto.digits().integer() != -1 || validateDto.digits().fraction() != -1);
+        active |= bitIf(Constraint.PAST, !validateDto.past().message().isEmpty());
+        active |= bitIf(Constraint.FUTURE, !validateDto.future().message().isEmpty());
+        active |= bitIf(Constraint.PAST_OR_PRESENT, !validateDto.pastOrPresent().message().isEmpty());
+        active |= bitIf(Constraint.FUTURE_OR_PRESENT, !validateDto.futureOrPresent().message().isEmpty());
+        return active;
+    }
+
+    private static long bitIf(Constraint constraint, boolean condition) {
+        return condition ? constraint.bit() : 0L;
+    }
+
+    private static void conflict(Constraint a, Constraint b, String message) {
+        CONFLICTS[a.ordinal()] |= b.bit();
+        CONFLICTS[b.ordinal()] |= a.bit();
+        CONFLICT_MESSAGES[a.ordinal()][b.ordinal()] = message;
+        CONFLICT_MESSAGES[b.ordinal()][a.ordinal()] = message;
+    }
+
+    private static long pow10(int exponent) {
+        long result = 1;
+        for (int i = 0; i < exponent; i++) {
+            result *= 10;
         }
-        
-        return validations;
+        return result;
     }
-    
+
     /**
-     * Checks type compatibility between field type and validation annotation.
+     * Determines the type categories of a field type as a bit mask of {@link TypeCategory}.
      */
-    private static List<String> checkTypeCompatibility(String fieldName, TypeMirror fieldType, ValidationInfo validation) {
-        List<String> errors = new ArrayList<>();
-        String typeName = fieldType.toString();
-        String validationType = validation.type;
-        
-        switch (validationType) {
-            case "NotNull":
-                // NotNull can be applied to any reference type, but not primitives
-                if (isPrimitiveType(typeName)) {
-                    errors.add("@NotNull cannot be applied to primitive field '" + fieldName + "' of type " + typeName + ". Only applicable to reference types.");
-                }
-                break;
-                
-            case "NotBlank":
-                if (!isStringType(typeName)) {
-                    errors.add("@NotBlank can only be applied to String fields. Field '" + fieldName + IS_OF_TYPE + typeName + ".");
-                }
-                break;
-                
-            case NOT_EMPTY:
-                if (!isStringType(typeName) && !isCollectionType(typeName) && !isMapType(typeName) && !isArrayType(typeName)) {
-                    errors.add("@NotEmpty can only be applied to String, Collection, Map, or array fields. Field '" + fieldName + IS_OF_TYPE + typeName + ".");
-                }
-                break;
-                
-            case "Size":
-                Size size = (Size) validation.annotation;
-                if (!isStringType(typeName) && !isCollectionType(typeName) && !isMapType(typeName) && !isArrayType(typeName)) {
-                    errors.add("@Size can only be applied to String, Collection, Map, or array fields. Field '" + fieldName + IS_OF_TYPE + typeName + ".");
-                }
-                if (size.min() < 0) {
-                    errors.add("@Size min value cannot be negative. Field '" + fieldName + "' has min=" + size.min() + ".");
-                }
-                if (size.max() < 0) {
-                    errors.add("@Size max value cannot be negative. Field '" + fieldName + "' has max=" + size.max() + ".");
-                }
-                break;
-                
-            case "Min", "Max", POSITIVE, POSITIVE_OR_ZERO, NEGATIVE, NEGATIVE_OR_ZERO:
-                if (!isNumericType(typeName)) {
-                    errors.add("@" + validationType + " can only be applied to numeric fields. Field '" + fieldName + IS_OF_TYPE + typeName + ".");
-                }
-                break;
-                
-            case "Email", "Pattern":
-                if (!isStringType(typeName)) {
-                    errors.add("@" + validationType + " can only be applied to String fields. Field '" + fieldName + IS_OF_TYPE + typeName + ".");
-                }
-                break;
-                
-            case DIGITS:
-                if (!isNumericType(typeName) && !isStringType(typeName)) {
-                    errors.add("@Digits can only be applied to numeric or String fields. Field '" + fieldName + IS_OF_TYPE + typeName + ".");
+    private static int categorize(TypeMirror type) {
+        return switch (type.getKind()) {
+            case BYTE, SHORT, INT, LONG -> TypeCategory.mask(TypeCategory.PRIMITIVE, TypeCategory.NUMERIC, TypeCategory.INTEGRAL);
+            case FLOAT, DOUBLE -> TypeCategory.mask(TypeCategory.PRIMITIVE, TypeCategory.NUMERIC);
+            case BOOLEAN, CHAR -> TypeCategory.mask(TypeCategory.PRIMITIVE);
+            case ARRAY -> TypeCategory.mask(TypeCategory.REFERENCE, TypeCategory.ARRAY);
+            case DECLARED -> categorizeDeclared((TypeElement) ((DeclaredType) type).asElement());
+            // Unresolved types are reported by the compiler itself
+            case ERROR -> -1;
+            default -> TypeCategory.mask(TypeCategory.REFERENCE);
+        };
+    }
+
+    private static int categorizeDeclared(TypeElement typeElement) {
+        return switch (typeElement.getQualifiedName().toString()) {
+            case "java.lang.String" -> TypeCategory.mask(TypeCategory.REFERENCE, TypeCategory.STRING);
+            case "java.lang.Byte", "java.lang.Short", "java.lang.Integer", "java.lang.Long", "java.math.BigInteger" ->
+                TypeCategory.mask(TypeCategory.REFERENCE, TypeCategory.NUMERIC, TypeCategory.INTEGRAL);
+            case "java.lang.Float", "java.lang.Double", "java.math.BigDecimal" ->
+                TypeCategory.mask(TypeCategory.REFERENCE, TypeCategory.NUMERIC);
+            case "java.util.Date", "java.util.Calendar", "java.time.LocalDate", "java.time.LocalDateTime",
+                 "java.time.LocalTime", "java.time.ZonedDateTime", "java.time.OffsetDateTime", "java.time.Instant" ->
+                TypeCategory.mask(TypeCategory.REFERENCE, TypeCategory.TEMPORAL);
+            default -> {
+                int categories = TypeCategory.mask(TypeCategory.REFERENCE);
+                if (isSubtypeOf(typeElement, "java.util.Collection")) {
+                    categories |= TypeCategory.COLLECTION.bit();
                 }
-                break;
-                
-            case PAST, FUTURE, PAST_OR_PRESENT, FUTURE_OR_PRESENT:
-                if (!isTemporalType(typeName)) {
-                    errors.add("@" + validationType + " can only be applied to temporal fields (Date, Calendar, LocalDate, LocalDateTime, etc.). Field '" + fieldName + IS_OF_TYPE + typeName + ".");
+                if (isSubtypeOf(typeElement, "java.util.Map")) {
+                    categories |= TypeCategory.MAP.bit();
                 }
-                break;
-            default:
-                throw new IllegalStateException("Unexpected value: " + validationType);
-        }
-        
-        return errors;
+                yield categories;
+            }
+        };
     }
-    
+
     /**
-     * Checks for logical conflicts between validation annotations.
+     * Checks whether a type is or extends/implements the given type by walking its declared supertypes.
      */
-    private static List<String> checkLogicalConflicts(String fieldName, List<ValidationInfo> validations) {
-        List<String> errors = new ArrayList<>();
-        
-        for (int i = 0; i < validations.size(); i++) {
-            for (int j = i + 1; j < validations.size(); j++) {
-                ValidationInfo a = validations.get(i);
-                ValidationInfo b = validations.get(j);
-                
-                String conflict = checkPairConflict(fieldName, a, b);
-                if (conflict != null) {
-                    errors.add(conflict);
-                }
+    private static boolean isSubtypeOf(TypeElement typeElement, String qualifiedName) {
+        if (typeElement.getQualifiedName().contentEquals(qualifiedName)) {
+            return true;
+        }
+        for (TypeMirror supertype : typeElement.getInterfaces()) {
+            if (supertype.getKind() == TypeKind.DECLARED
+                && isSubtypeOf((TypeElement) ((DeclaredType) supertype).asElement(), qualifiedName)) {
+                return true;
             }
         }
-        
-        return errors;
+        TypeMirror superclass = typeElement.getSuperclass();
+        return superclass.getKind() == TypeKind.DECLARED
+            && isSubtypeOf((TypeElement) ((DeclaredType) superclass).asElement(), qualifiedName);
     }
-    
+
     /**
-     * Checks for conflicts between two specific validation annotations.
+     * Categories of field types that validations can be applied to.
      */
-    private static String checkPairConflict(String fieldName, ValidationInfo a, ValidationInfo b) {
-        String typeA = a.type;
-        String typeB = b.type;
-        
-        // Direct conflicts from the blacklist table
-        if ((typeA.equals(POSITIVE) && typeB.equals(NEGATIVE)) ||
-            (typeA.equals(NEGATIVE) && typeB.equals(POSITIVE))) {
-            return FIELD + fieldName + "': @Positive and @Negative are contradictory. A value cannot be both > 0 and < 0.";
-        }
-        
-        if ((typeA.equals(POSITIVE) && typeB.equals(NEGATIVE_OR_ZERO)) ||
-            (typeA.equals(NEGATIVE_OR_ZERO) && typeB.equals(POSITIVE))) {
-            return FIELD + fieldName + "': @Positive and @NegativeOrZero are contradictory. > 0 contradicts ≤ 0.";
+    private enum TypeCategory {
+        PRIMITIVE, REFERENCE, STRING, NUMERIC, INTEGRAL, COLLECTION, MAP, ARRAY, TEMPORAL;
+
+        int bit() {
+            return 1 << ordinal();
         }
-        
-        if ((typeA.equals(POSITIVE_OR_ZERO) && typeB.equals(NEGATIVE)) ||
-            (typeA.equals(NEGATIVE) && typeB.equals(POSITIVE_OR_ZERO))) {
-            return FIELD + fieldName + "': @PositiveOrZero and @Negative are contradictory. ≥ 0 contradicts < 0.";
+
+        static int mask(TypeCategory... categories) {
+            int mask = 0;
+            for (TypeCategory category : categories) {
+                mask |= category.bit();
+            }
+            return mask;
         }
-        
-        if ((typeA.equals(POSITIVE_OR_ZERO) && typeB.equals(NEGATIVE_OR_ZERO)) ||
-            (typeA.equals(NEGATIVE_OR_ZERO) && typeB.equals(POSITIVE_OR_ZERO))) {
-            return FIELD + fieldName + "': @PositiveOrZero and @NegativeOrZero are contradictory. ≥ 0 contradicts ≤ 0 (only 0 would be valid).";
+    }
+
+    /**
+     * The validations of @ValidateDto with the field type categories they can be applied to.
+     */
+    private enum Constraint {
+        NOT_NULL("NotNull", null, TypeCategory.REFERENCE),
+        NOT_BLANK("NotBlank", "String", TypeCategory.STRING),
+        NOT_EMPTY("NotEmpty", "String, Collection, Map, or array",
+            TypeCategory.STRING, TypeCategory.COLLECTION, TypeCategory.MAP, TypeCategory.ARRAY),
+        SIZE("Size", "String, Collection, Map, or array",
+            TypeCategory.STRING, TypeCategory.COLLECTION, TypeCategory.MAP, TypeCategory.ARRAY),
+        MIN("Min", "numeric", TypeCategory.NUMERIC),
+        MAX("Max", "numeric", TypeCategory.NUMERIC),
+        EMAIL("Email", "String", TypeCategory.STRING),
+        PATTERN("Pattern", "String", TypeCategory.STRING),
+        POSITIVE("Positive", "numeric", TypeCategory.NUMERIC),
+        POSITIVE_OR_ZERO("PositiveOrZero", "numeric", TypeCategory.NUMERIC),
+        NEGATIVE("Negative", "numeric", TypeCategory.NUMERIC),
+        NEGATIVE_OR_ZERO("NegativeOrZero", "numeric", TypeCategory.NUMERIC),
+        DIGITS("Digits", "numeric or String", TypeCategory.NUMERIC, TypeCategory.STRING),
+        PAST("Past", "temporal", TypeCategory.TEMPORAL),
+        FUTURE("Future", "temporal", TypeCategory.TEMPORAL),
+        PAST_OR_PRESENT("PastOrPresent", "temporal", TypeCategory.TEMPORAL),
+        FUTURE_OR_PRESENT("FutureOrPresent", "temporal", TypeCategory.TEMPORAL);
+
+        // Validations that bound the value or the length of a field
+        static final long NUMERIC_RANGE = MIN.bit() | MAX.bit() | POSITIVE.bit() | POSITIVE_OR_ZERO.bit()
+            | NEGATIVE.bit() | NEGATIVE_OR_ZERO.bit() | DIGITS.bit();
+        static final long LENGTH_RANGE = NOT_EMPTY.bit() | NOT_BLANK.bit() | SIZE.bit();
+
+        private final String annotationName;
+        private final String applicableDescription;
+        private final int applicableTo;
+
+        Constraint(String annotationName, String applicableDescription, TypeCategory... applicableTo) {
+            this.annotationName = annotationName;
+            this.applicableDescription = applicableDescription;
+            this.applicableTo = TypeCategory.mask(applicableTo);
         }
-        
-        if ((typeA.equals(PAST) && typeB.equals(FUTURE)) ||
-            (typeA.equals(FUTURE) && typeB.equals(PAST))) {
-            return FIELD + fieldName + "': @Past and @Future are contradictory. A date cannot be in the past and the future.";
+
+        long bit() {
+            return 1L << ordinal();
         }
-        
-        if ((typeA.equals(PAST) && typeB.equals(FUTURE_OR_PRESENT)) ||
-            (typeA.equals(FUTURE_OR_PRESENT) && typeB.equals(PAST))) {
-            return FIELD + fieldName + "': @Past and @FutureOrPresent are contradictory. Past contradicts future or present.";
+
+        String typeError(String fieldName, String typeName) {
+            if (this == NOT_NULL) {
+                return "@NotNull cannot be applied to primitive field '" + fieldName + "' of type " + typeName + ". Only applicable to reference types.";
+            }
+            if (applicableDescription.equals("temporal")) {
+                return "@" + annotationName + " can only be applied to temporal fields (Date, Calendar, LocalDate, LocalDateTime, etc.). Field '" + fieldName + IS_OF_TYPE + typeName + ".";
+            }
+            return "@" + annotationName + " can only be applied to " + applicableDescription + " fields. Field '" + fieldName + IS_OF_TYPE + typeName + ".";
         }
-        
-        if ((typeA.equals(FUTURE) && typeB.equals(PAST_OR_PRESENT)) ||
-            (typeA.equals(PAST_OR_PRESENT) && typeB.equals(FUTURE))) {
-            return FIELD + fieldName + "': @Future and @PastOrPresent are contradictory. Future contradicts past or present.";
+    }
+
+    /**
+     * The analysis of one @ValidateDto configuration, independent of the field it is applied to.
+     *
+     * @param values    range of valid values, or null if no numeric bound is set
+     * @param lengths   range of valid lengths, or null if no length bound is set
+     * @param conflicts messages for contradictory pairs, without the field prefix
+     */
+    private record ConstraintSet(long active, List<String> conflicts, Range values, Range lengths,
+                                 int sizeMin, int sizeMax) {
+        boolean contains(Constraint constraint) {
+            return (active & constraint.bit()) != 0;
         }
-        
-        // Min/Max value conflicts
-        if (typeA.equals("Min") && typeB.equals("Max")) {
-            Min min = (Min) a.annotation;
-            Max max = (Max) b.annotation;
-            if (min.value() > max.value()) {
-                return FIELD + fieldName + MIN + min.value() + ") is greater than @Max(" + max.value() + "). Min value must be ≤ max value.";
-            }
-        } else if (typeA.equals("Max") && typeB.equals("Min")) {
-            Max max = (Max) a.annotation;
-            Min min = (Min) b.annotation;
-            if (min.value() > max.value()) {
-                return FIELD + fieldName + MIN + min.value() + ") is greater than @Max(" + max.value() + "). Min value must be ≤ max value.";
+    }
+
+    /**
+     * An interval of whole numbers narrowed by validations. Each bound remembers the validation that set it,
+     * so an empty range can be explained by the two validations that contradict each other.
+     */
+    private static final class Range {
+        private long low = Long.MIN_VALUE;
+        private boolean lowExclusive;
+        private Constraint lowSource;
+        private long high = Long.MAX_VALUE;
+        private boolean highExclusive;
+        private Constraint highSource;
+
+        void atLeast(long value, boolean exclusive, Constraint source) {
+            if (value > low || (value == low && exclusive && !lowExclusive)) {
+                low = value;
+                lowExclusive = exclusive;
+                lowSource = source;
             }
         }
-        
-        // Min value with Positive/Negative conflicts
-        if (typeA.equals("Min") && typeB.equals(POSITIVE)) {
-            Min min = (Min) a.annotation;
-            if (min.value() <= 0) {
-                return FIELD + fieldName + MIN + min.value() + ") allows non-positive values, which contradicts @Positive (> 0).";
+
+        void atMost(long value, boolean exclusive, Constraint source) {
+            if (value < high || (value == high && exclusive && !highExclusive)) {
+                high = value;
+                highExclusive = exclusive;
+                highSource = source;
             }
-        } else if (typeA.equals(POSITIVE) && typeB.equals("Min")) {
-            Min min = (Min) b.annotation;
-            if (min.value() <= 0) {
-                return FIELD + fieldName + MIN + min.value() + ") allows non-positive values, which contradicts @Positive (> 0).";
+        }
+
+        /**
+         * Checks whether no real number lies in the range.
+         */
+        boolean isEmpty() {
+            return low > high || (low == high && (lowExclusive || highExclusive));
+        }
+
+        /**
+         * Checks whether no whole number lies in the range.
+         */
+        boolean isEmptyForIntegers() {
+            if ((lowExclusive && low == Long.MAX_VALUE) || (highExclusive && high == Long.MIN_VALUE)) {
+                return true;
             }
+            long first = lowExclusive ? low + 1 : low;
+            long last = highExclusive ? high - 1 : high;
+            return first > last;
         }
-        
-        if (typeA.equals("Min") && typeB.equals(NEGATIVE)) {
-            Min min = (Min) a.annotation;
-            if (min.value() >= 0) {
-                return FIELD + fieldName + MIN + min.value() + ") requires non-negative values, which contradicts @Negative (< 0).";
+
+        /**
+         * Describes why the range is empty, starting after the field name.
+         */
+        String conflict(String typeName) {
+            if (lowSource == Constraint.MIN && highSource == Constraint.MAX) {
+                return MIN + low + ") is greater than @Max(" + high + "). Min value must be ≤ max value.";
             }
-        } else if (typeA.equals(NEGATIVE) && typeB.equals("Min")) {
-            Min min = (Min) b.annotation;
-            if (min.value() >= 0) {
-                return FIELD + fieldName + MIN + min.value() + ") requires non-negative values, which contradicts @Negative (< 0).";
+            if (lowSource == Constraint.MIN && highSource == Constraint.NEGATIVE) {
+                return MIN + low + ") requires non-negative values, which contradicts @Negative (< 0).";
             }
-        }
-        
-        // Max value with Positive/Negative conflicts
-        if (typeA.equals("Max") && typeB.equals(POSITIVE)) {
-            Max max = (Max) a.annotation;
-            if (max.value() <= 0) {
-                return FIELD + fieldName + MAX + max.value() + ") allows only non-positive values, which contradicts @Positive (> 0).";
+            if (lowSource == Constraint.POSITIVE && highSource == Constraint.MAX) {
+                return MAX + high + ") allows only non-positive values, which contradicts @Positive (> 0).";
             }
-        } else if (typeA.equals(POSITIVE) && typeB.equals("Max")) {
-            Max max = (Max) b.annotation;
-            if (max.value() <= 0) {
-                return FIELD + fieldName + MAX + max.value() + ") allows only non-positive values, which contradicts @Positive (> 0).";
+            if (lowSource == Constraint.POSITIVE && highSource == Constraint.NEGATIVE) {
+                return "': @Positive and @Negative are contradictory. A value cannot be both > 0 and < 0.";
             }
-        }
-        
-        if (typeA.equals("Max") && typeB.equals(NEGATIVE)) {
-            Max max = (Max) a.annotation;
-            if (max.value() >= 0) {
-                return FIELD + fieldName + MAX + max.value() + ") allows non-negative values, which contradicts @Negative (< 0).";
+            if (lowSource == Constraint.POSITIVE && highSource == Constraint.NEGATIVE_OR_ZERO) {
+                return "': @Positive and @NegativeOrZero are contradictory. > 0 contradicts ≤ 0.";
             }
-        } else if (typeA.equals(NEGATIVE) && typeB.equals("Max")) {
-            Max max = (Max) b.annotation;
-            if (max.value() >= 0) {
-                return FIELD + fieldName + MAX + max.value() + ") allows non-negative values, which contradicts @Negative (< 0).";
+            if (lowSource == Constraint.POSITIVE_OR_ZERO && highSource == Constraint.NEGATIVE) {
+                return "': @PositiveOrZero and @Negative are contradictory. ≥ 0 contradicts < 0.";
             }
-        }
-        
-        // NotEmpty with Size max=0 conflict
-        if ((typeA.equals(NOT_EMPTY) && typeB.equals("Size")) ||
-            (typeA.equals("Size") && typeB.equals(NOT_EMPTY))) {
-            Size size = typeA.equals("Size") ? (Size) a.annotation : (Size) b.annotation;
-            if (size.max() == 0) {
-                return FIELD + fieldName + "': @NotEmpty contradicts @Size(max=0). An element cannot be both not empty and have maximum size 0.";
+            if (lowSource == Constraint.NOT_EMPTY && highSource == Constraint.SIZE && high == 0) {
+                return "': @NotEmpty contradicts @Size(max=0). An element cannot be both not empty and have maximum size 0.";
+            }
+            if (lowSource == Constraint.SIZE && highSource == Constraint.SIZE) {
+                return "': @Size min value (" + low + ") is greater than max value (" + high + ").";
             }
+            return "': " + describe(lowSource, "min", low) + " and " + describe(highSource, "max", high)
+                + " leave no valid value for type " + typeName + ".";
         }
-        
-        return null; // No conflict found
-    }
-    
-    // Helper methods for type checking
-    private static boolean isPrimitiveType(String typeName) {
-        return Arrays.asList("int", "long", "short", "byte", "float", "double", "boolean", "char").contains(typeName);
-    }
-    
-    private static boolean isStringType(String typeName) {
-        return typeName.equals("java.lang.String") || typeName.equals("String");
-    }
-    
-    private static boolean isNumericType(String typeName) {
-        return Arrays.asList(
-            "int", "long", "short", "byte", "float", "double",
-            "java.lang.Integer", "Integer",
-            "java.lang.Long", "Long", 
-            "java.lang.Short", "Short",
-            "java.lang.Byte", "Byte",
-            "java.lang.Float", "Float",
-            "java.lang.Double", "Double",
-            "java.math.BigDecimal", "BigDecimal",
-            "java.math.BigInteger", "BigInteger"
-        ).contains(typeName);
-    }
-    
-    private static boolean isCollectionType(String typeName) {
-        return typeName.contains("java.util.List") || typeName.contains("List") ||
-               typeName.contains("java.util.Set") || typeName.contains("Set") ||
-               typeName.contains("java.util.Collection") || typeName.contains("Collection") ||
-               typeName.contains("java.util.Queue") || typeName.contains("Queue") ||
-               typeName.contains("java.util.Deque") || typeName.contains("Deque");
-    }
-    
-    private static boolean isMapType(String typeName) {
-        return typeName.contains("java.util.Map") || typeName.contains("Map");
-    }
-    
-    private static boolean isArrayType(String typeName) {
-        return typeName.contains("[]");
-    }
-    
-    private static boolean isTemporalType(String typeName) {
-        return Arrays.asList(
-            "java.util.Date", "Date",
-            "java.util.Calendar", "Calendar",
-            "java.time.LocalDate", "LocalDate",
-            "java.time.LocalDateTime", "LocalDateTime",
-            "java.time.LocalTime", "LocalTime",
-            "java.time.ZonedDateTime", "ZonedDateTime",
-            "java.time.OffsetDateTime", "OffsetDateTime",
-            "java.time.Instant", "Instant"
-        ).contains(typeName);
-    }
-    
-    /**
-     * Helper class to hold validation information.
-     */
-    private static class ValidationInfo {
-        final String type;
-        final Object annotation;
-        
-        ValidationInfo(String type, Object annotation) {
-            this.type = type;
-            this.annotation = annotation;
+
+        private static String describe(Constraint source, String boundName, long bound) {
+            return switch (source) {
+                case MIN -> "@Min(" + bound + ")";
+                case MAX -> "@Max(" + bound + ")";
+                case SIZE -> "@Size(" + boundName + " = " + bound + ")";
+                // The bound of @Digits(integer = n) is 10^n, which has n zeros
+                case DIGITS -> "@Digits(integer = " + (Long.toString(Math.abs(bound)).length() - 1) + ")";
+                default -> "@" + source.annotationName;
+            };
         }
     }
-} 
+}
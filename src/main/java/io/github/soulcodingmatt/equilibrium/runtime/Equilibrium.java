@@ -0,0 +1,94 @@
+package io.github.soulcodingmatt.equilibrium.runtime;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.ServiceLoader;
+import java.util.function.Function;
+
+/**
+ * Maps entities to their generated DTOs, VOs and Records through the generated {@link MapperRegistry}s.
+ * <p>
+ * The mapper of a source/target pair is looked up once and then cached in a {@link ClassValue} per source class
+ * and target class, so later calls cost two {@code ClassValue} reads and no reflection. Subclasses of an entity
+ * (e.g. persistence proxies) use the mapper of the nearest mapped superclass.
+ * </p>
+ */
+public final class Equilibrium {
+
+    private static final ClassValue<ClassValue<Function<Object, Object>>> MAPPERS = new ClassValue<>() {
+        @Override
+        protected ClassValue<Function<Object, Object>> computeValue(Class<?> sourceType) {
+            return new ClassValue<>() {
+                @Override
+                protected Function<Object, Object> computeValue(Class<?> targetType) {
+                    return findMapper(sourceType, targetType);
+                }
+            };
+        }
+    };
+
+    private Equilibrium() {
+        // Utility class
+    }
+
+    /**
+     * Maps an entity to a generated class.
+     *
+     * @param source     the entity, may be null
+     * @param targetType the generated DTO, VO or Record class
+     * @param <T>        the target type
+     * @return the mapped instance, or null if the source is null
+     * @throws IllegalArgumentException if no mapper from the source class to the target class was generated
+     */
+    public static <T> T map(Object source, Class<T> targetType) {
+        if (source == null) {
+            return null;
+        }
+        Function<Object, Object> mapper = MAPPERS.get(source.getClass()).get(targetType);
+        if (mapper == null) {
+            throw new IllegalArgumentException("No generated mapper from " + source.getClass().getName()
+                + " to " + targetType.getName() + ". Is -Aequilibrium.mappers=true set for the module of the entity?");
+        }
+        return targetType.cast(mapper.apply(source));
+    }
+
+    /**
+     * Checks whether a mapper from a source class to a target class was generated.
+     *
+     * @param sourceType the entity class
+     * @param targetType the generated class
+     * @return true if {@link #map(Object, Class)} supports the pair
+     */
+    public static boolean canMap(Class<?> sourceType, Class<?> targetType) {
+        return MAPPERS.get(sourceType).get(targetType) != null;
+    }
+
+    private static Function<Object, Object> findMapper(Class<?> sourceType, Class<?> targetType) {
+        for (Class<?> type = sourceType; type != null && type != Object.class; type = type.getSuperclass()) {
+            for (MapperRegistry registry : Registries.ALL) {
+                Function<Object, Object> mapper = registry.find(type, targetType);
+                if (mapper != null) {
+                    return mapper;
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Loads the registries on first use.
+     */
+    private static final class Registries {
+        private static final List<MapperRegistry> ALL = load();
+
+        private static List<MapperRegistry> load() {
+            List<MapperRegistry> registries = new ArrayList<>();
+            ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+            for (MapperRegistry registry : ServiceLoader.load(MapperRegistry.class,
+                    classLoader != null ? classLoader : Equilibrium.class.getClassLoader())) {
+                registries.add(registry);
+            }
+            return List.copyOf(registries);
+        }
+    }
+}
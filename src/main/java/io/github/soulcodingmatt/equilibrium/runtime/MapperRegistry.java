@@ -0,0 +1,22 @@
+package io.github.soulcodingmatt.equilibrium.runtime;
+
+import java.util.function.Function;
+
+/**
+ * Mappers of one module from entities to the DTOs, VOs and Records generated from them.
+ * <p>
+ * The processor generates an implementation with {@code -Aequilibrium.mappers=true} and registers it in
+ * {@code META-INF/services}, where {@link Equilibrium} finds it with {@link java.util.ServiceLoader}.
+ * </p>
+ */
+public interface MapperRegistry {
+
+    /**
+     * Finds the mapper from an entity class to a generated class.
+     *
+     * @param sourceType the exact entity class
+     * @param targetType the generated class
+     * @return the mapper, or null if this module has none for the pair
+     */
+    Function<Object, Object> find(Class<?> sourceType, Class<?> targetType);
+}
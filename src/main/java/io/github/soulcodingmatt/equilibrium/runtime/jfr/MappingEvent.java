@@ -0,0 +1,70 @@
+package io.github.soulcodingmatt.equilibrium.runtime.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event committed by generated mappers and converters with {@code -Aequilibrium.jfr=true}.
+ * <p>
+ * Generated code wraps a mapping as {@code MappingEvent.end(MappingEvent.start(), <mapping>, ...)}; Java evaluates the
+ * arguments from left to right, so the event begins before the mapping and needs no local variables. The event is only
+ * filled and committed if {@link #shouldCommit()} returns true. While no recording has the event enabled,
+ * {@code begin()} and {@code shouldCommit()} are no-ops and the JIT removes the allocation of the inlined event, so the
+ * instrumentation costs nothing.
+ * </p>
+ */
+@Name(MappingEvent.NAME)
+@Label("Equilibrium Mapping")
+@Category({"Equilibrium", "Mapping"})
+@Description("Mapping of an entity or generated class to a generated DTO, VO or Record")
+@StackTrace(false)
+public class MappingEvent extends Event {
+    public static final String NAME = "io.github.soulcodingmatt.equilibrium.Mapping";
+
+    @Label("Source Type")
+    Class<?> sourceType;
+
+    @Label("Target Type")
+    Class<?> targetType;
+
+    @Label("Kind")
+    @Description("DTO, VO or RECORD")
+    String kind;
+
+    @Label("Variant Id")
+    @Description("Id of the generated variant, -1 if it has none")
+    int variantId;
+
+    @Label("Element Count")
+    @Description("Number of objects mapped: 1, or the size of a mapped collection")
+    int elementCount;
+
+    /**
+     * Creates and begins an event.
+     */
+    public static MappingEvent start() {
+        MappingEvent event = new MappingEvent();
+        event.begin();
+        return event;
+    }
+
+    /**
+     * Ends an event, committing it if the recording wants it, and returns the mapped object.
+     */
+    public static <T> T end(MappingEvent event, T result, Class<?> sourceType, Class<?> targetType, String kind,
+                            int variantId, int elementCount) {
+        if (event.shouldCommit()) {
+            event.sourceType = sourceType;
+            event.targetType = targetType;
+            event.kind = kind;
+            event.variantId = variantId;
+            event.elementCount = elementCount;
+            event.commit();
+        }
+        return result;
+    }
+}
@@ -0,0 +1,65 @@
+package io.github.soulcodingmatt.equilibrium.runtime.metrics;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+
+/**
+ * Registry of the counters of generated classes, filled by code generated with {@code -Aequilibrium.metrics=true}.
+ * <p>
+ * The counters of a class are created on first use, cached in a {@link ClassValue} and registered as a
+ * {@link TypeMetricsMXBean} on the platform MBean server. Validation failures are reported by the application, e.g.
+ * from its handler of Bean Validation's {@code ConstraintViolation}s:
+ * </p>
+ * <pre>{@code
+ * for (ConstraintViolation<?> violation : violations) {
+ *     EquilibriumMetrics.validationFailed(violation.getRootBeanClass(),
+ *         violation.getConstraintDescriptor().getAnnotation().annotationType().getSimpleName());
+ * }
+ * }</pre>
+ */
+public final class EquilibriumMetrics {
+    public static final String DOMAIN = "io.github.soulcodingmatt.equilibrium";
+
+    private static final ClassValue<TypeMetrics> METRICS = new ClassValue<>() {
+        @Override
+        protected TypeMetrics computeValue(Class<?> type) {
+            TypeMetrics metrics = new TypeMetrics(type);
+            try {
+                ManagementFactory.getPlatformMBeanServer().registerMBean(metrics,
+                    new ObjectName(DOMAIN + ":type=TypeMetrics,name=" + type.getName()));
+            } catch (JMException | SecurityException e) {
+                // Counting works without JMX, e.g. if another class loader registered a class of the same name
+            }
+            return metrics;
+        }
+    };
+
+    private EquilibriumMetrics() {
+        // Utility class
+    }
+
+    /**
+     * Get the counters of a generated class.
+     */
+    public static TypeMetrics forType(Class<?> type) {
+        return METRICS.get(type);
+    }
+
+    /**
+     * Counts an instance created by a generated mapper or converter and returns it.
+     */
+    public static <T> T mapped(Class<?> type, T result) {
+        METRICS.get(type).mapped();
+        return result;
+    }
+
+    /**
+     * Counts a failed validation of an instance of a generated class.
+     *
+     * @param constraint name of the violated constraint, e.g. {@code NotBlank}
+     */
+    public static void validationFailed(Class<?> type, String constraint) {
+        METRICS.get(type).validationFailed(constraint);
+    }
+}
@@ -0,0 +1,69 @@
+package io.github.soulcodingmatt.equilibrium.runtime.metrics;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counters of one generated class. Every counter is a {@link LongAdder}, which spreads concurrent increments over
+ * striped cells, so request threads don't contend on a single value.
+ */
+public final class TypeMetrics implements TypeMetricsMXBean {
+    private final Class<?> type;
+    private final LongAdder mappings = new LongAdder();
+    private final LongAdder serializedChars = new LongAdder();
+    private final ConcurrentHashMap<String, LongAdder> validationFailures = new ConcurrentHashMap<>();
+
+    TypeMetrics(Class<?> type) {
+        this.type = type;
+    }
+
+    /**
+     * Counts an instance created by a generated mapper or converter.
+     */
+    public void mapped() {
+        mappings.increment();
+    }
+
+    /**
+     * Counts characters written by the generated CSV writer.
+     */
+    public void serialized(int chars) {
+        serializedChars.add(chars);
+    }
+
+    /**
+     * Counts a failed validation of a constraint.
+     */
+    public void validationFailed(String constraint) {
+        // get() is lock-free, so computeIfAbsent only runs for the first failure of a constraint
+        LongAdder failures = validationFailures.get(constraint);
+        if (failures == null) {
+            failures = validationFailures.computeIfAbsent(constraint, key -> new LongAdder());
+        }
+        failures.increment();
+    }
+
+    @Override
+    public String getType() {
+        return type.getName();
+    }
+
+    @Override
+    public long getMappings() {
+        return mappings.sum();
+    }
+
+    @Override
+    public long getSerializedChars() {
+        return serializedChars.sum();
+    }
+
+    @Override
+    public Map<String, Long> getValidationFailures() {
+        Map<String, Long> failures = new TreeMap<>();
+        validationFailures.forEach((constraint, count) -> failures.put(constraint, count.sum()));
+        return failures;
+    }
+}
@@ -0,0 +1,30 @@
+package io.github.soulcodingmatt.equilibrium.runtime.metrics;
+
+import java.util.Map;
+
+/**
+ * Counters of one generated DTO, VO or Record, registered as
+ * {@code io.github.soulcodingmatt.equilibrium:type=TypeMetrics,name=<class>}.
+ */
+public interface TypeMetricsMXBean {
+
+    /**
+     * @return binary name of the generated class
+     */
+    String getType();
+
+    /**
+     * @return number of instances created by generated mappers and converters
+     */
+    long getMappings();
+
+    /**
+     * @return number of characters written by the generated CSV writer
+     */
+    long getSerializedChars();
+
+    /**
+     * @return number of reported validation failures by constraint name
+     */
+    Map<String, Long> getValidationFailures();
+}
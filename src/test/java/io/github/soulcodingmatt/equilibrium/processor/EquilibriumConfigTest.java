@@ -3,8 +3,15 @@ package io.github.soulcodingmatt.equilibrium.processor;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import javax.annotation.processing.Messager;
 import javax.annotation.processing.ProcessingEnvironment;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.tools.Diagnostic;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 
@@ -12,11 +19,37 @@ import static org.junit.jupiter.api.Assertions.*;
 
 class EquilibriumConfigTest {
     private Map<String, String> options;
+    private List<String> warnings;
     private EquilibriumConfig config;
 
     @BeforeEach
     void setUp() {
         options = new HashMap<>();
+        warnings = new ArrayList<>();
+        Messager messager = new Messager() {
+            @Override
+            public void printMessage(Diagnostic.Kind kind, CharSequence msg) {
+                if (kind == Diagnostic.Kind.WARNING) {
+                    warnings.add(msg.toString());
+                }
+            }
+
+            @Override
+            public void printMessage(Diagnostic.Kind kind, CharSequence msg, Element e) {
+                printMessage(kind, msg);
+            }
+
+            @Override
+            public void printMessage(Diagnostic.Kind kind, CharSequence msg, Element e, AnnotationMirror a) {
+                printMessage(kind, msg);
+            }
+
+            @Override
+            public void printMessage(Diagnostic.Kind kind, CharSequence msg, Element e, AnnotationMirror a,
+                                     AnnotationValue v) {
+                printMessage(kind, msg);
+            }
+        };
         ProcessingEnvironment processingEnv = new ProcessingEnvironment() {
             @Override
             public Map<String, String> getOptions() {
@@ -41,7 +74,7 @@ class EquilibriumConfigTest {
 
             @Override
             public javax.annotation.processing.Messager getMessager() {
-                return null;
+                return messager;
             }
 
             @Override
@@ -185,4 +218,29 @@ class EquilibriumConfigTest {
         assertFalse(config.isValidFieldName("field-name"));  // hyphens not allowed
         assertFalse(config.isValidFieldName("field_name"));  // underscores not allowed
     }
-} 
\ No newline at end of file
+
+    @Test
+    void testGetAggregateClassNames() {
+        // Test with no configuration
+        assertTrue(config.getIndexClassName().isEmpty());
+        assertTrue(config.getMappersClassName().isEmpty());
+
+        // Test with valid class names
+        options.put("equilibrium.index.class", "com.example.Index");
+        options.put("equilibrium.mappers.class", "Mappers");
+        assertEquals(Optional.of("com.example.Index"), config.getIndexClassName());
+        assertEquals(Optional.of("Mappers"), config.getMappersClassName());
+        assertEquals(List.of(), warnings);
+
+        // Test with invalid class names
+        options.put("equilibrium.index.class", "com.example.");
+        options.put("equilibrium.mappers.class", "com.example.class");
+        assertTrue(config.getIndexClassName().isEmpty());
+        assertTrue(config.getMappersClassName().isEmpty());
+        assertEquals(List.of(
+                "Invalid class name for equilibrium.index.class: 'com.example.' - the default class name is used",
+                "Invalid class name for equilibrium.mappers.class: 'com.example.class'"
+                        + " - the default class name is used"),
+                warnings);
+    }
+}
@@ -0,0 +1,127 @@
+package io.github.soulcodingmatt.equilibrium.processor;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.tools.Diagnostic;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Compiles an entity with ignore and validation annotations and checks the diagnostics of the one-pass field scan.
+ */
+class FieldAnnotationScannerTest {
+
+    private static final String ENTITY = """
+            package fixture;
+
+            import io.github.soulcodingmatt.equilibrium.annotations.dto.GenerateDto;
+            import io.github.soulcodingmatt.equilibrium.annotations.dto.IgnoreDto;
+            import io.github.soulcodingmatt.equilibrium.annotations.record.GenerateRecord;
+            import io.github.soulcodingmatt.equilibrium.annotations.record.IgnoreRecord;
+            import io.github.soulcodingmatt.equilibrium.annotations.vo.IgnoreVo;
+
+            @GenerateDto(pkg = "fixture.a", id = 1)
+            @GenerateDto(pkg = "fixture.b", id = 2)
+            @GenerateRecord(pkg = "fixture")
+            public class Account {
+                @IgnoreDto(ids = {1, 1, 2})
+                private String duplicated;
+
+                @IgnoreDto(ids = {2, 7})
+                private String orphaned;
+
+                @IgnoreRecord(ids = {5, 5})
+                private String recordDuplicated;
+
+                @IgnoreRecord(ids = 9)
+                private String recordWithoutIds;
+
+                @IgnoreVo(ids = {3, 3})
+                private String withoutVo;
+
+                private String name;
+
+                public static class Nested {
+                    @IgnoreDto(ids = {4, 4})
+                    private String nestedField;
+                }
+            }
+            """;
+
+    private static final String INVALID_ENTITY = """
+            package fixture;
+
+            import io.github.soulcodingmatt.equilibrium.annotations.dto.GenerateDto;
+            import io.github.soulcodingmatt.equilibrium.annotations.dto.ValidateDto;
+            import io.github.soulcodingmatt.equilibrium.annotations.dto.validation.NotBlank;
+            import io.github.soulcodingmatt.equilibrium.annotations.dto.validation.Positive;
+
+            @GenerateDto(pkg = "fixture")
+            public class Invalid {
+                @ValidateDto(notBlank = @NotBlank)
+                private int count;
+
+                @ValidateDto(positive = @Positive)
+                private String label;
+            }
+            """;
+
+    @TempDir
+    static Path tempDir;
+
+    private static FixtureCompiler.Result result;
+
+    @BeforeAll
+    static void compileFixture() throws Exception {
+        result = FixtureCompiler.compile(tempDir.resolve("valid"), Map.of("fixture.Account", ENTITY));
+        assertTrue(result.success(), () -> "Fixture with ignore annotations should compile: " + result.diagnostics());
+    }
+
+    @Test
+    void testDuplicateIdIsReportedOncePerDuplicate() {
+        assertEquals(1, count("Duplicate ID 1 in @IgnoreDto annotation for field 'duplicated' - duplicates will be ignored"));
+        assertEquals(1, count("Duplicate ID 5 in @IgnoreRecord annotation for field 'recordDuplicated' - duplicates will be ignored"));
+    }
+
+    @Test
+    void testOrphanedIdIsReported() {
+        assertEquals(1, count("ID 7 in @IgnoreDto annotation for field 'orphaned' does not correspond to any @GenerateDto annotation ID"));
+        assertEquals(0, count("ID 2 in @IgnoreDto annotation for field 'orphaned'"));
+    }
+
+    @Test
+    void testOrphanedIdsAreNotCheckedWithoutGenerateIds() {
+        // The @GenerateRecord has no explicit id, so any id in @IgnoreRecord may refer to a future one
+        assertEquals(0, count("ID 9 in @IgnoreRecord"));
+    }
+
+    @Test
+    void testIgnoreAnnotationsOfKindsNotGeneratedAreNotChecked() {
+        assertEquals(0, count("@IgnoreVo"));
+    }
+
+    @Test
+    void testNestedClassFieldsAreNotScannedWithTheEnclosingClass() {
+        assertEquals(0, count("nestedField"));
+    }
+
+    @Test
+    void testValidationErrorsAreReportedOncePerField() throws Exception {
+        FixtureCompiler.Result invalid = FixtureCompiler.compile(tempDir.resolve("invalid"),
+                Map.of("fixture.Invalid", INVALID_ENTITY));
+
+        assertFalse(invalid.success());
+        List<String> errors = invalid.messages(Diagnostic.Kind.ERROR);
+        assertEquals(1, errors.stream().filter(message -> message.contains("'count'")).count(), errors::toString);
+        assertEquals(1, errors.stream().filter(message -> message.contains("'label'")).count(), errors::toString);
+    }
+
+    private static long count(String message) {
+        return result.messages(Diagnostic.Kind.WARNING).stream().filter(warning -> warning.startsWith(message)).count();
+    }
+}
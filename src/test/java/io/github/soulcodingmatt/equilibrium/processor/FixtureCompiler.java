@@ -0,0 +1,117 @@
+package io.github.soulcodingmatt.equilibrium.processor;
+
+import io.github.soulcodingmatt.equilibrium.annotations.dto.GenerateDto;
+
+import javax.annotation.processing.Processor;
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.ToolProvider;
+import java.io.File;
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Compiles fixture sources with the {@link EquilibriumProcessor} for tests of the generated code.
+ */
+public final class FixtureCompiler {
+
+    private FixtureCompiler() {
+    }
+
+    /**
+     * Compiles fixture sources into a directory.
+     *
+     * @param directory temporary directory for sources, generated sources and classes
+     * @param sources   source code by qualified class name
+     * @param options   additional compiler options, e.g. {@code -Aequilibrium.mappers=true}
+     */
+    public static Result compile(Path directory, Map<String, String> sources, String... options) throws IOException {
+        return compile(directory, sources, List.of(new EquilibriumProcessor()), options);
+    }
+
+    /**
+     * Compiles fixture sources with the given processors.
+     */
+    public static Result compile(Path directory, Map<String, String> sources, List<Processor> processors,
+                                 String... options) throws IOException {
+        List<File> sourceFiles = new ArrayList<>();
+        for (Map.Entry<String, String> source : sources.entrySet()) {
+            Path sourceFile = directory.resolve("src/" + source.getKey().replace('.', '/') + ".java");
+            Files.createDirectories(sourceFile.getParent());
+            Files.writeString(sourceFile, source.getValue());
+            sourceFiles.add(sourceFile.toFile());
+        }
+        Path classes = Files.createDirectories(directory.resolve("classes"));
+        Path generated = Files.createDirectories(directory.resolve("generated"));
+
+        List<String> arguments = new ArrayList<>(List.of("-classpath", getEquilibriumClasspath(),
+                "-d", classes.toString(), "-s", generated.toString()));
+        arguments.addAll(List.of(options));
+
+        DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        boolean success;
+        try (var fileManager = compiler.getStandardFileManager(null, null, null)) {
+            JavaCompiler.CompilationTask task = compiler.getTask(null, fileManager, diagnostics, arguments, null,
+                    fileManager.getJavaFileObjectsFromFiles(sourceFiles));
+            task.setProcessors(processors);
+            success = task.call();
+        }
+        return new Result(success, diagnostics.getDiagnostics(), classes, generated);
+    }
+
+    /**
+     * Get the directory or jar with the annotations, the processor and the runtime classes
+     */
+    public static String getEquilibriumClasspath() {
+        try {
+            return Path.of(GenerateDto.class.getProtectionDomain().getCodeSource().getLocation().toURI()).toString();
+        } catch (URISyntaxException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Outcome of a fixture compilation.
+     */
+    public record Result(boolean success, List<Diagnostic<? extends JavaFileObject>> diagnostics, Path classes,
+                         Path generated) {
+
+        /**
+         * Get the messages of all diagnostics of a kind
+         */
+        public List<String> messages(Diagnostic.Kind kind) {
+            List<String> messages = new ArrayList<>();
+            for (Diagnostic<? extends JavaFileObject> diagnostic : diagnostics) {
+                if (diagnostic.getKind() == kind) {
+                    messages.add(diagnostic.getMessage(Locale.ROOT));
+                }
+            }
+            return messages;
+        }
+
+        /**
+         * Get a class loader for the compiled fixture classes, delegating to the test class path
+         */
+        public URLClassLoader classLoader() throws IOException {
+            return new URLClassLoader(new URL[]{classes.toUri().toURL()}, FixtureCompiler.class.getClassLoader());
+        }
+
+        /**
+         * Get the source of a generated class
+         */
+        public String generatedSource(String qualifiedName) throws IOException {
+            return Files.readString(generated.resolve(qualifiedName.replace('.', '/') + ".java"));
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package io.github.soulcodingmatt.equilibrium.processor;
+
+import io.github.soulcodingmatt.equilibrium.processor.spi.GeneratorPlugin;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.annotation.processing.Processor;
+import javax.tools.Diagnostic;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Registers a generator plugin through {@code META-INF/services} on an isolated processor path, as a plugin jar
+ * next to Equilibrium would be, and checks what the plugin receives.
+ */
+class GeneratorPluginTest {
+
+    private static final String PLUGIN = """
+            package plugin;
+
+            import io.github.soulcodingmatt.equilibrium.processor.spi.*;
+
+            import javax.annotation.processing.Filer;
+            import javax.annotation.processing.ProcessingEnvironment;
+            import javax.lang.model.element.VariableElement;
+            import javax.tools.StandardLocation;
+            import java.io.IOException;
+            import java.io.Writer;
+            import java.util.Set;
+
+            public class RecordingPlugin implements GeneratorPlugin {
+                private String extension;
+
+                @Override
+                public void init(ProcessingEnvironment processingEnv) {
+                    extension = processingEnv.getOptions().getOrDefault("recording.extension", "txt");
+                }
+
+                @Override
+                public Set<String> getSupportedOptions() {
+                    return Set.of("recording.extension");
+                }
+
+                @Override
+                public void generate(ClassModel model, Filer filer) throws IOException {
+                    String name = model.getClassElement().getSimpleName() + "." + extension;
+                    try (Writer writer = filer.createResource(StandardLocation.CLASS_OUTPUT, "recording", name,
+                            model.getClassElement()).openWriter()) {
+                        for (FieldModel field : model.getFields()) {
+                            writer.write("field " + field.getName() + " dtoIgnored=" + field.isIgnored(VariantKind.DTO, -1)
+                                    + " recordIgnored=" + field.isIgnored(VariantKind.RECORD, -1) + "\\n");
+                        }
+                        for (VariantModel variant : model.getVariants()) {
+                            writer.write(variant.getKind() + " " + variant.getQualifiedName());
+                            for (VariableElement field : variant.getFields()) {
+                                writer.write(" " + variant.getFieldType(field) + " " + field.getSimpleName());
+                            }
+                            writer.write("\\n");
+                        }
+                    }
+                }
+            }
+            """;
+
+    private static final String ENTITY = """
+            package fixture;
+
+            import io.github.soulcodingmatt.equilibrium.annotations.dto.GenerateDto;
+            import io.github.soulcodingmatt.equilibrium.annotations.dto.IgnoreDto;
+            import io.github.soulcodingmatt.equilibrium.annotations.record.GenerateRecord;
+
+            @GenerateDto(pkg = "fixture")
+            @GenerateRecord(pkg = "fixture")
+            public class Customer {
+                private String name;
+
+                @IgnoreDto
+                private String secret;
+
+                private int age;
+            }
+            """;
+
+    @TempDir
+    static Path tempDir;
+
+    private static FixtureCompiler.Result result;
+
+    @BeforeAll
+    static void compileWithPlugin() throws Exception {
+        FixtureCompiler.Result plugin = FixtureCompiler.compile(tempDir.resolve("plugin"),
+                Map.of("plugin.RecordingPlugin", PLUGIN), List.of());
+        assertTrue(plugin.success(), () -> "Plugin should compile: " + plugin.diagnostics());
+        Path services = plugin.classes().resolve("META-INF/services/" + GeneratorPlugin.class.getName());
+        Files.createDirectories(services.getParent());
+        Files.writeString(services, "plugin.RecordingPlugin\n");
+
+        // Neither the plugin nor its service entry is visible to the test class loader
+        URL[] processorPath = {plugin.classes().toUri().toURL(),
+                Path.of(FixtureCompiler.getEquilibriumClasspath()).toUri().toURL()};
+        try (URLClassLoader loader = new URLClassLoader(processorPath, ClassLoader.getPlatformClassLoader())) {
+            Processor processor = (Processor) loader.loadClass(EquilibriumProcessor.class.getName())
+                    .getConstructor().newInstance();
+            result = FixtureCompiler.compile(tempDir.resolve("fixture"), Map.of("fixture.Customer", ENTITY),
+                    List.of(processor), "-Arecording.extension=model", "-Aunknown.option=1");
+        }
+        assertTrue(result.success(), () -> "Fixture should compile: " + result.diagnostics());
+    }
+
+    @Test
+    void testGenerateReceivesTheFieldModel() throws Exception {
+        Path output = result.classes().resolve("recording/Customer.model");
+        assertTrue(Files.exists(output), "Plugin should write its file with the extension from its option");
+        assertEquals(List.of(
+                "field name dtoIgnored=false recordIgnored=false",
+                "field secret dtoIgnored=true recordIgnored=false",
+                "field age dtoIgnored=false recordIgnored=false",
+                "DTO fixture.CustomerDto java.lang.String name int age",
+                "RECORD fixture.CustomerRecord java.lang.String name java.lang.String secret int age"),
+                Files.readAllLines(output));
+    }
+
+    @Test
+    void testPluginOptionsAreRecognized() {
+        List<String> unrecognized = result.messages(Diagnostic.Kind.WARNING).stream()
+                .filter(message -> message.contains("not recognized"))
+                .toList();
+        assertEquals(1, unrecognized.size(), "Unexpected warnings: " + unrecognized);
+        assertTrue(unrecognized.get(0).contains("unknown.option"), unrecognized.get(0));
+        assertFalse(unrecognized.get(0).contains("recording.extension"), unrecognized.get(0));
+    }
+}
@@ -0,0 +1,211 @@
+package io.github.soulcodingmatt.equilibrium.processor.generator;
+
+import io.github.soulcodingmatt.equilibrium.processor.FixtureCompiler;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.lang.management.ManagementFactory;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.IntSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Compiles an annotated entity with the processor and checks that the generated hot methods don't allocate:
+ * equals, hashCode and diff allocate nothing, a mapper allocates at most the mapped instance.
+ * <p>
+ * Each method is warmed up and then called in rounds; the bytes allocated by the test thread are read from
+ * {@code com.sun.management.ThreadMXBean} and the round with the fewest bytes counts, so a GC or JIT compilation
+ * in one round doesn't fail the test. The fixture calls the generated code through {@link IntSupplier}s, so the
+ * measurement doesn't include the boxing and argument arrays of reflection.
+ * </p>
+ * <p>
+ * A second entity with fields named like the locals of equals and hashCode checks that the unboxed comparisons and
+ * hash combinations read the fields.
+ * </p>
+ */
+class AllocationRegressionTest {
+
+    private static final String ENTITY = """
+            package fixture;
+
+            import io.github.soulcodingmatt.equilibrium.annotations.dto.GenerateDto;
+            import io.github.soulcodingmatt.equilibrium.annotations.vo.GenerateVo;
+
+            @GenerateDto(pkg = "fixture", diff = true)
+            @GenerateVo(pkg = "fixture", diff = true)
+            public class Product {
+                private long id;
+                private String name;
+                private int quantity;
+                private double price;
+                private boolean active;
+                private java.math.BigDecimal total;
+                private Integer rank;
+                private java.time.LocalDate since;
+
+                public Product(long id, String name, int quantity, double price, boolean active,
+                               java.math.BigDecimal total, Integer rank, java.time.LocalDate since) {
+                    this.id = id; this.name = name; this.quantity = quantity; this.price = price; this.active = active;
+                    this.total = total; this.rank = rank; this.since = since;
+                }
+
+                public long getId() { return id; }
+                public String getName() { return name; }
+                public int getQuantity() { return quantity; }
+                public double getPrice() { return price; }
+                public boolean isActive() { return active; }
+                public java.math.BigDecimal getTotal() { return total; }
+                public Integer getRank() { return rank; }
+                public java.time.LocalDate getSince() { return since; }
+            }
+            """;
+
+    private static final String HOT_METHODS = """
+            package fixture;
+
+            import java.math.BigDecimal;
+            import java.time.LocalDate;
+            import java.util.Map;
+            import java.util.function.IntSupplier;
+
+            public final class HotMethods {
+                public static Map<String, IntSupplier> create() {
+                    // Equal but distinct instances, with a rank outside the Integer cache
+                    Product product = new Product(7L, "Widget", 3, 9.99, true, new BigDecimal("29.97"), 1000,
+                            LocalDate.of(2025, 7, 20));
+                    Product equalProduct = new Product(7L, new String("Widget"), 3, 9.99, true, new BigDecimal("29.97"),
+                            Integer.valueOf(1000), LocalDate.of(2025, 7, 20));
+                    ProductDto dto = EquilibriumMappers.toProductDto(product);
+                    ProductDto equalDto = EquilibriumMappers.toProductDto(equalProduct);
+                    ProductVo vo = EquilibriumMappers.toProductVo(product);
+                    ProductVo equalVo = EquilibriumMappers.toProductVo(equalProduct);
+                    return Map.of(
+                            "dto.equals", () -> dto.equals(equalDto) ? 1 : 0,
+                            "dto.hashCode", dto::hashCode,
+                            "dto.diff", () -> (int) dto.diff(equalDto),
+                            "vo.equals", () -> vo.equals(equalVo) ? 1 : 0,
+                            "vo.hashCode", vo::hashCode,
+                            "vo.diff", () -> (int) vo.diff(equalVo),
+                            "mapper.toDto", () -> System.identityHashCode(EquilibriumMappers.toProductDto(product)),
+                            "mapper.toVo", () -> System.identityHashCode(EquilibriumMappers.toProductVo(product)));
+                }
+            }
+            """;
+
+    // Fields named like the locals and the parameter of the generated equals and hashCode
+    private static final String SHADOWING_ENTITY = """
+            package fixture;
+
+            import io.github.soulcodingmatt.equilibrium.annotations.dto.GenerateDto;
+            import io.github.soulcodingmatt.equilibrium.annotations.vo.GenerateVo;
+
+            @GenerateDto(pkg = "fixture")
+            @GenerateVo(pkg = "fixture")
+            public class Match {
+                private String result;
+                private long that;
+                private int o;
+            }
+            """;
+
+    private static final int WARMUP_CALLS = 50_000;
+    private static final int MEASURED_CALLS = 10_000;
+    private static final int ROUNDS = 5;
+    // One ProductDto or ProductVo: 56 bytes with compressed oops, 72 bytes without
+    private static final long MAX_MAPPED_INSTANCE_BYTES = 72;
+
+    private static final com.sun.management.ThreadMXBean THREADS =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    @TempDir
+    static Path tempDir;
+
+    private static ClassLoader loader;
+    private static Map<String, IntSupplier> hotMethods;
+    private static int blackhole;
+
+    @BeforeAll
+    @SuppressWarnings("unchecked")
+    static void compileFixture() throws Exception {
+        FixtureCompiler.Result result = FixtureCompiler.compile(tempDir,
+                Map.of("fixture.Product", ENTITY, "fixture.HotMethods", HOT_METHODS, "fixture.Match", SHADOWING_ENTITY),
+                "-Aequilibrium.mappers=true");
+        assertTrue(result.success(), () -> "Fixture with generated DTO, VO and mappers should compile: "
+                + result.diagnostics());
+
+        loader = result.classLoader();
+        hotMethods = (Map<String, IntSupplier>) loader.loadClass("fixture.HotMethods").getMethod("create").invoke(null);
+    }
+
+    @Test
+    void testEqualsAndHashCodeDoNotAllocate() {
+        for (String name : List.of("dto.equals", "dto.hashCode", "vo.equals", "vo.hashCode")) {
+            assertEquals(0, allocatedBytesPerCall(name), name + " should not allocate");
+        }
+    }
+
+    @Test
+    void testDiffDoesNotAllocate() {
+        for (String name : List.of("dto.diff", "vo.diff")) {
+            assertEquals(0, allocatedBytesPerCall(name), name + " should not allocate");
+        }
+    }
+
+    @Test
+    void testMappersAllocateAtMostTheMappedInstance() {
+        for (String name : List.of("mapper.toDto", "mapper.toVo")) {
+            long bytes = allocatedBytesPerCall(name);
+            assertTrue(bytes <= MAX_MAPPED_INSTANCE_BYTES,
+                    name + " should allocate at most " + MAX_MAPPED_INSTANCE_BYTES + " bytes per call, but allocated " + bytes);
+        }
+    }
+
+    @Test
+    void testEqualsAndHashCodeReadFieldsNamedLikeLocals() throws Exception {
+        for (String variant : List.of("fixture.MatchDto", "fixture.MatchVo")) {
+            Class<?> type = loader.loadClass(variant);
+            Object win = type.getConstructor(String.class, long.class, int.class).newInstance("win", 1L, 1);
+            Object lose = type.getConstructor(String.class, long.class, int.class).newInstance("lose", 1L, 1);
+            Object otherThat = type.getConstructor(String.class, long.class, int.class).newInstance("win", 2L, 1);
+            Object otherO = type.getConstructor(String.class, long.class, int.class).newInstance("win", 1L, 2);
+
+            assertEquals(Objects.hash("win", 1L, 1), win.hashCode(), variant);
+            assertNotEquals(win.hashCode(), lose.hashCode(), variant);
+            assertNotEquals(win, lose, variant);
+            assertNotEquals(win, otherThat, variant);
+            assertNotEquals(win, otherO, variant);
+            assertEquals(win, type.getConstructor(String.class, long.class, int.class).newInstance("win", 1L, 1),
+                    variant);
+        }
+    }
+
+    /**
+     * Get the bytes allocated per call of a hot method in the round with the fewest allocated bytes
+     */
+    private static long allocatedBytesPerCall(String name) {
+        assumeTrue(THREADS.isThreadAllocatedMemorySupported(), "JVM doesn't measure allocated bytes per thread");
+        THREADS.setThreadAllocatedMemoryEnabled(true);
+        IntSupplier call = hotMethods.get(name);
+
+        int sink = 0;
+        for (int i = 0; i < WARMUP_CALLS; i++) {
+            sink += call.getAsInt();
+        }
+        long fewestBytes = Long.MAX_VALUE;
+        for (int round = 0; round < ROUNDS; round++) {
+            long before = THREADS.getCurrentThreadAllocatedBytes();
+            for (int i = 0; i < MEASURED_CALLS; i++) {
+                sink += call.getAsInt();
+            }
+            fewestBytes = Math.min(fewestBytes, THREADS.getCurrentThreadAllocatedBytes() - before);
+        }
+        blackhole += sink;
+        return fewestBytes / MEASURED_CALLS;
+    }
+}
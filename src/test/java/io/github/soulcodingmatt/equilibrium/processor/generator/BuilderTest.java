@@ -0,0 +1,92 @@
+package io.github.soulcodingmatt.equilibrium.processor.generator;
+
+import io.github.soulcodingmatt.equilibrium.processor.FixtureCompiler;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.tools.Diagnostic;
+import java.nio.file.Path;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks the two DTO builder options: {@code builder} adds Lombok's @SuperBuilder, {@code nativeBuilder} generates a
+ * reusable builder.
+ */
+class BuilderTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testBuilderAddsLombokSuperBuilder() throws Exception {
+        // Lombok is not on the test class path, so only the generated source is checked
+        FixtureCompiler.Result result = FixtureCompiler.compile(tempDir, Map.of("fixture.User", """
+                package fixture;
+
+                import io.github.soulcodingmatt.equilibrium.annotations.dto.GenerateDto;
+
+                @GenerateDto(pkg = "fixture", builder = true)
+                public class User {
+                    private String name;
+                }
+                """));
+
+        String source = result.generatedSource("fixture.UserDto");
+        assertTrue(source.contains("@SuperBuilder"), source);
+        assertFalse(source.contains("class Builder"), "builder = true should not generate the native builder");
+    }
+
+    @Test
+    void testNativeBuilderIsReusable() throws Exception {
+        FixtureCompiler.Result result = FixtureCompiler.compile(tempDir, Map.of("fixture.User", """
+                package fixture;
+
+                import io.github.soulcodingmatt.equilibrium.annotations.dto.GenerateDto;
+
+                @GenerateDto(pkg = "fixture", nativeBuilder = true)
+                public class User {
+                    private String name;
+                    private int age;
+                }
+                """));
+        assertTrue(result.success(), () -> "Fixture should compile: " + result.diagnostics());
+        assertFalse(result.generatedSource("fixture.UserDto").contains("SuperBuilder"));
+
+        Class<?> dtoClass = result.classLoader().loadClass("fixture.UserDto");
+        Object builder = dtoClass.getMethod("builder").invoke(null);
+        Class<?> builderClass = builder.getClass();
+        builderClass.getMethod("name", String.class).invoke(builder, "Ada");
+        builderClass.getMethod("age", int.class).invoke(builder, 36);
+        Object first = builderClass.getMethod("build").invoke(builder);
+        Object second = builderClass.getMethod("build").invoke(builder);
+        builderClass.getMethod("reset").invoke(builder);
+        Object reset = builderClass.getMethod("build").invoke(builder);
+
+        assertEquals("Ada", dtoClass.getMethod("getName").invoke(first));
+        assertEquals(36, dtoClass.getMethod("getAge").invoke(first));
+        assertEquals(first, second, "build() should keep the builder's state");
+        assertNotSame(first, second);
+        assertNull(dtoClass.getMethod("getName").invoke(reset));
+        assertEquals(0, dtoClass.getMethod("getAge").invoke(reset));
+    }
+
+    @Test
+    void testBuilderAndNativeBuilderCannotBeCombined() throws Exception {
+        FixtureCompiler.Result result = FixtureCompiler.compile(tempDir, Map.of("fixture.User", """
+                package fixture;
+
+                import io.github.soulcodingmatt.equilibrium.annotations.dto.GenerateDto;
+
+                @GenerateDto(pkg = "fixture", builder = true, nativeBuilder = true)
+                public class User {
+                    private String name;
+                }
+                """));
+
+        assertFalse(result.success());
+        assertTrue(result.messages(Diagnostic.Kind.ERROR).stream()
+                .anyMatch(message -> message.contains("builder = true and nativeBuilder = true cannot be combined")));
+    }
+}
@@ -0,0 +1,91 @@
+package io.github.soulcodingmatt.equilibrium.processor.generator;
+
+import io.github.soulcodingmatt.equilibrium.processor.FixtureCompiler;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Compiles an entity with DTO, VO and Record variants and converts between them with the generated
+ * {@code AccountVariantConverter}.
+ */
+class ConverterGeneratorTest {
+
+    private static final String ENTITY = """
+            package fixture;
+
+            import io.github.soulcodingmatt.equilibrium.annotations.dto.GenerateDto;
+            import io.github.soulcodingmatt.equilibrium.annotations.record.GenerateRecord;
+            import io.github.soulcodingmatt.equilibrium.annotations.vo.GenerateVo;
+            import io.github.soulcodingmatt.equilibrium.annotations.vo.IgnoreVo;
+
+            @GenerateDto(pkg = "fixture")
+            @GenerateVo(pkg = "fixture")
+            @GenerateRecord(pkg = "fixture")
+            public class Account {
+                private Long id;
+                private String owner;
+                private int balance;
+                @IgnoreVo
+                private boolean active;
+            }
+            """;
+
+    @TempDir
+    static Path tempDir;
+
+    private static Class<?> dtoClass;
+    private static Class<?> voClass;
+    private static Class<?> recordClass;
+    private static Class<?> converterClass;
+
+    @BeforeAll
+    static void compileFixture() throws Exception {
+        FixtureCompiler.Result result = FixtureCompiler.compile(tempDir, Map.of("fixture.Account", ENTITY),
+                "-Aequilibrium.converters=true");
+        assertTrue(result.success(), () -> "Fixture with generated converter should compile: " + result.diagnostics());
+
+        ClassLoader loader = result.classLoader();
+        dtoClass = loader.loadClass("fixture.AccountDto");
+        voClass = loader.loadClass("fixture.AccountVo");
+        recordClass = loader.loadClass("fixture.AccountRecord");
+        converterClass = loader.loadClass("fixture.AccountVariantConverter");
+    }
+
+    @Test
+    void testRoundTripThroughAllVariants() throws Exception {
+        Object dto = dtoClass.getConstructor(Long.class, String.class, int.class, boolean.class)
+                .newInstance(7L, "Ada", 120, true);
+
+        Object record = converterClass.getMethod("toAccountRecord", dtoClass).invoke(null, dto);
+        Object vo = converterClass.getMethod("toAccountVo", recordClass).invoke(null, record);
+        Object back = converterClass.getMethod("toAccountDto", voClass, boolean.class).invoke(null, vo, true);
+
+        assertEquals(7L, recordClass.getMethod("id").invoke(record));
+        assertEquals("Ada", recordClass.getMethod("owner").invoke(record));
+        assertEquals(120, voClass.getMethod("getBalance").invoke(vo));
+        assertEquals(dto, back, "DTO -> Record -> VO -> DTO should keep every value");
+    }
+
+    @Test
+    void testFieldsMissingInTheSourceBecomeParameters() throws Exception {
+        Object vo = voClass.getConstructor(Long.class, String.class, int.class).newInstance(1L, "Grace", 5);
+
+        Object record = converterClass.getMethod("toAccountRecord", voClass, boolean.class).invoke(null, vo, false);
+
+        assertEquals(false, recordClass.getMethod("active").invoke(record));
+        assertEquals("Grace", recordClass.getMethod("owner").invoke(record));
+        assertThrows(NoSuchMethodException.class, () -> converterClass.getMethod("toAccountRecord", voClass),
+                "The VO has no active field, so the converter needs it as a parameter");
+    }
+
+    @Test
+    void testNullSourceConvertsToNull() throws Exception {
+        assertNull(converterClass.getMethod("toAccountVo", dtoClass).invoke(null, (Object) null));
+    }
+}
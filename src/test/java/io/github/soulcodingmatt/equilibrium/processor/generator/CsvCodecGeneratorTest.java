@@ -0,0 +1,223 @@
+package io.github.soulcodingmatt.equilibrium.processor.generator;
+
+import io.github.soulcodingmatt.equilibrium.processor.FixtureCompiler;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.tools.Diagnostic;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Compiles a Record with {@code csv = true} and round-trips rows through the generated CSV writer and reader.
+ */
+class CsvCodecGeneratorTest {
+
+    private static final String ENTITY = """
+            package fixture;
+
+            import io.github.soulcodingmatt.equilibrium.annotations.record.CsvColumn;
+            import io.github.soulcodingmatt.equilibrium.annotations.record.GenerateRecord;
+
+            @GenerateRecord(pkg = "fixture", csv = true)
+            public class Order {
+                public enum Status { OPEN, CLOSED }
+
+                private long id;
+                @CsvColumn("customer_name")
+                private String customerName;
+                private char grade;
+                private Character initial;
+                private Integer quantity;
+                private java.math.BigDecimal total;
+                private Status status;
+                private java.time.LocalDate since;
+                private int[] scores;
+                private java.util.List<String> tags;
+            }
+            """;
+
+    private static final String ANNOTATED_ARRAY_ENTITY = """
+            package fixture;
+
+            import io.github.soulcodingmatt.equilibrium.annotations.record.CsvColumn;
+            import io.github.soulcodingmatt.equilibrium.annotations.record.GenerateRecord;
+
+            @GenerateRecord(pkg = "fixture", csv = true)
+            public class Sample {
+                private long id;
+                @CsvColumn("values")
+                private double[] values;
+            }
+            """;
+
+    // Fields named like the reader's locals and fields, and like their renamed locals
+    private static final String RESERVED_ENTITY = """
+            package fixture;
+
+            import io.github.soulcodingmatt.equilibrium.annotations.record.GenerateRecord;
+
+            @GenerateRecord(pkg = "fixture", csv = true)
+            public class Reserved {
+                private String status;
+                private String statusValue;
+                private int column;
+                private int columnValue;
+                private int columnValueValue;
+            }
+            """;
+
+    @TempDir
+    static Path tempDir;
+
+    private static FixtureCompiler.Result result;
+    private static Class<?> recordClass;
+    private static Class<?> statusClass;
+    private static Class<?> csvClass;
+
+    @BeforeAll
+    static void compileFixture() throws Exception {
+        result = FixtureCompiler.compile(tempDir, Map.of("fixture.Order", ENTITY));
+        assertTrue(result.success(), () -> "Fixture with a CSV codec should compile: " + result.diagnostics());
+        ClassLoader loader = result.classLoader();
+        recordClass = loader.loadClass("fixture.OrderRecord");
+        statusClass = loader.loadClass("fixture.Order$Status");
+        csvClass = loader.loadClass("fixture.OrderRecordCsv");
+    }
+
+    @Test
+    void testUnsupportedFieldsAreReported() {
+        List<String> warnings = result.messages(Diagnostic.Kind.WARNING);
+
+        assertTrue(warnings.stream().anyMatch(message -> message.startsWith("Field 'scores' of type int[]")), warnings::toString);
+        assertTrue(warnings.stream().anyMatch(message -> message.startsWith("Field 'tags' of type java.util.List<java.lang.String>")),
+                warnings::toString);
+        assertEquals(2, warnings.stream().filter(message -> message.contains("has no CSV representation")).count());
+    }
+
+    @Test
+    void testCsvColumnOnUnsupportedFieldIsAnError() throws Exception {
+        FixtureCompiler.Result annotated = FixtureCompiler.compile(tempDir.resolve("annotated"),
+                Map.of("fixture.Sample", ANNOTATED_ARRAY_ENTITY));
+
+        assertFalse(annotated.success());
+        assertTrue(annotated.messages(Diagnostic.Kind.ERROR).contains(
+                "@CsvColumn field 'values' of type double[] has no CSV representation"),
+                annotated.messages(Diagnostic.Kind.ERROR)::toString);
+    }
+
+    @Test
+    void testRoundTripKeepsQuotesSeparatorsAndLineBreaks() throws Exception {
+        List<Object> orders = List.of(
+                order(1L, "Doe, Jane", 'A', 'J', 3, "12.50", "OPEN", LocalDate.of(2025, 7, 20)),
+                order(2L, "Say \"hi\"", '"', ',', -4, "-0.01", "CLOSED", null),
+                order(3L, "multi\nline\r\nname", ',', null, null, null, null, LocalDate.of(1999, 12, 31)),
+                order(Long.MIN_VALUE, " padded ", ' ', '\n', Integer.MAX_VALUE, "1E+3", "OPEN", null));
+
+        String csv = write(orders);
+
+        assertTrue(csv.startsWith("id,customer_name,grade,initial,quantity,total,status,since\n"), csv);
+        assertEquals(orders, readAll(csv));
+    }
+
+    @Test
+    void testRoundTripKeepsEmptyStringsApartFromNull() throws Exception {
+        List<Object> orders = List.of(
+                order(1L, "", 'A', null, null, null, null, null),
+                order(2L, null, 'B', null, null, null, null, null));
+
+        String csv = write(orders);
+
+        assertTrue(csv.contains("\n1,\"\",A,,,,,\n2,,B,,,,,\n"), csv);
+        assertEquals(orders, readAll(csv));
+    }
+
+    @Test
+    void testReaderMapsReorderedAndUnknownHeaderColumns() throws Exception {
+        String csv = "\uFEFFtotal,unknown,customer_name,id\r\n"
+                + "1.5,ignored,\"Ada, Countess\",7\r\n"
+                + "\r\n"
+                + ",\"x\",Grace,8";
+
+        List<Object> orders = readAll(csv);
+
+        assertEquals(List.of(
+                order(7L, "Ada, Countess", '\0', null, null, "1.5", null, null),
+                order(8L, "Grace", '\0', null, null, null, null, null)), orders);
+    }
+
+    @Test
+    void testQuotedEmptyFieldForCharIsRejected() throws Exception {
+        String csv = "customer_name,grade\nAda,B\nGrace,\"\"\n";
+        Object reader = csvClass.getMethod("reader", Reader.class).invoke(null, new StringReader(csv));
+        Method read = reader.getClass().getMethod("read");
+
+        assertEquals('B', recordClass.getMethod("grade").invoke(read.invoke(reader)));
+        InvocationTargetException exception = assertThrows(InvocationTargetException.class, () -> read.invoke(reader));
+        assertInstanceOf(IllegalArgumentException.class, exception.getCause());
+    }
+
+    @Test
+    void testUnquotedEmptyFieldKeepsDefaultValue() throws Exception {
+        List<Object> orders = readAll("id,grade,initial,quantity\n5,,,\n");
+
+        assertEquals(List.of(order(5L, null, '\0', null, null, null, null, null)), orders);
+    }
+
+    @Test
+    void testFieldsNamedLikeReaderLocalsAreReadFromTheirOwnColumns() throws Exception {
+        FixtureCompiler.Result reserved = FixtureCompiler.compile(tempDir.resolve("reserved"),
+                Map.of("fixture.Reserved", RESERVED_ENTITY));
+        assertTrue(reserved.success(), () -> "Fixture should compile: " + reserved.diagnostics());
+        ClassLoader loader = reserved.classLoader();
+        Class<?> reservedClass = loader.loadClass("fixture.ReservedRecord");
+        String csv = "status,statusValue,column,columnValue,columnValueValue\na,b,1,2,3\n";
+        Object reader = loader.loadClass("fixture.ReservedRecordCsv")
+                .getMethod("reader", Reader.class).invoke(null, new StringReader(csv));
+
+        Object row = reader.getClass().getMethod("read").invoke(reader);
+
+        assertEquals(reservedClass.getConstructors()[0].newInstance("a", "b", 1, 2, 3), row);
+    }
+
+    private static Object order(long id, String customerName, char grade, Character initial, Integer quantity,
+                                String total, String status, LocalDate since) throws Exception {
+        Object statusValue = status == null ? null : statusClass.getMethod("valueOf", String.class).invoke(null, status);
+        return recordClass.getConstructors()[0].newInstance(id, customerName, grade, initial, quantity,
+                total == null ? null : new BigDecimal(total), statusValue, since, null, null);
+    }
+
+    private static String write(List<Object> orders) throws Exception {
+        StringWriter out = new StringWriter();
+        Object writer = csvClass.getMethod("writer", Writer.class).invoke(null, out);
+        Method write = writer.getClass().getMethod("write", recordClass);
+        for (Object order : orders) {
+            write.invoke(writer, order);
+        }
+        writer.getClass().getMethod("flush").invoke(writer);
+        return out.toString();
+    }
+
+    private static List<Object> readAll(String csv) throws Exception {
+        Object reader = csvClass.getMethod("reader", Reader.class).invoke(null, new StringReader(csv));
+        Method read = reader.getClass().getMethod("read");
+        List<Object> orders = new ArrayList<>();
+        for (Object order = read.invoke(reader); order != null; order = read.invoke(reader)) {
+            orders.add(order);
+        }
+        return orders;
+    }
+}
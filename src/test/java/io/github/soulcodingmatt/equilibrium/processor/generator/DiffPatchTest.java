@@ -0,0 +1,151 @@
+package io.github.soulcodingmatt.equilibrium.processor.generator;
+
+import io.github.soulcodingmatt.equilibrium.processor.FixtureCompiler;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Compiles an entity with {@code diff = true} on all variants and checks that applying the diff of two instances
+ * as a patch turns the first into the second.
+ */
+class DiffPatchTest {
+
+    private static final String ENTITY = """
+            package fixture;
+
+            import io.github.soulcodingmatt.equilibrium.annotations.dto.GenerateDto;
+            import io.github.soulcodingmatt.equilibrium.annotations.record.GenerateRecord;
+            import io.github.soulcodingmatt.equilibrium.annotations.vo.GenerateVo;
+
+            @GenerateDto(pkg = "fixture", diff = true)
+            @GenerateVo(pkg = "fixture", diff = true)
+            @GenerateRecord(pkg = "fixture", diff = true)
+            public class Account {
+                private Long id;
+                private String owner;
+                private int balance;
+                private double rate;
+            }
+            """;
+
+    // Fields named like the parameters and the local mask of the generated methods
+    private static final String SHADOWING_ENTITY = """
+            package fixture;
+
+            import io.github.soulcodingmatt.equilibrium.annotations.dto.GenerateDto;
+            import io.github.soulcodingmatt.equilibrium.annotations.record.GenerateRecord;
+            import io.github.soulcodingmatt.equilibrium.annotations.vo.GenerateVo;
+
+            @GenerateDto(pkg = "fixture", diff = true)
+            @GenerateVo(pkg = "fixture", diff = true)
+            @GenerateRecord(pkg = "fixture", diff = true)
+            public class Match {
+                private String result;
+                private long mask;
+                private int score;
+                private String other;
+                private String source;
+            }
+            """;
+
+    private static final Class<?>[] PARAMETER_TYPES = {Long.class, String.class, int.class, double.class};
+    private static final Class<?>[] MATCH_PARAMETER_TYPES = {String.class, long.class, int.class, String.class,
+            String.class};
+
+    @TempDir
+    static Path tempDir;
+
+    private static ClassLoader loader;
+
+    @BeforeAll
+    static void compileFixture() throws Exception {
+        FixtureCompiler.Result result = FixtureCompiler.compile(tempDir,
+                Map.of("fixture.Account", ENTITY, "fixture.Match", SHADOWING_ENTITY));
+        assertTrue(result.success(), () -> "Fixture with diff and patch should compile: " + result.diagnostics());
+        loader = result.classLoader();
+    }
+
+    @Test
+    void testDiffMarksDifferingFieldsInDeclarationOrder() throws Exception {
+        Class<?> dtoClass = loader.loadClass("fixture.AccountDto");
+        Object a = newInstance(dtoClass, 7L, "Ada", 10, 0.5);
+        Object b = newInstance(dtoClass, 7L, new String("Ada"), 20, Double.NaN);
+
+        assertEquals(0b1100L, dtoClass.getMethod("diff", dtoClass).invoke(a, b));
+        assertEquals(0L, dtoClass.getMethod("diff", dtoClass).invoke(b, newInstance(dtoClass, 7L, "Ada", 20, Double.NaN)),
+                "NaN should equal NaN, like Double.equals");
+    }
+
+    @Test
+    void testPatchWithDiffTurnsDtoIntoOther() throws Exception {
+        assertPatchOfDiffTurnsIntoOther(loader.loadClass("fixture.AccountDto"), true);
+    }
+
+    @Test
+    void testPatchWithDiffTurnsVoIntoOther() throws Exception {
+        assertPatchOfDiffTurnsIntoOther(loader.loadClass("fixture.AccountVo"), false);
+    }
+
+    @Test
+    void testPatchWithDiffTurnsRecordIntoOther() throws Exception {
+        assertPatchOfDiffTurnsIntoOther(loader.loadClass("fixture.AccountRecord"), false);
+    }
+
+    @Test
+    void testPatchCopiesOnlyMarkedFields() throws Exception {
+        Class<?> recordClass = loader.loadClass("fixture.AccountRecord");
+        Object a = newInstance(recordClass, 1L, "Ada", 10, 0.5);
+        Object b = newInstance(recordClass, 2L, "Grace", 20, 1.5);
+
+        Object patched = recordClass.getMethod("applyPatch", recordClass, long.class).invoke(a, b, 0b0010L);
+
+        assertEquals(newInstance(recordClass, 1L, "Grace", 10, 0.5), patched);
+    }
+
+    @Test
+    void testFieldsNamedLikeParametersAreNotShadowed() throws Exception {
+        for (String variant : new String[]{"fixture.MatchDto", "fixture.MatchVo", "fixture.MatchRecord"}) {
+            Class<?> type = loader.loadClass(variant);
+            Object a = type.getConstructor(MATCH_PARAMETER_TYPES).newInstance("win", 7L, 1, "x", "s");
+            Object equal = type.getConstructor(MATCH_PARAMETER_TYPES).newInstance("win", 7L, 1, "x", "s");
+            Object b = type.getConstructor(MATCH_PARAMETER_TYPES).newInstance("lose", 9L, 2, "y", "t");
+
+            assertEquals(0L, type.getMethod("diff", type).invoke(a, equal), variant);
+            assertEquals(0b11111L, type.getMethod("diff", type).invoke(a, b), variant);
+
+            Object patched = type.getMethod("applyPatch", type, long.class).invoke(a, b, 1L << 2);
+            assertEquals(type.getConstructor(MATCH_PARAMETER_TYPES).newInstance("win", 7L, 2, "x", "s"), patched,
+                    variant);
+        }
+    }
+
+    /**
+     * DTOs are patched in place, VOs and Records return a new instance and keep the original.
+     */
+    private static void assertPatchOfDiffTurnsIntoOther(Class<?> type, boolean inPlace) throws Exception {
+        Object a = newInstance(type, 1L, "Ada", 10, 0.5);
+        Object original = newInstance(type, 1L, "Ada", 10, 0.5);
+        Object b = newInstance(type, 1L, "Grace", 20, 0.5);
+
+        long mask = (long) type.getMethod("diff", type).invoke(a, b);
+        Object patched = type.getMethod("applyPatch", type, long.class).invoke(a, b, mask);
+
+        assertEquals(b, patched);
+        assertEquals(0L, type.getMethod("diff", type).invoke(patched, b));
+        if (inPlace) {
+            assertSame(a, patched);
+        } else {
+            assertEquals(original, a, "Immutable variants should not be changed by a patch");
+        }
+    }
+
+    private static Object newInstance(Class<?> type, Object... values) throws Exception {
+        return type.getConstructor(PARAMETER_TYPES).newInstance(values);
+    }
+}
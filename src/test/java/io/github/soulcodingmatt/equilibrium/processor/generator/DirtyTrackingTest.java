@@ -0,0 +1,130 @@
+package io.github.soulcodingmatt.equilibrium.processor.generator;
+
+import io.github.soulcodingmatt.equilibrium.processor.FixtureCompiler;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Compiles DTOs with {@code dirtyTracking = true} and checks the dirty state after setters and {@code clearDirty()},
+ * for a {@code long} mask and for the {@code long[]} mask of more than 64 fields.
+ */
+class DirtyTrackingTest {
+
+    private static final String ENTITY = """
+            package fixture;
+
+            import io.github.soulcodingmatt.equilibrium.annotations.dto.GenerateDto;
+
+            @GenerateDto(pkg = "fixture", dirtyTracking = true)
+            public class Account {
+                private Long id;
+                private String owner;
+                private int balance;
+            }
+            """;
+
+    private static final int WIDE_FIELD_COUNT = 70;
+
+    @TempDir
+    static Path tempDir;
+
+    private static Class<?> dtoClass;
+    private static Class<?> wideDtoClass;
+
+    @BeforeAll
+    static void compileFixture() throws Exception {
+        StringBuilder wide = new StringBuilder("""
+                package fixture;
+
+                import io.github.soulcodingmatt.equilibrium.annotations.dto.GenerateDto;
+
+                @GenerateDto(pkg = "fixture", dirtyTracking = true)
+                public class Wide {
+                """);
+        for (int i = 0; i < WIDE_FIELD_COUNT; i++) {
+            wide.append("    private int f").append(i).append(";\n");
+        }
+        wide.append("}\n");
+
+        FixtureCompiler.Result result = FixtureCompiler.compile(tempDir,
+                Map.of("fixture.Account", ENTITY, "fixture.Wide", wide.toString()));
+        assertTrue(result.success(), () -> "Fixture with dirty tracking should compile: " + result.diagnostics());
+
+        ClassLoader loader = result.classLoader();
+        dtoClass = loader.loadClass("fixture.AccountDto");
+        wideDtoClass = loader.loadClass("fixture.WideDto");
+    }
+
+    @Test
+    void testConstructorDoesNotMarkFields() throws Exception {
+        Object dto = newAccountDto();
+
+        assertFalse((boolean) dtoClass.getMethod("isDirty").invoke(dto));
+        assertEquals(List.of(), dtoClass.getMethod("changedFields").invoke(dto));
+    }
+
+    @Test
+    void testSettersMarkFieldsAndClearDirtyResets() throws Exception {
+        Object dto = newAccountDto();
+
+        dtoClass.getMethod("setOwner", String.class).invoke(dto, "Grace");
+        dtoClass.getMethod("setBalance", int.class).invoke(dto, 100);
+
+        assertTrue((boolean) dtoClass.getMethod("isDirty").invoke(dto));
+        assertTrue((boolean) dtoClass.getMethod("isSet", String.class).invoke(dto, "owner"));
+        assertFalse((boolean) dtoClass.getMethod("isSet", String.class).invoke(dto, "id"));
+        assertEquals(List.of("owner", "balance"), dtoClass.getMethod("changedFields").invoke(dto));
+
+        dtoClass.getMethod("clearDirty").invoke(dto);
+
+        assertFalse((boolean) dtoClass.getMethod("isDirty").invoke(dto));
+        assertFalse((boolean) dtoClass.getMethod("isSet", String.class).invoke(dto, "owner"));
+        assertEquals("Grace", dtoClass.getMethod("getOwner").invoke(dto), "clearDirty() should keep the values");
+    }
+
+    @Test
+    void testUnknownFieldIsRejected() throws Exception {
+        Object dto = newAccountDto();
+
+        var exception = assertThrows(java.lang.reflect.InvocationTargetException.class,
+                () -> dtoClass.getMethod("isSet", String.class).invoke(dto, "missing"));
+        assertInstanceOf(IllegalArgumentException.class, exception.getCause());
+    }
+
+    @Test
+    void testMoreThan64FieldsUseAMaskArray() throws Exception {
+        Object dto = newWideDto();
+
+        wideDtoClass.getMethod("setF1", int.class).invoke(dto, 1);
+        wideDtoClass.getMethod("setF64", int.class).invoke(dto, 64);
+        wideDtoClass.getMethod("setF69", int.class).invoke(dto, 69);
+
+        assertEquals(List.of("f1", "f64", "f69"), wideDtoClass.getMethod("changedFields").invoke(dto));
+        assertFalse((boolean) wideDtoClass.getMethod("isSet", String.class).invoke(dto, "f63"));
+
+        wideDtoClass.getMethod("clearDirty").invoke(dto);
+
+        assertFalse((boolean) wideDtoClass.getMethod("isDirty").invoke(dto));
+    }
+
+    private static Object newAccountDto() throws Exception {
+        return dtoClass.getConstructor(Long.class, String.class, int.class).newInstance(7L, "Ada", 10);
+    }
+
+    private static Object newWideDto() throws Exception {
+        Class<?>[] parameterTypes = new Class<?>[WIDE_FIELD_COUNT];
+        Object[] values = new Object[WIDE_FIELD_COUNT];
+        for (int i = 0; i < WIDE_FIELD_COUNT; i++) {
+            parameterTypes[i] = int.class;
+            values[i] = 0;
+        }
+        return wideDtoClass.getConstructor(parameterTypes).newInstance(values);
+    }
+}
@@ -0,0 +1,188 @@
+package io.github.soulcodingmatt.equilibrium.processor.generator;
+
+import io.github.soulcodingmatt.equilibrium.processor.EquilibriumProcessor;
+import io.github.soulcodingmatt.equilibrium.processor.FixtureCompiler;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.TypeElement;
+import javax.tools.Diagnostic;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Publishes DTO metadata from two upstream modules with same-named DTOs and resolves it from a downstream module.
+ */
+class DtoRegistryTest {
+
+    private static final String SHOP_ADDRESS = """
+            package shop;
+
+            import io.github.soulcodingmatt.equilibrium.annotations.dto.GenerateDto;
+
+            @GenerateDto(pkg = "shop.dto")
+            @GenerateDto(pkg = "shop.dto", name = "AddressSummaryDto", id = 1)
+            public class Address {
+                private String street;
+            }
+            """;
+
+    private static final String BILLING_ADDRESS = """
+            package billing;
+
+            import io.github.soulcodingmatt.equilibrium.annotations.dto.GenerateDto;
+
+            @GenerateDto(pkg = "billing.dto")
+            public class Address {
+                private String iban;
+            }
+            """;
+
+    // An entity whose DTO has the same simple name as one of an earlier round
+    private static final String LATE_ADDRESS = """
+            package late;
+
+            import io.github.soulcodingmatt.equilibrium.annotations.dto.GenerateDto;
+
+            @GenerateDto(pkg = "late.dto")
+            public class Address {
+                private String city;
+            }
+            """;
+
+    @TempDir
+    static Path tempDir;
+
+    private static FixtureCompiler.Result shop;
+    private static FixtureCompiler.Result billing;
+
+    @BeforeAll
+    static void compileModules() throws Exception {
+        shop = FixtureCompiler.compile(tempDir.resolve("shop"), Map.of("shop.Address", SHOP_ADDRESS));
+        billing = FixtureCompiler.compile(tempDir.resolve("billing"), Map.of("billing.Address", BILLING_ADDRESS));
+        assertTrue(shop.success(), () -> "Shop module should compile: " + shop.diagnostics());
+        assertTrue(billing.success(), () -> "Billing module should compile: " + billing.diagnostics());
+    }
+
+    @Test
+    void testMetadataIsPublishedPerEntity() throws IOException {
+        assertEquals(List.of("shop.dto.AddressDto", "shop.dto.AddressSummaryDto"),
+                Files.readAllLines(shop.classes().resolve(DtoRegistry.RESOURCE_PREFIX + "shop.Address")));
+        assertEquals(List.of("billing.dto.AddressDto"),
+                Files.readAllLines(billing.classes().resolve(DtoRegistry.RESOURCE_PREFIX + "billing.Address")));
+    }
+
+    @Test
+    void testSameNamedDtosOfTwoModulesDontShadowEachOther() throws IOException {
+        LookupProcessor lookups = new LookupProcessor(
+                "AddressDto shop.Address",
+                "AddressSummaryDto shop.Address",
+                "AddressDto billing.Address",
+                "AddressSummaryDto billing.Address",
+                "AddressDto other.Address");
+        String classpath = String.join(File.pathSeparator, FixtureCompiler.getEquilibriumClasspath(),
+                shop.classes().toString(), billing.classes().toString());
+        FixtureCompiler.Result result = FixtureCompiler.compile(tempDir.resolve("downstream"),
+                Map.of("downstream.Marker", "package downstream; public class Marker {}"), List.of(lookups),
+                "-classpath", classpath);
+
+        assertTrue(result.success(), () -> "Downstream module should compile: " + result.diagnostics());
+        assertEquals(List.of(
+                "AddressDto shop.Address -> shop.dto.AddressDto",
+                "AddressSummaryDto shop.Address -> shop.dto.AddressSummaryDto",
+                "AddressDto billing.Address -> billing.dto.AddressDto",
+                "AddressSummaryDto billing.Address -> null",
+                "AddressDto other.Address -> null"),
+                result.messages(Diagnostic.Kind.NOTE).stream().filter(message -> message.contains(" -> ")).toList());
+    }
+
+    @Test
+    void testMetadataOfLaterRoundsIsWrittenOnce() throws IOException {
+        FixtureCompiler.Result result = FixtureCompiler.compile(tempDir.resolve("rounds"),
+                Map.of("shop.Address", SHOP_ADDRESS), List.of(new EquilibriumProcessor(), new LateEntityProcessor()));
+
+        assertTrue(result.success(), () -> "Fixture should compile: " + result.diagnostics());
+        assertEquals(List.of(), result.messages(Diagnostic.Kind.ERROR));
+        assertEquals(List.of("shop.dto.AddressDto", "shop.dto.AddressSummaryDto"),
+                Files.readAllLines(result.classes().resolve(DtoRegistry.RESOURCE_PREFIX + "shop.Address")));
+        assertEquals(List.of("late.dto.AddressDto"),
+                Files.readAllLines(result.classes().resolve(DtoRegistry.RESOURCE_PREFIX + "late.Address")));
+    }
+
+    /**
+     * Looks up "simpleName entityName" pairs in a registry of the compilation and reports each result as a note
+     */
+    private static final class LookupProcessor extends AbstractProcessor {
+        private final List<String> lookups;
+
+        LookupProcessor(String... lookups) {
+            this.lookups = List.of(lookups);
+        }
+
+        @Override
+        public Set<String> getSupportedAnnotationTypes() {
+            return Set.of("*");
+        }
+
+        @Override
+        public SourceVersion getSupportedSourceVersion() {
+            return SourceVersion.latestSupported();
+        }
+
+        @Override
+        public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+            if (roundEnv.processingOver()) {
+                DtoRegistry registry = new DtoRegistry(processingEnv.getFiler());
+                for (String lookup : lookups) {
+                    String[] names = lookup.split(" ");
+                    processingEnv.getMessager().printMessage(Diagnostic.Kind.NOTE,
+                            lookup + " -> " + registry.lookup(names[0], names[1]));
+                }
+            }
+            return false;
+        }
+    }
+
+    /**
+     * Adds an annotated entity in the second round, so Equilibrium generates DTOs in two rounds
+     */
+    private static final class LateEntityProcessor extends AbstractProcessor {
+        private boolean generated;
+
+        @Override
+        public Set<String> getSupportedAnnotationTypes() {
+            return Set.of("*");
+        }
+
+        @Override
+        public SourceVersion getSupportedSourceVersion() {
+            return SourceVersion.latestSupported();
+        }
+
+        @Override
+        public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+            if (!generated && !roundEnv.processingOver()) {
+                generated = true;
+                try (Writer writer = processingEnv.getFiler().createSourceFile("late.Address").openWriter()) {
+                    writer.write(LATE_ADDRESS);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+            return false;
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package io.github.soulcodingmatt.equilibrium.processor.generator;
+
+import io.github.soulcodingmatt.equilibrium.processor.FixtureCompiler;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.function.Executable;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Compiles an entity with {@code fieldTable = true} on all variants and checks the index-based field access of the
+ * nested {@code FieldTable} classes.
+ */
+class FieldTableTest {
+
+    private static final String ENTITY = """
+            package fixture;
+
+            import io.github.soulcodingmatt.equilibrium.annotations.dto.GenerateDto;
+            import io.github.soulcodingmatt.equilibrium.annotations.record.GenerateRecord;
+            import io.github.soulcodingmatt.equilibrium.annotations.vo.GenerateVo;
+
+            @GenerateDto(pkg = "fixture", fieldTable = true)
+            @GenerateVo(pkg = "fixture", fieldTable = true)
+            @GenerateRecord(pkg = "fixture", fieldTable = true)
+            public class Account {
+                private Long id;
+                private String owner;
+                private int balance;
+                private java.util.List<String> tags;
+            }
+            """;
+
+    private static final Class<?>[] PARAMETER_TYPES = {Long.class, String.class, int.class, List.class};
+
+    @TempDir
+    static Path tempDir;
+
+    private static ClassLoader loader;
+
+    @BeforeAll
+    static void compileFixture() throws Exception {
+        FixtureCompiler.Result result = FixtureCompiler.compile(tempDir, Map.of("fixture.Account", ENTITY));
+        assertTrue(result.success(), () -> "Fixture with field tables should compile: " + result.diagnostics());
+        loader = result.classLoader();
+    }
+
+    @Test
+    void testMetadataFollowsDeclarationOrder() throws Exception {
+        for (String variant : List.of("fixture.AccountDto", "fixture.AccountVo", "fixture.AccountRecord")) {
+            Class<?> table = loader.loadClass(variant + "$FieldTable");
+
+            assertEquals(4, table.getMethod("fieldCount").invoke(null), variant);
+            assertEquals(List.of("id", "owner", "balance", "tags"), List.of(
+                    table.getMethod("fieldName", int.class).invoke(null, 0),
+                    table.getMethod("fieldName", int.class).invoke(null, 1),
+                    table.getMethod("fieldName", int.class).invoke(null, 2),
+                    table.getMethod("fieldName", int.class).invoke(null, 3)), variant);
+            assertEquals(List.of(Long.class, String.class, int.class, List.class), List.of(
+                    table.getMethod("fieldType", int.class).invoke(null, 0),
+                    table.getMethod("fieldType", int.class).invoke(null, 1),
+                    table.getMethod("fieldType", int.class).invoke(null, 2),
+                    table.getMethod("fieldType", int.class).invoke(null, 3)), variant);
+        }
+    }
+
+    @Test
+    void testIndexOfReturnsIndexOrMinusOne() throws Exception {
+        Method indexOf = loader.loadClass("fixture.AccountDto$FieldTable").getMethod("indexOf", String.class);
+
+        assertEquals(0, indexOf.invoke(null, "id"));
+        assertEquals(2, indexOf.invoke(null, "balance"));
+        assertEquals(3, indexOf.invoke(null, "tags"));
+        assertEquals(-1, indexOf.invoke(null, "Balance"));
+        assertEquals(-1, indexOf.invoke(null, "unknown"));
+    }
+
+    @Test
+    void testGetReadsFieldsByIndex() throws Exception {
+        for (String variant : List.of("fixture.AccountDto", "fixture.AccountVo", "fixture.AccountRecord")) {
+            Class<?> type = loader.loadClass(variant);
+            Method get = loader.loadClass(variant + "$FieldTable").getMethod("get", type, int.class);
+            Object instance = type.getConstructor(PARAMETER_TYPES).newInstance(7L, "Ada", 10, List.of("vip"));
+
+            assertEquals(Arrays.asList(7L, "Ada", 10, List.of("vip")), Arrays.asList(
+                    get.invoke(null, instance, 0), get.invoke(null, instance, 1),
+                    get.invoke(null, instance, 2), get.invoke(null, instance, 3)), variant);
+        }
+    }
+
+    @Test
+    void testSetWritesDtoFieldsByIndex() throws Exception {
+        Class<?> dtoClass = loader.loadClass("fixture.AccountDto");
+        Class<?> table = loader.loadClass("fixture.AccountDto$FieldTable");
+        Method set = table.getMethod("set", dtoClass, int.class, Object.class);
+        Object dto = dtoClass.getConstructor(PARAMETER_TYPES).newInstance(7L, "Ada", 10, List.of());
+
+        set.invoke(null, dto, 1, "Grace");
+        set.invoke(null, dto, 2, 20);
+        set.invoke(null, dto, 0, null);
+
+        assertEquals(dtoClass.getConstructor(PARAMETER_TYPES).newInstance(null, "Grace", 20, List.of()), dto);
+    }
+
+    @Test
+    void testImmutableVariantsHaveNoSetter() throws Exception {
+        for (String variant : List.of("fixture.AccountVo", "fixture.AccountRecord")) {
+            Class<?> table = loader.loadClass(variant + "$FieldTable");
+            assertTrue(Arrays.stream(table.getMethods()).noneMatch(method -> method.getName().equals("set")), variant);
+        }
+    }
+
+    @Test
+    void testUnknownIndexThrows() throws Exception {
+        Class<?> dtoClass = loader.loadClass("fixture.AccountDto");
+        Class<?> table = loader.loadClass("fixture.AccountDto$FieldTable");
+        Object dto = dtoClass.getConstructor(PARAMETER_TYPES).newInstance(7L, "Ada", 10, List.of());
+
+        assertCauseIsIndexOutOfBounds(() -> table.getMethod("get", dtoClass, int.class).invoke(null, dto, 4));
+        assertCauseIsIndexOutOfBounds(() -> table.getMethod("get", dtoClass, int.class).invoke(null, dto, -1));
+        assertCauseIsIndexOutOfBounds(() -> table.getMethod("set", dtoClass, int.class, Object.class).invoke(null, dto, 4, "x"));
+        assertCauseIsIndexOutOfBounds(() -> table.getMethod("fieldName", int.class).invoke(null, 4));
+    }
+
+    @Test
+    void testSetWithWrongTypeThrowsClassCastException() throws Exception {
+        Class<?> dtoClass = loader.loadClass("fixture.AccountDto");
+        Method set = loader.loadClass("fixture.AccountDto$FieldTable").getMethod("set", dtoClass, int.class, Object.class);
+        Object dto = dtoClass.getConstructor(PARAMETER_TYPES).newInstance(7L, "Ada", 10, List.of());
+
+        InvocationTargetException exception = assertThrows(InvocationTargetException.class,
+                () -> set.invoke(null, dto, 1, 42));
+        assertInstanceOf(ClassCastException.class, exception.getCause());
+    }
+
+    private static void assertCauseIsIndexOutOfBounds(Executable call) {
+        InvocationTargetException exception = assertThrows(InvocationTargetException.class, call);
+        assertInstanceOf(IndexOutOfBoundsException.class, exception.getCause());
+    }
+}
@@ -0,0 +1,222 @@
+package io.github.soulcodingmatt.equilibrium.processor.generator;
+
+import io.github.soulcodingmatt.equilibrium.processor.FixtureCompiler;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.tools.Diagnostic;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Compiles DTOs with {@code @NestedMapping} fields and checks the generated methods that call into the nested DTOs.
+ */
+class NestedDtoTest {
+
+    private static final String ADDRESS = """
+            package fixture;
+
+            import io.github.soulcodingmatt.equilibrium.annotations.dto.GenerateDto;
+
+            @GenerateDto(pkg = "fixture", copy = true)
+            public class Address {
+                private String street;
+            }
+            """;
+
+    private static final String PHONE = """
+            package fixture;
+
+            import io.github.soulcodingmatt.equilibrium.annotations.dto.GenerateDto;
+
+            @GenerateDto(pkg = "fixture", copy = true, sizeEstimate = true)
+            public class Phone {
+                private String number;
+            }
+            """;
+
+    private static final String PERSON = """
+            package fixture;
+
+            import io.github.soulcodingmatt.equilibrium.annotations.dto.GenerateDto;
+            import io.github.soulcodingmatt.equilibrium.annotations.dto.NestedMapping;
+
+            @GenerateDto(pkg = "fixture", copy = true, sizeEstimate = true)
+            public class Person {
+                private String name;
+                @NestedMapping(dtoClass = AddressDto.class)
+                private Address address;
+                @NestedMapping(dtoClass = AddressDto.class)
+                private java.util.List<Address> previousAddresses;
+                @NestedMapping(dtoClass = PhoneDto.class)
+                private Phone phone;
+                @NestedMapping(dtoClass = PhoneDto.class)
+                private java.util.List<Phone> phones;
+            }
+            """;
+
+    private static final String TAG = """
+            package fixture;
+
+            import io.github.soulcodingmatt.equilibrium.annotations.dto.GenerateDto;
+
+            @GenerateDto(pkg = "fixture")
+            public class Tag {
+                private String label;
+            }
+            """;
+
+    private static final String LEGACY = """
+            package fixture;
+
+            public class Legacy {
+                private String code;
+            }
+            """;
+
+    private static final String LEGACY_DTO = """
+            package fixture;
+
+            public class LegacyDto {
+                private String code;
+            }
+            """;
+
+    private static final String POST = """
+            package fixture;
+
+            import io.github.soulcodingmatt.equilibrium.annotations.dto.GenerateDto;
+            import io.github.soulcodingmatt.equilibrium.annotations.dto.NestedMapping;
+
+            @GenerateDto(pkg = "fixture", copy = true)
+            public class Post {
+                @NestedMapping(dtoClass = TagDto.class)
+                private Tag tag;
+                @NestedMapping(dtoClass = LegacyDto.class)
+                private java.util.List<Legacy> legacy;
+            }
+            """;
+
+    // Fields named like the locals of copy() and deepCopy()
+    private static final String BOX = """
+            package fixture;
+
+            import io.github.soulcodingmatt.equilibrium.annotations.dto.GenerateDto;
+
+            @GenerateDto(pkg = "fixture", copy = true, dirtyTracking = true)
+            public class Box {
+                private String copy;
+                private java.util.List<String> tags;
+                private java.util.List<String> tagsCopy;
+            }
+            """;
+
+    @TempDir
+    static Path tempDir;
+
+    private static ClassLoader loader;
+
+    @BeforeAll
+    static void compileFixture() throws Exception {
+        FixtureCompiler.Result result = FixtureCompiler.compile(tempDir.resolve("valid"),
+                Map.of("fixture.Address", ADDRESS, "fixture.Phone", PHONE, "fixture.Person", PERSON,
+                        "fixture.Box", BOX));
+        assertTrue(result.success(), () -> "Fixture with nested DTOs should compile: " + result.diagnostics());
+        loader = result.classLoader();
+    }
+
+    @Test
+    void testDeepCopyCopiesNestedDtos() throws Exception {
+        Class<?> addressClass = loader.loadClass("fixture.AddressDto");
+        Class<?> personClass = loader.loadClass("fixture.PersonDto");
+        Object address = addressClass.getConstructor(String.class).newInstance("Main Street 1");
+        List<Object> previous = new ArrayList<>(List.of(addressClass.getConstructor(String.class).newInstance("Old Road 2")));
+        Object person = newPerson(address, previous, null, null);
+
+        Object copy = personClass.getMethod("deepCopy").invoke(person);
+
+        assertEquals(person, copy);
+        Object copiedAddress = personClass.getMethod("getAddress").invoke(copy);
+        List<?> copiedPrevious = (List<?>) personClass.getMethod("getPreviousAddresses").invoke(copy);
+        assertNotSame(address, copiedAddress);
+        assertNotSame(previous, copiedPrevious);
+        assertNotSame(previous.get(0), copiedPrevious.get(0));
+    }
+
+    @Test
+    void testCopiesOfFieldsNamedLikeLocalsKeepTheirValues() throws Exception {
+        Class<?> boxClass = loader.loadClass("fixture.BoxDto");
+        List<String> tags = new ArrayList<>(List.of("a"));
+        List<String> tagsCopy = new ArrayList<>(List.of("b"));
+        Object box = boxClass.getConstructor(String.class, List.class, List.class).newInstance("c", tags, tagsCopy);
+        boxClass.getMethod("setCopy", String.class).invoke(box, "d");
+
+        for (String method : List.of("copy", "deepCopy")) {
+            Object copy = boxClass.getMethod(method).invoke(box);
+
+            assertEquals(box, copy, method);
+            assertEquals("d", boxClass.getMethod("getCopy").invoke(copy), method);
+            assertEquals(List.of("a"), boxClass.getMethod("getTags").invoke(copy), method);
+            assertEquals(List.of("b"), boxClass.getMethod("getTagsCopy").invoke(copy), method);
+            assertTrue((Boolean) boxClass.getMethod("isDirty").invoke(copy), method);
+        }
+        Object deepCopy = boxClass.getMethod("deepCopy").invoke(box);
+        assertNotSame(tags, boxClass.getMethod("getTags").invoke(deepCopy));
+        assertNotSame(tagsCopy, boxClass.getMethod("getTagsCopy").invoke(deepCopy));
+    }
+
+    @Test
+    void testSizeEstimateAddsEstimateOfNestedDtosWithSizeEstimate() throws Exception {
+        Class<?> phoneClass = loader.loadClass("fixture.PhoneDto");
+        Object phone = phoneClass.getConstructor(String.class).newInstance("+49 30 1234567");
+        long phoneSize = (long) phoneClass.getMethod("estimatedSizeInBytes").invoke(phone);
+
+        // Same list sizes, so only the nested DTOs make the difference
+        long withoutPhones = estimatedSize(newPerson(null, null, null, Arrays.asList(null, null)));
+        long withPhones = estimatedSize(newPerson(null, null, phone, List.of(phone, phone)));
+
+        assertEquals(3 * phoneSize, withPhones - withoutPhones);
+    }
+
+    @Test
+    void testSizeEstimateCountsNestedDtosWithoutSizeEstimateAsUnknownObjects() throws Exception {
+        Class<?> addressClass = loader.loadClass("fixture.AddressDto");
+        Object address = addressClass.getConstructor(String.class).newInstance("A street name longer than 16 bytes");
+
+        long withoutAddresses = estimatedSize(newPerson(null, Arrays.asList(null, null), null, null));
+        long withAddresses = estimatedSize(newPerson(address, List.of(address, address), null, null));
+
+        assertEquals(3 * 16L, withAddresses - withoutAddresses);
+    }
+
+    @Test
+    void testDeepCopyOfNestedDtoWithoutCopyIsAnError() throws Exception {
+        FixtureCompiler.Result result = FixtureCompiler.compile(tempDir.resolve("invalid"), Map.of(
+                "fixture.Tag", TAG, "fixture.Legacy", LEGACY, "fixture.LegacyDto", LEGACY_DTO, "fixture.Post", POST));
+
+        assertFalse(result.success());
+        assertEquals(List.of(
+                "Cannot generate deepCopy() for DTO PostDto: nested DTO TagDto of field 'tag' has no deepCopy(). "
+                        + "Set copy = true on its @GenerateDto",
+                "Cannot generate deepCopy() for DTO PostDto: nested DTO LegacyDto of field 'legacy' has no deepCopy(). "
+                        + "Set copy = true on its @GenerateDto"),
+                result.messages(Diagnostic.Kind.ERROR), "Only the processor should report the missing deepCopy()");
+    }
+
+    private static Object newPerson(Object address, List<?> previousAddresses, Object phone, List<?> phones)
+            throws Exception {
+        Class<?> personClass = loader.loadClass("fixture.PersonDto");
+        return personClass.getConstructor(String.class, loader.loadClass("fixture.AddressDto"), List.class,
+                loader.loadClass("fixture.PhoneDto"), List.class).newInstance("Ada", address, previousAddresses, phone, phones);
+    }
+
+    private static long estimatedSize(Object person) throws Exception {
+        return (long) person.getClass().getMethod("estimatedSizeInBytes").invoke(person);
+    }
+}
@@ -0,0 +1,212 @@
+package io.github.soulcodingmatt.equilibrium.processor.generator;
+
+import io.github.soulcodingmatt.equilibrium.processor.FixtureCompiler;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.net.URLClassLoader;
+import java.nio.file.Path;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Compiles an annotated entity with the processor and maps rows of a stub JDBC ResultSet
+ * with the generated row mapper.
+ */
+class RowMapperWriterTest {
+
+    private static final String ENTITY = """
+            package fixture;
+
+            import io.github.soulcodingmatt.equilibrium.annotations.record.GenerateRecord;
+
+            @GenerateRecord(pkg = "fixture", rowMapper = true)
+            public class Order {
+                public enum Status { OPEN, CLOSED }
+
+                private long id;
+                private String customerName;
+                private Integer quantity;
+                private java.math.BigDecimal total;
+                private Status status;
+            }
+            """;
+
+    // Fields named like the mapRow parameters and RowMapper fields, and like their renamed locals
+    private static final String RESERVED_ENTITY = """
+            package fixture;
+
+            import io.github.soulcodingmatt.equilibrium.annotations.record.GenerateRecord;
+
+            @GenerateRecord(pkg = "fixture", rowMapper = true)
+            public class Reserved {
+                private String resultSet;
+                private String resultSetValue;
+                private int columns;
+                private int columnsValue;
+                private int columnsValueValue;
+            }
+            """;
+
+    @TempDir
+    static Path tempDir;
+
+    private static Class<?> recordClass;
+    private static Class<?> reservedClass;
+
+    @BeforeAll
+    static void compileFixture() throws Exception {
+        FixtureCompiler.Result result = FixtureCompiler.compile(tempDir,
+                Map.of("fixture.Order", ENTITY, "fixture.Reserved", RESERVED_ENTITY));
+        assertTrue(result.success(), () -> "Fixture with generated row mapper should compile: " + result.diagnostics());
+
+        URLClassLoader loader = result.classLoader();
+        recordClass = loader.loadClass("fixture.OrderRecord");
+        reservedClass = loader.loadClass("fixture.ReservedRecord");
+    }
+
+    @Test
+    void testFromResultSetMapsAllRowsByNormalizedLabel() throws Exception {
+        StubResultSet stub = new StubResultSet(List.of("CUSTOMER_NAME", "id", "total", "status", "quantity"),
+                new Object[]{"Ada", 7L, new BigDecimal("12.50"), "CLOSED", null},
+                new Object[]{"Grace", 8L, null, "OPEN", 2});
+
+        List<?> orders = (List<?>) recordClass.getMethod("fromResultSet", ResultSet.class).invoke(null, stub.proxy());
+
+        assertEquals(2, orders.size());
+        assertEquals(1, stub.metaDataCalls.get(), "Columns should be resolved only once for all rows");
+        Object order = orders.get(0);
+        assertEquals(7L, recordClass.getMethod("id").invoke(order));
+        assertEquals("Ada", recordClass.getMethod("customerName").invoke(order));
+        assertNull(recordClass.getMethod("quantity").invoke(order), "SQL NULL should map to null for boxed types");
+        assertEquals(new BigDecimal("12.50"), recordClass.getMethod("total").invoke(order));
+        assertEquals("CLOSED", recordClass.getMethod("status").invoke(order).toString());
+        assertEquals(8L, recordClass.getMethod("id").invoke(orders.get(1)));
+        assertEquals(2, recordClass.getMethod("quantity").invoke(orders.get(1)));
+    }
+
+    @Test
+    void testFromResultSetReturnsEmptyListWithoutRows() throws Exception {
+        StubResultSet stub = new StubResultSet(List.of("id"));
+
+        List<?> orders = (List<?>) recordClass.getMethod("fromResultSet", ResultSet.class).invoke(null, stub.proxy());
+
+        assertTrue(orders.isEmpty());
+        assertEquals(0, stub.metaDataCalls.get());
+    }
+
+    @Test
+    void testRowMapperResolvesColumnsOncePerResultSet() throws Exception {
+        StubResultSet stub = new StubResultSet(List.of("id", "quantity"), new Object[]{1L, 3}, new Object[]{2L, 4});
+        Object mapper = recordClass.getMethod("rowMapper").invoke(null);
+        Method mapRow = mapper.getClass().getMethod("mapRow", ResultSet.class, int.class);
+        ResultSet resultSet = stub.proxy();
+
+        resultSet.next();
+        Object first = mapRow.invoke(mapper, resultSet, 0);
+        resultSet.next();
+        Object second = mapRow.invoke(mapper, resultSet, 1);
+
+        assertEquals(1, stub.metaDataCalls.get(), "Columns should be resolved only once per ResultSet");
+        assertEquals(3, recordClass.getMethod("quantity").invoke(first));
+        assertEquals(2L, recordClass.getMethod("id").invoke(second));
+        assertNull(recordClass.getMethod("customerName").invoke(second), "Missing columns should keep the default value");
+    }
+
+    @Test
+    void testReusedRowMapperResolvesColumnsAgainAtFirstRow() throws Exception {
+        Object mapper = recordClass.getMethod("rowMapper").invoke(null);
+        Method mapRow = mapper.getClass().getMethod("mapRow", ResultSet.class, int.class);
+        StubResultSet firstQuery = new StubResultSet(List.of("id", "quantity"), new Object[]{1L, 3});
+        StubResultSet secondQuery = new StubResultSet(List.of("quantity", "id"), new Object[]{4, 2L});
+        ResultSet firstResultSet = firstQuery.proxy();
+        ResultSet secondResultSet = secondQuery.proxy();
+
+        firstResultSet.next();
+        mapRow.invoke(mapper, firstResultSet, 0);
+        secondResultSet.next();
+        Object order = mapRow.invoke(mapper, secondResultSet, 0);
+
+        assertEquals(1, secondQuery.metaDataCalls.get(), "A new ResultSet should be resolved at row 0");
+        assertEquals(2L, recordClass.getMethod("id").invoke(order));
+        assertEquals(4, recordClass.getMethod("quantity").invoke(order));
+        assertTrue(Arrays.stream(mapper.getClass().getDeclaredFields())
+                        .noneMatch(field -> ResultSet.class.isAssignableFrom(field.getType())),
+                "The mapper should not keep a reference to a ResultSet");
+    }
+
+    @Test
+    void testFieldsNamedLikeMapperLocalsAreMappedToTheirOwnColumns() throws Exception {
+        StubResultSet stub = new StubResultSet(
+                List.of("result_set", "result_set_value", "columns", "columns_value", "columns_value_value"),
+                new Object[]{"a", "b", 1, 2, 3});
+
+        List<?> rows = (List<?>) reservedClass.getMethod("fromResultSet", ResultSet.class).invoke(null, stub.proxy());
+
+        Object row = rows.get(0);
+        assertEquals("a", reservedClass.getMethod("resultSet").invoke(row));
+        assertEquals("b", reservedClass.getMethod("resultSetValue").invoke(row));
+        assertEquals(1, reservedClass.getMethod("columns").invoke(row));
+        assertEquals(2, reservedClass.getMethod("columnsValue").invoke(row));
+        assertEquals(3, reservedClass.getMethod("columnsValueValue").invoke(row));
+    }
+
+    /**
+     * Minimal in-memory ResultSet backed by a dynamic proxy. Only the methods used by generated mappers are supported.
+     */
+    private static final class StubResultSet {
+        private final List<String> labels;
+        private final Object[][] rows;
+        private final AtomicInteger metaDataCalls = new AtomicInteger();
+        private int row = -1;
+        private boolean lastWasNull;
+
+        StubResultSet(List<String> labels, Object[]... rows) {
+            this.labels = labels;
+            this.rows = rows;
+        }
+
+        ResultSet proxy() {
+            return (ResultSet) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{ResultSet.class},
+                    (proxy, method, args) -> switch (method.getName()) {
+                        case "getMetaData" -> {
+                            metaDataCalls.incrementAndGet();
+                            yield metaData();
+                        }
+                        case "next" -> ++row < rows.length;
+                        case "wasNull" -> lastWasNull;
+                        case "getLong" -> read(args, 0L);
+                        case "getInt" -> read(args, 0);
+                        case "getString", "getBigDecimal", "getObject" -> read(args, null);
+                        case "hashCode" -> System.identityHashCode(proxy);
+                        case "equals" -> proxy == args[0];
+                        default -> throw new UnsupportedOperationException(method.getName() + Arrays.toString(args));
+                    });
+        }
+
+        private Object read(Object[] args, Object nullValue) {
+            Object value = rows[row][(Integer) args[0] - 1];
+            lastWasNull = value == null;
+            return value == null ? nullValue : value;
+        }
+
+        private ResultSetMetaData metaData() {
+            return (ResultSetMetaData) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{ResultSetMetaData.class},
+                    (proxy, method, args) -> switch (method.getName()) {
+                        case "getColumnCount" -> labels.size();
+                        case "getColumnLabel" -> labels.get((Integer) args[0] - 1);
+                        default -> throw new UnsupportedOperationException(method.getName());
+                    });
+        }
+    }
+}
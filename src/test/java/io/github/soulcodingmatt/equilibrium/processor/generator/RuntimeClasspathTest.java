@@ -0,0 +1,114 @@
+package io.github.soulcodingmatt.equilibrium.processor.generator;
+
+import io.github.soulcodingmatt.equilibrium.processor.EquilibriumProcessor;
+import io.github.soulcodingmatt.equilibrium.processor.FixtureCompiler;
+import io.github.soulcodingmatt.equilibrium.runtime.Equilibrium;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs generated mappers with JFR events and metrics on a class path that contains only the compiled fixture and the
+ * {@code runtime} package, as an application sees it when Equilibrium is a compile dependency.
+ */
+class RuntimeClasspathTest {
+
+    private static final String ENTITY = """
+            package isolated;
+
+            import io.github.soulcodingmatt.equilibrium.annotations.dto.GenerateDto;
+            import io.github.soulcodingmatt.equilibrium.annotations.vo.GenerateVo;
+
+            @GenerateDto(pkg = "isolated")
+            @GenerateVo(pkg = "isolated")
+            public class Product {
+                private String name;
+                private int quantity;
+
+                public Product(String name, int quantity) {
+                    this.name = name;
+                    this.quantity = quantity;
+                }
+
+                public String getName() { return name; }
+                public int getQuantity() { return quantity; }
+            }
+            """;
+
+    private static final String USAGE = """
+            package isolated;
+
+            import io.github.soulcodingmatt.equilibrium.runtime.Equilibrium;
+
+            public final class Usage {
+                public static Object[] run() {
+                    Product product = new Product("Widget", 3);
+                    return new Object[]{Equilibrium.map(product, ProductDto.class),
+                            EquilibriumMappers.toProductVo(product)};
+                }
+            }
+            """;
+
+    private static final String RUNTIME_PACKAGE = Equilibrium.class.getPackageName().replace('.', '/');
+
+    @TempDir
+    static Path tempDir;
+
+    private static URL[] applicationClasspath;
+
+    @BeforeAll
+    static void compileFixture() throws Exception {
+        FixtureCompiler.Result result = FixtureCompiler.compile(tempDir.resolve("fixture"),
+                Map.of("isolated.Product", ENTITY, "isolated.Usage", USAGE),
+                "-Aequilibrium.mappers=true", "-Aequilibrium.jfr=true", "-Aequilibrium.metrics=true");
+        assertTrue(result.success(), () -> "Fixture should compile: " + result.diagnostics());
+
+        // Copy only the runtime package; annotations and processor stay behind
+        Path equilibrium = Path.of(FixtureCompiler.getEquilibriumClasspath());
+        Path runtime = tempDir.resolve("runtime");
+        try (Stream<Path> files = Files.walk(equilibrium.resolve(RUNTIME_PACKAGE))) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                Path target = runtime.resolve(equilibrium.relativize(file).toString());
+                if (Files.isDirectory(file)) {
+                    Files.createDirectories(target);
+                } else {
+                    Files.copy(file, target);
+                }
+            }
+        }
+        applicationClasspath = new URL[]{result.classes().toUri().toURL(), runtime.toUri().toURL()};
+    }
+
+    @Test
+    void testGeneratedMappersRunWithoutTheProcessor() throws Exception {
+        Thread thread = Thread.currentThread();
+        ClassLoader contextClassLoader = thread.getContextClassLoader();
+        try (URLClassLoader loader = new URLClassLoader(applicationClasspath, ClassLoader.getPlatformClassLoader())) {
+            assertThrows(ClassNotFoundException.class, () -> loader.loadClass(EquilibriumProcessor.class.getName()));
+
+            // Equilibrium.map finds the registry through the context class loader
+            thread.setContextClassLoader(loader);
+            Object[] mapped = (Object[]) loader.loadClass("isolated.Usage").getMethod("run").invoke(null);
+
+            assertEquals("isolated.ProductDto", mapped[0].getClass().getName());
+            assertEquals("Widget", mapped[0].getClass().getMethod("getName").invoke(mapped[0]));
+            assertEquals("isolated.ProductVo", mapped[1].getClass().getName());
+            assertEquals(3, mapped[1].getClass().getMethod("getQuantity").invoke(mapped[1]));
+
+            Class<?> metrics = loader.loadClass("io.github.soulcodingmatt.equilibrium.runtime.metrics.EquilibriumMetrics");
+            Object typeMetrics = metrics.getMethod("forType", Class.class).invoke(null, mapped[0].getClass());
+            assertEquals(1L, typeMetrics.getClass().getMethod("getMappings").invoke(typeMetrics));
+        } finally {
+            thread.setContextClassLoader(contextClassLoader);
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package io.github.soulcodingmatt.equilibrium.processor.generator;
+
+import io.github.soulcodingmatt.equilibrium.processor.EquilibriumProcessor;
+import io.github.soulcodingmatt.equilibrium.processor.FixtureCompiler;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.TypeElement;
+import javax.tools.Diagnostic;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Writes the type index and the mapper registry in a compilation where another processor adds an entity after they
+ * were written.
+ */
+class TypeIndexGeneratorTest {
+
+    private static final String ADDRESS = """
+            package shop;
+
+            import io.github.soulcodingmatt.equilibrium.annotations.dto.GenerateDto;
+
+            @GenerateDto(pkg = "shop.dto")
+            public class Address {
+                private String street;
+
+                public String getStreet() { return street; }
+            }
+            """;
+
+    private static final String LATE_ADDRESS = """
+            package late;
+
+            import io.github.soulcodingmatt.equilibrium.annotations.dto.GenerateDto;
+
+            @GenerateDto(pkg = "late.dto")
+            public class Address {
+                private String city;
+
+                public String getCity() { return city; }
+            }
+            """;
+
+    @TempDir
+    static Path tempDir;
+
+    private static FixtureCompiler.Result result;
+
+    @BeforeAll
+    static void compileFixture() throws Exception {
+        // The second round compiles shop.dto.AddressDto without annotations, which writes the aggregates
+        result = FixtureCompiler.compile(tempDir, Map.of("shop.Address", ADDRESS),
+                List.of(new EquilibriumProcessor(), new LateEntityProcessor(2)),
+                "-Aequilibrium.index=true", "-Aequilibrium.mappers=true");
+        assertTrue(result.success(), () -> "Fixture should compile: " + result.diagnostics());
+    }
+
+    @Test
+    void testIndexContainsEntitiesOfEarlierRounds() throws IOException {
+        assertEquals(List.of("# kind\tid\ttype\tentity", "DTO\t-1\tshop.dto.AddressDto\tshop.Address"),
+                Files.readAllLines(result.classes().resolve(TypeIndexGenerator.INDEX_RESOURCE)));
+        assertTrue(Files.exists(result.classes().resolve("late/dto/AddressDto.class")),
+                "The late entity should still get its DTO");
+    }
+
+    @Test
+    void testEntitiesAfterTheAggregatesAreReported() {
+        assertEquals(List.of(
+                "Generated classes of late.Address are missing from the type index shop.EquilibriumIndex, "
+                        + "which was written in an earlier round",
+                "Mappers of late.Address are missing from the mapper registry shop.EquilibriumMappers, "
+                        + "which was written in an earlier round"),
+                result.messages(Diagnostic.Kind.WARNING).stream()
+                        .filter(message -> message.contains("late."))
+                        .toList());
+    }
+
+    /**
+     * Adds an annotated entity in the given round
+     */
+    private static final class LateEntityProcessor extends AbstractProcessor {
+        private final int round;
+        private int rounds;
+
+        LateEntityProcessor(int round) {
+            this.round = round;
+        }
+
+        @Override
+        public Set<String> getSupportedAnnotationTypes() {
+            return Set.of("*");
+        }
+
+        @Override
+        public SourceVersion getSupportedSourceVersion() {
+            return SourceVersion.latestSupported();
+        }
+
+        @Override
+        public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+            if (++rounds == round) {
+                try (Writer writer = processingEnv.getFiler().createSourceFile("late.Address").openWriter()) {
+                    writer.write(LATE_ADDRESS);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+            return false;
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package io.github.soulcodingmatt.equilibrium.processor.generator;
+
+import io.github.soulcodingmatt.equilibrium.processor.FixtureCompiler;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.tools.Diagnostic;
+import java.lang.reflect.Method;
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Compiles VOs with {@code intern = true} and checks the canonical instances and the rejected mutable components.
+ */
+class VoInterningTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testEqualValuesReturnTheCanonicalInstance() throws Exception {
+        FixtureCompiler.Result result = FixtureCompiler.compile(tempDir, Map.of("fixture.Currency", """
+                package fixture;
+
+                import io.github.soulcodingmatt.equilibrium.annotations.vo.GenerateVo;
+
+                @GenerateVo(pkg = "fixture", intern = true)
+                public class Currency {
+                    private String code;
+                    private java.math.BigDecimal factor;
+                }
+                """));
+        assertTrue(result.success(), () -> "Fixture should compile: " + result.diagnostics());
+
+        Class<?> voClass = result.classLoader().loadClass("fixture.CurrencyVo");
+        Method of = voClass.getMethod("of", String.class, BigDecimal.class);
+        Object first = of.invoke(null, "EUR", new BigDecimal("1.00"));
+        Object second = of.invoke(null, new String("EUR"), new BigDecimal("1.00"));
+        Object other = of.invoke(null, "USD", new BigDecimal("1.00"));
+
+        assertSame(first, second, "Equal values should return the canonical instance");
+        assertNotSame(first, other);
+    }
+
+    @Test
+    void testCollectionAndArrayComponentsAreRejected() throws Exception {
+        FixtureCompiler.Result result = FixtureCompiler.compile(tempDir, Map.of("fixture.Unit", """
+                package fixture;
+
+                import io.github.soulcodingmatt.equilibrium.annotations.vo.GenerateVo;
+
+                @GenerateVo(pkg = "fixture", intern = true)
+                public class Unit {
+                    private String symbol;
+                    private java.util.List<String> aliases;
+                }
+                """, "fixture.Country", """
+                package fixture;
+
+                import io.github.soulcodingmatt.equilibrium.annotations.vo.GenerateVo;
+                import io.github.soulcodingmatt.equilibrium.annotations.vo.IgnoreVo;
+
+                @GenerateVo(pkg = "fixture", intern = true)
+                public class Country {
+                    private String code;
+                    private byte[] flag;
+                    @IgnoreVo
+                    private java.util.Map<String, String> names;
+                }
+                """));
+
+        assertFalse(result.success(), "VOs with mutable components should not be interned");
+        var errors = result.messages(Diagnostic.Kind.ERROR);
+        assertTrue(errors.stream().anyMatch(message -> message.contains("field 'aliases' is an array, collection or map")), errors::toString);
+        assertTrue(errors.stream().anyMatch(message -> message.contains("field 'flag' is an array, collection or map")), errors::toString);
+        assertTrue(errors.stream().noneMatch(message -> message.contains("'names'")), "Ignored fields are not components");
+    }
+}
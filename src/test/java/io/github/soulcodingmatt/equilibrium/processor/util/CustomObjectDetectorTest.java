@@ -0,0 +1,239 @@
+package io.github.soulcodingmatt.equilibrium.processor.util;
+
+import io.github.soulcodingmatt.equilibrium.processor.FixtureCompiler;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Classifies the field types of a compiled fixture with detectors of different configurations.
+ */
+class CustomObjectDetectorTest {
+
+    private static final Map<String, String> TYPES = Map.of(
+            "java.utilx.Thing", """
+                    package java.utilx;
+
+                    public class Thing {
+                    }
+                    """,
+            "com.acme.Money", """
+                    package com.acme;
+
+                    public class Money {
+                        public static class Currency {
+                        }
+                    }
+                    """,
+            "com.acme.MoneyBag", """
+                    package com.acme;
+
+                    public class MoneyBag {
+                    }
+                    """,
+            "com.shared.Value", """
+                    package com.shared;
+
+                    public class Value {
+                    }
+                    """,
+            "com.shared.deep.Inner", """
+                    package com.shared.deep;
+
+                    public class Inner {
+                    }
+                    """,
+            "com.sharedx.Value", """
+                    package com.sharedx;
+
+                    public class Value {
+                    }
+                    """,
+            "fixture.Bag", """
+                    package fixture;
+
+                    public class Bag<T> implements Iterable<T> {
+                        public java.util.Iterator<T> iterator() {
+                            return java.util.Collections.emptyIterator();
+                        }
+                    }
+                    """,
+            "fixture.Status", """
+                    package fixture;
+
+                    public enum Status { OPEN }
+                    """);
+
+    private static final String PROBE = """
+            package fixture;
+
+            public class Probe {
+                java.util.List<String> list;
+                java.util.concurrent.atomic.AtomicLong atomic;
+                java.utilx.Thing thing;
+                com.acme.Money money;
+                com.acme.Money.Currency currency;
+                com.acme.MoneyBag moneyBag;
+                com.shared.Value sharedValue;
+                com.shared.deep.Inner sharedInner;
+                com.sharedx.Value sharedxValue;
+                Status status;
+                java.util.List<com.acme.MoneyBag> moneyBags;
+                Bag<com.acme.MoneyBag> bag;
+            }
+            """;
+
+    private static final String ENTITY = """
+            package fixture;
+
+            import io.github.soulcodingmatt.equilibrium.annotations.dto.GenerateDto;
+
+            @GenerateDto(pkg = "fixture.dto")
+            public class Account {
+                private com.shared.Value value;
+                private Bag<com.acme.MoneyBag> bags;
+            }
+            """;
+
+    @TempDir
+    static Path tempDir;
+
+    private static final Map<String, Boolean> defaultCustom = new HashMap<>();
+    private static final Map<String, Boolean> configuredCustom = new HashMap<>();
+    private static final Map<String, String> defaultElementTypes = new HashMap<>();
+    private static final Map<String, String> configuredElementTypes = new HashMap<>();
+
+    @BeforeAll
+    static void classifyProbeFields() throws Exception {
+        Map<String, String> sources = new HashMap<>(TYPES);
+        sources.put("fixture.Probe", PROBE);
+        FixtureCompiler.Result result = FixtureCompiler.compile(tempDir.resolve("probe"), sources,
+                List.of(new ProbeProcessor()));
+        assertTrue(result.success(), () -> "Probe fixture should compile: " + result.diagnostics());
+    }
+
+    @Test
+    void testJdkAndLibraryTypesAreNotCustom() {
+        assertFalse(defaultCustom.get("list"));
+        assertFalse(defaultCustom.get("atomic"), "Subpackages of an excluded package are excluded");
+    }
+
+    @Test
+    void testExcludedPackageMatchesWholeSegmentsOnly() {
+        assertTrue(defaultCustom.get("thing"), "java.utilx is not a subpackage of java.util");
+        assertFalse(configuredCustom.get("sharedValue"));
+        assertFalse(configuredCustom.get("sharedInner"));
+        assertTrue(configuredCustom.get("sharedxValue"), "com.sharedx is not a subpackage of com.shared");
+    }
+
+    @Test
+    void testExcludedTypeCoversNestedTypesButNotTypesWithTheSamePrefix() {
+        assertFalse(configuredCustom.get("money"));
+        assertFalse(configuredCustom.get("currency"));
+        assertTrue(configuredCustom.get("moneyBag"), "com.acme.MoneyBag is not nested in com.acme.Money");
+    }
+
+    @Test
+    void testDefaultDetectorTreatsConfiguredEntriesAsCustom() {
+        assertTrue(defaultCustom.get("money"));
+        assertTrue(defaultCustom.get("currency"));
+        assertTrue(defaultCustom.get("sharedValue"));
+    }
+
+    @Test
+    void testEnumsAreNotCustom() {
+        assertFalse(defaultCustom.get("status"));
+    }
+
+    @Test
+    void testConfiguredCollectionTypesExposeTheirElementType() {
+        assertEquals("com.acme.MoneyBag", defaultElementTypes.get("moneyBags"));
+        assertNull(defaultElementTypes.get("bag"));
+        assertEquals("com.acme.MoneyBag", configuredElementTypes.get("bag"));
+    }
+
+    @Test
+    void testProcessorWarnsWithoutOptions() throws Exception {
+        List<String> warnings = compileEntity("default");
+
+        assertTrue(warnings.stream().anyMatch(warning -> warning.contains("uses custom type 'com.shared.Value'")),
+                warnings::toString);
+        assertTrue(warnings.stream().anyMatch(warning ->
+                warning.contains("uses custom type 'fixture.Bag<com.acme.MoneyBag>'")), warnings::toString);
+    }
+
+    @Test
+    void testProcessorOptionsConfigureExclusionsAndCollectionTypes() throws Exception {
+        List<String> warnings = compileEntity("configured",
+                "-Aequilibrium.nested.excludedPackages=com.shared, com.other",
+                "-Aequilibrium.nested.collectionTypes=fixture.Bag");
+
+        assertTrue(warnings.stream().noneMatch(warning -> warning.contains("com.shared.Value")), warnings::toString);
+        assertTrue(warnings.stream().anyMatch(warning ->
+                warning.contains("uses collection of custom type 'com.acme.MoneyBag'")), warnings::toString);
+        assertTrue(warnings.stream().noneMatch(warning -> warning.contains("not recognized")), warnings::toString);
+    }
+
+    private static List<String> compileEntity(String directory, String... options) throws Exception {
+        Map<String, String> sources = new HashMap<>(TYPES);
+        sources.remove("java.utilx.Thing");
+        sources.put("fixture.Account", ENTITY);
+        FixtureCompiler.Result result = FixtureCompiler.compile(tempDir.resolve(directory), sources, options);
+        assertTrue(result.success(), () -> "Entity fixture should compile: " + result.diagnostics());
+        return result.messages(Diagnostic.Kind.WARNING);
+    }
+
+    /**
+     * Classifies the field types of fixture.Probe with a default and a configured detector
+     */
+    private static final class ProbeProcessor extends AbstractProcessor {
+
+        @Override
+        public Set<String> getSupportedAnnotationTypes() {
+            return Set.of("*");
+        }
+
+        @Override
+        public SourceVersion getSupportedSourceVersion() {
+            return SourceVersion.latestSupported();
+        }
+
+        @Override
+        public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+            TypeElement probe = processingEnv.getElementUtils().getTypeElement("fixture.Probe");
+            if (roundEnv.processingOver() || probe == null) {
+                return false;
+            }
+            CustomObjectDetector defaultDetector = new CustomObjectDetector();
+            // The blank entries must not exclude every type
+            CustomObjectDetector configuredDetector = new CustomObjectDetector(
+                    List.of("com.shared", "com.acme.Money", ".", ""), List.of("fixture.Bag"));
+            for (VariableElement field : ElementFilter.fieldsIn(probe.getEnclosedElements())) {
+                String name = field.getSimpleName().toString();
+                defaultCustom.put(name, defaultDetector.isCustomObject(field.asType()));
+                configuredCustom.put(name, configuredDetector.isCustomObject(field.asType()));
+                TypeMirror defaultElement = defaultDetector.getCollectionElementType(field.asType());
+                TypeMirror configuredElement = configuredDetector.getCollectionElementType(field.asType());
+                defaultElementTypes.put(name, defaultElement != null ? defaultElement.toString() : null);
+                configuredElementTypes.put(name, configuredElement != null ? configuredElement.toString() : null);
+            }
+            return false;
+        }
+    }
+}
@@ -0,0 +1,219 @@
+package io.github.soulcodingmatt.equilibrium.processor.util;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProjectCoordinateReaderTest {
+
+    @TempDir
+    Path projectRoot;
+
+    @Test
+    void testPomWithOwnCoordinates() throws IOException {
+        write("pom.xml", """
+                <?xml version="1.0" encoding="UTF-8"?>
+                <project xmlns="http://maven.apache.org/POM/4.0.0">
+                    <modelVersion>4.0.0</modelVersion>
+                    <groupId>com.example</groupId>
+                    <artifactId>shop</artifactId>
+                    <dependencies>
+                        <dependency>
+                            <groupId>org.other</groupId>
+                            <artifactId>library</artifactId>
+                        </dependency>
+                    </dependencies>
+                </project>
+                """);
+
+        assertEquals(Optional.of(Map.entry("com.example", "shop")), ProjectCoordinateReader.read(projectRoot));
+    }
+
+    @Test
+    void testPomInheritsGroupIdFromParent() throws IOException {
+        write("pom.xml", """
+                <project>
+                    <parent>
+                        <groupId>com.example.parent</groupId>
+                        <artifactId>parent-pom</artifactId>
+                        <version>1.0</version>
+                    </parent>
+                    <artifactId>shop-api</artifactId>
+                </project>
+                """);
+
+        assertEquals(Optional.of(Map.entry("com.example.parent", "shop-api")), ProjectCoordinateReader.read(projectRoot));
+    }
+
+    @Test
+    void testPomOwnGroupIdWinsOverParent() throws IOException {
+        write("pom.xml", """
+                <project>
+                    <artifactId>shop-api</artifactId>
+                    <parent>
+                        <groupId>com.example.parent</groupId>
+                        <artifactId>parent-pom</artifactId>
+                    </parent>
+                    <groupId>com.example.own</groupId>
+                </project>
+                """);
+
+        assertEquals(Optional.of(Map.entry("com.example.own", "shop-api")), ProjectCoordinateReader.read(projectRoot));
+    }
+
+    @Test
+    void testPomIgnoresWhitespaceAndComments() throws IOException {
+        write("pom.xml", """
+                <project>
+                    <!-- <groupId>com.example.commented</groupId> -->
+                    <groupId>
+                        com.example
+                    </groupId>
+                    <artifactId><!-- the shop -->shop</artifactId>
+                </project>
+                """);
+
+        assertEquals(Optional.of(Map.entry("com.example", "shop")), ProjectCoordinateReader.read(projectRoot));
+    }
+
+    @Test
+    void testPomWithoutGroupIdIsEmpty() throws IOException {
+        write("pom.xml", "<project><artifactId>shop</artifactId></project>");
+
+        assertEquals(Optional.empty(), ProjectCoordinateReader.read(projectRoot));
+    }
+
+    @Test
+    void testMalformedPomIsEmpty() throws IOException {
+        write("pom.xml", "<project><groupId>com.example</groupId>");
+
+        assertEquals(Optional.empty(), ProjectCoordinateReader.read(projectRoot));
+    }
+
+    @Test
+    void testGradleWithSettingsFile() throws IOException {
+        write("build.gradle", """
+                plugins {
+                    id 'java'
+                }
+
+                group = 'com.example'
+                version = '1.0'
+                """);
+        write("settings.gradle", "rootProject.name = 'shop'\n");
+
+        assertEquals(Optional.of(Map.entry("com.example", "shop")), ProjectCoordinateReader.read(projectRoot));
+    }
+
+    @Test
+    void testGradleKotlinDsl() throws IOException {
+        write("build.gradle.kts", """
+                plugins {
+                    java
+                }
+
+                group = "com.example"
+                """);
+        write("settings.gradle.kts", "rootProject.name = \"shop-kts\"\n");
+
+        assertEquals(Optional.of(Map.entry("com.example", "shop-kts")), ProjectCoordinateReader.read(projectRoot));
+    }
+
+    @Test
+    void testGradleSkipsComments() throws IOException {
+        write("build.gradle.kts", """
+                // group = "com.example.line"
+                /*
+                group = "com.example.block"
+                */
+                /* group = "com.example.inline" */
+                    group   =   "com.example"   // the real group
+                """);
+        write("settings.gradle.kts", """
+                /* rootProject.name = "commented" */ rootProject.name = "shop"
+                """);
+
+        assertEquals(Optional.of(Map.entry("com.example", "shop")), ProjectCoordinateReader.read(projectRoot));
+    }
+
+    @Test
+    void testGradleWithoutSettingsFileUsesDirectoryName() throws IOException {
+        write("build.gradle", "group = 'com.example'\n");
+
+        assertEquals(Optional.of(Map.entry("com.example", projectRoot.getFileName().toString())),
+                ProjectCoordinateReader.read(projectRoot));
+    }
+
+    @Test
+    void testGradleWithoutGroupIsEmpty() throws IOException {
+        write("build.gradle", "version = '1.0'\n");
+        write("settings.gradle", "rootProject.name = 'shop'\n");
+
+        assertEquals(Optional.empty(), ProjectCoordinateReader.read(projectRoot));
+    }
+
+    @Test
+    void testNoBuildFileIsEmpty() {
+        assertEquals(Optional.empty(), ProjectCoordinateReader.read(projectRoot));
+    }
+
+    @Test
+    void testPomTakesPrecedenceOverGradle() throws IOException {
+        write("pom.xml", "<project><groupId>com.maven</groupId><artifactId>shop</artifactId></project>");
+        write("build.gradle", "group = 'com.gradle'\n");
+
+        assertEquals(Optional.of(Map.entry("com.maven", "shop")), ProjectCoordinateReader.read(projectRoot));
+    }
+
+    @Test
+    void testCacheNoticesChangedBuildFile() throws IOException {
+        write("pom.xml", "<project><groupId>com.example</groupId><artifactId>shop</artifactId></project>");
+        assertEquals(Optional.of(Map.entry("com.example", "shop")), ProjectCoordinateReader.read(projectRoot));
+
+        Path pom = write("pom.xml", "<project><groupId>com.example</groupId><artifactId>store</artifactId></project>");
+        touchLater(pom);
+
+        assertEquals(Optional.of(Map.entry("com.example", "store")), ProjectCoordinateReader.read(projectRoot));
+    }
+
+    @Test
+    void testCacheNoticesChangedCreatedAndDeletedSettingsFile() throws IOException {
+        write("build.gradle", "group = 'com.example'\n");
+        String directoryName = projectRoot.getFileName().toString();
+        assertEquals(Optional.of(Map.entry("com.example", directoryName)), ProjectCoordinateReader.read(projectRoot));
+
+        Path settings = write("settings.gradle", "rootProject.name = 'shop'\n");
+        assertEquals(Optional.of(Map.entry("com.example", "shop")), ProjectCoordinateReader.read(projectRoot),
+                "A created settings file should be read");
+
+        write("settings.gradle", "rootProject.name = 'store'\n");
+        touchLater(settings);
+        assertEquals(Optional.of(Map.entry("com.example", "store")), ProjectCoordinateReader.read(projectRoot),
+                "A changed settings file should be read again");
+
+        Files.delete(settings);
+        assertEquals(Optional.of(Map.entry("com.example", directoryName)), ProjectCoordinateReader.read(projectRoot),
+                "A deleted settings file should fall back to the directory name");
+    }
+
+    private Path write(String fileName, String content) throws IOException {
+        return Files.writeString(projectRoot.resolve(fileName), content);
+    }
+
+    /**
+     * Moves the modification time forward, since file systems with coarse timestamps may not change it for a rewrite
+     */
+    private static void touchLater(Path file) throws IOException {
+        Instant modified = Files.getLastModifiedTime(file).toInstant();
+        Files.setLastModifiedTime(file, FileTime.from(modified.plusSeconds(10)));
+    }
+}
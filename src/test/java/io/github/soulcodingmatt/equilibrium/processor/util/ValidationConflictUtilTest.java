@@ -0,0 +1,249 @@
+package io.github.soulcodingmatt.equilibrium.processor.util;
+
+import io.github.soulcodingmatt.equilibrium.processor.FixtureCompiler;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import javax.tools.Diagnostic;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.params.provider.Arguments.arguments;
+
+/**
+ * Compiles an entity with one field per {@code @ValidateDto} combination and checks the errors reported per field.
+ * The messages that existed before conflicts were solved as ranges are pinned verbatim.
+ */
+class ValidationConflictUtilTest {
+
+    private static final String ENTITY = """
+            package fixture;
+
+            import io.github.soulcodingmatt.equilibrium.annotations.dto.GenerateDto;
+            import io.github.soulcodingmatt.equilibrium.annotations.dto.ValidateDto;
+            import io.github.soulcodingmatt.equilibrium.annotations.dto.validation.*;
+
+            import java.time.LocalDate;
+            import java.util.ArrayDeque;
+            import java.util.List;
+
+            @GenerateDto(pkg = "fixture")
+            public class Limits {
+                public static class Tags extends java.util.ArrayList<String> {
+                }
+
+                // Type compatibility
+                @ValidateDto(notNull = @NotNull)
+                private int notNullPrimitive;
+                @ValidateDto(notBlank = @NotBlank)
+                private int notBlankOnInt;
+                @ValidateDto(notEmpty = @NotEmpty)
+                private Integer notEmptyOnInteger;
+                @ValidateDto(size = @Size(max = 3))
+                private int sizeOnInt;
+                @ValidateDto(size = @Size(min = -2, max = 5))
+                private String sizeNegativeMin;
+                @ValidateDto(min = @Min(1))
+                private String minOnString;
+                @ValidateDto(email = @Email)
+                private int emailOnInt;
+                @ValidateDto(pattern = @Pattern(regexp = "[a-z]+"))
+                private long patternOnLong;
+                @ValidateDto(digits = @Digits(integer = 2, fraction = 0))
+                private boolean digitsOnBoolean;
+                @ValidateDto(past = @Past)
+                private String pastOnString;
+
+                // Contradicting values
+                @ValidateDto(min = @Min(10), max = @Max(5))
+                private long minGreaterThanMax;
+                @ValidateDto(min = @Min(5), negative = @Negative)
+                private int minWithNegative;
+                @ValidateDto(min = @Min(0), negative = @Negative)
+                private int minZeroWithNegative;
+                @ValidateDto(positive = @Positive, max = @Max(-3))
+                private int maxWithPositive;
+                @ValidateDto(positive = @Positive, negative = @Negative)
+                private Integer positiveNegative;
+                @ValidateDto(positive = @Positive, negativeOrZero = @NegativeOrZero)
+                private Integer positiveNegativeOrZero;
+                @ValidateDto(positiveOrZero = @PositiveOrZero, negative = @Negative)
+                private Integer positiveOrZeroNegative;
+                @ValidateDto(positiveOrZero = @PositiveOrZero, negativeOrZero = @NegativeOrZero)
+                private Integer positiveOrZeroNegativeOrZero;
+                @ValidateDto(past = @Past, future = @Future)
+                private LocalDate pastFuture;
+                @ValidateDto(past = @Past, futureOrPresent = @FutureOrPresent)
+                private LocalDate pastFutureOrPresent;
+                @ValidateDto(future = @Future, pastOrPresent = @PastOrPresent)
+                private LocalDate futurePastOrPresent;
+                @ValidateDto(notEmpty = @NotEmpty, size = @Size(max = 0))
+                private String notEmptySizeZero;
+
+                // Detected since conflicts are solved as ranges
+                @ValidateDto(min = @Min(100), digits = @Digits(integer = 2, fraction = 0))
+                private int minAboveDigits;
+                @ValidateDto(positive = @Positive, digits = @Digits(integer = 0, fraction = 2))
+                private int positiveWithoutIntegerDigits;
+                @ValidateDto(size = @Size(min = 5, max = 2))
+                private String sizeMinAboveMax;
+                @ValidateDto(notBlank = @NotBlank, size = @Size(max = 0))
+                private String notBlankSizeZero;
+
+                // Redundant or satisfiable, and no longer reported
+                @ValidateDto(min = @Min(0), positive = @Positive)
+                private int minZeroWithPositive;
+                @ValidateDto(min = @Min(-5), positive = @Positive)
+                private int minNegativeWithPositive;
+                @ValidateDto(max = @Max(5), negative = @Negative)
+                private int maxPositiveWithNegative;
+                @ValidateDto(positive = @Positive, digits = @Digits(integer = 0, fraction = 2))
+                private double positiveFraction;
+                @ValidateDto(min = @Min(3), max = @Max(3))
+                private int minEqualsMax;
+
+                // Collections are recognized by their supertypes
+                @ValidateDto(notEmpty = @NotEmpty, size = @Size(max = 10))
+                private ArrayDeque<String> deque;
+                @ValidateDto(size = @Size(min = 1))
+                private Tags tags;
+                @ValidateDto(notEmpty = @NotEmpty)
+                private List<String> list;
+            }
+            """;
+
+    // The same configuration on a second class shares the cached analysis
+    private static final String SECOND_ENTITY = """
+            package fixture;
+
+            import io.github.soulcodingmatt.equilibrium.annotations.dto.GenerateDto;
+            import io.github.soulcodingmatt.equilibrium.annotations.dto.ValidateDto;
+            import io.github.soulcodingmatt.equilibrium.annotations.dto.validation.Max;
+            import io.github.soulcodingmatt.equilibrium.annotations.dto.validation.Min;
+
+            @GenerateDto(pkg = "fixture")
+            public class Bounds {
+                @ValidateDto(min = @Min(10), max = @Max(5))
+                private long copiedMinGreaterThanMax;
+                @ValidateDto(min = @Min(10), max = @Max(5))
+                private String copiedOnString;
+            }
+            """;
+
+    @TempDir
+    static Path tempDir;
+
+    private static List<String> errors;
+
+    @BeforeAll
+    static void compileFixture() throws Exception {
+        FixtureCompiler.Result result = FixtureCompiler.compile(tempDir,
+                Map.of("fixture.Limits", ENTITY, "fixture.Bounds", SECOND_ENTITY));
+        assertFalse(result.success(), "Conflicting validations should fail the compilation");
+        errors = result.messages(Diagnostic.Kind.ERROR);
+    }
+
+    static Stream<Arguments> conflicts() {
+        return Stream.of(
+                arguments("notNullPrimitive", List.of(
+                        "@NotNull cannot be applied to primitive field 'notNullPrimitive' of type int. Only applicable to reference types.")),
+                arguments("notBlankOnInt", List.of(
+                        "@NotBlank can only be applied to String fields. Field 'notBlankOnInt' is of type int.")),
+                arguments("notEmptyOnInteger", List.of(
+                        "@NotEmpty can only be applied to String, Collection, Map, or array fields. Field 'notEmptyOnInteger' is of type java.lang.Integer.")),
+                arguments("sizeOnInt", List.of(
+                        "@Size can only be applied to String, Collection, Map, or array fields. Field 'sizeOnInt' is of type int.")),
+                arguments("sizeNegativeMin", List.of(
+                        "@Size min value cannot be negative. Field 'sizeNegativeMin' has min=-2.")),
+                arguments("minOnString", List.of(
+                        "@Min can only be applied to numeric fields. Field 'minOnString' is of type java.lang.String.")),
+                arguments("emailOnInt", List.of(
+                        "@Email can only be applied to String fields. Field 'emailOnInt' is of type int.")),
+                arguments("patternOnLong", List.of(
+                        "@Pattern can only be applied to String fields. Field 'patternOnLong' is of type long.")),
+                arguments("digitsOnBoolean", List.of(
+                        "@Digits can only be applied to numeric or String fields. Field 'digitsOnBoolean' is of type boolean.")),
+                arguments("pastOnString", List.of(
+                        "@Past can only be applied to temporal fields (Date, Calendar, LocalDate, LocalDateTime, etc.). Field 'pastOnString' is of type java.lang.String.")),
+                arguments("minGreaterThanMax", List.of(
+                        "Field 'minGreaterThanMax': @Min(10) is greater than @Max(5). Min value must be ≤ max value.")),
+                arguments("minWithNegative", List.of(
+                        "Field 'minWithNegative': @Min(5) requires non-negative values, which contradicts @Negative (< 0).")),
+                arguments("minZeroWithNegative", List.of(
+                        "Field 'minZeroWithNegative': @Min(0) requires non-negative values, which contradicts @Negative (< 0).")),
+                arguments("maxWithPositive", List.of(
+                        "Field 'maxWithPositive': @Max(-3) allows only non-positive values, which contradicts @Positive (> 0).")),
+                arguments("positiveNegative", List.of(
+                        "Field 'positiveNegative': @Positive and @Negative are contradictory. A value cannot be both > 0 and < 0.")),
+                arguments("positiveNegativeOrZero", List.of(
+                        "Field 'positiveNegativeOrZero': @Positive and @NegativeOrZero are contradictory. > 0 contradicts ≤ 0.")),
+                arguments("positiveOrZeroNegative", List.of(
+                        "Field 'positiveOrZeroNegative': @PositiveOrZero and @Negative are contradictory. ≥ 0 contradicts < 0.")),
+                arguments("positiveOrZeroNegativeOrZero", List.of(
+                        "Field 'positiveOrZeroNegativeOrZero': @PositiveOrZero and @NegativeOrZero are contradictory. ≥ 0 contradicts ≤ 0 (only 0 would be valid).")),
+                arguments("pastFuture", List.of(
+                        "Field 'pastFuture': @Past and @Future are contradictory. A date cannot be in the past and the future.")),
+                arguments("pastFutureOrPresent", List.of(
+                        "Field 'pastFutureOrPresent': @Past and @FutureOrPresent are contradictory. Past contradicts future or present.")),
+                arguments("futurePastOrPresent", List.of(
+                        "Field 'futurePastOrPresent': @Future and @PastOrPresent are contradictory. Future contradicts past or present.")),
+                arguments("notEmptySizeZero", List.of(
+                        "Field 'notEmptySizeZero': @NotEmpty contradicts @Size(max=0). An element cannot be both not empty and have maximum size 0.")),
+                arguments("minAboveDigits", List.of(
+                        "Field 'minAboveDigits': @Min(100) and @Digits(integer = 2) leave no valid value for type int.")),
+                arguments("positiveWithoutIntegerDigits", List.of(
+                        "Field 'positiveWithoutIntegerDigits': @Positive and @Digits(integer = 0) leave no valid value for type int.")),
+                arguments("sizeMinAboveMax", List.of(
+                        "Field 'sizeMinAboveMax': @Size min value (5) is greater than max value (2).")),
+                arguments("notBlankSizeZero", List.of(
+                        "Field 'notBlankSizeZero': @NotBlank and @Size(max = 0) leave no valid value for type java.lang.String.")),
+                arguments("copiedMinGreaterThanMax", List.of(
+                        "Field 'copiedMinGreaterThanMax': @Min(10) is greater than @Max(5). Min value must be ≤ max value.")),
+                arguments("copiedOnString", List.of(
+                        "@Min can only be applied to numeric fields. Field 'copiedOnString' is of type java.lang.String.",
+                        "@Max can only be applied to numeric fields. Field 'copiedOnString' is of type java.lang.String.",
+                        "Field 'copiedOnString': @Min(10) is greater than @Max(5). Min value must be ≤ max value.")));
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("conflicts")
+    void testConflictsAreReported(String field, List<String> expected) {
+        assertEquals(expected, errorsOf(field));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+        "minZeroWithPositive",  // @Min(0) is redundant next to @Positive
+        "minNegativeWithPositive",
+        "maxPositiveWithNegative",  // @Max(5) is redundant next to @Negative
+        "positiveFraction",  // 0 < value < 1 has valid doubles
+        "minEqualsMax",
+        "deque",  // Collection by supertype
+        "tags",  // Collection by superclass
+        "list"
+    })
+    void testSatisfiableCombinationsAreAccepted(String field) {
+        assertEquals(List.of(), errorsOf(field));
+    }
+
+    @Test
+    void testEveryErrorBelongsToAPinnedField() {
+        long pinned = conflicts().mapToLong(arguments -> ((List<?>) arguments.get()[1]).size()).sum();
+        assertEquals(pinned, errors.size(), "Unexpected errors: " + errors);
+    }
+
+    /**
+     * Get the errors that mention a field, in the order they were reported
+     */
+    private static List<String> errorsOf(String field) {
+        return errors.stream().filter(message -> message.contains("'" + field + "'")).toList();
+    }
+}